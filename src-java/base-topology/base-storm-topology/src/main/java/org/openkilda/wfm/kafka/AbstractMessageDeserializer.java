@@ -17,8 +17,8 @@ package org.openkilda.wfm.kafka;
 
 import org.openkilda.bluegreen.kafka.TransportErrorReport;
 import org.openkilda.messaging.AbstractMessage;
-import org.openkilda.messaging.SerializationUtils;
 import org.openkilda.messaging.error.TransportErrorWrapper;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -28,17 +28,18 @@ import java.util.Map;
 
 @Slf4j
 public class AbstractMessageDeserializer implements Deserializer<AbstractMessage> {
+    private MessageCodecSelector codecs = MessageCodecSelector.DEFAULT;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
+        codecs = MessageCodecSelector.fromConfigs(configs);
     }
 
     @Override
     public AbstractMessage deserialize(String topic, byte[] data) {
         Class<AbstractMessage> base = AbstractMessage.class;
         try {
-            return SerializationUtils.MAPPER.readValue(data, base);
+            return codecs.select(topic).decode(data, base);
         } catch (IOException e) {
             TransportErrorReport errorReport = TransportErrorReport.createFromException(
                     topic, base, data, e);
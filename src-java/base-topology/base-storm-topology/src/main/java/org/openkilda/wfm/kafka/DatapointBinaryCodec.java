@@ -0,0 +1,246 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a batch of {@link Datapoint}s. A record starts with a zero byte (which can't start
+ * a JSON document) followed by the format version, so consumers can tell binary records from JSON ones.
+ * <p/>
+ * Strings (metric names, tag names and values) are written once per record and then referenced by index, so
+ * repeated metric names and tags of the batch take one or two bytes each.
+ */
+public final class DatapointBinaryCodec {
+    private static final byte MAGIC = 0;
+    private static final byte VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_INT = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_FLOAT = 3;
+    private static final byte VALUE_DOUBLE = 4;
+
+    private DatapointBinaryCodec() {
+    }
+
+    /**
+     * Checks whether the record is encoded by this codec.
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes the datapoints into a single record.
+     */
+    public static byte[] encode(List<Datapoint> datapoints) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + datapoints.size() * 32);
+        Writer writer = new Writer(new DataOutputStream(buffer));
+        try {
+            writer.output.writeByte(MAGIC);
+            writer.output.writeByte(VERSION);
+            writer.writeVarInt(datapoints.size());
+            for (Datapoint datapoint : datapoints) {
+                writer.writeDatapoint(datapoint);
+            }
+            writer.output.flush();
+        } catch (IOException e) {
+            // ByteArrayOutputStream doesn't throw IOException
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Decodes datapoints from the record.
+     *
+     * @throws IOException if the record is malformed or has unsupported version.
+     */
+    public static List<Datapoint> decode(byte[] data) throws IOException {
+        if (!isEncoded(data)) {
+            throw new IOException("The record is not a binary datapoint record");
+        }
+        if (data[1] != VERSION) {
+            throw new IOException(String.format("Unsupported binary datapoint record version %d", data[1]));
+        }
+
+        Reader reader = new Reader(new DataInputStream(new ByteArrayInputStream(data, 2, data.length - 2)));
+        int count = reader.readVarInt();
+        List<Datapoint> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(reader.readDatapoint());
+        }
+        return result;
+    }
+
+    private static final class Writer {
+        private final DataOutputStream output;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream output) {
+            this.output = output;
+        }
+
+        private void writeDatapoint(Datapoint datapoint) throws IOException {
+            writeString(datapoint.getMetric());
+            if (datapoint.getTime() == null) {
+                output.writeBoolean(false);
+            } else {
+                output.writeBoolean(true);
+                output.writeLong(datapoint.getTime());
+            }
+
+            Map<String, String> tags = datapoint.getTags();
+            if (tags == null) {
+                writeVarInt(0);
+            } else {
+                writeVarInt(tags.size() + 1);
+                for (Map.Entry<String, String> tag : tags.entrySet()) {
+                    writeString(tag.getKey());
+                    writeString(tag.getValue());
+                }
+            }
+
+            writeValue(datapoint.getValue());
+        }
+
+        private void writeValue(Number value) throws IOException {
+            if (value == null) {
+                output.writeByte(VALUE_NULL);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                output.writeByte(VALUE_INT);
+                output.writeInt(value.intValue());
+            } else if (value instanceof Long) {
+                output.writeByte(VALUE_LONG);
+                output.writeLong(value.longValue());
+            } else if (value instanceof Float) {
+                output.writeByte(VALUE_FLOAT);
+                output.writeFloat(value.floatValue());
+            } else {
+                output.writeByte(VALUE_DOUBLE);
+                output.writeDouble(value.doubleValue());
+            }
+        }
+
+        /**
+         * Writes 0 and the string itself on the first occurrence, (index + 1) on next ones. Null is written as 0
+         * followed by false flag.
+         */
+        private void writeString(String value) throws IOException {
+            Integer index = value != null ? strings.get(value) : null;
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            writeVarInt(0);
+            output.writeBoolean(value != null);
+            if (value != null) {
+                output.writeUTF(value);
+                strings.put(value, strings.size());
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                output.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.writeByte(value);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream input) {
+            this.input = input;
+        }
+
+        private Datapoint readDatapoint() throws IOException {
+            String metric = readString();
+            Long time = input.readBoolean() ? input.readLong() : null;
+
+            Map<String, String> tags = null;
+            int tagsCount = readVarInt() - 1;
+            if (tagsCount >= 0) {
+                tags = new HashMap<>(tagsCount * 2);
+                for (int i = 0; i < tagsCount; i++) {
+                    tags.put(readString(), readString());
+                }
+            }
+
+            return new Datapoint(metric, time, tags, readValue());
+        }
+
+        private Number readValue() throws IOException {
+            byte type = input.readByte();
+            switch (type) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_INT:
+                    return input.readInt();
+                case VALUE_LONG:
+                    return input.readLong();
+                case VALUE_FLOAT:
+                    return input.readFloat();
+                case VALUE_DOUBLE:
+                    return input.readDouble();
+                default:
+                    throw new IOException(String.format("Unknown datapoint value type %d", type));
+            }
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                if (index > strings.size()) {
+                    throw new IOException(String.format("Invalid string reference %d", index));
+                }
+                return strings.get(index - 1);
+            }
+            if (!input.readBoolean()) {
+                return null;
+            }
+            String value = input.readUTF();
+            strings.add(value);
+            return value;
+        }
+
+        private int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte current = input.readByte();
+                result |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+    }
+}
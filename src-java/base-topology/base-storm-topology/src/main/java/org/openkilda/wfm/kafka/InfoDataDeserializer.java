@@ -16,9 +16,10 @@
 package org.openkilda.wfm.kafka;
 
 import org.openkilda.bluegreen.kafka.TransportErrorReport;
-import org.openkilda.messaging.SerializationUtils;
+import org.openkilda.messaging.info.DatapointEntries;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.TransportErrorWrapper;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -28,17 +29,21 @@ import java.util.Map;
 
 @Slf4j
 public class InfoDataDeserializer implements Deserializer<InfoData> {
+    private MessageCodecSelector codecs = MessageCodecSelector.DEFAULT;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        codecs = MessageCodecSelector.fromConfigs(configs);
     }
 
     @Override
     public InfoData deserialize(String topic, byte[] data) {
         Class<InfoData> base = InfoData.class;
         try {
-            return SerializationUtils.MAPPER.readValue(data, base);
+            if (DatapointBinaryCodec.isEncoded(data)) {
+                return new DatapointEntries(DatapointBinaryCodec.decode(data));
+            }
+            return codecs.select(topic).decode(data, base);
         } catch (IOException e) {
             TransportErrorReport errorReport = TransportErrorReport.createFromException(
                     topic, base, data, e);
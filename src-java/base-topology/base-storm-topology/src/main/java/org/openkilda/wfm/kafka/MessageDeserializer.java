@@ -17,9 +17,9 @@ package org.openkilda.wfm.kafka;
 
 import org.openkilda.bluegreen.kafka.TransportErrorReport;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.SerializationUtils;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.TransportErrorWrapper;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -30,17 +30,18 @@ import java.util.UUID;
 
 @Slf4j
 public class MessageDeserializer implements Deserializer<Message> {
+    private MessageCodecSelector codecs = MessageCodecSelector.DEFAULT;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        codecs = MessageCodecSelector.fromConfigs(configs);
     }
 
     @Override
     public Message deserialize(String topic, byte[] data) {
         Class<Message> base = Message.class;
         try {
-            return SerializationUtils.MAPPER.readValue(data, base);
+            return codecs.select(topic).decode(data, base);
         } catch (IOException e) {
             TransportErrorReport errorReport = TransportErrorReport.createFromException(
                     topic, base, data, e);
@@ -18,7 +18,7 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.SerializationUtils;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
@@ -29,10 +29,11 @@ import java.util.Map;
 
 @Slf4j
 public class MessageSerializer implements Serializer<Message> {
+    private MessageCodecSelector codecs = MessageCodecSelector.DEFAULT;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        codecs = MessageCodecSelector.fromConfigs(configs);
     }
 
     @Override
@@ -40,7 +41,7 @@ public class MessageSerializer implements Serializer<Message> {
         try {
             byte[] result = null;
             if (data != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(data);
+                result = codecs.select(topic).encode(data);
             }
             return result;
         } catch (IOException e) {
@@ -17,7 +17,7 @@ package org.openkilda.wfm.kafka;
 
 import static java.lang.String.format;
 
-import org.openkilda.messaging.SerializationUtils;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
@@ -28,9 +28,11 @@ import java.util.Map;
 
 @Slf4j
 public class ObjectSerializer implements Serializer<Object> {
+    private MessageCodecSelector codecs = MessageCodecSelector.DEFAULT;
+
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
+        codecs = MessageCodecSelector.fromConfigs(configs);
     }
 
     @Override
@@ -38,7 +40,7 @@ public class ObjectSerializer implements Serializer<Object> {
         try {
             byte[] result = null;
             if (message != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(message);
+                result = codecs.select(topic).encode(message);
             }
             return result;
         } catch (IOException e) {
@@ -0,0 +1,60 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka.codec;
+
+import org.openkilda.messaging.SerializationUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON encoding which produces the same documents as {@link JsonMessageCodec}, so it can be enabled on one side of
+ * a topic only. Property accessors are generated by the afterburner module instead of being called through
+ * reflection, readers are bound to the target type once and reused.
+ */
+public class AfterburnerJsonMessageCodec implements MessageCodec {
+    public static final String NAME = "json-afterburner";
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public AfterburnerJsonMessageCodec() {
+        mapper = SerializationUtils.MAPPER.copy().registerModule(new AfterburnerModule());
+        writer = mapper.writer();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return readers.computeIfAbsent(type, mapper::readerFor).readValue(data);
+    }
+}
@@ -0,0 +1,36 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka.codec;
+
+import java.io.IOException;
+
+/**
+ * Encoding of values sent through Kafka. Implementations must be thread safe, as they are shared by all
+ * serializers and deserializers of the worker.
+ * <p/>
+ * Additional implementations are loaded with {@link java.util.ServiceLoader} and selected by name, see
+ * {@link MessageCodecSelector}.
+ */
+public interface MessageCodec {
+    /**
+     * The name of the codec used to select it in the configuration.
+     */
+    String getName();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+}
@@ -0,0 +1,107 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka.codec;
+
+import static java.lang.String.format;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Selects {@link MessageCodec} for a topic using Kafka client properties: {@value #CODEC_PROPERTY} defines the
+ * default codec and {@value #TOPIC_CODECS_PROPERTY} overrides it for particular topics with the list of
+ * {@code topic=codec} pairs separated by commas.
+ */
+public final class MessageCodecSelector {
+    public static final String CODEC_PROPERTY = "kilda.codec";
+    public static final String TOPIC_CODECS_PROPERTY = "kilda.codec.topics";
+
+    private static final Map<String, MessageCodec> CODECS = loadCodecs();
+
+    public static final MessageCodecSelector DEFAULT = new MessageCodecSelector(
+            getCodec(JsonMessageCodec.NAME), Collections.emptyMap());
+
+    private final MessageCodec defaultCodec;
+    private final Map<String, MessageCodec> topicCodecs;
+
+    private MessageCodecSelector(MessageCodec defaultCodec, Map<String, MessageCodec> topicCodecs) {
+        this.defaultCodec = defaultCodec;
+        this.topicCodecs = topicCodecs;
+    }
+
+    /**
+     * Creates the selector from Kafka serializer/deserializer configs.
+     */
+    public static MessageCodecSelector fromConfigs(Map<String, ?> configs) {
+        Object codec = configs.get(CODEC_PROPERTY);
+        Object topics = configs.get(TOPIC_CODECS_PROPERTY);
+        if (codec == null && topics == null) {
+            return DEFAULT;
+        }
+
+        MessageCodec defaultCodec = codec != null ? getCodec(codec.toString()) : DEFAULT.defaultCodec;
+        Map<String, MessageCodec> topicCodecs = new HashMap<>();
+        if (topics != null) {
+            for (String entry : topics.toString().split(",")) {
+                if (entry.trim().isEmpty()) {
+                    continue;
+                }
+                String[] pair = entry.split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException(format(
+                            "Invalid value of %s: \"%s\", expected topic=codec pairs", TOPIC_CODECS_PROPERTY, topics));
+                }
+                topicCodecs.put(pair[0].trim(), getCodec(pair[1].trim()));
+            }
+        }
+        return new MessageCodecSelector(defaultCodec, topicCodecs);
+    }
+
+    /**
+     * Finds the codec by name.
+     */
+    public static MessageCodec getCodec(String name) {
+        MessageCodec codec = CODECS.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException(format("Unknown message codec \"%s\" (known codecs: \"%s\")",
+                    name, String.join("\", \"", CODECS.keySet())));
+        }
+        return codec;
+    }
+
+    public MessageCodec select(String topic) {
+        return topicCodecs.getOrDefault(topic, defaultCodec);
+    }
+
+    private static Map<String, MessageCodec> loadCodecs() {
+        Map<String, MessageCodec> codecs = new LinkedHashMap<>();
+        register(codecs, new JsonMessageCodec());
+        register(codecs, new AfterburnerJsonMessageCodec());
+        for (MessageCodec codec : ServiceLoader.load(MessageCodec.class)) {
+            register(codecs, codec);
+        }
+        return codecs;
+    }
+
+    private static void register(Map<String, MessageCodec> codecs, MessageCodec codec) {
+        if (codecs.putIfAbsent(codec.getName(), codec) != null) {
+            throw new IllegalStateException(format("Locate more than 1 message codec named \"%s\"", codec.getName()));
+        }
+    }
+}
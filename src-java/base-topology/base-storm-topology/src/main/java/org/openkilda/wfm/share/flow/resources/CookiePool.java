@@ -24,7 +24,6 @@ import org.openkilda.persistence.tx.TransactionRequired;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Optional;
 import java.util.Random;
 
 /**
@@ -39,7 +38,8 @@ public class CookiePool {
     private final long maxCookie;
     private final int poolSize;
 
-    private long nextCookie = 0;
+    private ResourceIdBitmap allocatedCookies;
+    private long nextCookie;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie, int poolSize) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -53,45 +53,57 @@ public class CookiePool {
 
     /**
      * Allocates a cookie for the flow.
+     * <p/>
+     * Free cookies are looked up in the local bitmap of allocated ones, the repository is only asked to confirm the
+     * candidate. The bitmap may be stale (other workers allocate and deallocate cookies too), so it's reloaded once
+     * the pool looks exhausted. The allocated cookie is released in the bitmap if the transaction is rolled back.
      *
      * @return unmasked allocated cookie.
      */
     @TransactionRequired
     public long allocate(String flowId) {
-        if (nextCookie > 0) {
-            if (nextCookie <= maxCookie && !flowCookieRepository.exists(nextCookie)) {
-                addCookie(flowId, nextCookie);
-                return nextCookie++;
-            } else {
-                nextCookie = 0;
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (nextCookie == 0) {
+        if (allocatedCookies == null) {
+            loadAllocatedCookies();
             long numOfPools = (maxCookie - minCookie) / poolSize;
             if (numOfPools > 1) {
                 long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<Long> availableCookie = flowCookieRepository.findFirstUnassignedCookie(
-                        minCookie + poolToTake * poolSize,
-                        minCookie + (poolToTake + 1) * poolSize - 1);
-                if (availableCookie.isPresent()) {
-                    nextCookie = availableCookie.get();
-                    addCookie(flowId, nextCookie);
-                    return nextCookie++;
-                }
+                nextCookie = minCookie + poolToTake * poolSize;
+            } else {
+                nextCookie = minCookie;
             }
-            // The pool requires full scan.
-            nextCookie = -1;
         }
-        if (nextCookie == -1) {
-            Optional<Long> availableCookie = flowCookieRepository.findFirstUnassignedCookie(minCookie, maxCookie);
-            if (availableCookie.isPresent()) {
-                nextCookie = availableCookie.get();
-                addCookie(flowId, nextCookie);
-                return nextCookie++;
-            }
+
+        long cookie = findAvailableCookie();
+        if (cookie == ResourceIdBitmap.NOT_FOUND) {
+            loadAllocatedCookies();
+            cookie = findAvailableCookie();
+        }
+        if (cookie == ResourceIdBitmap.NOT_FOUND) {
+            throw new ResourceNotAvailableException("No cookie available");
+        }
+
+        addCookie(flowId, cookie);
+        allocatedCookies.set(cookie);
+        long allocatedCookie = cookie;
+        transactionManager.onRollback(() -> releaseCookie(allocatedCookie));
+        nextCookie = cookie + 1;
+        return cookie;
+    }
+
+    private long findAvailableCookie() {
+        long cookie = allocatedCookies.findFree(nextCookie);
+        while (cookie != ResourceIdBitmap.NOT_FOUND && flowCookieRepository.exists(cookie)) {
+            // Allocated by another worker.
+            allocatedCookies.set(cookie);
+            cookie = allocatedCookies.findFree(cookie + 1);
         }
-        throw new ResourceNotAvailableException("No cookie available");
+        return cookie;
+    }
+
+    private void loadAllocatedCookies() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(minCookie, maxCookie);
+        flowCookieRepository.findAll().forEach(flowCookie -> bitmap.set(flowCookie.getUnmaskedCookie()));
+        allocatedCookies = bitmap;
     }
 
     private void addCookie(String flowId, long cookie) {
@@ -110,5 +122,12 @@ public class CookiePool {
                 flowCookieRepository.findByCookie(unmaskedCookie)
                         .ifPresent(flowCookieRepository::remove)
         );
+        releaseCookie(unmaskedCookie);
+    }
+
+    private void releaseCookie(long unmaskedCookie) {
+        if (allocatedCookies != null) {
+            allocatedCookies.clear(unmaskedCookie);
+        }
     }
 }
@@ -16,6 +16,8 @@
 package org.openkilda.wfm.share.flow.resources;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
 import org.openkilda.model.FlowMeter;
@@ -49,7 +51,8 @@ public class MeterPool {
     private final MeterId maxMeterId;
     private final int poolSize;
 
-    private Map<SwitchId, MeterId> nextMeters = new HashMap<>();
+    private final Map<SwitchId, ResourceIdBitmap> allocatedMeters = new HashMap<>();
+    private final Map<SwitchId, Long> nextMeters = new HashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId, int poolSize) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -63,49 +66,67 @@ public class MeterPool {
 
     /**
      * Allocates a meter for the flow path.
+     * <p/>
+     * Free meters are looked up in the local per-switch bitmaps of allocated ones, the repository is only asked to
+     * confirm the candidate. The bitmap of a switch is loaded on its first allocation and reloaded once the switch
+     * pool looks exhausted. The allocated meter is released in the bitmap if the transaction is rolled back.
      */
     @TransactionRequired
     public MeterId allocate(SwitchId switchId, String flowId, PathId pathId) {
-        MeterId nextMeter = nextMeters.get(switchId);
-        if (nextMeter != null && nextMeter.getValue() > 0) {
-            if (nextMeter.compareTo(maxMeterId) <= 0 && !flowMeterRepository.exists(switchId, nextMeter)) {
-                addMeter(flowId, pathId, switchId, nextMeter);
-                nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                return nextMeter;
-            } else {
-                nextMeters.remove(switchId);
-            }
+        ResourceIdBitmap switchMeters = allocatedMeters.get(switchId);
+        if (switchMeters == null) {
+            switchMeters = loadAllocatedMeters(switchId);
         }
-        // The pool requires (re-)initialization.
         if (!nextMeters.containsKey(switchId)) {
             long numOfPools = (maxMeterId.getValue() - minMeterId.getValue()) / poolSize;
+            long nextMeter = minMeterId.getValue();
             if (numOfPools > 1) {
                 long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<MeterId> availableMeter = flowMeterRepository.findFirstUnassignedMeter(switchId,
-                        new MeterId(minMeterId.getValue() + poolToTake * poolSize),
-                        new MeterId(minMeterId.getValue() + (poolToTake + 1) * poolSize - 1));
-                if (availableMeter.isPresent()) {
-                    nextMeter = availableMeter.get();
-                    addMeter(flowId, pathId, switchId, nextMeter);
-                    nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                    return nextMeter;
-                }
+                nextMeter += poolToTake * poolSize;
             }
-            // The pool requires full scan.
-            nextMeter = new MeterId(-1);
             nextMeters.put(switchId, nextMeter);
         }
-        if (nextMeter != null && nextMeter.getValue() == -1) {
-            Optional<MeterId> availableMeter = flowMeterRepository.findFirstUnassignedMeter(switchId,
-                    minMeterId, maxMeterId);
-            if (availableMeter.isPresent()) {
-                nextMeter = availableMeter.get();
-                addMeter(flowId, pathId, switchId, nextMeter);
-                nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                return nextMeter;
-            }
+
+        long meter = findAvailableMeter(switchId, switchMeters);
+        if (meter == ResourceIdBitmap.NOT_FOUND) {
+            switchMeters = loadAllocatedMeters(switchId);
+            meter = findAvailableMeter(switchId, switchMeters);
+        }
+        if (meter == ResourceIdBitmap.NOT_FOUND) {
+            throw new ResourceNotAvailableException(format("No meter available for switch %s", switchId));
+        }
+
+        MeterId meterId = new MeterId(meter);
+        addMeter(flowId, pathId, switchId, meterId);
+        switchMeters.set(meter);
+        transactionManager.onRollback(() -> releaseMeter(switchId, meterId.getValue()));
+        nextMeters.put(switchId, meter + 1);
+        return meterId;
+    }
+
+    private long findAvailableMeter(SwitchId switchId, ResourceIdBitmap switchMeters) {
+        long meter = switchMeters.findFree(nextMeters.get(switchId));
+        while (meter != ResourceIdBitmap.NOT_FOUND && flowMeterRepository.exists(switchId, new MeterId(meter))) {
+            // Allocated by another worker.
+            switchMeters.set(meter);
+            meter = switchMeters.findFree(meter + 1);
+        }
+        return meter;
+    }
+
+    private ResourceIdBitmap loadAllocatedMeters(SwitchId switchId) {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(minMeterId.getValue(), maxMeterId.getValue());
+        flowMeterRepository.findBySwitchId(switchId).forEach(flowMeter ->
+                bitmap.set(flowMeter.getMeterId().getValue()));
+        allocatedMeters.put(switchId, bitmap);
+        return bitmap;
+    }
+
+    private void releaseMeter(SwitchId switchId, long meter) {
+        ResourceIdBitmap switchMeters = allocatedMeters.get(switchId);
+        if (switchMeters != null) {
+            switchMeters.clear(meter);
         }
-        throw new ResourceNotAvailableException(format("No meter available for switch %s", switchId));
     }
 
     private void addMeter(String flowId, PathId pathId, SwitchId switchId, MeterId meterId) {
@@ -122,14 +143,20 @@ public class MeterPool {
      * Deallocates a meter(s) of the flow path(s).
      */
     public void deallocate(PathId... pathIds) {
-        transactionManager.doInTransaction(() -> {
+        Map<SwitchId, List<Long>> removed = transactionManager.doInTransaction(() -> {
             List<FlowMeter> meters = Arrays.stream(pathIds)
                     .map(flowMeterRepository::findByPathId)
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .collect(toList());
 
+            Map<SwitchId, List<Long>> result = meters.stream()
+                    .collect(groupingBy(FlowMeter::getSwitchId,
+                            mapping(flowMeter -> flowMeter.getMeterId().getValue(), toList())));
             meters.forEach(flowMeterRepository::remove);
+            return result;
         });
+
+        removed.forEach((switchId, meters) -> meters.forEach(meter -> releaseMeter(switchId, meter)));
     }
 }
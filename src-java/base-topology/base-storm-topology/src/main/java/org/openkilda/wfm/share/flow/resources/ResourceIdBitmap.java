@@ -0,0 +1,189 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of allocated ids of the range [min, max] used to find a free id without querying the database.
+ * <p/>
+ * The range is split into pages of 64K ids. Pages without allocated ids are not stored, so the bitmap takes memory
+ * proportional to the number of allocated ids rather than to the range size. Full pages are skipped without scanning,
+ * so the lookup of a free id scans at most one partially filled page.
+ * <p/>
+ * Not thread safe.
+ */
+public class ResourceIdBitmap {
+    public static final long NOT_FOUND = -1;
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_BITS - 1;
+
+    private final long min;
+    private final long max;
+    private final Map<Long, Page> pages = new HashMap<>();
+    private long cardinality;
+
+    public ResourceIdBitmap(long min, long max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException(String.format("Invalid id range [%d, %d]", min, max));
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Marks the id as allocated. Ids out of the range are ignored.
+     */
+    public void set(long id) {
+        if (id < min || id > max) {
+            return;
+        }
+        long offset = id - min;
+        long pageIndex = offset >>> PAGE_SHIFT;
+        Page page = pages.computeIfAbsent(pageIndex, this::newPage);
+        if (page.set((int) (offset & PAGE_MASK))) {
+            cardinality++;
+        }
+    }
+
+    /**
+     * Marks the id as free. Ids out of the range are ignored.
+     */
+    public void clear(long id) {
+        if (id < min || id > max) {
+            return;
+        }
+        long offset = id - min;
+        long pageIndex = offset >>> PAGE_SHIFT;
+        Page page = pages.get(pageIndex);
+        if (page != null && page.clear((int) (offset & PAGE_MASK))) {
+            cardinality--;
+            if (page.count == 0) {
+                pages.remove(pageIndex);
+            }
+        }
+    }
+
+    public boolean isSet(long id) {
+        if (id < min || id > max) {
+            return false;
+        }
+        long offset = id - min;
+        Page page = pages.get(offset >>> PAGE_SHIFT);
+        return page != null && page.isSet((int) (offset & PAGE_MASK));
+    }
+
+    /**
+     * Finds a free id starting from the given one and wrapping around to the beginning of the range.
+     *
+     * @return the free id or {@link #NOT_FOUND} if all ids of the range are allocated.
+     */
+    public long findFree(long from) {
+        long start = Math.min(Math.max(from, min), max);
+        long result = findFree(start - min, max - min);
+        if (result == NOT_FOUND && start > min) {
+            result = findFree(0, start - min - 1);
+        }
+        return result == NOT_FOUND ? NOT_FOUND : min + result;
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    private long findFree(long fromOffset, long toOffset) {
+        long offset = fromOffset;
+        while (offset <= toOffset) {
+            long pageIndex = offset >>> PAGE_SHIFT;
+            Page page = pages.get(pageIndex);
+            if (page == null) {
+                return offset;
+            }
+            if (page.count < page.size) {
+                int bit = page.findFree((int) (offset & PAGE_MASK));
+                if (bit >= 0) {
+                    long found = (pageIndex << PAGE_SHIFT) + bit;
+                    return found <= toOffset ? found : NOT_FOUND;
+                }
+            }
+            offset = (pageIndex + 1) << PAGE_SHIFT;
+        }
+        return NOT_FOUND;
+    }
+
+    private Page newPage(long pageIndex) {
+        long size = Math.min(PAGE_BITS, max - min + 1 - (pageIndex << PAGE_SHIFT));
+        return new Page((int) size);
+    }
+
+    private static final class Page {
+        private final long[] words;
+        private final int size;
+        private int count;
+
+        private Page(int size) {
+            this.size = size;
+            this.words = new long[(size + 63) >>> 6];
+        }
+
+        private boolean set(int bit) {
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            if ((words[index] & mask) != 0) {
+                return false;
+            }
+            words[index] |= mask;
+            count++;
+            return true;
+        }
+
+        private boolean clear(int bit) {
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            if ((words[index] & mask) == 0) {
+                return false;
+            }
+            words[index] &= ~mask;
+            count--;
+            return true;
+        }
+
+        private boolean isSet(int bit) {
+            return (words[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        /**
+         * Finds the first free bit starting from the given one, or -1 if there is no such bit in the page.
+         */
+        private int findFree(int from) {
+            int index = from >>> 6;
+            long word = ~words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    int bit = (index << 6) + Long.numberOfTrailingZeros(word);
+                    return bit < size ? bit : -1;
+                }
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = ~words[index];
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.share.flow.resources.transitvlan;
 
+import static java.util.stream.Collectors.toList;
+
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
@@ -24,11 +26,13 @@ import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -44,7 +48,8 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     private final int maxTransitVlan;
     private final int poolSize;
 
-    private int nextVlan = 0;
+    private ResourceIdBitmap allocatedVlans;
+    private long nextVlan;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan,
                            int poolSize) {
@@ -68,38 +73,49 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     @TransactionRequired
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
-        if (nextVlan > 0) {
-            if (nextVlan <= maxTransitVlan && !transitVlanRepository.exists(nextVlan)) {
-                return addVlan(flow, pathId, nextVlan++);
-            } else {
-                nextVlan = 0;
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (nextVlan == 0) {
+        if (allocatedVlans == null) {
+            loadAllocatedVlans();
             long numOfPools = (maxTransitVlan - minTransitVlan) / poolSize;
             if (numOfPools > 1) {
                 long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<Integer> availableVlan = transitVlanRepository.findFirstUnassignedVlan(
-                        minTransitVlan + (int) poolToTake * poolSize,
-                        minTransitVlan + (int) (poolToTake + 1) * poolSize - 1);
-                if (availableVlan.isPresent()) {
-                    nextVlan = availableVlan.get();
-                    return addVlan(flow, pathId, nextVlan++);
-                }
+                nextVlan = minTransitVlan + poolToTake * poolSize;
+            } else {
+                nextVlan = minTransitVlan;
             }
-            // The pool requires full scan.
-            nextVlan = -1;
         }
-        if (nextVlan == -1) {
-            Optional<Integer> availableVlan = transitVlanRepository.findFirstUnassignedVlan(minTransitVlan,
-                    minTransitVlan);
-            if (availableVlan.isPresent()) {
-                nextVlan = availableVlan.get();
-                return addVlan(flow, pathId, nextVlan++);
-            }
+
+        long vlan = findAvailableVlan();
+        if (vlan == ResourceIdBitmap.NOT_FOUND) {
+            // The bitmap may be stale, other workers deallocate vlans too.
+            loadAllocatedVlans();
+            vlan = findAvailableVlan();
         }
-        throw new ResourceNotAvailableException("No vlan available");
+        if (vlan == ResourceIdBitmap.NOT_FOUND) {
+            throw new ResourceNotAvailableException("No vlan available");
+        }
+
+        TransitVlanEncapsulation result = addVlan(flow, pathId, (int) vlan);
+        allocatedVlans.set(vlan);
+        long allocatedVlan = vlan;
+        transactionManager.onRollback(() -> releaseVlan(allocatedVlan));
+        nextVlan = vlan + 1;
+        return result;
+    }
+
+    private long findAvailableVlan() {
+        long vlan = allocatedVlans.findFree(nextVlan);
+        while (vlan != ResourceIdBitmap.NOT_FOUND && transitVlanRepository.exists((int) vlan)) {
+            // Allocated by another worker.
+            allocatedVlans.set(vlan);
+            vlan = allocatedVlans.findFree(vlan + 1);
+        }
+        return vlan;
+    }
+
+    private void loadAllocatedVlans() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(minTransitVlan, maxTransitVlan);
+        transitVlanRepository.findAll().forEach(transitVlan -> bitmap.set(transitVlan.getVlan()));
+        allocatedVlans = bitmap;
     }
 
     private TransitVlanEncapsulation addVlan(Flow flow, PathId pathId, int vlan) {
@@ -120,9 +136,21 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
      */
     @Override
     public void deallocate(PathId pathId) {
-        transactionManager.doInTransaction(() ->
-                transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::remove));
+        Collection<Integer> removed = transactionManager.doInTransaction(() -> {
+            Collection<TransitVlan> vlans = transitVlanRepository.findByPathId(pathId, null);
+            List<Integer> result = vlans.stream()
+                    .map(TransitVlan::getVlan)
+                    .collect(toList());
+            vlans.forEach(transitVlanRepository::remove);
+            return result;
+        });
+        removed.forEach(this::releaseVlan);
+    }
+
+    private void releaseVlan(long vlan) {
+        if (allocatedVlans != null) {
+            allocatedVlans.clear(vlan);
+        }
     }
 
     /**
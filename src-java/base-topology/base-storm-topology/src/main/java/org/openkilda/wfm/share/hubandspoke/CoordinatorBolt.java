@@ -30,14 +30,6 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
-
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
  */
@@ -47,8 +39,16 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String INCOME_STREAM = "coordinator.command";
     public static final Fields FIELDS_KEY = new Fields(MessageKafkaTranslator.FIELD_ID_KEY);
 
-    private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private static final long TIMER_TICK_MILLIS = 10;
+    private static final int TIMER_WHEEL_SIZE = 8192;
+
+    private transient TimingWheel<String, Callback> callbacks;
+
+    @Override
+    protected void init() {
+        super.init();
+        callbacks = new TimingWheel<>(TIMER_TICK_MILLIS, TIMER_WHEEL_SIZE);
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -83,16 +83,14 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
 
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        callbacks.schedule(key, Callback.of(taskId, value), triggerTime);
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        if (callbacks.cancel(key) == null) {
             log.warn("{} is already cancelled", key);
         } else {
             log.debug("Request processing of {} is finished", key);
@@ -104,15 +102,9 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
+        for (Callback callback : callbacks.advance(currentTime)) {
+            getOutput().emitDirect(callback.taskId, callback.context);
         }
-
-        outdatedCallbacks.clear();
     }
 
     @Override
@@ -122,15 +114,10 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    Map<String, Callback> getCallbacks() {
+    TimingWheel<String, Callback> getCallbacks() {
         return callbacks;
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
-        return timeouts;
-    }
-
     public enum CoordinatorCommand {
         REQUEST_CALLBACK,
         CANCEL_CALLBACK
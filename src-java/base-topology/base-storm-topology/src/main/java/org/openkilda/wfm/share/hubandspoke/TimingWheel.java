@@ -0,0 +1,212 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.hubandspoke;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel: keyed timeouts with O(1) schedule and cancel operations.
+ * <p/>
+ * The time is split into ticks of {@code tickDuration} and a timeout is put into the bucket of the tick its deadline
+ * falls into (modulo the wheel size). The wheel does not read the clock, all time values (ticks, deadlines) are
+ * provided by the caller in the same units, e.g. milliseconds or {@link System#nanoTime()} values. Advancing the
+ * wheel visits only buckets of the elapsed ticks, so its cost depends on the number of elapsed ticks and expired
+ * timeouts, not on the number of pending ones. Timeouts which are more than one wheel turn ahead share buckets with
+ * nearer ones and are skipped until their turn comes.
+ * <p/>
+ * Not thread safe.
+ */
+public class TimingWheel<K, V> {
+    private static final long NANO_TIME_TICK_DURATION = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int NANO_TIME_WHEEL_SIZE = 4096;
+
+    private final long tickDuration;
+    private final int mask;
+    private final Entry<K, V>[] buckets;
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+
+    private long currentTick = Long.MIN_VALUE;
+
+    /**
+     * Creates a wheel for time values produced by {@link System#nanoTime()}: 10ms per tick, ~40 seconds per turn.
+     */
+    public static <K, V> TimingWheel<K, V> forNanoTime() {
+        return new TimingWheel<>(NANO_TIME_TICK_DURATION, NANO_TIME_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickDuration tick duration, it's also the precision of the wheel.
+     * @param wheelSize number of buckets, rounded up to the power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, int wheelSize) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize < 1 || wheelSize > (1 << 29)) {
+            throw new IllegalArgumentException(String.format("Invalid wheel size %d", wheelSize));
+        }
+        this.tickDuration = tickDuration;
+        int size = Integer.highestOneBit(wheelSize * 2 - 1);
+        this.mask = size - 1;
+        this.buckets = new Entry[size];
+    }
+
+    /**
+     * Schedules the timeout, the previous timeout of the key (if any) is replaced.
+     *
+     * @param deadline the timeout expires when the wheel is advanced to a later time.
+     */
+    public void schedule(K key, V value, long deadline) {
+        Entry<K, V> entry = new Entry<>(key, value, deadline);
+        Entry<K, V> previous = entries.put(key, entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+
+        // timeouts scheduled in the past go to the current bucket to be expired by the next advance
+        long tick = Math.max(Math.floorDiv(deadline, tickDuration), currentTick);
+        entry.bucket = (int) (tick & mask);
+        entry.next = buckets[entry.bucket];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        buckets[entry.bucket] = entry;
+    }
+
+    /**
+     * Cancels the timeout of the key.
+     *
+     * @return the value of the cancelled timeout or null if there is no timeout for the key.
+     */
+    public V cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        unlink(entry);
+        return entry.value;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes timeouts with deadlines before the time.
+     *
+     * @return values of expired timeouts ordered by deadline.
+     */
+    public List<V> advance(long now) {
+        long nowTick = Math.floorDiv(now, tickDuration);
+        if (entries.isEmpty()) {
+            currentTick = nowTick;
+            return Collections.emptyList();
+        }
+
+        long firstTick = Math.max(currentTick, nowTick - mask);
+        List<Entry<K, V>> expired = new ArrayList<>();
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            Entry<K, V> entry = buckets[(int) (tick & mask)];
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                if (entry.deadline < now) {
+                    unlink(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry);
+                }
+                entry = next;
+            }
+        }
+        // the bucket of the current tick may still contain timeouts, so it is visited by the next advance again
+        currentTick = Math.max(currentTick, nowTick);
+
+        if (expired.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (1 < expired.size()) {
+            expired.sort(Comparator.comparingLong(entry -> entry.deadline));
+        }
+        List<V> result = new ArrayList<>(expired.size());
+        for (Entry<K, V> entry : expired) {
+            result.add(entry.value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the deadline of the key's timeout, if any.
+     */
+    public Optional<Long> getDeadline(K key) {
+        Entry<K, V> entry = entries.get(key);
+        return entry != null ? Optional.of(entry.deadline) : Optional.empty();
+    }
+
+    /**
+     * Removes all timeouts.
+     */
+    public void clear() {
+        entries.clear();
+        Arrays.fill(buckets, null);
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private void unlink(Entry<K, V> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long deadline;
+
+        private int bucket;
+        private Entry<K, V> prev;
+        private Entry<K, V> next;
+
+        private Entry(K key, V value, long deadline) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -15,12 +15,15 @@
 
 package org.openkilda.wfm.share.metrics;
 
+import org.openkilda.persistence.metrics.PersistenceMeterRegistryHolder;
+
 import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.Optional;
 
 /**
  * Thread-local implementation of a registry holder. Keeps meter register bound to the current execution thread.
+ * The registry is shared with the persistence layer via {@link PersistenceMeterRegistryHolder}.
  */
 public final class MeterRegistryHolder {
     public static final ThreadLocal<MeterRegistry> registries = new ThreadLocal<>();
@@ -32,6 +35,7 @@ public final class MeterRegistryHolder {
      */
     public static void setRegistry(MeterRegistry registry) {
         registries.set(registry);
+        PersistenceMeterRegistryHolder.setRegistry(registry);
     }
 
     /**
@@ -48,6 +52,7 @@ public final class MeterRegistryHolder {
      */
     public static void removeRegistry() {
         registries.remove();
+        PersistenceMeterRegistryHolder.removeRegistry();
     }
 
     private MeterRegistryHolder() {
@@ -0,0 +1,125 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.time.Duration;
+
+/**
+ * Sum and count of the values received in the sliding time window.
+ *
+ * <p>Values are accumulated in the fixed ring of time buckets, so adding a value and expiring the outdated ones do
+ * not depend on the number of values in the window. The window is advanced in bucket steps, i.e. an expired value can
+ * stay in the aggregate no longer than one bucket duration.
+ */
+public class TimeWindowAggregator {
+    private final long windowMillis;
+    private final long bucketMillis;
+
+    private final long[] bucketIds;
+    private final long[] sums;
+    private final long[] counts;
+
+    private long latestBucketId = Long.MIN_VALUE;
+    private long sum = 0;
+    private long count = 0;
+
+    public TimeWindowAggregator(Duration window, int bucketsCount) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(String.format("Invalid window duration %s", window));
+        }
+        if (bucketsCount < 1) {
+            throw new IllegalArgumentException(String.format("Invalid buckets count %d", bucketsCount));
+        }
+
+        windowMillis = window.toMillis();
+        bucketMillis = Math.max(1, (windowMillis + bucketsCount - 1) / bucketsCount);
+
+        // one more bucket for the partially filled current one
+        int size = (int) ((windowMillis + bucketMillis - 1) / bucketMillis) + 1;
+        bucketIds = new long[size];
+        sums = new long[size];
+        counts = new long[size];
+    }
+
+    /**
+     * Add value received at the time {@code timestamp} (in milliseconds). The value is ignored if it is older than
+     * the window ending at the most recent of the added values.
+     */
+    public void add(long value, long timestamp) {
+        long bucketId = Math.floorDiv(timestamp, bucketMillis);
+        if (latestBucketId != Long.MIN_VALUE && bucketId <= latestBucketId - bucketIds.length) {
+            return;
+        }
+        latestBucketId = Math.max(latestBucketId, bucketId);
+
+        int index = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+        if (counts[index] != 0 && bucketIds[index] != bucketId) {
+            // the bucket is out of the window and its slot is reused
+            clear(index);
+        }
+
+        bucketIds[index] = bucketId;
+        sums[index] += value;
+        counts[index] += 1;
+        sum += value;
+        count += 1;
+    }
+
+    /**
+     * Drop the values received earlier than {@code now - window} (in milliseconds).
+     */
+    public void expire(long now) {
+        if (count == 0) {
+            return;
+        }
+
+        long oldestBucketId = Math.floorDiv(now - windowMillis, bucketMillis);
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (counts[i] != 0 && bucketIds[i] < oldestBucketId) {
+                clear(i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Average of the values in the window. Must not be called on an empty aggregator.
+     */
+    public long getAverage() {
+        if (count == 0) {
+            throw new IllegalStateException("Unable to calculate average value, there is no values in the window");
+        }
+        return sum / count;
+    }
+
+    private void clear(int index) {
+        sum -= sums[index];
+        count -= counts[index];
+        sums[index] = 0;
+        counts[index] = 0;
+    }
+}
@@ -42,12 +42,14 @@ import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.kafka.ObjectSerializer;
+import org.openkilda.wfm.kafka.codec.MessageCodecSelector;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -228,6 +230,10 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         kafka.setProperty(PRODUCER_ZOOKEEPER_CONNECTION_STRING_PROPERTY, getZookeeperConfig().getConnectString());
         kafka.setProperty(PRODUCER_ZOOKEEPER_RECONNECTION_DELAY_PROPERTY,
                 Long.toString(getZookeeperConfig().getReconnectDelay()));
+        kafka.setProperty(MessageCodecSelector.CODEC_PROPERTY, kafkaConfig.getCodec());
+        if (kafkaConfig.getTopicCodecs() != null) {
+            kafka.setProperty(MessageCodecSelector.TOPIC_CODECS_PROPERTY, kafkaConfig.getTopicCodecs());
+        }
 
         return kafka;
     }
@@ -368,6 +374,22 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    /**
+     * Creates Kafka bolt, that sends raw byte array payloads.
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaBolt}
+     */
+    protected KafkaBolt<String, byte[]> createBinaryKafkaBolt(String topic) {
+        Properties properties = getKafkaProducerProperties();
+        properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+
+        return new KafkaBolt<String, byte[]>()
+                .withProducerProperties(properties)
+                .withTopicSelector(new DefaultTopicSelector(topic))
+                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
+    }
+
     /**
      * Creates Kafka bolt, that uses {@link MessageSerializer} in order to serialize an object.
      *
@@ -419,7 +441,11 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .setProp(CONSUMER_ZOOKEEPER_CONNECTION_STRING_PROPERTY, getZookeeperConfig().getConnectString())
                 .setProp(CONSUMER_ZOOKEEPER_RECONNECTION_DELAY_PROPERTY,
                         Long.toString(getZookeeperConfig().getReconnectDelay()))
+                .setProp(MessageCodecSelector.CODEC_PROPERTY, kafkaConfig.getCodec())
                 .setTupleTrackingEnforced(true);
+        if (kafkaConfig.getTopicCodecs() != null) {
+            config.setProp(MessageCodecSelector.TOPIC_CODECS_PROPERTY, kafkaConfig.getTopicCodecs());
+        }
 
         return config;
     }
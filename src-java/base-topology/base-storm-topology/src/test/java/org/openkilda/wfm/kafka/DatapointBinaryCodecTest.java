@@ -0,0 +1,102 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointEntries;
+import org.openkilda.messaging.info.InfoData;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DatapointBinaryCodecTest {
+
+    @Test
+    public void shouldDecodeEncodedDatapoints() throws IOException {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("switchid", "00:00:00:00:00:00:00:01");
+        tags.put("port", "1");
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.switch.rx-bytes", 1000L, tags, 1),
+                new Datapoint("kilda.switch.rx-bytes", 1001L, tags, Long.MAX_VALUE),
+                new Datapoint("kilda.switch.tx-bytes", null, null, 1.5d),
+                new Datapoint("kilda.flow.latency", 1002L, new HashMap<>(), 2.5f),
+                new Datapoint("kilda.flow.latency", 1003L, tags, null));
+
+        byte[] encoded = DatapointBinaryCodec.encode(datapoints);
+        assertTrue(DatapointBinaryCodec.isEncoded(encoded));
+
+        List<Datapoint> decoded = DatapointBinaryCodec.decode(encoded);
+        assertEquals(datapoints, decoded);
+        for (int i = 0; i < datapoints.size(); i++) {
+            assertEquals(datapoints.get(i).getTime(), decoded.get(i).getTime());
+            if (datapoints.get(i).getValue() != null) {
+                assertEquals(datapoints.get(i).getValue().getClass(), decoded.get(i).getValue().getClass());
+            }
+        }
+    }
+
+    @Test
+    public void shouldEncodeRepeatedStringsOnce() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("switchid", "00:00:00:00:00:00:00:01");
+        List<Datapoint> single = Arrays.asList(new Datapoint("kilda.switch.rx-bytes", 1000L, tags, 1L));
+        List<Datapoint> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(new Datapoint("kilda.switch.rx-bytes", 1000L + i, tags, (long) i));
+        }
+
+        int singleSize = DatapointBinaryCodec.encode(single).length;
+        int batchSize = DatapointBinaryCodec.encode(batch).length;
+        assertTrue(batchSize < singleSize * 2);
+    }
+
+    @Test
+    public void shouldNotTreatJsonAsEncoded() {
+        assertFalse(DatapointBinaryCodec.isEncoded("{\"clazz\":\"datapoint\"}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(DatapointBinaryCodec.isEncoded(new byte[0]));
+        assertFalse(DatapointBinaryCodec.isEncoded(null));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailOnTruncatedRecord() throws IOException {
+        byte[] encoded = DatapointBinaryCodec.encode(Arrays.asList(new Datapoint("metric", 1L, null, 1)));
+        DatapointBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1));
+    }
+
+    @Test
+    public void deserializerShouldAcceptEncodedRecords() {
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("kilda.switch.rx-bytes", 1000L, new HashMap<>(), 1L),
+                new Datapoint("kilda.switch.tx-bytes", 1000L, new HashMap<>(), 2L));
+
+        InfoData result = new InfoDataDeserializer().deserialize("topic", DatapointBinaryCodec.encode(datapoints));
+
+        assertTrue(result instanceof DatapointEntries);
+        assertEquals(datapoints, ((DatapointEntries) result).getDatapointEntries());
+    }
+}
@@ -0,0 +1,124 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.SerializationUtils;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.kafka.MessageDeserializer;
+import org.openkilda.wfm.kafka.MessageSerializer;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MessageCodecTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:00:00:00:00:00:00:02");
+
+    private final MessageCodec json = MessageCodecSelector.getCodec(JsonMessageCodec.NAME);
+    private final MessageCodec afterburner = MessageCodecSelector.getCodec(AfterburnerJsonMessageCodec.NAME);
+
+    @Test
+    public void afterburnerCodecShouldBeCompatibleWithJsonCodec() throws IOException {
+        for (Object payload : makePayloads()) {
+            byte[] jsonEncoded = json.encode(payload);
+            byte[] afterburnerEncoded = afterburner.encode(payload);
+            assertEquals(readTree(jsonEncoded), readTree(afterburnerEncoded));
+
+            Class<?> type = payload instanceof Message ? Message.class : payload.getClass();
+            assertEquals(readTree(jsonEncoded), readTree(json.encode(afterburner.decode(jsonEncoded, type))));
+            assertEquals(readTree(jsonEncoded), readTree(afterburner.encode(json.decode(afterburnerEncoded, type))));
+        }
+    }
+
+    @Test
+    public void shouldSelectCodecByTopic() {
+        MessageCodecSelector selector = MessageCodecSelector.fromConfigs(ImmutableMap.of(
+                MessageCodecSelector.CODEC_PROPERTY, JsonMessageCodec.NAME,
+                MessageCodecSelector.TOPIC_CODECS_PROPERTY, " fast = json-afterburner, ,other=json"));
+
+        assertSame(afterburner, selector.select("fast"));
+        assertSame(json, selector.select("other"));
+        assertSame(json, selector.select("unknown"));
+        assertSame(MessageCodecSelector.DEFAULT, MessageCodecSelector.fromConfigs(Collections.emptyMap()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnUnknownCodec() {
+        MessageCodecSelector.fromConfigs(ImmutableMap.of(MessageCodecSelector.CODEC_PROPERTY, "unknown"));
+    }
+
+    @Test
+    public void serializersShouldUseConfiguredCodecs() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(ImmutableMap.of(MessageCodecSelector.CODEC_PROPERTY, AfterburnerJsonMessageCodec.NAME),
+                false);
+        MessageDeserializer deserializer = new MessageDeserializer();
+        deserializer.configure(Collections.emptyMap(), false);
+
+        Message message = new InfoMessage(
+                new PortInfoData(SWITCH_1, 1, PortChangeType.UP), 1000L, "correlation-id");
+        Message decoded = deserializer.deserialize("topic", serializer.serialize("topic", message));
+
+        assertTrue(decoded instanceof InfoMessage);
+        assertEquals(((InfoMessage) message).getData(), ((InfoMessage) decoded).getData());
+    }
+
+    private List<Object> makePayloads() {
+        PortStatsEntry portStats = new PortStatsEntry(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13);
+        IslInfoData isl = new IslInfoData(new PathNode(SWITCH_1, 1, 0), new PathNode(SWITCH_2, 2, 1),
+                IslChangeType.DISCOVERED, false);
+        FlowDto flow = FlowDto.builder()
+                .flowId("flow")
+                .bandwidth(1000)
+                .sourceSwitch(SWITCH_1)
+                .sourcePort(1)
+                .sourceVlan(100)
+                .destinationSwitch(SWITCH_2)
+                .destinationPort(2)
+                .destinationVlan(200)
+                .description("description")
+                .build();
+
+        return Arrays.asList(
+                new InfoMessage(new PortInfoData(SWITCH_1, 1, PortChangeType.UP), 1000L, "port"),
+                new InfoMessage(isl, 1000L, "isl"),
+                new InfoMessage(new PortStatsData(SWITCH_1, Collections.singletonList(portStats)), 1000L, "stats"),
+                flow);
+    }
+
+    private static Object readTree(byte[] data) throws IOException {
+        return SerializationUtils.MAPPER.readTree(data);
+    }
+}
@@ -67,6 +67,22 @@ public class CookiePoolTest extends InMemoryGraphBasedTest {
         });
     }
 
+    @Test
+    public void cookiePoolSharedWithAnotherPoolTest() {
+        CookiePool anotherCookiePool = new CookiePool(persistenceManager, MIN_COOKIE, MAX_COOKIE, 1);
+        transactionManager.doInTransaction(() -> {
+            Set<Long> cookies = new HashSet<>();
+            for (long i = MIN_COOKIE; i <= MAX_COOKIE; i++) {
+                CookiePool pool = i % 2 == 0 ? cookiePool : anotherCookiePool;
+                assertTrue(cookies.add(pool.allocate(format("flow_%d", i))));
+            }
+
+            long cookie = cookies.iterator().next();
+            anotherCookiePool.deallocate(cookie);
+            assertEquals(cookie, cookiePool.allocate("flow_0"));
+        });
+    }
+
     @Test
     public void cookieLldp() {
         transactionManager.doInTransaction(() -> {
@@ -0,0 +1,113 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+public class ResourceIdBitmapTest {
+
+    @Test
+    public void shouldSetAndClearIds() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(32, 2500);
+
+        bitmap.set(32);
+        bitmap.set(2500);
+        bitmap.set(32);
+        bitmap.set(31);
+        bitmap.set(2501);
+
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.isSet(32));
+        assertTrue(bitmap.isSet(2500));
+        assertFalse(bitmap.isSet(33));
+
+        bitmap.clear(32);
+        bitmap.clear(32);
+        assertEquals(1, bitmap.cardinality());
+        assertFalse(bitmap.isSet(32));
+    }
+
+    @Test
+    public void shouldFindFreeIdWithWrapAround() {
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(5, 9);
+        for (long id = 5; id <= 9; id++) {
+            bitmap.set(id);
+        }
+        assertEquals(ResourceIdBitmap.NOT_FOUND, bitmap.findFree(5));
+
+        bitmap.clear(6);
+        assertEquals(6, bitmap.findFree(8));
+        assertEquals(6, bitmap.findFree(100));
+        assertEquals(6, bitmap.findFree(0));
+    }
+
+    @Test
+    public void shouldAllocateWholeCookieRange() {
+        long min = 1;
+        long max = 1_000_000;
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(min, max);
+
+        long next = 500_000;
+        for (long i = min; i <= max; i++) {
+            long id = bitmap.findFree(next);
+            assertEquals(next > max ? min : next, id);
+            bitmap.set(id);
+            next = id + 1;
+        }
+
+        assertEquals(max - min + 1, bitmap.cardinality());
+        assertEquals(ResourceIdBitmap.NOT_FOUND, bitmap.findFree(min));
+    }
+
+    @Test
+    public void shouldBehaveAsTreeSetOnRandomOperations() {
+        long min = 10;
+        long max = 200_000;
+        ResourceIdBitmap bitmap = new ResourceIdBitmap(min, max);
+        TreeSet<Long> free = new TreeSet<>();
+        for (long id = min; id <= max; id++) {
+            free.add(id);
+        }
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = min + (long) (random.nextDouble() * (max - min + 1));
+            if (random.nextInt(3) == 0) {
+                bitmap.clear(id);
+                free.add(id);
+            } else {
+                bitmap.set(id);
+                free.remove(id);
+            }
+
+            long from = min + (long) (random.nextDouble() * (max - min + 1));
+            Long expected = free.ceiling(from);
+            if (expected == null) {
+                expected = free.isEmpty() ? ResourceIdBitmap.NOT_FOUND : free.first();
+            }
+            assertEquals(expected.longValue(), bitmap.findFree(from));
+        }
+
+        assertEquals(max - min + 1 - free.size(), bitmap.cardinality());
+    }
+}
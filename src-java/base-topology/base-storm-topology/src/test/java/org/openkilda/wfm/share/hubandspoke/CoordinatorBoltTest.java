@@ -20,6 +20,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,9 +33,6 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @RunWith(MockitoJUnitRunner.class)
 public class CoordinatorBoltTest {
 
@@ -64,7 +62,7 @@ public class CoordinatorBoltTest {
         target.registerCallback(key, context, timeout, taskId);
 
         assertThat(target.getCallbacks().size(), is(1));
-        assertThat(target.getTimeouts().size(), is(1));
+        assertTrue(target.getCallbacks().contains(key));
 
         target.cancelCallback(key);
         assertTrue(target.getCallbacks().isEmpty());
@@ -82,16 +80,26 @@ public class CoordinatorBoltTest {
         assertThat(target.getCallbacks().size(), is(2));
 
         // check that we have stored timeouts for out tasks
-        Set<String> tasks = target.getTimeouts()
-                .values()
-                .stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
-        assertThat(tasks.size(), is(2));
+        assertTrue(target.getCallbacks().contains("request1"));
+        assertTrue(target.getCallbacks().contains("request2"));
 
         long afterTimeout = System.currentTimeMillis() + timeout + 1L;
         target.tick(afterTimeout);
         verify(collector).emitDirect(eq(firstTask), anyList());
         verify(collector).emitDirect(eq(secondTask), anyList());
+        assertTrue(target.getCallbacks().isEmpty());
+    }
+
+    @Test
+    public void shouldNotEmitCancelledCallback() {
+        final int timeout = 1;
+        target.registerCallback("request1", "some context", timeout, 101);
+        target.registerCallback("request2", "some context", timeout, 102);
+        target.cancelCallback("request1");
+
+        target.tick(System.currentTimeMillis() + timeout + 1L);
+        verify(collector, never()).emitDirect(eq(101), anyList());
+        verify(collector).emitDirect(eq(102), anyList());
+        assertTrue(target.getCallbacks().isEmpty());
     }
 }
@@ -0,0 +1,144 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.hubandspoke;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class TimingWheelTest {
+
+    @Test
+    public void shouldExpireTimeoutsBeforeTheTime() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(10, 16);
+        wheel.schedule("a", "a-value", 1005);
+        wheel.schedule("b", "b-value", 1015);
+        wheel.schedule("c", "c-value", 1015 + 16 * 10);
+
+        assertTrue(wheel.advance(1005).isEmpty());
+        assertThat(wheel.advance(1006), is(Collections.singletonList("a-value")));
+        assertThat(wheel.advance(1100), is(Collections.singletonList("b-value")));
+        assertThat(wheel.size(), is(1));
+        assertThat(wheel.advance(1176), is(Collections.singletonList("c-value")));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldCancelAndReplaceTimeouts() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(10, 16);
+        wheel.schedule("a", "a-value", 1000);
+        wheel.schedule("b", "b-value", 1000);
+        wheel.schedule("b", "b-new-value", 2000);
+
+        assertThat(wheel.cancel("a"), is("a-value"));
+        assertThat(wheel.cancel("a"), is((String) null));
+        assertTrue(wheel.advance(1500).isEmpty());
+        assertThat(wheel.advance(2001), is(Collections.singletonList("b-new-value")));
+    }
+
+    @Test
+    public void shouldExpireTimeoutsScheduledInThePast() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(10, 16);
+        wheel.advance(5000);
+        wheel.schedule("a", "a-value", 1000);
+
+        assertThat(wheel.advance(5000), is(Collections.singletonList("a-value")));
+    }
+
+    @Test
+    public void shouldExpireTimeoutsInDeadlineOrder() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(10, 8);
+        wheel.schedule("c", "c-value", 35);
+        wheel.schedule("a", "a-value", 12);
+        wheel.schedule("b", "b-value", 17);
+
+        assertThat(wheel.advance(40), is(Arrays.asList("a-value", "b-value", "c-value")));
+    }
+
+    @Test
+    public void shouldReportDeadlineAndClear() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(10, 8);
+        wheel.schedule("a", "a-value", 50);
+        wheel.schedule("b", "b-value", 60);
+
+        assertThat(wheel.getDeadline("a"), is(Optional.of(50L)));
+        assertThat(wheel.getDeadline("c"), is(Optional.empty()));
+
+        wheel.clear();
+        assertTrue(wheel.isEmpty());
+        assertThat(wheel.getDeadline("a"), is(Optional.empty()));
+        assertTrue(wheel.advance(100).isEmpty());
+    }
+
+    @Test
+    public void shouldHandleNegativeTime() {
+        TimingWheel<String, String> wheel = TimingWheel.forNanoTime();
+        long origin = -TimeUnit.SECONDS.toNanos(5);
+        wheel.schedule("a", "a-value", origin - TimeUnit.MILLISECONDS.toNanos(25));
+        wheel.schedule("b", "b-value", origin - TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(wheel.advance(origin - TimeUnit.MILLISECONDS.toNanos(20)), is(Collections.singletonList("a-value")));
+        assertThat(wheel.advance(origin), is(Collections.singletonList("b-value")));
+    }
+
+    @Test
+    public void shouldBehaveAsSortedTimeouts() {
+        TimingWheel<Integer, Integer> wheel = new TimingWheel<>(4, 64);
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        long now = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertThat(wheel.cancel(key), is(expected.remove(key) != null ? key : null));
+                    break;
+                case 1:
+                    now += random.nextInt(100);
+                    Set<Integer> expired = new HashSet<>(wheel.advance(now));
+                    Set<Integer> expectedExpired = new HashSet<>();
+                    for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+                        if (entry.getValue() < now) {
+                            expectedExpired.add(entry.getKey());
+                        }
+                    }
+                    expected.keySet().removeAll(expectedExpired);
+                    assertThat(expired, is(expectedExpired));
+                    break;
+                default:
+                    long deadline = now + random.nextInt(1000) - 10;
+                    wheel.schedule(key, key, deadline);
+                    expected.put(key, deadline);
+            }
+            assertThat(wheel.size(), is(expected.size()));
+        }
+        assertThat(new HashSet<>(wheel.advance(Long.MAX_VALUE / 2)), is(new HashSet<>(expected.keySet())));
+        assertTrue(wheel.isEmpty());
+    }
+}
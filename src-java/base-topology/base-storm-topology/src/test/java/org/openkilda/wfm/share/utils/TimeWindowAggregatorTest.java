@@ -0,0 +1,111 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+public class TimeWindowAggregatorTest {
+    private static final long START = 1_600_000_000_000L;
+
+    @Test
+    public void shouldCalculateAverage() {
+        TimeWindowAggregator aggregator = new TimeWindowAggregator(Duration.ofSeconds(10), 10);
+        assertTrue(aggregator.isEmpty());
+
+        for (int i = 1; i <= 5; i++) {
+            aggregator.add(i, START);
+        }
+
+        assertFalse(aggregator.isEmpty());
+        assertEquals(5, aggregator.getCount());
+        assertEquals(15, aggregator.getSum());
+        assertEquals(3, aggregator.getAverage());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCalculateAverageOfEmptyWindow() {
+        new TimeWindowAggregator(Duration.ofSeconds(10), 10).getAverage();
+    }
+
+    @Test
+    public void shouldExpireOutdatedValues() {
+        TimeWindowAggregator aggregator = new TimeWindowAggregator(Duration.ofSeconds(10), 10);
+        long time = START;
+        for (int i = 0; i < 10; i++) {
+            aggregator.add(i, time);
+            time += 1000;
+        }
+
+        aggregator.expire(START + 14_000);
+        assertEquals(6, aggregator.getCount());
+        assertEquals(4 + 5 + 6 + 7 + 8 + 9, aggregator.getSum());
+
+        aggregator.expire(START + 100_000);
+        assertTrue(aggregator.isEmpty());
+    }
+
+    @Test
+    public void shouldReuseBucketsOnWindowMove() {
+        TimeWindowAggregator aggregator = new TimeWindowAggregator(Duration.ofSeconds(10), 10);
+        aggregator.add(100, START);
+        aggregator.add(7, START + 60_000);
+        aggregator.expire(START + 60_000);
+
+        assertEquals(1, aggregator.getCount());
+        assertEquals(7, aggregator.getAverage());
+
+        // too old for the window ending at the most recent value
+        aggregator.add(100, START + 1_000);
+        assertEquals(1, aggregator.getCount());
+    }
+
+    @Test
+    public void shouldMatchPlainQueueAverage() {
+        Duration window = Duration.ofSeconds(10);
+        TimeWindowAggregator aggregator = new TimeWindowAggregator(window, 10);
+        Deque<long[]> records = new ArrayDeque<>();
+        Random random = new Random(42);
+
+        long time = START;
+        for (int i = 0; i < 10_000; i++) {
+            time += random.nextInt(500);
+            long value = random.nextInt(1_000_000);
+            aggregator.add(value, time);
+            records.add(new long[] {value, time});
+
+            // bucket aligned cut, to get exactly the same set of values as the aggregator has
+            long bucketMillis = window.toMillis() / 10;
+            long oldest = Math.floorDiv(time - window.toMillis(), bucketMillis) * bucketMillis;
+            while (!records.isEmpty() && records.peek()[1] < oldest) {
+                records.poll();
+            }
+            aggregator.expire(time);
+
+            long sum = records.stream().mapToLong(entry -> entry[0]).sum();
+            assertEquals(records.size(), aggregator.getCount());
+            assertEquals(sum / records.size(), aggregator.getAverage());
+        }
+    }
+}
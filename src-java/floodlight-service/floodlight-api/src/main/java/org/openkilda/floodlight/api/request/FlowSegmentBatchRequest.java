@@ -0,0 +1,55 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.api.request;
+
+import org.openkilda.floodlight.model.FlowSegmentBatchEntry;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set of flow segment requests addressed to one switch. Speaker writes all of them using one session, so they are
+ * confirmed by a single barrier, and responds on each segment request separately.
+ */
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class FlowSegmentBatchRequest extends SpeakerRequest {
+    @JsonProperty("commands")
+    private final List<FlowSegmentBatchEntry> commands;
+
+    @JsonCreator
+    @Builder
+    public FlowSegmentBatchRequest(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("commands") @NonNull @Singular List<FlowSegmentBatchEntry> commands) {
+        super(messageContext, switchId, commandId);
+        this.commands = commands;
+    }
+}
@@ -0,0 +1,46 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.model;
+
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Member of {@link org.openkilda.floodlight.api.request.FlowSegmentBatchRequest}. The key is used as a kafka key
+ * of the response produced for the segment request, so it must be the key the request would be sent with alone.
+ */
+@Value
+public class FlowSegmentBatchEntry implements Serializable {
+    @JsonProperty("key")
+    private final String key;
+
+    @JsonProperty("request")
+    private final FlowSegmentRequest request;
+
+    @JsonCreator
+    public FlowSegmentBatchEntry(
+            @JsonProperty("key") @NonNull String key,
+            @JsonProperty("request") @NonNull FlowSegmentRequest request) {
+        this.key = key;
+        this.request = request;
+    }
+}
@@ -39,6 +39,20 @@ public interface KildaCoreConfig {
     @Default("300")
     long getCommandIdleWorkersKeepAliveSeconds();
 
+    /**
+     * Commands rejected by the executor wait in the backlog of this size. Kafka commands may occupy a half of the
+     * backlog, after that the kafka consumer thread executes the command itself, which slows down the command source.
+     * Successors of chained commands and OF input are never executed by the submitting thread, they may occupy the
+     * whole backlog and are rejected (with an error passed into the command) once it is full.
+     */
+    @Key("command-processor-backlog-limit")
+    @Default("1024")
+    int getCommandBacklogLimit();
+
+    @Key("command-processor-stats-interval-seconds")
+    @Default("60")
+    long getCommandStatsIntervalSeconds();
+
     @Key("flow-ping-magic-src-mac-address")
     @Default("00:26:E1:FF:FF:FE")
     String getFlowPingMagicSrcMacAddress();
@@ -15,6 +15,7 @@
 
 package org.openkilda.floodlight.command;
 
+import org.openkilda.floodlight.command.flow.FlowSegmentBatchCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentInstallCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentRemoveCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentVerifyCommand;
@@ -44,6 +45,7 @@ import org.openkilda.floodlight.command.flow.transit.TransitFlowSegmentRemoveCom
 import org.openkilda.floodlight.command.flow.transit.TransitFlowSegmentVerifyCommand;
 import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
+import org.openkilda.floodlight.service.session.Session;
 import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.messaging.MessageContext;
 import org.openkilda.model.SwitchId;
@@ -55,6 +57,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -126,7 +129,10 @@ import java.util.concurrent.CompletionException;
         @Type(value = OneSwitchMirrorFlowRemoveCommand.class,
                 name = "org.openkilda.floodlight.api.request.OneSwitchMirrorFlowRemoveRequest"),
         @Type(value = OneSwitchMirrorFlowVerifyCommand.class,
-                name = "org.openkilda.floodlight.api.request.OneSwitchMirrorFlowVerifyRequest")
+                name = "org.openkilda.floodlight.api.request.OneSwitchMirrorFlowVerifyRequest"),
+
+        @Type(value = FlowSegmentBatchCommand.class,
+                name = "org.openkilda.floodlight.api.request.FlowSegmentBatchRequest")
 
 })
 @Getter
@@ -145,6 +151,10 @@ public abstract class SpeakerCommand<T extends SpeakerCommandReport> {
     @Getter(AccessLevel.PROTECTED)
     private IOFSwitch sw;
 
+    @Getter(AccessLevel.NONE)
+    @Setter
+    private Session sharedSession;
+
     public SpeakerCommand(MessageContext messageContext, SwitchId switchId) {
         this(messageContext, switchId, null);
     }
@@ -205,6 +215,17 @@ public abstract class SpeakerCommand<T extends SpeakerCommandReport> {
         }
     }
 
+    /**
+     * Open session to the command's switch. If the command is a part of a batch it joins the session shared by the
+     * batch members, so all their messages are confirmed by a single barrier.
+     */
+    protected Session openSession() {
+        if (sharedSession != null && sharedSession.acquire()) {
+            return sharedSession;
+        }
+        return sessionService.open(messageContext, sw);
+    }
+
     protected CompletableFuture<Optional<OFMessage>> setupErrorHandler(
             CompletableFuture<Optional<OFMessage>> future, IOfErrorResponseHandler handler) {
         CompletableFuture<Optional<OFMessage>> branch = new CompletableFuture<>();
@@ -0,0 +1,116 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.command.SpeakerCommand;
+import org.openkilda.floodlight.command.SpeakerCommandProcessor;
+import org.openkilda.floodlight.command.SpeakerCommandReport;
+import org.openkilda.floodlight.error.SwitchNotFoundException;
+import org.openkilda.floodlight.service.session.Session;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Execute a set of flow segment commands addressed to one switch. All OF messages produced by the member commands
+ * are written using one session, so they are pipelined to the switch and confirmed by a single barrier. Each member
+ * command is processed as a standalone command i.e. it produces its own response using its own kafka key.
+ *
+ * <p>Member commands that write OF messages asynchronously (after the batch session is closed) open their own
+ * session.
+ */
+@Getter
+public class FlowSegmentBatchCommand extends SpeakerCommand<FlowSegmentBatchReport> {
+    private final List<Entry> commands;
+
+    @JsonCreator
+    public FlowSegmentBatchCommand(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("commands") @NonNull List<Entry> commands) {
+        super(messageContext, switchId, commandId);
+        this.commands = commands;
+    }
+
+    @Override
+    protected void setup(FloodlightModuleContext moduleContext) throws Exception {
+        try {
+            super.setup(moduleContext);
+        } catch (SwitchNotFoundException e) {
+            // member commands will report this error in their own responses
+            log.warn("Unable to share session between batch members - {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected CompletableFuture<FlowSegmentBatchReport> makeExecutePlan(SpeakerCommandProcessor commandProcessor) {
+        Session session = null;
+        if (getSw() != null) {
+            session = getSessionService().open(messageContext, getSw());
+        }
+
+        try {
+            for (Entry entry : commands) {
+                SpeakerCommand<? extends SpeakerCommandReport> member = entry.getCommand();
+                if (session != null && switchId.equals(member.getSwitchId())) {
+                    member.setSharedSession(session);
+                }
+                commandProcessor.process(member, entry.getKey());
+            }
+        } finally {
+            if (session != null) {
+                session.close();
+            }
+        }
+        return CompletableFuture.completedFuture(new FlowSegmentBatchReport(this));
+    }
+
+    @Override
+    protected FlowSegmentBatchReport makeReport(Exception error) {
+        return new FlowSegmentBatchReport(this, error);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "<flow-segment-batch{id=%s, switch=%s, size=%d}>", commandId, switchId, commands.size());
+    }
+
+    @Value
+    public static class Entry {
+        String key;
+        SpeakerCommand<? extends SpeakerCommandReport> command;
+
+        @JsonCreator
+        public Entry(
+                @JsonProperty("key") @NonNull String key,
+                @JsonProperty("request") @NonNull SpeakerCommand<? extends SpeakerCommandReport> command) {
+            this.key = key;
+            this.command = command;
+        }
+    }
+}
@@ -96,7 +96,7 @@ abstract class EgressFlowSegmentCommand extends NotIngressFlowSegmentCommand {
     }
 
     private CompletableFuture<GroupId> planOfFlowsCommand(GroupId effectiveGroupId) {
-        try (Session session = getSessionService().open(messageContext, getSw())) {
+        try (Session session = openSession()) {
             return session.write(makeEgressModMessage(effectiveGroupId))
                     .thenApply(ignore -> effectiveGroupId);
         }
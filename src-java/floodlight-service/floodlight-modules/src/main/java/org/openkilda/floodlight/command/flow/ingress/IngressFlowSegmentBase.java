@@ -204,7 +204,7 @@ public abstract class IngressFlowSegmentBase extends FlowSegmentCommand {
 
         List<OFFlowMod> ofMessages = makeFlowModMessages(effectiveIds);
         List<CompletableFuture<Optional<OFMessage>>> writeResults = new ArrayList<>(ofMessages.size());
-        try (Session session = getSessionService().open(messageContext, getSw())) {
+        try (Session session = openSession()) {
             for (OFFlowMod message : ofMessages) {
                 writeResults.add(session.write(message));
             }
@@ -217,7 +217,7 @@ public abstract class IngressFlowSegmentBase extends FlowSegmentCommand {
         List<OFFlowMod> ofMessages = new ArrayList<>(makeFlowModMessages(effectiveIds));
 
         List<CompletableFuture<?>> requests = new ArrayList<>(ofMessages.size());
-        try (Session session = getSessionService().open(messageContext, getSw())) {
+        try (Session session = openSession()) {
             for (OFFlowMod message : ofMessages) {
                 requests.add(session.write(message));
             }
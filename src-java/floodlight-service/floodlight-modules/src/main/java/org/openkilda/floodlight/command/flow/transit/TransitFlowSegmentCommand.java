@@ -54,7 +54,7 @@ abstract class TransitFlowSegmentCommand extends NotIngressFlowSegmentCommand {
 
     @Override
     protected CompletableFuture<FlowSegmentReport> makeExecutePlan(SpeakerCommandProcessor commandProcessor) {
-        try (Session session = getSessionService().open(messageContext, getSw())) {
+        try (Session session = openSession()) {
             return session.write(makeTransitModMessage())
                     .thenApply(ignore -> makeSuccessReport());
         }
@@ -19,6 +19,7 @@ import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
@@ -87,6 +88,16 @@ public class NetworkDiscoveryEmitter {
         replacement.perform(this);
     }
 
+    /**
+     * Handle batch of discovery requests for one switch. Each request is processed the same way as a standalone one,
+     * so flood protection is applied per port.
+     */
+    public void handleRequest(DiscoverIslBatchCommandData batch, String correlationId) {
+        for (DiscoverIslCommandData request : batch.getRequests()) {
+            handleRequest(request, correlationId);
+        }
+    }
+
     /**
      * Checks postponed request timeout value and `flush` these ones who have reached it.
      */
@@ -15,45 +15,61 @@
 
 package org.openkilda.floodlight.service;
 
+import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.KildaCore;
 import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.command.Command;
-import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.command.CommandWrapper;
-import org.openkilda.floodlight.command.PendingCommandSubmitter;
+import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
+import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.utils.CommandContextFactory;
+import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.floodlight.utils.ExponentialHistogram;
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.CommandProcessorStatsData;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class CommandProcessorService implements IService {
     private static final Logger log = LoggerFactory.getLogger(CommandProcessorService.class);
 
-    private static final int FUTURE_COMPLETE_CHECK_INTERVAL = 200;
     private static final long REJECTED_REPORT_INTERVAL = 1000;
-    private static final long REJECTED_ERROR_LIMIT = 1024;
 
     private final KildaCore kildaCore;
     private final CommandContextFactory commandContextFactory;
 
     private ThreadPoolExecutor executor;
 
-    private LinkedList<ProcessorTask> tasks = new LinkedList<>();
-    private final LinkedList<Runnable> rejectedQueue = new LinkedList<>();
+    private BlockingQueue<Runnable> backlog;
+    private int backlogThrottleLimit;
+    private final AtomicLong backlogOverflowCount = new AtomicLong();
     private long lastRejectCountReportedAt = 0;
 
+    private final ExponentialHistogram queueDepthHistogram = new ExponentialHistogram();
+    private final ExponentialHistogram latencyHistogram = new ExponentialHistogram();
+
+    private IKafkaProducerService producerService;
+    private String statsTopic;
+    private String region;
+
     public CommandProcessorService(KildaCore kildaCore, CommandContextFactory commandContextFactory) {
         this.kildaCore = kildaCore;
         this.commandContextFactory = commandContextFactory;
@@ -70,41 +86,58 @@ public class CommandProcessorService implements IService {
         log.info("config - workers limit = {}", config.getCommandWorkersLimit());
         log.info("config - idle workers keep alive seconds = {}", config.getCommandIdleWorkersKeepAliveSeconds());
         log.info("config - deferred requests limit = {}", config.getCommandDeferredRequestsLimit());
+        log.info("config - backlog limit = {}", config.getCommandBacklogLimit());
+        log.info("config - stats interval seconds = {}", config.getCommandStatsIntervalSeconds());
 
-        executor = new ThreadPoolExecutor(
+        backlog = new ArrayBlockingQueue<>(config.getCommandBacklogLimit());
+        // the rest of the backlog is reserved for the commands which can't be throttled
+        backlogThrottleLimit = config.getCommandBacklogLimit() / 2;
+        executor = new CommandExecutor(
                 config.getCommandPersistentWorkersCount(), config.getCommandWorkersLimit(),
-                config.getCommandIdleWorkersKeepAliveSeconds(), TimeUnit.SECONDS,
+                config.getCommandIdleWorkersKeepAliveSeconds(),
                 new ArrayBlockingQueue<>(config.getCommandDeferredRequestsLimit()),
                 new RejectedExecutor(this));
         executor.prestartAllCoreThreads();
 
-        scheduleFutureCheckTrigger(moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor());
+        ScheduledExecutorService scheduler = moduleContext.getServiceImpl(IThreadPoolService.class)
+                .getScheduledExecutor();
+        scheduler.scheduleAtFixedRate(
+                this::timerTrigger, REJECTED_REPORT_INTERVAL, REJECTED_REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        setupStatsReport(moduleContext, scheduler, config.getCommandStatsIntervalSeconds());
     }
 
+    /**
+     * Execute command received from kafka. If both the executor and the throttle part of the backlog are full, the
+     * command is executed by the calling thread, i.e. the kafka consumer is throttled.
+     */
     public void process(Command command) {
-        processLazy(command);
-        verifyPendingStatus();
+        process(command, true);
     }
 
     /**
-     * Execute command and initiate completion check.
+     * Execute commands received from kafka.
      */
     public void process(List<Command> commands) {
         for (Command entry : commands) {
-            this.processLazy(entry);
+            this.process(entry, true);
         }
-        verifyPendingStatus();
     }
 
     /**
-     * Execute command without intermediate completion check.
+     * Execute command. The calling thread (it can be an OF I/O thread) is never used to execute the command. If both
+     * the executor and the backlog are full, the command is rejected, i.e. its {@link Command#exceptional(Throwable)}
+     * receives {@link RejectedExecutionException}.
      */
     public void processLazy(Command command) {
+        process(command, false);
+    }
+
+    private void process(Command command, boolean callerRuns) {
         command = wrapCommand(command);
         if (command.isOneShot()) {
-            executeOneShot(command);
+            executeOneShot(command, callerRuns);
         } else {
-            executeChainResult(command);
+            executeChainResult(command, callerRuns);
         }
     }
 
@@ -112,102 +145,114 @@ public class CommandProcessorService implements IService {
      * Submit pending command.
      *
      * <p>Initiator will receive exception returned by future object (if it will raise one). I.e. this interface
-     * allow to wait for some background task to complete, without occupy any working thread.
+     * allow to wait for some background task to complete, without occupy any working thread. The successor is
+     * processed right after the future completion.
      */
-    public synchronized void submitPending(Command initiator, Future<Command> successor) {
-        tasks.add(new ProcessorTask(initiator, successor));
+    public void submitPending(Command initiator, CompletableFuture<Command> successor) {
+        successor.whenComplete((result, error) -> handleCompletion(initiator, result, error));
     }
 
-    public synchronized void markCompleted(ProcessorTask task) { }
-
     private Command wrapCommand(Command target) {
         return new CommandWrapper(target);
     }
 
-    private void executeOneShot(Command command) {
-        executor.execute(() -> {
+    private void executeOneShot(Command command, boolean callerRuns) {
+        execute(callerRuns, () -> {
             try {
                 command.call();
             } catch (Exception e) {
                 command.exceptional(e);
             }
-        });
+        }, command::exceptional);
     }
 
-    private void executeChainResult(Command command) {
-        Future<Command> successor = executor.submit(command);
-        synchronized (this) {
-            tasks.addLast(new ProcessorTask(command, successor));
-        }
+    private void executeChainResult(Command command, boolean callerRuns) {
+        CompletableFuture<Command> successor = new CompletableFuture<>();
+        execute(callerRuns, () -> {
+            try {
+                successor.complete(command.call());
+            } catch (Throwable e) {
+                successor.completeExceptionally(e);
+            }
+        }, successor::completeExceptionally);
+        submitPending(command, successor);
     }
 
-    private synchronized void reSubmitPending(List<ProcessorTask> pending) {
-        tasks.addAll(pending);
+    private void execute(boolean callerRuns, Runnable action, Consumer<Throwable> rejectHandler) {
+        queueDepthHistogram.record(executor.getQueue().size() + backlog.size());
+        executor.execute(new TimedTask(action, System.nanoTime(), callerRuns, rejectHandler));
     }
 
-    private void handleExecutorReject(Runnable command) {
-        synchronized (rejectedQueue) {
-            rejectedQueue.addLast(command);
+    private void handleCompletion(Command initiator, Command successor, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof CancellationException) {
+            return;
         }
-    }
 
-    private void timerTrigger() {
-        pushRejected();
-        verifyPendingStatus();
+        try {
+            if (error != null) {
+                successor = initiator.exceptional(error);
+            }
+            if (successor != null) {
+                processLazy(successor);
+            }
+        } catch (Exception e) {
+            log.error(String.format("Unable to process successor of %s: %s", initiator, e.getMessage()), e);
+        }
     }
 
-    private void pushRejected() {
+    private void handleExecutorReject(Runnable command) {
         if (executor.isShutdown()) {
+            log.error("Command processor is shut down, drop command {}", command);
             return;
         }
-
-        BlockingQueue<Runnable> queue = executor.getQueue();
-        int count;
-        synchronized (rejectedQueue) {
-            while (!rejectedQueue.isEmpty()) {
-                Runnable entry = rejectedQueue.getFirst();
-                if (queue.offer(entry)) {
-                    rejectedQueue.removeFirst();
-                    continue;
-                }
-
-                break;
+        TimedTask task = (TimedTask) command;
+        if (task.callerRuns) {
+            if (backlog.size() < backlogThrottleLimit && backlog.offer(task)) {
+                return;
             }
-            count = rejectedQueue.size();
+            backlogOverflowCount.incrementAndGet();
+            // back pressure - the command source is blocked until the command is done
+            task.run();
+        } else if (!backlog.offer(task)) {
+            // successors and OF input can't be throttled, so they are rejected once the backlog is full
+            backlogOverflowCount.incrementAndGet();
+            log.error("Command processor backlog is full, reject command");
+            task.reject(new RejectedExecutionException("Command processor backlog is full"));
         }
+    }
 
-        reportQueueStatus(count);
+    private void timerTrigger() {
+        pushBacklog();
+        reportQueueStatus(backlog.size());
     }
 
-    private void verifyPendingStatus() {
-        LinkedList<ProcessorTask> checkList = rotatePendingCommands();
-        if (checkList.size() == 0) {
+    private void pushBacklog() {
+        if (executor.isShutdown()) {
             return;
         }
 
-        try {
-            CommandContext context = commandContextFactory.produce();
-            VerifyBatch verifyBatch = new VerifyBatch(this, checkList);
-            PendingCommandSubmitter checkCommands = new PendingCommandSubmitter(context, verifyBatch);
-            processLazy(checkCommands);
-        } catch (Throwable e) {
-            synchronized (this) {
-                tasks.addAll(checkList);
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        synchronized (backlog) {
+            Runnable entry;
+            while ((entry = backlog.peek()) != null && queue.offer(entry)) {
+                backlog.remove();
             }
-            throw e;
         }
     }
 
-    private void reportQueueStatus(int rejectedQueueSize) {
-        if (0 < rejectedQueueSize) {
+    private synchronized void reportQueueStatus(int backlogSize) {
+        if (0 < backlogSize) {
             long now = System.currentTimeMillis();
             if (lastRejectCountReportedAt + REJECTED_REPORT_INTERVAL < now) {
                 lastRejectCountReportedAt = now;
 
                 String message = String.format(
                         "Rejected commands queue size: %d (workers: %d / %d)",
-                        rejectedQueueSize, executor.getActiveCount(), executor.getPoolSize());
-                if (rejectedQueueSize < REJECTED_ERROR_LIMIT) {
+                        backlogSize, executor.getActiveCount(), executor.getPoolSize());
+                if (backlog.remainingCapacity() > 0) {
                     log.warn(message);
                 } else {
                     log.error(message);
@@ -219,48 +264,84 @@ public class CommandProcessorService implements IService {
         }
     }
 
-    private synchronized LinkedList<ProcessorTask> rotatePendingCommands() {
-        LinkedList<ProcessorTask> current = tasks;
-        tasks = new LinkedList<>();
-        return current;
-    }
+    private void setupStatsReport(
+            FloodlightModuleContext moduleContext, ScheduledExecutorService scheduler, long intervalSeconds) {
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producerService = moduleContext.getServiceImpl(IKafkaProducerService.class);
+        if (kafkaUtility == null || producerService == null || intervalSeconds <= 0) {
+            log.info("Command processor stats report is disabled");
+            return;
+        }
 
-    private void scheduleFutureCheckTrigger(ScheduledExecutorService scheduler) {
-        scheduler.scheduleAtFixedRate(
-                this::timerTrigger,
-                FUTURE_COMPLETE_CHECK_INTERVAL, FUTURE_COMPLETE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        KafkaChannel kafkaChannel = kafkaUtility.getKafkaChannel();
+        statsTopic = kafkaChannel.getStatsTopic();
+        region = kafkaChannel.getRegion();
+        scheduler.scheduleAtFixedRate(this::reportStats, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
     }
 
-    public static class VerifyBatch implements AutoCloseable {
-        private CommandProcessorService commandProcessor;
-        private final LinkedList<ProcessorTask> tasksBatch;
-
-        VerifyBatch(CommandProcessorService commandProcessor, LinkedList<ProcessorTask> tasksBatch) {
-            this.commandProcessor = commandProcessor;
-            this.tasksBatch = tasksBatch;
+    private void reportStats() {
+        CommandProcessorStatsData stats = CommandProcessorStatsData.builder()
+                .region(region)
+                .queueDepth(queueDepthHistogram.takeSnapshot())
+                .latency(latencyHistogram.takeSnapshot())
+                .backlogSize(backlog.size())
+                .backlogOverflowCount(backlogOverflowCount.getAndSet(0))
+                .build();
+        try {
+            InfoMessage message = new InfoMessage(
+                    stats, System.currentTimeMillis(), CorrelationContext.getId(), Destination.WFM_STATS, region);
+            producerService.sendMessageAndTrackWithZk(statsTopic, message);
+        } catch (Exception e) {
+            log.error(String.format("Unable to send command processor stats: %s", e.getMessage()), e);
         }
+    }
 
-        @Override
-        public void close() {
-            commandProcessor.reSubmitPending(tasksBatch);
+    private class TimedTask implements Runnable {
+        private final Runnable target;
+        private final long submittedAt;
+        private final boolean callerRuns;
+        private final Consumer<Throwable> rejectHandler;
+
+        TimedTask(Runnable target, long submittedAt, boolean callerRuns, Consumer<Throwable> rejectHandler) {
+            this.target = target;
+            this.submittedAt = submittedAt;
+            this.callerRuns = callerRuns;
+            this.rejectHandler = rejectHandler;
         }
 
-        public CommandProcessorService getCommandProcessor() {
-            return commandProcessor;
+        @Override
+        public void run() {
+            try {
+                target.run();
+            } finally {
+                latencyHistogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submittedAt));
+            }
         }
 
-        public List<ProcessorTask> getTasksBatch() {
-            return tasksBatch;
+        void reject(Throwable error) {
+            try {
+                rejectHandler.accept(error);
+            } catch (Exception e) {
+                log.error(String.format("Unable to handle command reject: %s", e.getMessage()), e);
+            }
         }
     }
 
-    public static class ProcessorTask {
-        public final Command initiator;
-        public final Future<Command> pendingSuccessor;
+    /**
+     * Moves commands from the backlog into the executor queue as soon as a worker becomes free.
+     */
+    private class CommandExecutor extends ThreadPoolExecutor {
+        CommandExecutor(int corePoolSize, int maximumPoolSize, long keepAliveSeconds,
+                        BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler) {
+            super(corePoolSize, maximumPoolSize, keepAliveSeconds, TimeUnit.SECONDS, workQueue, handler);
+        }
 
-        public ProcessorTask(Command initiator, Future<Command> pendingSuccessor) {
-            this.initiator = initiator;
-            this.pendingSuccessor = pendingSuccessor;
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            super.afterExecute(r, t);
+            if (!backlog.isEmpty()) {
+                pushBacklog();
+            }
         }
     }
 
@@ -51,6 +51,9 @@ import java.util.stream.Stream;
  * successful write operation.
  *
  * <p>In other words you will not get successful confirmation for sent messaged until you close the session.
+ *
+ * <p>Session can be shared by several commands (see {@link #acquire()}), in this case the closing barrier is sent
+ * when the last holder closes the session, so all their messages are confirmed by one barrier.
  */
 public class Session implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(Session.class);
@@ -62,6 +65,7 @@ public class Session implements AutoCloseable {
     private CompletableFuture<Optional<OFMessage>> closingBarrier;
     private boolean error = false;
     private boolean completed = false;
+    private int holders = 1;
 
     private final Map<Long, CompletableFuture<Optional<OFMessage>>> requestsByXid = new ConcurrentHashMap<>();
 
@@ -94,8 +98,27 @@ public class Session implements AutoCloseable {
         error = false;
     }
 
+    /**
+     * Register one more holder of the session. Each holder must close the session.
+     *
+     * @return false if the session is already closed and can't be shared.
+     */
+    public synchronized boolean acquire() {
+        if (closingBarrier != null || holders < 1) {
+            return false;
+        }
+        holders++;
+        return true;
+    }
+
     @Override
     public void close() {
+        synchronized (this) {
+            if (--holders > 0) {
+                return;
+            }
+        }
+
         if (error) {
             SessionRevertException e = new SessionRevertException(sw.getId());
             incompleteRequestsStream()
@@ -0,0 +1,85 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.utils;
+
+import org.openkilda.messaging.info.stats.HistogramStatsEntry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock free histogram of non negative values with power of two bucket bounds, i.e. bucket N holds values in range
+ * [2^(N-1), 2^N - 1]. Percentiles are reported as bucket upper bounds, so they are overestimated at most twice.
+ */
+public class ExponentialHistogram {
+    private static final int BUCKETS_COUNT = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the value, negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long actual = Math.max(value, 0);
+        buckets.incrementAndGet(bucketOf(actual));
+        max.accumulate(actual);
+    }
+
+    /**
+     * Returns the summary of values recorded since the previous call and resets the histogram.
+     */
+    public HistogramStatsEntry takeSnapshot() {
+        long[] counts = new long[BUCKETS_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] = buckets.getAndSet(i, 0);
+            total += counts[i];
+        }
+        long maxValue = max.getThenReset();
+
+        return HistogramStatsEntry.builder()
+                .count(total)
+                .max(maxValue)
+                .p50(percentile(counts, total, 0.5, maxValue))
+                .p90(percentile(counts, total, 0.9, maxValue))
+                .p99(percentile(counts, total, 0.99, maxValue))
+                .build();
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxValue) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketOf(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+}
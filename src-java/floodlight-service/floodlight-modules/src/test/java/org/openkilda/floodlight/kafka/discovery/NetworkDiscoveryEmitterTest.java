@@ -15,6 +15,7 @@
 
 package org.openkilda.floodlight.kafka.discovery;
 
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
@@ -28,6 +29,7 @@ import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
@@ -45,6 +47,7 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
 import java.time.Duration;
+import java.util.Arrays;
 
 public class NetworkDiscoveryEmitterTest extends EasyMockSupport {
     private static final String CONFIRMATION_TOPIC = "kilda.topo.disco";
@@ -173,6 +176,26 @@ public class NetworkDiscoveryEmitterTest extends EasyMockSupport {
         verifyCaptured(confirmationCapture, request);
     }
 
+    @Test
+    public void testBatchRequestEmitsAllPorts() {
+        String correlationId = "dummy-correlation-id";
+        DiscoverIslCommandData requestAlpha = new DiscoverIslCommandData(SWITCH_ALPHA, 1, 1L);
+        DiscoverIslCommandData requestBeta = new DiscoverIslCommandData(SWITCH_ALPHA, 2, 2L);
+
+        expectDiscoveryEmmit(requestAlpha);
+        expectDiscoveryEmmit(requestBeta);
+        kafkaProducerService.sendMessageAndTrackWithZk(
+                eq(CONFIRMATION_TOPIC), eq(SWITCH_ALPHA.toString()), anyObject(InfoMessage.class));
+        expectLastCall().times(2);
+        replayAll();
+
+        NetworkDiscoveryEmitter subject = new NetworkDiscoveryEmitter(clock, moduleContext, flushDelay);
+        subject.handleRequest(
+                new DiscoverIslBatchCommandData(SWITCH_ALPHA, Arrays.asList(requestAlpha, requestBeta)), correlationId);
+
+        verifyAll();
+    }
+
     private DiscoverIslCommandData makeNextRequest(DiscoverIslCommandData current) {
         return new DiscoverIslCommandData(
                 current.getSwitchId(), current.getPortNumber(), current.getPacketId() + 1);
@@ -0,0 +1,239 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import static org.easymock.EasyMock.expect;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.command.Command;
+import org.openkilda.floodlight.command.CommandContext;
+import org.openkilda.floodlight.utils.CommandContextFactory;
+
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.easymock.EasyMockSupport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CommandProcessorServiceTest extends EasyMockSupport {
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private CommandProcessorService commandProcessor;
+
+    @Before
+    public void setUp() throws Exception {
+        KildaCoreConfig config = createMock(KildaCoreConfig.class);
+        expect(config.getCommandPersistentWorkersCount()).andReturn(1).anyTimes();
+        expect(config.getCommandWorkersLimit()).andReturn(1).anyTimes();
+        expect(config.getCommandIdleWorkersKeepAliveSeconds()).andReturn(60L).anyTimes();
+        expect(config.getCommandDeferredRequestsLimit()).andReturn(1).anyTimes();
+        expect(config.getCommandBacklogLimit()).andReturn(1).anyTimes();
+        expect(config.getCommandStatsIntervalSeconds()).andReturn(0L).anyTimes();
+
+        KildaCore kildaCore = createMock(KildaCore.class);
+        expect(kildaCore.getConfig()).andReturn(config).anyTimes();
+
+        IThreadPoolService threadPool = createMock(IThreadPoolService.class);
+        expect(threadPool.getScheduledExecutor()).andReturn(scheduler).anyTimes();
+        moduleContext.addService(IThreadPoolService.class, threadPool);
+
+        replayAll();
+
+        commandProcessor = new CommandProcessorService(kildaCore, new CommandContextFactory());
+        commandProcessor.setup(moduleContext);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        verifyAll();
+    }
+
+    @Test
+    public void shouldProcessSuccessorOnCompletion() throws Exception {
+        CountDownLatch successorDone = new CountDownLatch(1);
+        commandProcessor.process(new ChainCommand(makeContext(), new LatchCommand(makeContext(), successorDone)));
+
+        Assert.assertTrue(successorDone.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldPassErrorToInitiator() throws Exception {
+        ChainCommand initiator = new ChainCommand(makeContext(), null);
+        CompletableFuture<Command> successor = new CompletableFuture<>();
+        commandProcessor.submitPending(initiator, successor);
+
+        IllegalStateException error = new IllegalStateException("(testing) forced error");
+        successor.completeExceptionally(error);
+
+        Assert.assertTrue(initiator.exceptionalCalled.await(5, TimeUnit.SECONDS));
+        Assert.assertSame(error, initiator.error.get());
+    }
+
+    @Test
+    public void shouldIgnoreCancelledPendingCommand() throws Exception {
+        ChainCommand initiator = new ChainCommand(makeContext(), null);
+        CompletableFuture<Command> successor = new CompletableFuture<>();
+        commandProcessor.submitPending(initiator, successor);
+
+        successor.cancel(false);
+
+        Assert.assertEquals(1, initiator.exceptionalCalled.getCount());
+    }
+
+    @Test
+    public void shouldExecuteAllCommandsWhenExecutorIsOverloaded() throws Exception {
+        int count = 64;
+        CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            commandProcessor.process(new LatchCommand(makeContext(), done));
+        }
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotExecuteLazyCommandsInCallerThreadWhenExecutorIsOverloaded() throws Exception {
+        int count = 64;
+        CountDownLatch done = new CountDownLatch(count);
+        Set<Thread> executors = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < count; i++) {
+            commandProcessor.processLazy(new LatchCommand(makeContext(), done, executors));
+        }
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(executors.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void shouldRejectLazyCommandWhenBacklogIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        try {
+            // occupy the only worker, the executor queue and the backlog
+            BlockingCommand blocking = new BlockingCommand(makeContext(), release, done);
+            commandProcessor.processLazy(blocking);
+            Assert.assertTrue(blocking.started.await(5, TimeUnit.SECONDS));
+            commandProcessor.processLazy(new LatchCommand(makeContext(), done));
+            commandProcessor.processLazy(new LatchCommand(makeContext(), done));
+
+            ChainCommand rejected = new ChainCommand(makeContext(), null);
+            commandProcessor.processLazy(rejected);
+
+            Assert.assertTrue(rejected.exceptionalCalled.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(rejected.error.get() instanceof RejectedExecutionException);
+        } finally {
+            release.countDown();
+        }
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private CommandContext makeContext() {
+        return new CommandContext(moduleContext);
+    }
+
+    private static class ChainCommand extends Command {
+        private final Command successor;
+        private final CountDownLatch exceptionalCalled = new CountDownLatch(1);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        ChainCommand(CommandContext context, Command successor) {
+            super(context);
+            this.successor = successor;
+        }
+
+        @Override
+        public Command call() {
+            return successor;
+        }
+
+        @Override
+        public Command exceptional(Throwable e) {
+            error.set(e);
+            exceptionalCalled.countDown();
+            return null;
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return false;
+        }
+    }
+
+    private static class BlockingCommand extends Command {
+        private final CountDownLatch release;
+        private final CountDownLatch latch;
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        BlockingCommand(CommandContext context, CountDownLatch release, CountDownLatch latch) {
+            super(context);
+            this.release = release;
+            this.latch = latch;
+        }
+
+        @Override
+        public Command call() throws Exception {
+            started.countDown();
+            release.await();
+            latch.countDown();
+            return null;
+        }
+    }
+
+    private static class LatchCommand extends Command {
+        private final CountDownLatch latch;
+        private final Set<Thread> executors;
+
+        LatchCommand(CommandContext context, CountDownLatch latch) {
+            this(context, latch, ConcurrentHashMap.newKeySet());
+        }
+
+        LatchCommand(CommandContext context, CountDownLatch latch, Set<Thread> executors) {
+            super(context);
+            this.latch = latch;
+            this.executors = executors;
+        }
+
+        @Override
+        public Command exceptional(Throwable e) {
+            // rejected commands are done as well
+            latch.countDown();
+            return null;
+        }
+
+        @Override
+        public Command call() throws Exception {
+            executors.add(Thread.currentThread());
+            Thread.sleep(1);
+            latch.countDown();
+            return null;
+        }
+    }
+}
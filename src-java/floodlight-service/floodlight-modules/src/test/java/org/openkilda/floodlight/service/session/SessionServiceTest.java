@@ -259,6 +259,41 @@ public class SessionServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void sharedSessionSendsSingleBarrier() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        CompletableFuture<Optional<OFMessage>> first;
+        CompletableFuture<Optional<OFMessage>> second;
+        Session shared = subject.open(context, sw);
+        Assert.assertTrue(shared.acquire());
+        try (Session session = shared) {
+            first = session.write(makePacketOut(ofFactory, 1));
+        }
+        Assert.assertEquals(1, swWriteMessages.getValues().size());
+
+        Assert.assertTrue(shared.acquire());
+        try (Session session = shared) {
+            second = session.write(makePacketOut(ofFactory, 2));
+        }
+        shared.close();
+        Assert.assertFalse(shared.acquire());
+
+        List<OFMessage> swActualWrite = swWriteMessages.getValues();
+        Assert.assertEquals(3, swActualWrite.size());
+        Assert.assertEquals(OFType.BARRIER_REQUEST, swActualWrite.get(2).getType());
+        Assert.assertFalse(first.isDone());
+
+        completeSessions(sw);
+
+        expectNoResponse(first);
+        expectNoResponse(second);
+    }
+
     private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
         return ofFactory.buildPacketOut()
                 .setInPort(OFPort.of(inPort))
@@ -0,0 +1,55 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.info.stats.HistogramStatsEntry;
+
+import org.junit.Test;
+
+public class ExponentialHistogramTest {
+
+    @Test
+    public void shouldPlaceValuesIntoPowerOfTwoBuckets() {
+        assertEquals(0, ExponentialHistogram.bucketOf(0));
+        assertEquals(1, ExponentialHistogram.bucketOf(1));
+        assertEquals(2, ExponentialHistogram.bucketOf(3));
+        assertEquals(3, ExponentialHistogram.bucketOf(4));
+        assertEquals(63, ExponentialHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(7, ExponentialHistogram.upperBound(3));
+    }
+
+    @Test
+    public void shouldReportPercentilesAndReset() {
+        ExponentialHistogram histogram = new ExponentialHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        HistogramStatsEntry snapshot = histogram.takeSnapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(100, snapshot.getMax());
+        assertEquals(63, snapshot.getP50());
+        assertEquals(100, snapshot.getP90());
+        assertEquals(100, snapshot.getP99());
+
+        HistogramStatsEntry empty = histogram.takeSnapshot();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMax());
+        assertEquals(0, empty.getP99());
+    }
+}
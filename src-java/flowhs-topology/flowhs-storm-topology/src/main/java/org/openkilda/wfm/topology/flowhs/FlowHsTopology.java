@@ -259,6 +259,9 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .pathAllocationRetryDelay(topologyConfig.getPathAllocationRetryDelay())
                 .speakerCommandRetriesLimit(topologyConfig.getRerouteSpeakerCommandRetries())
                 .resourceAllocationRetriesLimit(topologyConfig.getResourceAllocationRetriesLimit())
+                .pathComputationBatchSize(topologyConfig.getReroutePathComputationBatchSize())
+                .pathComputationBatchLingerMs(topologyConfig.getReroutePathComputationBatchLingerMillis())
+                .pathComputationBatchParallel(topologyConfig.isReroutePathComputationBatchParallel())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
                 .requestSenderComponent(ComponentId.FLOW_ROUTER_BOLT.name())
@@ -385,7 +388,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_CREATE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_CREATE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_CREATE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -401,7 +404,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_UPDATE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_UPDATE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_UPDATE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_UPDATE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -417,7 +420,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_PATH_SWAP_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_PATH_SWAP.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_PATH_SWAP_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_PATH_SWAP_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -433,7 +436,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_REROUTE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_REROUTE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -449,7 +452,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_DELETE_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_DELETE.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_DELETE_SPEAKER_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_DELETE_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -466,7 +469,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_CREATE_MIRROR_POINT_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_CREATE_MIRROR_POINT.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_CREATE_MIRROR_POINT_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_CREATE_MIRROR_POINT_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
@@ -483,7 +486,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .workerSpoutComponent(ComponentId.SPEAKER_WORKER_SPOUT.name())
                 .hubComponent(ComponentId.FLOW_DELETE_MIRROR_POINT_HUB.name())
                 .streamToHub(SPEAKER_WORKER_TO_HUB_DELETE_MIRROR_POINT.name())
-                .build());
+                .build(), topologyConfig.getSpeakerBatchSize(), topologyConfig.getSpeakerBatchLingerMillis());
         declareBolt(topologyBuilder, speakerWorker, ComponentId.FLOW_DELETE_MIRROR_POINT_WORKER.name())
                 .fieldsGrouping(ComponentId.SPEAKER_WORKER_SPOUT.name(), FIELDS_KEY)
                 .fieldsGrouping(ComponentId.FLOW_DELETE_MIRROR_POINT_HUB.name(), Stream.HUB_TO_SPEAKER_WORKER.name(),
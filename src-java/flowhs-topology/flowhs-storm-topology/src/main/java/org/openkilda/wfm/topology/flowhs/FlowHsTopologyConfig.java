@@ -69,6 +69,21 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Default("10")
     int getResourceAllocationRetriesLimit();
 
+    /**
+     * Max number of flow segment requests addressed to one switch that are sent to the speaker as one batch request.
+     * Value 1 disables batching.
+     */
+    @Key("flow.speaker.batch.size")
+    @Default("1")
+    int getSpeakerBatchSize();
+
+    /**
+     * How long an incomplete batch waits for more flow segment requests before it is sent to the speaker.
+     */
+    @Key("flow.speaker.batch.linger.ms")
+    @Default("10")
+    int getSpeakerBatchLingerMillis();
+
     @Key("flow.create.hub.timeout.seconds")
     @Default("30")
     int getCreateHubTimeoutSeconds();
@@ -113,6 +128,28 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Default("3")
     int getRerouteSpeakerCommandRetries();
 
+    /**
+     * Max number of reroute requests whose primary paths are computed as one batch over a shared read of the network.
+     * Value 1 disables batching.
+     */
+    @Key("flow.reroute.path.computation.batch.size")
+    @Default("1")
+    int getReroutePathComputationBatchSize();
+
+    /**
+     * How long an incomplete batch waits for more reroute requests before their paths are computed.
+     */
+    @Key("flow.reroute.path.computation.batch.linger.ms")
+    @Default("10")
+    int getReroutePathComputationBatchLingerMillis();
+
+    /**
+     * Whether path searches of a reroute batch run in parallel.
+     */
+    @Key("flow.reroute.path.computation.batch.parallel")
+    @Default("false")
+    boolean isReroutePathComputationBatchParallel();
+
     @Key("flow.delete.hub.timeout.seconds")
     @Default("30")
     int getDeleteHubTimeoutSeconds();
@@ -64,7 +64,10 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.UUID;
+
 public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
+    private static final String PATH_COMPUTATION_BATCH_FLUSH_KEY_PREFIX = "path-computation-batch-flush:";
 
     private final FlowRerouteConfig config;
     private final PathComputerConfig pathComputerConfig;
@@ -96,7 +99,8 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager,
                 config.getPathAllocationRetriesLimit(), config.getPathAllocationRetryDelay(),
-                config.getResourceAllocationRetriesLimit(), config.getSpeakerCommandRetriesLimit());
+                config.getResourceAllocationRetriesLimit(), config.getSpeakerCommandRetriesLimit(),
+                config.getPathComputationBatchSize(), config.isPathComputationBatchParallel());
     }
 
     @Override
@@ -130,6 +134,11 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
 
     @Override
     public void onTimeout(String key, Tuple tuple) {
+        if (key.startsWith(PATH_COMPUTATION_BATCH_FLUSH_KEY_PREFIX)) {
+            service.flushPathComputationBatch(
+                    UUID.fromString(key.substring(PATH_COMPUTATION_BATCH_FLUSH_KEY_PREFIX.length())));
+            return;
+        }
         currentKey = key;
         service.handleTimeout(key);
     }
@@ -200,6 +209,21 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         cancelCallback(key);
     }
 
+    @Override
+    public void schedulePathComputationBatchFlush(UUID batchId) {
+        registerCallback(PATH_COMPUTATION_BATCH_FLUSH_KEY_PREFIX + batchId, config.getPathComputationBatchLingerMs());
+    }
+
+    @Override
+    public void cancelPathComputationBatchFlush(UUID batchId) {
+        cancelCallback(PATH_COMPUTATION_BATCH_FLUSH_KEY_PREFIX + batchId);
+    }
+
+    @Override
+    public void setCurrentOperationKey(String key) {
+        currentKey = key;
+    }
+
     @Override
     public void sendRerouteResultStatus(String flowId, RerouteError rerouteError, String correlationId) {
         RerouteResultInfoData rerouteResult = RerouteResultInfoData.builder()
@@ -233,17 +257,25 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         private int pathAllocationRetryDelay;
         private int resourceAllocationRetriesLimit;
         private int speakerCommandRetriesLimit;
+        private int pathComputationBatchSize;
+        private int pathComputationBatchLingerMs;
+        private boolean pathComputationBatchParallel;
 
         @Builder(builderMethodName = "flowRerouteBuilder", builderClassName = "flowRerouteBuild")
         public FlowRerouteConfig(String requestSenderComponent, String workerComponent,  String lifeCycleEventComponent,
                                  int timeoutMs, boolean autoAck,
                                  int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
-                                 int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit) {
+                                 int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit,
+                                 int pathComputationBatchSize, int pathComputationBatchLingerMs,
+                                 boolean pathComputationBatchParallel) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.pathAllocationRetriesLimit = pathAllocationRetriesLimit;
             this.pathAllocationRetryDelay = pathAllocationRetryDelay;
             this.resourceAllocationRetriesLimit = resourceAllocationRetriesLimit;
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.pathComputationBatchSize = pathComputationBatchSize;
+            this.pathComputationBatchLingerMs = pathComputationBatchLingerMs;
+            this.pathComputationBatchParallel = pathComputationBatchParallel;
         }
     }
 }
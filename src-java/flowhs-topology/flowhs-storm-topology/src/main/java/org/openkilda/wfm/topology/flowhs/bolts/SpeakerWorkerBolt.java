@@ -18,9 +18,11 @@ package org.openkilda.wfm.topology.flowhs.bolts;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_REQUEST_SENDER;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
 import org.openkilda.wfm.share.hubandspoke.WorkerBolt;
 import org.openkilda.wfm.topology.flowhs.service.SpeakerCommandCarrier;
 import org.openkilda.wfm.topology.flowhs.service.SpeakerWorkerService;
@@ -30,19 +32,44 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.UUID;
+
 public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarrier {
 
     public static final String ID = "speaker.worker.bolt";
+    private static final String BATCH_FLUSH_KEY_PREFIX = "speaker-batch-flush:";
+
+    private final int batchSize;
+    private final int batchLingerMillis;
+
     private transient SpeakerWorkerService service;
 
     public SpeakerWorkerBolt(Config config) {
+        this(config, 1, 0);
+    }
+
+    public SpeakerWorkerBolt(Config config, int batchSize, int batchLingerMillis) {
         super(config);
+        this.batchSize = batchSize;
+        this.batchLingerMillis = batchLingerMillis;
     }
 
     @Override
     protected void init() {
         super.init();
-        service = new SpeakerWorkerService(this);
+        service = new SpeakerWorkerService(this, batchSize);
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        if (CoordinatorBolt.ID.equals(input.getSourceComponent())) {
+            String key = pullKey(input);
+            if (key.startsWith(BATCH_FLUSH_KEY_PREFIX)) {
+                service.flushBatch(UUID.fromString(key.substring(BATCH_FLUSH_KEY_PREFIX.length())));
+                return;
+            }
+        }
+        super.dispatch(input);
     }
 
     @Override
@@ -74,6 +101,22 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
         emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(), new Values(key, command));
     }
 
+    @Override
+    public void sendBatch(FlowSegmentBatchRequest batch) {
+        emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(),
+                new Values(batch.getCommandId().toString(), batch));
+    }
+
+    @Override
+    public void scheduleBatchFlush(UUID batchId) {
+        registerCallback(BATCH_FLUSH_KEY_PREFIX + batchId, batchLingerMillis);
+    }
+
+    @Override
+    public void cancelBatchFlush(UUID batchId) {
+        cancelCallback(BATCH_FLUSH_KEY_PREFIX + batchId);
+    }
+
     @Override
     public void sendResponse(String key, SpeakerFlowSegmentResponse response) {
         Values values = new Values(key, response, getCommandContext());
@@ -19,8 +19,11 @@ import static java.lang.String.format;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathSegment;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.share.history.model.FlowDumpData;
 import org.openkilda.wfm.share.history.model.FlowDumpData.DumpType;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
@@ -29,6 +32,9 @@ import org.openkilda.wfm.topology.flowhs.fsm.common.FlowProcessingFsm;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * A base for action classes that remove flow paths.
  */
@@ -36,23 +42,40 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class BaseFlowPathRemovalAction<T extends FlowProcessingFsm<T, S, E, C>, S, E, C> extends
         FlowProcessingAction<T, S, E, C> {
     protected final IslRepository islRepository;
+    private final PathComputer pathComputer;
 
     public BaseFlowPathRemovalAction(PersistenceManager persistenceManager) {
+        this(persistenceManager, null);
+    }
+
+    /**
+     * Creates the action which also reports the released bandwidth to the given path computer (if not null).
+     */
+    public BaseFlowPathRemovalAction(PersistenceManager persistenceManager, PathComputer pathComputer) {
         super(persistenceManager);
 
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+        this.pathComputer = pathComputer;
     }
 
     protected void updateIslsForFlowPath(FlowPath... paths) {
+        Map<IslEndpoints, Long> updatedBandwidth = new HashMap<>();
         for (FlowPath path : paths) {
             if (!path.isIgnoreBandwidth()) {
-                path.getSegments().forEach(pathSegment ->
-                        transactionManager.doInTransaction(() ->
-                                islRepository.updateAvailableBandwidth(
-                                        pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
-                                        pathSegment.getDestSwitchId(), pathSegment.getDestPort())));
+                for (PathSegment pathSegment : path.getSegments()) {
+                    long bandwidth = transactionManager.doInTransaction(() ->
+                            islRepository.updateAvailableBandwidth(
+                                    pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
+                                    pathSegment.getDestSwitchId(), pathSegment.getDestPort()));
+                    updatedBandwidth.put(new IslEndpoints(
+                            pathSegment.getSrcSwitchId().toString(), pathSegment.getSrcPort(),
+                            pathSegment.getDestSwitchId().toString(), pathSegment.getDestPort()), bandwidth);
+                }
             }
         }
+        if (pathComputer != null && !updatedBandwidth.isEmpty()) {
+            pathComputer.updateAvailableBandwidth(updatedBandwidth);
+        }
     }
 
     protected void saveRemovalActionWithDumpToHistory(T stateMachine, Flow flow, FlowPath flowPath) {
@@ -75,6 +75,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -209,12 +210,28 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 || !flowPathBuilder.isSamePath(pathPair.getReverse(), flowPathPair.getReverse());
     }
 
-    @SneakyThrows
     protected GetPathsResult allocatePathPair(Flow flow, PathId newForwardPathId, PathId newReversePathId,
                                               boolean forceToIgnoreBandwidth, List<PathId> pathsToReuseBandwidth,
                                               FlowPathPair oldPaths, boolean allowOldPaths,
                                               Predicate<GetPathsResult> whetherCreatePathSegments)
             throws RecoverableException, UnroutableFlowException, ResourceAllocationException {
+        return allocatePathPair(flow, newForwardPathId, newReversePathId, forceToIgnoreBandwidth,
+                pathsToReuseBandwidth, oldPaths, allowOldPaths, whetherCreatePathSegments, null);
+    }
+
+    /**
+     * Allocates a path pair, the first attempt uses {@code precomputedPaths} (if not null) instead of computing
+     * the paths. Over-provisioning checks of the allocation apply to the precomputed paths as well.
+     */
+    @SneakyThrows
+    protected GetPathsResult allocatePathPair(Flow flow, PathId newForwardPathId, PathId newReversePathId,
+                                              boolean forceToIgnoreBandwidth, List<PathId> pathsToReuseBandwidth,
+                                              FlowPathPair oldPaths, boolean allowOldPaths,
+                                              Predicate<GetPathsResult> whetherCreatePathSegments,
+                                              GetPathsResult precomputedPaths)
+            throws RecoverableException, UnroutableFlowException, ResourceAllocationException {
+        AtomicReference<GetPathsResult> precomputed =
+                new AtomicReference<>(forceToIgnoreBandwidth ? null : precomputedPaths);
         // Lazy initialisable map with reused bandwidth...
         Supplier<Map<IslEndpoints, Long>> reuseBandwidthPerIsl = Suppliers.memoize(() -> {
             Map<IslEndpoints, Long> result = new HashMap<>();
@@ -248,8 +265,10 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
         }
         try {
             return Failsafe.with(pathAllocationRetryPolicy).get(() -> {
-                GetPathsResult potentialPath;
-                if (forceToIgnoreBandwidth) {
+                GetPathsResult potentialPath = precomputed.getAndSet(null);
+                if (potentialPath != null) {
+                    log.debug("Using precomputed paths for flow {}", flow.getFlowId());
+                } else if (forceToIgnoreBandwidth) {
                     boolean originalIgnoreBandwidth = flow.isIgnoreBandwidth();
                     flow.setIgnoreBandwidth(true);
                     potentialPath = pathComputer.getPath(flow);
@@ -271,10 +290,13 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                         List<PathSegment> reverseSegments = flowPathBuilder.buildPathSegments(newReversePathId,
                                 potentialPath.getReverse(), flow.getBandwidth(), ignoreBandwidth);
 
-                        transactionManager.doInTransaction(() -> {
-                            createPathSegments(forwardSegments, reuseBandwidthPerIsl);
-                            createPathSegments(reverseSegments, reuseBandwidthPerIsl);
+                        Map<IslEndpoints, Long> updatedBandwidth = transactionManager.doInTransaction(() -> {
+                            Map<IslEndpoints, Long> result = new HashMap<>();
+                            result.putAll(createPathSegments(forwardSegments, reuseBandwidthPerIsl));
+                            result.putAll(createPathSegments(reverseSegments, reuseBandwidthPerIsl));
+                            return result;
                         });
+                        pathComputer.updateAvailableBandwidth(updatedBandwidth);
                     }
 
                     return potentialPath;
@@ -286,25 +308,34 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
         }
     }
 
+    /**
+     * Persist the segments and update available bandwidth of the ISLs, returns the new available bandwidth by ISL.
+     */
     @VisibleForTesting
-    void createPathSegments(List<PathSegment> segments, Supplier<Map<IslEndpoints, Long>> reuseBandwidth)
+    Map<IslEndpoints, Long> createPathSegments(List<PathSegment> segments,
+                                               Supplier<Map<IslEndpoints, Long>> reuseBandwidth)
             throws ResourceAllocationException {
+        Map<IslEndpoints, Long> updatedBandwidth = new HashMap<>();
         for (PathSegment segment : segments) {
             log.debug("Persisting the segment {}", segment);
-            long updatedAvailableBandwidth =
-                    pathSegmentRepository.addSegmentAndUpdateIslAvailableBandwidth(segment).orElse(0L);
-            if (!segment.isIgnoreBandwidth() && updatedAvailableBandwidth < 0) {
-                IslEndpoints isl = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
-                        segment.getDestSwitchId().toString(), segment.getDestPort());
+            Optional<Long> updatedAvailableBandwidth =
+                    pathSegmentRepository.addSegmentAndUpdateIslAvailableBandwidth(segment);
+            IslEndpoints isl = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
+                    segment.getDestSwitchId().toString(), segment.getDestPort());
+            updatedAvailableBandwidth.ifPresent(bandwidth -> updatedBandwidth.put(isl, bandwidth));
+            if (!segment.isIgnoreBandwidth() && updatedAvailableBandwidth.orElse(0L) < 0) {
                 log.debug("ISL {} is being over-provisioned, check if it's allowed", isl);
 
                 long allowedOverprovisionedBandwidth = reuseBandwidth.get().getOrDefault(isl, 0L);
-                if ((updatedAvailableBandwidth + allowedOverprovisionedBandwidth) < 0) {
+                if ((updatedAvailableBandwidth.get() + allowedOverprovisionedBandwidth) < 0) {
+                    // the path was computed over outdated network data
+                    pathComputer.invalidateNetworkCache();
                     throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was overprovisioned",
                             isl.getSrcSwitch(), isl.getSrcPort(), isl.getDestSwitch(), isl.getDestPort()));
                 }
             }
         }
+        return updatedBandwidth;
     }
 
     @SneakyThrows
@@ -398,6 +429,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
             Collection<Isl> pathIsls = islRepository.findByPathIds(pathIds);
             for (Isl isl : pathIsls) {
                 if (!IslStatus.ACTIVE.equals(isl.getStatus())) {
+                    pathComputer.invalidateNetworkCache();
                     throw new ResourceAllocationException(
                             format("ISL %s_%d-%s_%d is not active on the allocated path",
                                     isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
@@ -245,7 +245,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the primary path {} for flow {}", paths, stateMachine.getFlowId());
 
-        transactionManager.doInTransaction(() -> {
+        Map<IslEndpoints, Long> updatedIsls = transactionManager.doInTransaction(() -> {
             Flow flow = getFlow(stateMachine.getFlowId());
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
             final FlowSegmentCookieBuilder cookieBuilder = FlowSegmentCookie.builder()
@@ -267,14 +267,17 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             flowPathRepository.add(reverse);
             flow.setReversePath(reverse);
 
-            updateIslsForFlowPath(forward.getPathId());
-            updateIslsForFlowPath(reverse.getPathId());
+            Map<IslEndpoints, Long> result = new HashMap<>();
+            result.putAll(updateIslsForFlowPath(forward.getPathId()));
+            result.putAll(updateIslsForFlowPath(reverse.getPathId()));
 
             stateMachine.setForwardPathId(forward.getPathId());
             stateMachine.setReversePathId(reverse.getPathId());
             log.debug("Allocated resources for the flow {}: {}", flow.getFlowId(), flowResources);
             stateMachine.getFlowResources().add(flowResources);
+            return result;
         });
+        pathComputer.updateAvailableBandwidth(updatedIsls);
     }
 
     private void allocateProtectedPath(FlowCreateFsm stateMachine) throws UnroutableFlowException,
@@ -299,7 +302,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the protected path {} for flow {}", protectedPath, tmpFlow);
 
-        transactionManager.doInTransaction(() -> {
+        Map<IslEndpoints, Long> updatedIsls = transactionManager.doInTransaction(() -> {
             Flow flow = getFlow(flowId);
 
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
@@ -320,25 +323,31 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             flowPathRepository.add(reverse);
             flow.setProtectedReversePath(reverse);
 
-            updateIslsForFlowPath(forward.getPathId());
-            updateIslsForFlowPath(reverse.getPathId());
+            Map<IslEndpoints, Long> result = new HashMap<>();
+            result.putAll(updateIslsForFlowPath(forward.getPathId()));
+            result.putAll(updateIslsForFlowPath(reverse.getPathId()));
 
             stateMachine.setProtectedForwardPathId(forward.getPathId());
             stateMachine.setProtectedReversePathId(reverse.getPathId());
             log.debug("Allocated resources for the flow {}: {}", flow.getFlowId(), flowResources);
             stateMachine.getFlowResources().add(flowResources);
+            return result;
         });
+        pathComputer.updateAvailableBandwidth(updatedIsls);
     }
 
-    private void updateIslsForFlowPath(PathId pathId) throws ResourceAllocationException {
+    private Map<IslEndpoints, Long> updateIslsForFlowPath(PathId pathId) throws ResourceAllocationException {
         Map<IslEndpoints, Long> updatedIsls = islRepository.updateAvailableBandwidthOnIslsOccupiedByPath(pathId);
         for (Entry<IslEndpoints, Long> entry : updatedIsls.entrySet()) {
             IslEndpoints isl = entry.getKey();
             if (entry.getValue() < 0) {
+                // the path was computed over outdated network data
+                pathComputer.invalidateNetworkCache();
                 throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was over-provisioned",
                         isl.getSrcSwitch(), isl.getSrcPort(), isl.getDestSwitch(), isl.getDestPort()));
             }
         }
+        return updatedIsls;
     }
 
     private void saveHistory(FlowCreateFsm stateMachine, Flow flow) {
@@ -19,8 +19,10 @@ import static java.lang.String.format;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathSegment;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
@@ -34,18 +36,23 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 @Slf4j
 public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreateFsm, State, Event, FlowCreateContext> {
     private final FlowResourcesManager resourcesManager;
     private final IslRepository islRepository;
+    private final PathComputer pathComputer;
 
-    public ResourcesDeallocationAction(FlowResourcesManager resourcesManager, PersistenceManager persistenceManager) {
+    public ResourcesDeallocationAction(FlowResourcesManager resourcesManager, PersistenceManager persistenceManager,
+                                       PathComputer pathComputer) {
         super(persistenceManager);
 
         this.resourcesManager = resourcesManager;
+        this.pathComputer = pathComputer;
         this.islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
     }
 
@@ -86,10 +93,17 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
     }
 
     private void updateIslsForSegments(List<PathSegment> pathSegments) {
-        pathSegments.forEach(pathSegment ->
-                transactionManager.doInTransaction(() ->
-                        islRepository.updateAvailableBandwidth(
-                                pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
-                                pathSegment.getDestSwitchId(), pathSegment.getDestPort())));
+        Map<IslEndpoints, Long> updatedBandwidth = new HashMap<>();
+        for (PathSegment pathSegment : pathSegments) {
+            long bandwidth = transactionManager.doInTransaction(() ->
+                    islRepository.updateAvailableBandwidth(
+                            pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
+                            pathSegment.getDestSwitchId(), pathSegment.getDestPort()));
+            updatedBandwidth.put(new IslEndpoints(pathSegment.getSrcSwitchId().toString(), pathSegment.getSrcPort(),
+                    pathSegment.getDestSwitchId().toString(), pathSegment.getDestPort()), bandwidth);
+        }
+        if (!updatedBandwidth.isEmpty()) {
+            pathComputer.updateAvailableBandwidth(updatedBandwidth);
+        }
     }
 }
@@ -24,6 +24,7 @@ import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
@@ -109,6 +110,8 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
     private boolean forceReroute;
     private boolean ignoreBandwidth;
 
+    private GetPathsResult precomputedPrimaryPaths;
+
     private RerouteError rerouteError;
 
     public FlowRerouteFsm(CommandContext commandContext, FlowRerouteHubCarrier carrier, String flowId) {
@@ -361,7 +364,7 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
                     .perform(new HandleNotCompletedCommandsAction());
 
             builder.transition().from(State.OLD_RULES_REMOVED).to(State.OLD_PATHS_REMOVAL_COMPLETED).on(Event.NEXT)
-                    .perform(new CompleteFlowPathRemovalAction(persistenceManager));
+                    .perform(new CompleteFlowPathRemovalAction(persistenceManager, pathComputer));
 
             builder.transition().from(State.OLD_PATHS_REMOVAL_COMPLETED).to(State.DEALLOCATING_OLD_RESOURCES)
                     .on(Event.NEXT);
@@ -418,7 +421,7 @@ public final class FlowRerouteFsm extends FlowPathSwappingFsm<FlowRerouteFsm, St
             builder.transition().from(State.REVERTING_ALLOCATED_RESOURCES)
                     .to(State.RESOURCES_ALLOCATION_REVERTED)
                     .on(Event.NEXT)
-                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager));
+                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager, pathComputer));
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED)
                     .to(State.REVERTING_FLOW_STATUS).on(Event.NEXT);
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW_STATUS)
@@ -77,10 +77,19 @@ public class AllocatePrimaryResourcesAction extends
         List<PathId> pathsToReuse = Lists.newArrayList(tmpFlowCopy.getForwardPathId(), tmpFlowCopy.getReversePathId());
         pathsToReuse.addAll(stateMachine.getRejectedPaths());
 
+        // Paths computed in a batch with other rerouted flows are valid only for the flow as it was before
+        // the encapsulation type change and only for the first allocation attempt.
+        GetPathsResult precomputedPaths = stateMachine.getPrecomputedPrimaryPaths();
+        stateMachine.setPrecomputedPrimaryPaths(null);
+        if (stateMachine.getNewEncapsulationType() != null
+                && stateMachine.getNewEncapsulationType() != stateMachine.getOriginalEncapsulationType()) {
+            precomputedPaths = null;
+        }
+
         log.debug("Finding a new primary path for flow {}", flowId);
         GetPathsResult allocatedPaths = allocatePathPair(tmpFlowCopy, newForwardPathId, newReversePathId,
                 stateMachine.isIgnoreBandwidth(), pathsToReuse, oldPaths, stateMachine.isRecreateIfSamePath(),
-                path -> true);
+                path -> true, precomputedPaths);
         if (allocatedPaths != null) {
             log.debug("New primary paths have been allocated: {}", allocatedPaths);
             stateMachine.setBackUpPrimaryPathComputationWayUsed(allocatedPaths.isBackUpPathComputationWayUsed());
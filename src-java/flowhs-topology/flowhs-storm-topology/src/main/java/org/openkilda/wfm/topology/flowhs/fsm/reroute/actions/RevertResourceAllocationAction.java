@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowhs.fsm.reroute.actions;
 import static java.lang.String.format;
 
 import org.openkilda.model.Flow;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
@@ -41,8 +42,8 @@ public class RevertResourceAllocationAction extends
     private final FlowResourcesManager resourcesManager;
 
     public RevertResourceAllocationAction(PersistenceManager persistenceManager,
-                                          FlowResourcesManager resourcesManager) {
-        super(persistenceManager);
+                                          FlowResourcesManager resourcesManager, PathComputer pathComputer) {
+        super(persistenceManager, pathComputer);
         this.resourcesManager = resourcesManager;
     }
 
@@ -334,7 +334,7 @@ public final class FlowUpdateFsm extends FlowPathSwappingFsm<FlowUpdateFsm, Stat
             builder.transition().from(State.NOTIFY_FLOW_STATS_ON_REMOVED_PATHS)
                     .to(State.OLD_PATHS_REMOVAL_COMPLETED)
                     .on(Event.NEXT)
-                    .perform(new CompleteFlowPathRemovalAction(persistenceManager));
+                    .perform(new CompleteFlowPathRemovalAction(persistenceManager, pathComputer));
 
             builder.transition().from(State.OLD_PATHS_REMOVAL_COMPLETED).to(State.DEALLOCATING_OLD_RESOURCES)
                     .on(Event.NEXT);
@@ -394,7 +394,7 @@ public final class FlowUpdateFsm extends FlowPathSwappingFsm<FlowUpdateFsm, Stat
             builder.transitions().from(State.REVERTING_ALLOCATED_RESOURCES)
                     .toAmong(State.RESOURCES_ALLOCATION_REVERTED)
                     .onEach(Event.NEXT)
-                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager));
+                    .perform(new RevertResourceAllocationAction(persistenceManager, resourcesManager, pathComputer));
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW).on(Event.NEXT);
             builder.transition().from(State.RESOURCES_ALLOCATION_REVERTED).to(State.REVERTING_FLOW)
                     .on(Event.ERROR)
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowhs.fsm.update.actions;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
+import org.openkilda.pce.PathComputer;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flowhs.fsm.common.actions.BaseFlowPathRemovalAction;
@@ -33,8 +34,8 @@ import lombok.extern.slf4j.Slf4j;
 public class CompleteFlowPathRemovalAction extends
         BaseFlowPathRemovalAction<FlowUpdateFsm, State, Event, FlowUpdateContext> {
 
-    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager) {
-        super(persistenceManager);
+    public CompleteFlowPathRemovalAction(PersistenceManager persistenceManager, PathComputer pathComputer) {
+        super(persistenceManager, pathComputer);
     }
 
     @Override
@@ -17,6 +17,8 @@ package org.openkilda.wfm.topology.flowhs.service;
 
 import org.openkilda.messaging.info.reroute.error.RerouteError;
 
+import java.util.UUID;
+
 public interface FlowRerouteHubCarrier extends FlowGenericCarrier {
     /**
      * Cancels timeout callback.
@@ -33,4 +35,26 @@ public interface FlowRerouteHubCarrier extends FlowGenericCarrier {
      * @param correlationId correlation id.
      */
     void sendRerouteResultStatus(String flowId, RerouteError rerouteError, String correlationId);
+
+    /**
+     * Schedules the flush of postponed reroute requests.
+     *
+     * @param batchId path computation batch identifier.
+     */
+    void schedulePathComputationBatchFlush(UUID batchId);
+
+    /**
+     * Cancels the scheduled flush of postponed reroute requests.
+     *
+     * @param batchId path computation batch identifier.
+     */
+    void cancelPathComputationBatchFlush(UUID batchId);
+
+    /**
+     * Makes the following messages be sent on behalf of the operation. Used when postponed reroute requests
+     * are processed on another input.
+     *
+     * @param key operation identifier.
+     */
+    void setCurrentOperationKey(String key);
 }
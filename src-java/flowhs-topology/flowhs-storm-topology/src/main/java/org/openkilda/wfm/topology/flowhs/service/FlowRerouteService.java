@@ -18,9 +18,20 @@ package org.openkilda.wfm.topology.flowhs.service;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.info.reroute.error.RerouteError;
 import org.openkilda.messaging.info.reroute.error.RerouteInProgressError;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowStatus;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.pce.BatchGetPathsResult;
 import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.utils.FsmExecutor;
@@ -32,8 +43,17 @@ import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm.State;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 public class FlowRerouteService {
@@ -45,6 +65,13 @@ public class FlowRerouteService {
             = new FsmExecutor<>(Event.NEXT);
 
     private final FlowRerouteHubCarrier carrier;
+    private final PathComputer pathComputer;
+    private final FlowRepository flowRepository;
+
+    private final int pathComputationBatchSize;
+    private final boolean parallelPathComputation;
+    private final Map<String, FlowRerouteContext> pendingRequests = new LinkedHashMap<>();
+    private UUID pendingBatchId;
 
     private boolean active;
 
@@ -52,7 +79,20 @@ public class FlowRerouteService {
                               PathComputer pathComputer, FlowResourcesManager flowResourcesManager,
                               int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
                               int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit) {
+        this(carrier, persistenceManager, pathComputer, flowResourcesManager, pathAllocationRetriesLimit,
+                pathAllocationRetryDelay, resourceAllocationRetriesLimit, speakerCommandRetriesLimit, 1, false);
+    }
+
+    public FlowRerouteService(FlowRerouteHubCarrier carrier, PersistenceManager persistenceManager,
+                              PathComputer pathComputer, FlowResourcesManager flowResourcesManager,
+                              int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
+                              int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit,
+                              int pathComputationBatchSize, boolean parallelPathComputation) {
         this.carrier = carrier;
+        this.pathComputer = pathComputer;
+        this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        this.pathComputationBatchSize = pathComputationBatchSize;
+        this.parallelPathComputation = parallelPathComputation;
         fsmFactory = new FlowRerouteFsm.Factory(carrier, persistenceManager, pathComputer, flowResourcesManager,
                 pathAllocationRetriesLimit, pathAllocationRetryDelay, resourceAllocationRetriesLimit,
                 speakerCommandRetriesLimit);
@@ -60,6 +100,10 @@ public class FlowRerouteService {
 
     /**
      * Handles request for flow reroute.
+     *
+     * <p>If path computation batching is enabled, the reroute is postponed together with other reroute requests.
+     * Primary paths of the postponed flows are computed as one batch when it reaches the batch size or when
+     * the scheduled flush occurs (see {@link #flushPathComputationBatch(UUID)}).
      */
     public void handleRequest(String key, FlowRerouteRequest reroute, final CommandContext commandContext) {
         log.debug("Handling flow reroute request with key {} and flow ID: {}", key, reroute.getFlowId());
@@ -82,6 +126,14 @@ public class FlowRerouteService {
             return;
         }
 
+        if (reroute.getAffectedIsl() != null && !reroute.getAffectedIsl().isEmpty()) {
+            // the cached network may still contain the ISLs which caused the reroute
+            pathComputer.excludeIslEndpoints(reroute.getAffectedIsl());
+        } else {
+            // the reroute may be caused by ISLs or switches which are missing in the cached network
+            pathComputer.markNetworkCacheStale();
+        }
+
         FlowRerouteFsm fsm = fsmFactory.newInstance(commandContext, flowId);
         fsms.put(key, fsm);
 
@@ -93,9 +145,120 @@ public class FlowRerouteService {
                 .effectivelyDown(reroute.isEffectivelyDown())
                 .rerouteReason(reroute.getReason())
                 .build();
-        fsmExecutor.fire(fsm, Event.NEXT, context);
+        if (pathComputationBatchSize <= 1) {
+            fsmExecutor.fire(fsm, Event.NEXT, context);
+            removeIfFinished(fsm, key);
+            return;
+        }
 
-        removeIfFinished(fsm, key);
+        if (pendingBatchId == null) {
+            pendingBatchId = UUID.randomUUID();
+            carrier.schedulePathComputationBatchFlush(pendingBatchId);
+        }
+        pendingRequests.put(key, context);
+        if (pathComputationBatchSize <= pendingRequests.size()) {
+            carrier.cancelPathComputationBatchFlush(pendingBatchId);
+            flushPendingRequests();
+        }
+    }
+
+    /**
+     * Computes primary paths for the postponed reroute requests and starts their processing.
+     *
+     * @param batchId batch identifier passed into {@link FlowRerouteHubCarrier#schedulePathComputationBatchFlush}.
+     */
+    public void flushPathComputationBatch(UUID batchId) {
+        if (batchId.equals(pendingBatchId)) {
+            flushPendingRequests();
+        } else {
+            log.debug("Path computation batch {} is already flushed", batchId);
+        }
+    }
+
+    private void flushPendingRequests() {
+        Map<String, FlowRerouteContext> requests = new LinkedHashMap<>(pendingRequests);
+        pendingRequests.clear();
+        pendingBatchId = null;
+
+        precomputePrimaryPaths(requests);
+        for (Entry<String, FlowRerouteContext> entry : requests.entrySet()) {
+            String key = entry.getKey();
+            FlowRerouteFsm fsm = fsms.get(key);
+            carrier.setCurrentOperationKey(key);
+            fsmExecutor.fire(fsm, Event.NEXT, entry.getValue());
+            removeIfFinished(fsm, key);
+        }
+    }
+
+    /**
+     * Computes primary paths of the flows with one network read and passes them to the FSMs. The FSMs recompute
+     * the paths on their own if the precomputed ones are missing or can't be allocated.
+     */
+    private void precomputePrimaryPaths(Map<String, FlowRerouteContext> requests) {
+        Map<FlowEncapsulationType, List<Flow>> flowsByEncapsulation = new HashMap<>();
+        Map<String, Collection<PathId>> reusePathsResources = new HashMap<>();
+        Map<String, FlowRerouteFsm> fsmByFlowId = new HashMap<>();
+        for (Entry<String, FlowRerouteContext> entry : requests.entrySet()) {
+            FlowRerouteContext context = entry.getValue();
+            if (context.isIgnoreBandwidth()) {
+                continue;
+            }
+            Flow flow = flowRepository.findById(context.getFlowId()).orElse(null);
+            if (flow == null || flow.getStatus() == FlowStatus.IN_PROGRESS
+                    || !isPrimaryPathAffected(flow, context.getAffectedIsl())) {
+                continue;
+            }
+            // Detach the entity to avoid propagation to the database.
+            flowRepository.detach(flow);
+            if (flow.getTargetPathComputationStrategy() != null) {
+                flow.setPathComputationStrategy(flow.getTargetPathComputationStrategy());
+            }
+
+            flowsByEncapsulation.computeIfAbsent(flow.getEncapsulationType(), ignore -> new ArrayList<>()).add(flow);
+            List<PathId> pathsToReuse = new ArrayList<>();
+            Stream.of(flow.getForwardPathId(), flow.getReversePathId())
+                    .filter(Objects::nonNull)
+                    .forEach(pathsToReuse::add);
+            reusePathsResources.put(flow.getFlowId(), pathsToReuse);
+            fsmByFlowId.put(flow.getFlowId(), fsms.get(entry.getKey()));
+        }
+
+        for (List<Flow> flows : flowsByEncapsulation.values()) {
+            if (flows.size() < 2) {
+                continue;
+            }
+            try {
+                BatchGetPathsResult result = pathComputer.getPaths(flows, reusePathsResources,
+                        parallelPathComputation);
+                result.getPaths().forEach((flowId, paths) ->
+                        fsmByFlowId.get(flowId).setPrecomputedPrimaryPaths(paths));
+                log.debug("Computed primary paths for {} of {} flows as one batch", result.getPaths().size(),
+                        flows.size());
+            } catch (RecoverableException e) {
+                log.warn("Failed to compute primary paths for a batch of {} flows: {}", flows.size(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPrimaryPathAffected(Flow flow, Set<IslEndpoint> affectedIsl) {
+        if (affectedIsl == null || affectedIsl.isEmpty()) {
+            return true;
+        }
+        return Stream.of(flow.getForwardPath(), flow.getReversePath())
+                .filter(Objects::nonNull)
+                .map(FlowPath::getSegments)
+                .flatMap(Collection::stream)
+                .anyMatch(segment -> affectedIsl.contains(getSegmentSourceEndpoint(segment))
+                        || affectedIsl.contains(getSegmentDestEndpoint(segment)));
+    }
+
+    private IslEndpoint getSegmentSourceEndpoint(PathSegment segment) {
+        return new IslEndpoint(segment.getSrcSwitchId(), segment.getSrcPort());
+    }
+
+    private IslEndpoint getSegmentDestEndpoint(PathSegment segment) {
+        return new IslEndpoint(segment.getDestSwitchId(), segment.getDestPort());
     }
 
     private boolean isRerouteAlreadyInProgress(String flowId) {
@@ -143,6 +306,15 @@ public class FlowRerouteService {
             return;
         }
 
+        if (pendingRequests.remove(key) != null) {
+            log.warn("Reroute request with key {} timed out waiting for the path computation batch", key);
+            carrier.sendRerouteResultStatus(fsm.getFlowId(),
+                    new RerouteError("Timed out waiting for the path computation"),
+                    fsm.getCommandContext().getCorrelationId());
+            performHousekeeping(key);
+            return;
+        }
+
         fsmExecutor.fire(fsm, Event.TIMEOUT, null);
 
         removeIfFinished(fsm, key);
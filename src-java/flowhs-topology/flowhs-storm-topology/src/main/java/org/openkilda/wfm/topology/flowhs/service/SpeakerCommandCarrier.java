@@ -15,13 +15,22 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.wfm.error.PipelineException;
 
+import java.util.UUID;
+
 public interface SpeakerCommandCarrier {
 
     void sendCommand(String key, FlowSegmentRequest command) throws PipelineException;
 
+    void sendBatch(FlowSegmentBatchRequest batch) throws PipelineException;
+
+    void scheduleBatchFlush(UUID batchId);
+
+    void cancelBatchFlush(UUID batchId);
+
     void sendResponse(String key, SpeakerFlowSegmentResponse response) throws PipelineException;
 }
@@ -15,36 +15,87 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest.FlowSegmentBatchRequestBuilder;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
+import org.openkilda.floodlight.model.FlowSegmentBatchEntry;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.error.PipelineException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
 
 @Slf4j
 public class SpeakerWorkerService {
     private final SpeakerCommandCarrier carrier;
+    private final int batchSize;
 
     private final Map<String, FlowSegmentRequest> keyToRequest = new HashMap<>();
 
+    private final Map<SwitchId, PendingBatch> batchBySwitch = new HashMap<>();
+    private final Map<UUID, PendingBatch> batchById = new HashMap<>();
+
     public SpeakerWorkerService(SpeakerCommandCarrier carrier) {
+        this(carrier, 1);
+    }
+
+    public SpeakerWorkerService(SpeakerCommandCarrier carrier, int batchSize) {
         this.carrier = carrier;
+        this.batchSize = batchSize;
     }
 
     /**
      * Sends command to speaker.
+     *
+     * <p>If batching is enabled, the command is buffered together with other commands addressed to the same switch.
+     * The buffer is sent to the speaker as one batch request when it reaches the batch size or when the scheduled
+     * flush occurs (see {@link #flushBatch(UUID)}).
+     *
      * @param key unique operation's key.
      * @param command command to be executed.
      */
     public void sendCommand(String key, FlowSegmentRequest command) throws PipelineException {
         log.debug("Got a request from hub bolt {}", command);
         keyToRequest.put(key, command);
-        carrier.sendCommand(key, command);
+        if (batchSize <= 1) {
+            carrier.sendCommand(key, command);
+            return;
+        }
+
+        PendingBatch batch = batchBySwitch.get(command.getSwitchId());
+        if (batch == null) {
+            batch = new PendingBatch(UUID.randomUUID(), command.getSwitchId());
+            batchBySwitch.put(batch.switchId, batch);
+            batchById.put(batch.batchId, batch);
+            carrier.scheduleBatchFlush(batch.batchId);
+        }
+        batch.requests.put(key, command);
+
+        if (batchSize <= batch.requests.size()) {
+            carrier.cancelBatchFlush(batch.batchId);
+            flush(batch);
+        }
+    }
+
+    /**
+     * Sends buffered commands of the batch to speaker.
+     * @param batchId batch identifier passed into {@link SpeakerCommandCarrier#scheduleBatchFlush(UUID)}.
+     */
+    public void flushBatch(UUID batchId) throws PipelineException {
+        PendingBatch batch = batchById.get(batchId);
+        if (batch != null) {
+            flush(batch);
+        } else {
+            log.debug("Batch {} is already sent", batchId);
+        }
     }
 
     /**
@@ -71,6 +122,10 @@ public class SpeakerWorkerService {
      */
     public void handleTimeout(String key) throws PipelineException {
         FlowSegmentRequest failedRequest = keyToRequest.remove(key);
+        PendingBatch batch = batchBySwitch.get(failedRequest.getSwitchId());
+        if (batch != null) {
+            batch.requests.remove(key);
+        }
 
         SpeakerFlowSegmentResponse response = FlowErrorResponse.errorBuilder()
                 .commandId(failedRequest.getCommandId())
@@ -81,4 +136,39 @@ public class SpeakerWorkerService {
                 .build();
         carrier.sendResponse(key, response);
     }
+
+    private void flush(PendingBatch batch) throws PipelineException {
+        batchBySwitch.remove(batch.switchId);
+        batchById.remove(batch.batchId);
+        if (batch.requests.isEmpty()) {
+            return;
+        }
+
+        Entry<String, FlowSegmentRequest> first = batch.requests.entrySet().iterator().next();
+        if (batch.requests.size() == 1) {
+            carrier.sendCommand(first.getKey(), first.getValue());
+            return;
+        }
+
+        FlowSegmentBatchRequestBuilder request = FlowSegmentBatchRequest.builder()
+                .messageContext(first.getValue().getMessageContext())
+                .switchId(batch.switchId)
+                .commandId(batch.batchId);
+        for (Entry<String, FlowSegmentRequest> entry : batch.requests.entrySet()) {
+            request.command(new FlowSegmentBatchEntry(entry.getKey(), entry.getValue()));
+        }
+        log.debug("Send batch {} of {} requests to switch {}", batch.batchId, batch.requests.size(), batch.switchId);
+        carrier.sendBatch(request.build());
+    }
+
+    private static class PendingBatch {
+        private final UUID batchId;
+        private final SwitchId switchId;
+        private final Map<String, FlowSegmentRequest> requests = new LinkedHashMap<>();
+
+        PendingBatch(UUID batchId, SwitchId switchId) {
+            this.batchId = batchId;
+            this.switchId = switchId;
+        }
+    }
 }
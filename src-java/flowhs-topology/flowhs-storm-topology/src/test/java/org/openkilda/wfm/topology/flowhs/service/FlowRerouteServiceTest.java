@@ -23,12 +23,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,11 +52,13 @@ import org.openkilda.model.FlowStatus;
 import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
+import org.openkilda.pce.BatchGetPathsResult;
 import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.flow.resources.ResourceAllocationException;
 
@@ -63,6 +67,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -70,7 +75,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FlowRerouteServiceTest extends AbstractFlowTest {
@@ -604,6 +611,92 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
         assertNull(result.getTargetPathComputationStrategy());
     }
 
+    @Test
+    public void shouldReleaseBandwidthInPathComputerOnRerouteWithoutAffectedIsls()
+            throws RecoverableException, UnroutableFlowException {
+        Flow origin = makeFlow();
+        preparePathComputation(origin.getFlowId(), make3SwitchesPathPair());
+        PathSegment originSegment = origin.getForwardPath().getSegments().get(0);
+        IslEndpoints originIsl = new IslEndpoints(
+                originSegment.getSrcSwitchId().toString(), originSegment.getSrcPort(),
+                originSegment.getDestSwitchId().toString(), originSegment.getDestPort());
+
+        FlowRerouteService service = makeService();
+        FlowRerouteRequest request = new FlowRerouteRequest(origin.getFlowId(), false, false,
+                false, Collections.emptySet(), null, false);
+        service.handleRequest(currentRequestKey, request, commandContext);
+
+        FlowSegmentRequest speakerRequest;
+        while ((speakerRequest = requests.poll()) != null) {
+            produceAsyncResponse(service, speakerRequest);
+        }
+
+        Flow result = verifyFlowStatus(origin.getFlowId(), FlowStatus.UP);
+        verifyPathReplace(origin, result);
+        verify(pathComputer).markNetworkCacheStale();
+        verify(pathComputer, never()).excludeIslEndpoints(any());
+        verify(pathComputer).updateAvailableBandwidth(
+                ArgumentMatchers.<Map<IslEndpoints, Long>>argThat(released -> released.containsKey(originIsl)));
+    }
+
+    @Test
+    public void shouldComputePrimaryPathsOfBatchedReroutesAtOnce()
+            throws RecoverableException, UnroutableFlowException {
+        Flow first = makeFlow();
+        Flow second = makeFlow();
+        BatchGetPathsResult batchResult = BatchGetPathsResult.builder()
+                .path(first.getFlowId(), make3SwitchesPathPair())
+                .path(second.getFlowId(), make3SwitchesPathPair())
+                .build();
+        when(pathComputer.getPaths(any(), any(), anyBoolean())).thenReturn(batchResult);
+
+        FlowRerouteService service = makeService(2);
+        service.handleRequest("first-key", new FlowRerouteRequest(first.getFlowId(), false, false,
+                false, Collections.emptySet(), null, false), commandContext);
+
+        // postponed until the batch is full
+        verify(carrier).schedulePathComputationBatchFlush(any());
+        verifyFlowStatus(first.getFlowId(), FlowStatus.UP);
+
+        service.handleRequest("second-key", new FlowRerouteRequest(second.getFlowId(), false, false,
+                false, Collections.emptySet(), null, false), commandContext);
+
+        verify(carrier).cancelPathComputationBatchFlush(any());
+        verify(pathComputer).getPaths(
+                ArgumentMatchers.<List<Flow>>argThat(flows -> flows.size() == 2), any(), eq(false));
+        verify(pathComputer, never()).getPath(any(), any());
+        verifyFlowStatus(first.getFlowId(), FlowStatus.IN_PROGRESS);
+        verifyFlowStatus(second.getFlowId(), FlowStatus.IN_PROGRESS);
+    }
+
+    @Test
+    public void shouldRerouteIncompleteBatchOnFlush() throws RecoverableException, UnroutableFlowException {
+        Flow origin = makeFlow();
+        preparePathComputation(origin.getFlowId(), make3SwitchesPathPair());
+
+        FlowRerouteService service = makeService(2);
+        service.handleRequest(currentRequestKey, new FlowRerouteRequest(origin.getFlowId(), false, false,
+                false, Collections.emptySet(), null, false), commandContext);
+        verifyFlowStatus(origin.getFlowId(), FlowStatus.UP);
+
+        ArgumentCaptor<UUID> batchId = ArgumentCaptor.forClass(UUID.class);
+        verify(carrier).schedulePathComputationBatchFlush(batchId.capture());
+        service.flushPathComputationBatch(batchId.getValue());
+
+        // a single flow is not worth a batch computation
+        verify(pathComputer, never()).getPaths(any(), any(), anyBoolean());
+        verify(carrier).setCurrentOperationKey(currentRequestKey);
+        verifyFlowStatus(origin.getFlowId(), FlowStatus.IN_PROGRESS);
+
+        FlowSegmentRequest speakerRequest;
+        while ((speakerRequest = requests.poll()) != null) {
+            produceAsyncResponse(service, speakerRequest);
+        }
+
+        Flow result = verifyFlowStatus(origin.getFlowId(), FlowStatus.UP);
+        verifyPathReplace(origin, result);
+    }
+
     @Test
     public void shouldSkipRerouteOnOutdatedRequest() {
         Flow origin = makeFlow();
@@ -678,9 +771,13 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
     }
 
     private FlowRerouteService makeService() {
+        return makeService(1);
+    }
+
+    private FlowRerouteService makeService(int pathComputationBatchSize) {
         return new FlowRerouteService(
                 carrier, persistenceManager, pathComputer, flowResourcesManager,
                 PATH_ALLOCATION_RETRIES_LIMIT, PATH_ALLOCATION_RETRY_DELAY, PATH_ALLOCATION_RETRIES_LIMIT,
-                SPEAKER_COMMAND_RETRIES_LIMIT);
+                SPEAKER_COMMAND_RETRIES_LIMIT, pathComputationBatchSize, false);
     }
 }
@@ -0,0 +1,139 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.TransitFlowSegmentInstallRequest;
+import org.openkilda.floodlight.model.FlowSegmentBatchEntry;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SpeakerWorkerServiceTest {
+    private static final SwitchId SWITCH_A = new SwitchId(1);
+    private static final SwitchId SWITCH_B = new SwitchId(2);
+
+    @Mock
+    private SpeakerCommandCarrier carrier;
+
+    @Test
+    public void shouldSendCommandImmediatelyIfBatchingDisabled() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier);
+        FlowSegmentRequest request = makeRequest(SWITCH_A, 1);
+
+        service.sendCommand("key-1", request);
+
+        verify(carrier).sendCommand("key-1", request);
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldSendBatchWhenBatchSizeReached() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 2);
+        FlowSegmentRequest first = makeRequest(SWITCH_A, 1);
+        FlowSegmentRequest second = makeRequest(SWITCH_A, 2);
+
+        service.sendCommand("key-1", first);
+        service.sendCommand("key-2", second);
+
+        ArgumentCaptor<UUID> flushId = ArgumentCaptor.forClass(UUID.class);
+        verify(carrier).scheduleBatchFlush(flushId.capture());
+        verify(carrier).cancelBatchFlush(flushId.getValue());
+
+        ArgumentCaptor<FlowSegmentBatchRequest> batch = ArgumentCaptor.forClass(FlowSegmentBatchRequest.class);
+        verify(carrier).sendBatch(batch.capture());
+        verify(carrier, never()).sendCommand(any(), any());
+
+        assertEquals(SWITCH_A, batch.getValue().getSwitchId());
+        assertEquals(flushId.getValue(), batch.getValue().getCommandId());
+        assertEquals(2, batch.getValue().getCommands().size());
+        assertEquals(new FlowSegmentBatchEntry("key-1", first), batch.getValue().getCommands().get(0));
+        assertEquals(new FlowSegmentBatchEntry("key-2", second), batch.getValue().getCommands().get(1));
+    }
+
+    @Test
+    public void shouldSendBufferedCommandsOnFlush() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest switchARequest = makeRequest(SWITCH_A, 1);
+        FlowSegmentRequest switchBRequest = makeRequest(SWITCH_B, 2);
+
+        service.sendCommand("key-1", switchARequest);
+        service.sendCommand("key-2", switchBRequest);
+
+        ArgumentCaptor<UUID> flushId = ArgumentCaptor.forClass(UUID.class);
+        verify(carrier, times(2)).scheduleBatchFlush(flushId.capture());
+
+        service.flushBatch(flushId.getAllValues().get(0));
+        verify(carrier).sendCommand("key-1", switchARequest);
+
+        service.flushBatch(flushId.getAllValues().get(0));
+        service.flushBatch(flushId.getAllValues().get(1));
+        verify(carrier).sendCommand("key-2", switchBRequest);
+        verify(carrier, never()).sendBatch(any());
+    }
+
+    @Test
+    public void shouldDropTimedOutCommandFromBatch() throws Exception {
+        SpeakerWorkerService service = new SpeakerWorkerService(carrier, 32);
+        FlowSegmentRequest first = makeRequest(SWITCH_A, 1);
+        FlowSegmentRequest second = makeRequest(SWITCH_A, 2);
+
+        service.sendCommand("key-1", first);
+        service.sendCommand("key-2", second);
+        service.handleTimeout("key-1");
+
+        ArgumentCaptor<UUID> flushId = ArgumentCaptor.forClass(UUID.class);
+        verify(carrier).scheduleBatchFlush(flushId.capture());
+        verify(carrier).sendResponse(eq("key-1"), any());
+
+        service.flushBatch(flushId.getValue());
+        verify(carrier).sendCommand("key-2", second);
+        verify(carrier, never()).sendCommand(eq("key-1"), any());
+    }
+
+    private FlowSegmentRequest makeRequest(SwitchId switchId, int vlan) {
+        return TransitFlowSegmentInstallRequest.builder()
+                .messageContext(new MessageContext())
+                .switchId(switchId)
+                .commandId(UUID.randomUUID())
+                .metadata(new FlowSegmentMetadata("flow-" + vlan, new Cookie(vlan), false))
+                .ingressIslPort(1)
+                .egressIslPort(2)
+                .encapsulation(new FlowTransitEncapsulation(vlan, FlowEncapsulationType.TRANSIT_VLAN))
+                .build();
+    }
+}
@@ -21,7 +21,6 @@ import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.S
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.ISL_UPDATE_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.STATS_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.bolt.FlowCacheBolt.FLOW_ID_FIELD;
-import static org.openkilda.wfm.topology.flowmonitoring.bolt.IslDataSplitterBolt.ISL_KEY_FIELD;
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.LaunchEnvironment;
@@ -33,7 +32,6 @@ import org.openkilda.wfm.topology.flowmonitoring.bolt.ActionBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.FlowCacheBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.FlowSplitterBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.FlowStateCacheBolt;
-import org.openkilda.wfm.topology.flowmonitoring.bolt.IslCacheBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.IslDataSplitterBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.RerouteEncoder;
 import org.openkilda.wfm.topology.flowmonitoring.bolt.TickBolt;
@@ -48,7 +46,6 @@ import java.time.Duration;
 public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopologyConfig> {
 
     private static final Fields FLOW_ID_FIELDS = new Fields(FLOW_ID_FIELD);
-    private static final Fields ISL_KEY_FIELDS = new Fields(ISL_KEY_FIELD);
 
     public FlowMonitoringTopology(LaunchEnvironment env) {
         super(env, "flowmonitoring-topology", FlowMonitoringTopologyConfig.class);
@@ -73,7 +70,6 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
 
         flowStateCacheBolt(tb, persistenceManager);
         flowCacheBolt(tb, persistenceManager);
-        islCacheBolt(tb, persistenceManager);
 
         actionBolt(tb, persistenceManager);
         outputReroute(tb);
@@ -133,23 +129,15 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
     private void flowCacheBolt(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
         FlowCacheBolt flowCacheBolt = new FlowCacheBolt(
                 persistenceManager, ZooKeeperSpout.SPOUT_ID,
-                Duration.ofSeconds(getConfig().getFlowRttStatsExpirationSeconds()), getConfig().getMetricPrefix());
+                Duration.ofSeconds(getConfig().getFlowRttStatsExpirationSeconds()),
+                Duration.ofSeconds(getConfig().getIslRttLatencyExpirationSeconds()), getConfig().getMetricPrefix());
         declareBolt(topologyBuilder, flowCacheBolt, ComponentId.FLOW_CACHE_BOLT.name())
                 .fieldsGrouping(ComponentId.FLOW_STATE_CACHE_BOLT.name(), FLOW_UPDATE_STREAM_ID.name(), FLOW_ID_FIELDS)
                 .fieldsGrouping(ComponentId.FLOW_STATE_CACHE_BOLT.name(), FLOW_REMOVE_STREAM_ID.name(), FLOW_ID_FIELDS)
                 .fieldsGrouping(ComponentId.FLOW_STATE_CACHE_BOLT.name(), FLOW_ID_FIELDS)
                 .fieldsGrouping(ComponentId.FLOW_SPLITTER_BOLT.name(), FLOW_ID_FIELDS)
-                .fieldsGrouping(ComponentId.ISL_CACHE_BOLT.name(), FLOW_ID_FIELDS)
-                .allGrouping(ZooKeeperSpout.SPOUT_ID);
-    }
-
-    private void islCacheBolt(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
-        IslCacheBolt islCacheBolt = new IslCacheBolt(persistenceManager,
-                Duration.ofSeconds(getConfig().getIslRttLatencyExpirationSeconds()), ZooKeeperSpout.SPOUT_ID);
-        declareBolt(topologyBuilder, islCacheBolt, ComponentId.ISL_CACHE_BOLT.name())
-                .fieldsGrouping(ComponentId.ISL_SPLITTER_BOLT.name(), ISL_KEY_FIELDS)
-                .fieldsGrouping(ComponentId.ISL_SPLITTER_BOLT.name(), ISL_UPDATE_STREAM_ID.name(), ISL_KEY_FIELDS)
-                .fieldsGrouping(ComponentId.FLOW_CACHE_BOLT.name(), ISL_KEY_FIELDS)
+                .allGrouping(ComponentId.ISL_SPLITTER_BOLT.name())
+                .allGrouping(ComponentId.ISL_SPLITTER_BOLT.name(), ISL_UPDATE_STREAM_ID.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
 
@@ -190,10 +178,9 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
     private void zooKeeperBolt(TopologyBuilder topology) {
         ZooKeeperBolt zooKeeperBolt = new ZooKeeperBolt(getConfig().getBlueGreenMode(), getZkTopoName(),
                 getZookeeperConfig(),
-                getBoltInstancesCount(ComponentId.ISL_CACHE_BOLT.name(), ComponentId.FLOW_CACHE_BOLT.name(),
+                getBoltInstancesCount(ComponentId.FLOW_CACHE_BOLT.name(),
                         ComponentId.ACTION_BOLT.name(), ComponentId.FLOW_STATE_CACHE_BOLT.name()));
         declareBolt(topology, zooKeeperBolt, ZooKeeperBolt.BOLT_ID)
-                .allGrouping(ComponentId.ISL_CACHE_BOLT.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.FLOW_STATE_CACHE_BOLT.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.FLOW_CACHE_BOLT.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.ACTION_BOLT.name(), ZkStreams.ZK.toString());
@@ -215,7 +202,6 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
 
         FLOW_STATE_CACHE_BOLT("flow.state.cache.bolt"),
         FLOW_CACHE_BOLT("flow.cache.bolt"),
-        ISL_CACHE_BOLT("isl.cache.bolt"),
         ACTION_BOLT("action.bolt"),
 
         STATS_BOLT("stats.bolt"),
@@ -18,14 +18,17 @@ package org.openkilda.wfm.topology.flowmonitoring.bolt;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.ACTION_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.FLOW_REMOVE_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.FLOW_UPDATE_STREAM_ID;
+import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.ISL_UPDATE_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.STATS_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.bolt.FlowSplitterBolt.COMMAND_DATA_FIELD;
 import static org.openkilda.wfm.topology.flowmonitoring.bolt.FlowSplitterBolt.INFO_DATA_FIELD;
-import static org.openkilda.wfm.topology.flowmonitoring.bolt.IslDataSplitterBolt.ISL_KEY_FIELD;
-import static org.openkilda.wfm.topology.flowmonitoring.bolt.IslDataSplitterBolt.getIslKey;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.event.IslChangedInfoData;
+import org.openkilda.messaging.info.event.IslOneWayLatency;
+import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.messaging.info.flow.UpdateFlowCommand;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
 import org.openkilda.persistence.PersistenceManager;
@@ -42,6 +45,7 @@ import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.service.CalculateFlowLatencyService;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheBoltCarrier;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheService;
+import org.openkilda.wfm.topology.flowmonitoring.service.IslCacheService;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ImmutableMap;
@@ -59,21 +63,22 @@ import java.util.Map;
 public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier {
     public static final String FLOW_ID_FIELD = "flow-id";
     public static final String FLOW_DIRECTION_FIELD = "flow-direction";
-    public static final String REQUEST_ID_FIELD = "request-id";
-    public static final String LINK_FIELD = "link";
     public static final String LATENCY_FIELD = "latency";
 
     private Duration flowRttStatsExpirationTime;
+    private Duration islRttLatencyExpiration;
     private MetricFormatter metricFormatter;
 
     private transient FlowCacheService flowCacheService;
     private transient CalculateFlowLatencyService calculateFlowLatencyService;
+    private transient IslCacheService islCacheService;
 
     public FlowCacheBolt(
             PersistenceManager persistenceManager, String lifeCycleEventSourceComponent,
-            Duration flowRttStatsExpirationTime, String flowStatsPrefix) {
+            Duration flowRttStatsExpirationTime, Duration islRttLatencyExpiration, String flowStatsPrefix) {
         super(persistenceManager, lifeCycleEventSourceComponent);
         this.flowRttStatsExpirationTime = flowRttStatsExpirationTime;
+        this.islRttLatencyExpiration = islRttLatencyExpiration;
         this.metricFormatter = new MetricFormatter(flowStatsPrefix);
     }
 
@@ -81,7 +86,8 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
     protected void init() {
         flowCacheService = new FlowCacheService(persistenceManager, Clock.systemUTC(),
                 flowRttStatsExpirationTime, this);
-        calculateFlowLatencyService = new CalculateFlowLatencyService(this);
+        islCacheService = new IslCacheService(persistenceManager, Clock.systemUTC(), islRttLatencyExpiration);
+        calculateFlowLatencyService = new CalculateFlowLatencyService(this, islCacheService);
     }
 
     @Override
@@ -104,11 +110,8 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
                 return;
             }
 
-            if (ComponentId.ISL_CACHE_BOLT.name().equals(input.getSourceComponent())) {
-                String requestId = pullValue(input, REQUEST_ID_FIELD, String.class);
-                Link link = pullValue(input, LINK_FIELD, Link.class);
-                Duration latency = pullValue(input, LATENCY_FIELD, Duration.class);
-                calculateFlowLatencyService.handleGetLinkLatencyResponse(requestId, link, latency);
+            if (ComponentId.ISL_SPLITTER_BOLT.name().equals(input.getSourceComponent())) {
+                handleIslData(input);
                 return;
             }
 
@@ -117,15 +120,26 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
         }
     }
 
-    @Override
-    public void emitCalculateFlowLatencyRequest(String flowId, FlowDirection direction, List<Link> flowPath) {
-        calculateFlowLatencyService.handleCalculateFlowLatencyRequest(flowId, direction, flowPath);
+    private void handleIslData(Tuple input) throws PipelineException {
+        InfoData data = pullValue(input, IslDataSplitterBolt.INFO_DATA_FIELD, InfoData.class);
+        if (ISL_UPDATE_STREAM_ID.name().equals(input.getSourceStreamId())) {
+            if (data instanceof IslChangedInfoData) {
+                islCacheService.handleIslChangedData((IslChangedInfoData) data);
+            } else {
+                unhandledInput(input);
+            }
+        } else if (data instanceof IslOneWayLatency) {
+            islCacheService.handleOneWayLatency((IslOneWayLatency) data);
+        } else if (data instanceof IslRoundTripLatency) {
+            islCacheService.handleRoundTripLatency((IslRoundTripLatency) data);
+        } else {
+            unhandledInput(input);
+        }
     }
 
     @Override
-    public void emitGetLinkLatencyRequest(String flowId, String requestId, Link link) {
-        emit(getCurrentTuple(), new Values(requestId, flowId, getIslKey(link.getSrcSwitchId(), link.getSrcPort()),
-                link, getCommandContext()));
+    public void emitCalculateFlowLatencyRequest(String flowId, FlowDirection direction, List<Link> flowPath) {
+        calculateFlowLatencyService.handleCalculateFlowLatencyRequest(flowId, direction, flowPath);
     }
 
     @Override
@@ -153,7 +167,6 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(new Fields(REQUEST_ID_FIELD, FLOW_ID_FIELD, ISL_KEY_FIELD, LINK_FIELD, FIELD_ID_CONTEXT));
         declarer.declareStream(ACTION_STREAM_ID.name(), new Fields(FLOW_ID_FIELD, FLOW_DIRECTION_FIELD,
                 LATENCY_FIELD, FIELD_ID_CONTEXT));
         declarer.declareStream(FLOW_UPDATE_STREAM_ID.name(), new Fields(FLOW_ID_FIELD, COMMAND_DATA_FIELD,
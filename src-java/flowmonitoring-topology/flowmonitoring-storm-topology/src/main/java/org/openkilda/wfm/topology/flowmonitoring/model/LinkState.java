@@ -15,38 +15,42 @@
 
 package org.openkilda.wfm.topology.flowmonitoring.model;
 
+import org.openkilda.wfm.share.utils.TimeWindowAggregator;
+
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 
 import java.time.Duration;
 import java.time.Instant;
 
-@Data
 public class LinkState {
+    private static final int RTT_LATENCY_WINDOW_BUCKETS = 16;
+
+    private final TimeWindowAggregator rttLatency;
 
-    private Duration rttLatency;
-    private Instant rttTimestamp;
+    @Getter
     private Duration oneWayLatency;
 
     @Builder
-    public LinkState(long rttLatency, Instant rttTimestamp, long oneWayLatency) {
-        this.rttLatency = Duration.ofNanos(rttLatency);
-        this.rttTimestamp = rttTimestamp;
+    public LinkState(Duration rttLatencyExpiration, long oneWayLatency) {
+        this.rttLatency = new TimeWindowAggregator(rttLatencyExpiration, RTT_LATENCY_WINDOW_BUCKETS);
         this.oneWayLatency = Duration.ofNanos(oneWayLatency);
     }
 
     /**
-     * Get most recent latency for the link.
+     * Get latency for the link. It is average RTT latency received within the RTT latency expiration period or most
+     * recent one way latency if there are no such RTT latency records.
      */
-    public Duration getLatency(Instant now, Duration rttLatencyExpiration) {
-        if (rttTimestamp == null || now.isAfter(rttTimestamp.plus(rttLatencyExpiration))) {
+    public Duration getLatency(Instant now) {
+        rttLatency.expire(now.toEpochMilli());
+        if (rttLatency.isEmpty()) {
             return oneWayLatency;
         }
-        return rttLatency;
+        return Duration.ofNanos(rttLatency.getAverage());
     }
 
-    public void setRttLatency(long rttLatency) {
-        this.rttLatency = Duration.ofNanos(rttLatency);
+    public void addRttLatency(long latency, Instant timestamp) {
+        rttLatency.add(latency, timestamp.toEpochMilli());
     }
 
     public void setOneWayLatency(long oneWayLatency) {
@@ -16,72 +16,35 @@
 package org.openkilda.wfm.topology.flowmonitoring.service;
 
 import org.openkilda.server42.messaging.FlowDirection;
-import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 @Slf4j
 public class CalculateFlowLatencyService {
 
-    private Map<String, FlowLatencyRequest> requests = new HashMap<>();
-
     private FlowCacheBoltCarrier carrier;
+    private IslCacheService islCacheService;
 
-    public CalculateFlowLatencyService(FlowCacheBoltCarrier carrier) {
+    public CalculateFlowLatencyService(FlowCacheBoltCarrier carrier, IslCacheService islCacheService) {
         this.carrier = carrier;
+        this.islCacheService = islCacheService;
     }
 
     /**
-     * Handle calculate flow latency request.
+     * Handle calculate flow latency request. The latency is summed up from the local ISL cache replica in a single
+     * pass over the flow path.
      */
     public void handleCalculateFlowLatencyRequest(String flowId, FlowDirection direction, List<Link> flowPath) {
-        requests.values().stream()
-                .filter(request -> request.getFlowId().equals(flowId) && request.getDirection() == direction)
-                .findAny()
-                .ifPresent(flowLatencyRequest -> {
-                    FlowLatencyRequest remove = requests.remove(flowLatencyRequest.getRequestId());
-                    log.warn("Removing previous calculate flow latency request for {} {} for requestId {}",
-                            flowId, direction, remove.getRequestId());
-                });
-
-        String requestId = UUID.randomUUID().toString();
-        requests.put(requestId, FlowLatencyRequest.builder()
-                .requestId(requestId)
-                .flowId(flowId)
-                .direction(direction)
-                .flowPath(flowPath)
-                .build());
-
-        flowPath.forEach(link -> carrier.emitGetLinkLatencyRequest(flowId, requestId, link));
-    }
-
-    /**
-     * Handle get link latency response. Send check flow latency request if ready.
-     */
-    public void handleGetLinkLatencyResponse(String requestId, Link link, Duration latency) {
-        log.debug("Get link latency response for link {} with {} and requestId {}", link, latency, requestId);
-        FlowLatencyRequest flowLatencyRequest = requests.get(requestId);
-        if (flowLatencyRequest == null) {
-            log.warn("Link latency response for unknown request found {}", link);
-            return;
-        }
-        flowLatencyRequest.handleResponse(link, latency);
-
-        if (flowLatencyRequest.isFulfilled()) {
-            log.debug("Process calculated latency for requestId {}", requestId);
-            String flowId = flowLatencyRequest.getFlowId();
-            FlowDirection direction = flowLatencyRequest.getDirection();
-            Duration result = flowLatencyRequest.getResult();
-            carrier.emitCheckFlowLatencyRequest(flowId, direction, result);
-            carrier.emitLatencyStats(flowId, direction, result);
-            requests.remove(requestId);
+        Duration result = Duration.ZERO;
+        for (Link link : flowPath) {
+            result = result.plus(islCacheService.getLatencyForLink(link));
         }
+        log.debug("Calculated latency {} for flow {} {}", result, flowId, direction);
+        carrier.emitCheckFlowLatencyRequest(flowId, direction, result);
+        carrier.emitLatencyStats(flowId, direction, result);
     }
 }
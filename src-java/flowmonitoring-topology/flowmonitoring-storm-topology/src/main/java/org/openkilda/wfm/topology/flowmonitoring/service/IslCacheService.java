@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowmonitoring.service;
 import org.openkilda.messaging.info.event.IslChangedInfoData;
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
+import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -30,17 +31,23 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * ISL latency table. Every flow cache bolt task keeps its own replica fed by broadcast ISL events, so links are
+ * indexed by the source endpoint to keep RTT updates and ISL changes independent of the total number of ISLs.
+ */
 @Slf4j
 public class IslCacheService {
 
     private Clock clock;
     private Duration islRttLatencyExpiration;
-    private Map<Link, LinkState> linkStates;
+    private final Map<Link, LinkState> linkStates = new HashMap<>();
+    private final Map<IslEndpoint, List<Link>> linksBySource = new HashMap<>();
 
     public IslCacheService(PersistenceManager persistenceManager, Clock clock, Duration islRttLatencyExpiration) {
         this.clock = clock;
@@ -52,12 +59,14 @@ public class IslCacheService {
 
     private void initCache(IslRepository islRepository) {
         try {
-            linkStates = islRepository.findAll().stream()
-                    .collect(Collectors.toMap(LinkMapper.INSTANCE::toLink, (link) -> LinkState.builder().build()));
+            islRepository.findAll().stream()
+                    .map(LinkMapper.INSTANCE::toLink)
+                    .forEach(this::addLink);
             log.info("Isl cache initialized successfully.");
         } catch (Exception e) {
             log.error("Isl cache initialization exception. Empty cache is used.", e);
-            linkStates = new HashMap<>();
+            linkStates.clear();
+            linksBySource.clear();
         }
     }
 
@@ -71,36 +80,17 @@ public class IslCacheService {
                 .destSwitchId(data.getDstSwitchId())
                 .destPort(data.getDstPortNo())
                 .build();
-        LinkState linkState = linkStates.get(link);
-        if (linkState == null) {
-            linkStates.put(link, LinkState.builder()
-                    .oneWayLatency(data.getLatency())
-                    .build());
-        } else {
-            linkState.setOneWayLatency(data.getLatency());
-        }
+        addLink(link).setOneWayLatency(data.getLatency());
     }
 
     /**
      * Update RTT latency for ISL.
      */
     public void handleRoundTripLatency(IslRoundTripLatency data) {
-        List<Link> links = linkStates.keySet().stream()
-                .filter(link -> link.srcEquals(data.getSrcSwitchId(), data.getSrcPortNo()))
-                .collect(Collectors.toList());
+        List<Link> links = linksBySource.getOrDefault(
+                new IslEndpoint(data.getSrcSwitchId(), data.getSrcPortNo()), Collections.emptyList());
         Instant instant = clock.instant();
-        links.forEach(link -> {
-            LinkState linkState = linkStates.get(link);
-            if (linkState == null) {
-                linkStates.put(link, LinkState.builder()
-                        .rttLatency(data.getLatency())
-                        .rttTimestamp(instant)
-                        .build());
-            } else {
-                linkState.setRttLatency(data.getLatency());
-                linkState.setRttTimestamp(instant);
-            }
-        });
+        links.forEach(link -> linkStates.get(link).addRttLatency(data.getLatency(), instant));
     }
 
     /**
@@ -114,7 +104,7 @@ public class IslCacheService {
             log.warn("Link not found in ISL cache {}", link);
             return Duration.ZERO;
         } else {
-            return linkState.getLatency(clock.instant(), islRttLatencyExpiration);
+            return linkState.getLatency(clock.instant());
         }
     }
 
@@ -125,20 +115,36 @@ public class IslCacheService {
         cleanUpLinkStatesByEndpoint(data.getSource().getDatapath(), data.getSource().getPortNumber());
         if (!data.isRemoved()) {
             // Handle moved or added ISL
-            linkStates.put(Link.builder()
-                            .srcSwitchId(data.getSource().getDatapath())
-                            .srcPort(data.getSource().getPortNumber())
-                            .destSwitchId(data.getDestination().getDatapath())
-                            .destPort(data.getDestination().getPortNumber())
-                            .build(),
-                    LinkState.builder().build());
+            addLink(Link.builder()
+                    .srcSwitchId(data.getSource().getDatapath())
+                    .srcPort(data.getSource().getPortNumber())
+                    .destSwitchId(data.getDestination().getDatapath())
+                    .destPort(data.getDestination().getPortNumber())
+                    .build());
+        }
+    }
+
+    private LinkState newLinkState() {
+        return LinkState.builder()
+                .rttLatencyExpiration(islRttLatencyExpiration)
+                .build();
+    }
+
+    private LinkState addLink(Link link) {
+        LinkState linkState = linkStates.get(link);
+        if (linkState == null) {
+            linkState = newLinkState();
+            linkStates.put(link, linkState);
+            linksBySource.computeIfAbsent(new IslEndpoint(link.getSrcSwitchId(), link.getSrcPort()),
+                    ignore -> new ArrayList<>(1)).add(link);
         }
+        return linkState;
     }
 
     private void cleanUpLinkStatesByEndpoint(SwitchId switchId, int port) {
-        linkStates.keySet().stream()
-                .filter(link -> link.srcEquals(switchId, port))
-                .collect(Collectors.toList())
-                .forEach(link -> linkStates.remove(link));
+        List<Link> links = linksBySource.remove(new IslEndpoint(switchId, port));
+        if (links != null) {
+            links.forEach(linkStates::remove);
+        }
     }
 }
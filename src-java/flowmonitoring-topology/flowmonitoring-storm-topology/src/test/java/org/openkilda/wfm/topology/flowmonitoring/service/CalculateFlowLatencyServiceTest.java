@@ -15,10 +15,9 @@
 
 package org.openkilda.wfm.topology.flowmonitoring.service;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.model.SwitchId;
 import org.openkilda.server42.messaging.FlowDirection;
@@ -27,12 +26,12 @@ import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -55,36 +54,23 @@ public class CalculateFlowLatencyServiceTest {
 
     @Mock
     private FlowCacheBoltCarrier carrier;
+    @Mock
+    private IslCacheService islCacheService;
     private CalculateFlowLatencyService service;
 
     @Before
     public void setup() {
-        service = new CalculateFlowLatencyService(carrier);
-    }
-
-    @Test
-    public void shouldSendLinkRequests() {
-        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, FLOW_PATH);
-
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), any(String.class), eq(FIRST_LINK));
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), any(String.class), eq(SECOND_LINK));
-
-        verifyNoMoreInteractions(carrier);
+        service = new CalculateFlowLatencyService(carrier, islCacheService);
     }
 
     @Test
     public void shouldSendCalculatedResponse() {
-        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, FLOW_PATH);
-
-        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), captor.capture(), eq(FIRST_LINK));
-        String requestId = captor.getValue();
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), eq(requestId), eq(SECOND_LINK));
-
         Duration latency1 = Duration.ofMillis(10);
         Duration latency2 = Duration.ofMillis(20);
-        service.handleGetLinkLatencyResponse(requestId, FIRST_LINK, latency1);
-        service.handleGetLinkLatencyResponse(requestId, SECOND_LINK, latency2);
+        when(islCacheService.getLatencyForLink(FIRST_LINK)).thenReturn(latency1);
+        when(islCacheService.getLatencyForLink(SECOND_LINK)).thenReturn(latency2);
+
+        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, FLOW_PATH);
 
         verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, latency1.plus(latency2));
         verify(carrier).emitLatencyStats(FLOW_ID, FlowDirection.FORWARD, latency1.plus(latency2));
@@ -92,18 +78,16 @@ public class CalculateFlowLatencyServiceTest {
     }
 
     @Test
-    public void shouldNotSendCalculatedResponseForNotFinishedRequests() {
-        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, FLOW_PATH);
+    public void shouldUseLatestLinkLatencyOnEachRequest() {
+        Duration latency1 = Duration.ofMillis(10);
+        Duration latency2 = Duration.ofMillis(30);
+        when(islCacheService.getLatencyForLink(FIRST_LINK)).thenReturn(latency1).thenReturn(latency2);
 
-        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), captor.capture(), eq(FIRST_LINK));
-        String requestId = captor.getValue();
-        verify(carrier).emitGetLinkLatencyRequest(eq(FLOW_ID), eq(requestId), eq(SECOND_LINK));
+        List<Link> path = Collections.singletonList(FIRST_LINK);
+        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.REVERSE, path);
+        service.handleCalculateFlowLatencyRequest(FLOW_ID, FlowDirection.REVERSE, path);
 
-        Duration latency = Duration.ofMillis(10);
-        for (int i = 0; i < 3; i++) {
-            service.handleGetLinkLatencyResponse(requestId, FIRST_LINK, latency);
-        }
-        verifyNoMoreInteractions(carrier);
+        verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.REVERSE, latency1);
+        verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.REVERSE, latency2);
     }
 }
@@ -135,6 +135,7 @@ public class IslCacheServiceTest extends InMemoryGraphBasedTest {
     public void shouldRemoveDeletedIslFromCache() {
         long rttLatency = 1000L;
         IslRoundTripLatency islRoundTripLatency = new IslRoundTripLatency(FIRST_SWITCH, ISL_SRC_PORT, rttLatency, 1L);
+        when(clock.instant()).thenReturn(Instant.now());
         service.handleRoundTripLatency(islRoundTripLatency);
 
         IslChangedInfoData islChangedInfoData = IslChangedInfoData.builder()
@@ -151,6 +152,7 @@ public class IslCacheServiceTest extends InMemoryGraphBasedTest {
 
     @Test
     public void shouldHandleMovedIslFromCache() {
+        when(clock.instant()).thenReturn(Instant.now());
         IslRoundTripLatency islRoundTripLatency = new IslRoundTripLatency(FIRST_SWITCH, ISL_SRC_PORT, 7, 1L);
         service.handleRoundTripLatency(islRoundTripLatency);
 
@@ -163,7 +165,6 @@ public class IslCacheServiceTest extends InMemoryGraphBasedTest {
 
         long rttLatency = 1000L;
         IslRoundTripLatency isl2RoundTripLatency = new IslRoundTripLatency(FIRST_SWITCH, ISL_SRC_PORT, rttLatency, 1L);
-        when(clock.instant()).thenReturn(Instant.now());
 
         service.handleRoundTripLatency(isl2RoundTripLatency);
 
@@ -177,6 +178,21 @@ public class IslCacheServiceTest extends InMemoryGraphBasedTest {
         assertEquals(rttLatency, actual);
     }
 
+    @Test
+    public void shouldGetAverageRttLatencyForLink() {
+        Instant start = Instant.now();
+        when(clock.instant()).thenReturn(start)
+                .thenReturn(start.plusMillis(100))
+                .thenReturn(start.plusMillis(200));
+
+        service.handleRoundTripLatency(new IslRoundTripLatency(FIRST_SWITCH, ISL_SRC_PORT, 100L, 1L));
+        service.handleRoundTripLatency(new IslRoundTripLatency(FIRST_SWITCH, ISL_SRC_PORT, 300L, 2L));
+
+        long actual = service.getLatencyForLink(LINK).getNano();
+
+        assertEquals(200, actual);
+    }
+
     private void createIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort) {
         Isl isl = Isl.builder()
                 .srcSwitch(srcSwitch)
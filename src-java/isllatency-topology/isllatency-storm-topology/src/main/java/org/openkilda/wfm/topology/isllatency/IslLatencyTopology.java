@@ -27,11 +27,13 @@ import org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.IslStatusUpdateBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.OneWayLatencyManipulationBolt;
 import org.openkilda.wfm.topology.isllatency.bolts.RouterBolt;
+import org.openkilda.wfm.topology.isllatency.bolts.TickBolt;
 import org.openkilda.wfm.topology.isllatency.model.StreamType;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
+import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
@@ -42,6 +44,7 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
 
     public static final String ISL_LATENCY_OTSDB_BOLT_ID = "isl-latency-otsdb-bolt";
     public static final String ISL_LATENCY_BOLT_ID = "isl-latency-bolt";
+    public static final String ISL_LATENCY_TICK_BOLT_ID = "isl-latency-tick-bolt";
     public static final String ISL_STATS_BOLT_ID = "isl-stats-bolt";
     public static final String ROUTER_BOLT_ID = "router-bolt";
     public static final String CACHE_BOLT_ID = "cache-bolt";
@@ -116,17 +119,28 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
         KafkaBolt openTsdbBolt = createKafkaBolt(openTsdbTopic);
         declareBolt(builder, openTsdbBolt, ISL_LATENCY_OTSDB_BOLT_ID)
-                .shuffleGrouping(ISL_STATS_BOLT_ID);
+                .shuffleGrouping(ISL_STATS_BOLT_ID)
+                .shuffleGrouping(ISL_LATENCY_BOLT_ID, StreamType.LATENCY_FLUSH_STATS.toString());
     }
 
     private void createLatencyBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
+        int flushInterval = topologyConfig.getLatencyUpdateFlushInterval();
+        // write-behind of latency updates is enabled only if there is a tick to flush them
+        int flushBatchSize = flushInterval > 0 ? topologyConfig.getLatencyUpdateFlushBatchSize() : 0;
         IslLatencyBolt islLatencyBolt = new IslLatencyBolt(
                 persistenceManager,
                 topologyConfig.getLatencyUpdateInterval(),
-                topologyConfig.getLatencyUpdateTimeRange());
-        declareBolt(builder, islLatencyBolt, ISL_LATENCY_BOLT_ID)
+                topologyConfig.getLatencyUpdateTimeRange(),
+                flushBatchSize,
+                topologyConfig.getMetricPrefix());
+        BoltDeclarer boltDeclarer = declareBolt(builder, islLatencyBolt, ISL_LATENCY_BOLT_ID)
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
                 .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS);
+
+        if (flushInterval > 0) {
+            declareBolt(builder, new TickBolt(flushInterval), ISL_LATENCY_TICK_BOLT_ID);
+            boltDeclarer.allGrouping(ISL_LATENCY_TICK_BOLT_ID);
+        }
     }
 
     private void createStatsBolt(TopologyBuilder builder) {
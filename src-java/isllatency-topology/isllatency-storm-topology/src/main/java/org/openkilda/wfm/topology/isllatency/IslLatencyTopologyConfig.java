@@ -56,6 +56,16 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.update.flush.interval") // how long latency updates are collected before DB write in seconds
+    @Default("0") // 0 means each latency update is written into DB immediately
+    @Min(0)
+    int getLatencyUpdateFlushInterval();
+
+    @Key("latency.update.flush.batch.size") // max number of ISLs updated in one DB transaction
+    @Default("100")
+    @Min(1)
+    int getLatencyUpdateFlushBatchSize();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
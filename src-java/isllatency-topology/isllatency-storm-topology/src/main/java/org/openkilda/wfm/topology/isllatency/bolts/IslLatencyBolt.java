@@ -16,8 +16,11 @@
 package org.openkilda.wfm.topology.isllatency.bolts;
 
 import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.CACHE_DATA_FIELD;
+import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.ISL_LATENCY_TICK_BOLT_ID;
 import static org.openkilda.wfm.topology.isllatency.IslLatencyTopology.LATENCY_DATA_FIELD;
 
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
@@ -27,34 +30,60 @@ import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.MetricFormatter;
+import org.openkilda.wfm.topology.isllatency.carriers.IslLatencyCarrier;
+import org.openkilda.wfm.topology.isllatency.model.StreamType;
 import org.openkilda.wfm.topology.isllatency.service.IslLatencyService;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.util.Collections;
+import java.util.Map;
 
 @Slf4j
-public class IslLatencyBolt extends AbstractBolt {
+public class IslLatencyBolt extends AbstractBolt implements IslLatencyCarrier {
+    public static final String FLUSH_BATCH_SIZE_METRIC_NAME = "isl.latency.flush.batch.size";
+    public static final String FLUSH_DURATION_METRIC_NAME = "isl.latency.flush.duration";
+    public static final String FLUSH_DROPPED_METRIC_NAME = "isl.latency.flush.dropped";
+    public static final String FLUSH_SUPERSEDED_METRIC_NAME = "isl.latency.flush.superseded";
+    public static final Fields FLUSH_STATS_STREAM_FIELDS = new Fields(KafkaRecordTranslator.FIELD_ID_PAYLOAD);
+
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int flushBatchSize; // 0 disables write-behind of latency updates
+    private final MetricFormatter metricFormatter;
     private transient IslLatencyService islLatencyService;
 
     public IslLatencyBolt(PersistenceManager persistenceManager, long latencyUpdateInterval,
-                          long latencyUpdateTimeRange) {
+                          long latencyUpdateTimeRange, int flushBatchSize, String metricPrefix) {
         super(persistenceManager);
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.flushBatchSize = flushBatchSize;
+        this.metricFormatter = new MetricFormatter(metricPrefix);
     }
 
     @Override
     protected void init() {
         TransactionManager transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
-        islLatencyService = new IslLatencyService(transactionManager, repositoryFactory,
-                latencyUpdateInterval, latencyUpdateTimeRange);
+        islLatencyService = new IslLatencyService(this, transactionManager, repositoryFactory,
+                latencyUpdateInterval, latencyUpdateTimeRange, flushBatchSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (ISL_LATENCY_TICK_BOLT_ID.equals(input.getSourceComponent())) {
+            islLatencyService.flushLatencyUpdates();
+            return;
+        }
+
         InfoData data = pullValue(input, LATENCY_DATA_FIELD, InfoData.class);
         long timestamp = getCommandContext().getCreateTime();
 
@@ -67,4 +96,29 @@ public class IslLatencyBolt extends AbstractBolt {
             unhandledInput(input);
         }
     }
+
+    @Override
+    public void emitLatencyFlushStats(int batchSize, int droppedCount, int supersededCount, long flushDurationMillis) {
+        long timestamp = System.currentTimeMillis();
+        Map<String, String> tags = Collections.singletonMap("bolt", getClass().getSimpleName());
+        emitFlushStat(FLUSH_BATCH_SIZE_METRIC_NAME, timestamp, batchSize, tags);
+        emitFlushStat(FLUSH_DURATION_METRIC_NAME, timestamp, flushDurationMillis, tags);
+        emitFlushStat(FLUSH_DROPPED_METRIC_NAME, timestamp, droppedCount, tags);
+        emitFlushStat(FLUSH_SUPERSEDED_METRIC_NAME, timestamp, supersededCount, tags);
+    }
+
+    private void emitFlushStat(String metric, long timestamp, Number value, Map<String, String> tags) {
+        Datapoint datapoint = new Datapoint(metricFormatter.format(metric), timestamp, tags, value);
+        try {
+            emit(StreamType.LATENCY_FLUSH_STATS.toString(), getCurrentTuple(),
+                    new Values(Utils.MAPPER.writeValueAsString(datapoint)));
+        } catch (JsonProcessingException e) {
+            log.error(String.format("Couldn't create OpenTSDB tuple: %s", e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        declarer.declareStream(StreamType.LATENCY_FLUSH_STATS.toString(), FLUSH_STATS_STREAM_FIELDS);
+    }
 }
@@ -13,16 +13,8 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats.service;
+package org.openkilda.wfm.topology.isllatency.carriers;
 
-import org.openkilda.model.SwitchId;
-
-import lombok.NonNull;
-import lombok.Value;
-
-@Value
-public class CookieCacheKey {
-    @NonNull
-    SwitchId switchId;
-    long cookie;
+public interface IslLatencyCarrier {
+    void emitLatencyFlushStats(int batchSize, int droppedCount, int supersededCount, long flushDurationMillis);
 }
@@ -19,46 +19,71 @@ import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimeWindowAggregator;
+import org.openkilda.wfm.topology.isllatency.carriers.IslLatencyCarrier;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
 public class IslLatencyService {
     public static final String ONE_WAY_LATENCY = "one way";
     public static final String ROUND_TRIP_LATENCY = "round trip";
+    private static final int LATENCY_WINDOW_BUCKETS = 16;
     private TransactionManager transactionManager;
     private IslRepository islRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, TimeWindowAggregator> roundTripLatencyStorage;
+    private Map<IslKey, TimeWindowAggregator> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
 
+    private final IslLatencyCarrier carrier;
+    private final int flushBatchSize; // 0 means write-through, each update is written in its own transaction
+    private final Map<IslKey, PendingLatencyUpdate> pendingUpdates = new LinkedHashMap<>();
+    private int supersededUpdates = 0;
+
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
                              long latencyUpdateTimeRange) {
+        this(null, transactionManager, repositoryFactory, latencyUpdateInterval, latencyUpdateTimeRange, 0);
+    }
+
+    /**
+     * Creates the service in write-behind mode. Latency updates are collected per ISL, a newer update replaces the
+     * pending one, and all of them are written in one transaction by {@link #flushLatencyUpdates()} or once
+     * {@code flushBatchSize} ISLs are pending.
+     */
+    public IslLatencyService(IslLatencyCarrier carrier, TransactionManager transactionManager,
+                             RepositoryFactory repositoryFactory, long latencyUpdateInterval,
+                             long latencyUpdateTimeRange, int flushBatchSize) {
+        this.carrier = carrier;
         this.transactionManager = transactionManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.flushBatchSize = flushBatchSize;
         islRepository = repositoryFactory.createIslRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
@@ -87,8 +112,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, ignore -> newLatencyAggregator())
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
             updateRoundTripLatency(data, destination, islKey);
@@ -108,8 +133,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, ignore -> newLatencyAggregator())
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
             updateOneWayLatencyIfNeeded(data, islKey);
@@ -117,7 +142,7 @@ public class IslLatencyService {
     }
 
     private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        TimeWindowAggregator roundTripRecords = roundTripLatencyStorage.get(islKey);
 
         pollExpiredRecords(roundTripRecords);
         pollExpiredRecords(oneWayLatencyStorage.get(islKey));
@@ -140,10 +165,10 @@ public class IslLatencyService {
     }
 
     private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
+        TimeWindowAggregator oneWayRecords = oneWayLatencyStorage.get(islKey);
         pollExpiredRecords(oneWayRecords);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        TimeWindowAggregator roundTripRecords = roundTripLatencyStorage.get(islKey);
         pollExpiredRecords(roundTripRecords);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
@@ -151,7 +176,7 @@ public class IslLatencyService {
         }
 
         IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
+        TimeWindowAggregator reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
         pollExpiredRecords(reverseRoundTripRecords);
 
         boolean updated;
@@ -199,6 +224,19 @@ public class IslLatencyService {
             return false;
         }
 
+        if (flushBatchSize > 0) {
+            IslKey islKey = new IslKey(srcSwitch, srcPort, dstSwitch, dstPort);
+            if (!pendingUpdates.containsKey(islKey) && pendingUpdates.size() >= flushBatchSize) {
+                flushLatencyUpdates();
+            }
+            PendingLatencyUpdate previous = pendingUpdates.put(
+                    islKey, new PendingLatencyUpdate(islKey, latency, packetId, latencyType, origin));
+            if (previous != null) {
+                supersededUpdates++;
+            }
+            return true;
+        }
+
         try {
             updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
             log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}. Origin: {}",
@@ -211,30 +249,77 @@ public class IslLatencyService {
         return true;
     }
 
-    @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+    /**
+     * Write all pending latency updates into DB in one transaction. Updates of missing ISLs, or all of them if the
+     * transaction fails, are dropped and the next latency record of such ISL triggers a new update.
+     */
+    public void flushLatencyUpdates() {
+        if (pendingUpdates.isEmpty()) {
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+        List<PendingLatencyUpdate> batch = new ArrayList<>(pendingUpdates.values());
+        pendingUpdates.clear();
+
+        long startTime = System.currentTimeMillis();
+        List<PendingLatencyUpdate> dropped;
+        try {
+            dropped = transactionManager.doInTransaction(() -> writeLatencyUpdates(batch));
+        } catch (PersistenceException e) {
+            log.error("Couldn't write {} ISL latency updates into DB: {}", batch.size(), e.getMessage(), e);
+            dropped = batch;
         }
+        long flushDuration = System.currentTimeMillis() - startTime;
+
+        for (PendingLatencyUpdate update : dropped) {
+            nextUpdateTimeMap.remove(update.getIslKey());
+            roundTripLatencyIsSet.remove(update.getIslKey());
+        }
+        log.debug("Flushed {} ISL latency updates in {} ms, {} dropped, {} superseded",
+                batch.size(), flushDuration, dropped.size(), supersededUpdates);
+        carrier.emitLatencyFlushStats(batch.size(), dropped.size(), supersededUpdates, flushDuration);
+        supersededUpdates = 0;
+    }
+
+    private List<PendingLatencyUpdate> writeLatencyUpdates(List<PendingLatencyUpdate> batch) {
+        List<PendingLatencyUpdate> dropped = new ArrayList<>();
+        for (PendingLatencyUpdate update : batch) {
+            IslKey islKey = update.getIslKey();
+            Optional<Isl> isl = islRepository.findByEndpoints(islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                    islKey.getDstSwitchId(), islKey.getDstPort());
+            if (isl.isPresent()) {
+                isl.get().setLatency(update.getLatency());
+                log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}. Origin: {}",
+                        update.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(), update.getLatency(),
+                        islKey.getDstSwitchId(), islKey.getDstPort(), update.getPacketId(), update.getOrigin());
+            } else {
+                log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Origin: {}. "
+                                + "ISL not found", update.getLatencyType(), islKey.getSrcSwitchId(),
+                        islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort(), update.getPacketId(),
+                        update.getOrigin());
+                dropped.add(update);
+            }
+        }
+        return dropped;
+    }
+
+    private TimeWindowAggregator newLatencyAggregator() {
+        return new TimeWindowAggregator(Duration.ofSeconds(latencyUpdateTimeRange), LATENCY_WINDOW_BUCKETS);
+    }
+
+    private void pollExpiredRecords(TimeWindowAggregator records) {
+        if (records == null) {
+            return;
+        }
+        records.expire(System.currentTimeMillis());
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
+    long calculateAverageLatency(TimeWindowAggregator records) {
+        if (records.isEmpty()) {
             log.error("Couldn't calculate average latency. Records queue is empty");
             return -1;
         }
-
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
-        }
-        return sum / recordsQueue.size();
+        return records.getAverage();
     }
 
     @VisibleForTesting
@@ -269,4 +354,13 @@ public class IslLatencyService {
             isl.setLatency(latency);
         });
     }
+
+    @Value
+    private static class PendingLatencyUpdate {
+        IslKey islKey;
+        long latency;
+        Long packetId;
+        String latencyType;
+        String origin;
+    }
 }
@@ -18,6 +18,11 @@ package org.openkilda.wfm.topology.isllatency.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
@@ -31,15 +36,15 @@ import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimeWindowAggregator;
+import org.openkilda.wfm.topology.isllatency.carriers.IslLatencyCarrier;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
 
 public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -195,42 +200,86 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
 
     @Test
     public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        TimeWindowAggregator latencyRecords = new TimeWindowAggregator(
+                Duration.ofSeconds(LATENCY_UPDATE_TIME_RANGE), 10);
 
         for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
+            latencyRecords.add(i, 1);
         }
         assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
     }
 
     @Test
     public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+        assertEquals(-1, islLatencyService.calculateAverageLatency(
+                new TimeWindowAggregator(Duration.ofSeconds(LATENCY_UPDATE_TIME_RANGE), 10)));
     }
 
     @Test
-    public void pollExpiredRecordsTest() {
-        Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+    public void expiredLatencyRecordsAreNotUsedTest() {
+        long outdated = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2).toEpochMilli();
+        islLatencyService.handleRoundTripIslLatency(createForwardRoundTripLatency(1000), FORWARD_DESTINATION, outdated);
+        assertForwardLatency(INITIAL_LATENCY);
+    }
 
-        for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
+    @Test
+    public void writeBehindCoalescesLatencyUpdatesTest() {
+        IslLatencyCarrier carrier = mock(IslLatencyCarrier.class);
+        IslLatencyService service = createWriteBehindService(carrier, 10);
 
-        time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
-        for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
+        service.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        // round trip latency replaces pending one way latency update
+        service.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
+        assertForwardLatency(INITIAL_LATENCY);
+        verifyNoInteractions(carrier);
 
-        assertEquals(10, latencyRecords.size());
-        islLatencyService.pollExpiredRecords(latencyRecords);
-        assertEquals(5, latencyRecords.size());
+        service.flushLatencyUpdates();
+        assertForwardLatency(8);
+        assertFalse(service.isUpdateRequired(FORWARD_ISL_KEY));
+        verify(carrier).emitLatencyFlushStats(eq(1), eq(0), eq(1), anyLong());
+    }
 
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+    @Test
+    public void writeBehindFlushesFullBatchTest() {
+        IslLatencyCarrier carrier = mock(IslLatencyCarrier.class);
+        IslLatencyService service = createWriteBehindService(carrier, 1);
+
+        service.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        assertForwardLatency(INITIAL_LATENCY);
+
+        int fakePort = 997;
+        service.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID),
+                System.currentTimeMillis());
+        assertForwardLatency(7);
+        verify(carrier).emitLatencyFlushStats(eq(1), eq(0), eq(0), anyLong());
+    }
+
+    @Test
+    public void writeBehindDropsUpdatesOfNonExistentIslTest() {
+        IslLatencyCarrier carrier = mock(IslLatencyCarrier.class);
+        IslLatencyService service = createWriteBehindService(carrier, 10);
+
+        int fakePort = 996;
+        IslKey islKey = new IslKey(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort);
+        service.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID),
+                System.currentTimeMillis());
+        service.handleOneWayIslLatency(createForwardOneWayLatency(9), System.currentTimeMillis());
+        assertFalse(service.isUpdateRequired(islKey));
+
+        service.flushLatencyUpdates();
+        assertForwardLatency(9);
+        // the next latency record of missing ISL must try to update it again
+        assertTrue(service.isUpdateRequired(islKey));
+        verify(carrier).emitLatencyFlushStats(eq(2), eq(1), eq(0), anyLong());
+    }
+
+    private IslLatencyService createWriteBehindService(IslLatencyCarrier carrier, int flushBatchSize) {
+        return new IslLatencyService(carrier, persistenceManager.getTransactionManager(),
+                persistenceManager.getRepositoryFactory(), LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE,
+                flushBatchSize);
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -16,6 +16,7 @@
 package org.openkilda.config;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.NotBlank;
@@ -27,4 +28,17 @@ public interface KafkaConfig {
     @Key("hosts")
     @NotBlank
     String getHosts();
+
+    /**
+     * Name of the codec used to encode messages sent through Kafka.
+     */
+    @Key("codec")
+    @Default("json")
+    String getCodec();
+
+    /**
+     * Per topic codec overrides, comma separated list of topic=codec pairs.
+     */
+    @Key("codec.topics")
+    String getTopicCodecs();
 }
@@ -16,23 +16,31 @@
 package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.pce.impl.NetworkSnapshotCache;
 import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -43,11 +51,25 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkSnapshotCache networkSnapshotCache;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        if (config.getNetworkSnapshotTtlSeconds() > 0) {
+            this.networkSnapshotCache = new NetworkSnapshotCache(islRepository,
+                    Duration.ofSeconds(config.getNetworkSnapshotTtlSeconds()));
+        }
+    }
+
+    /**
+     * Gets the cache of network snapshots, which can be used to feed ISL/switch change events into it.
+     *
+     * @return the cache or empty if the cache is disabled by configuration.
+     */
+    public Optional<NetworkSnapshotCache> getNetworkSnapshotCache() {
+        return Optional.ofNullable(networkSnapshotCache);
     }
 
     /**
@@ -64,8 +86,83 @@ public class AvailableNetworkFactory {
         try {
             // Reads all active links from the database and creates representation of the network.
             getAvailableIsls(buildStrategy, flow)
-                    .forEach(link -> addIslAsEdge(link, network));
+                    .forEach(link -> addIslAsEdge(link, link.getAvailableBandwidth(), network));
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from the database", e);
+        }
+
+        fillNetwork(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Reads active ISLs which support the encapsulation type regardless of their available bandwidth. The result
+     * is supposed to be used for building of several {@link AvailableNetwork} with
+     * {@link #getAvailableNetwork(Flow, Collection, Collection, Map)}.
+     */
+    public Collection<IslImmutableView> getActiveIsls(FlowEncapsulationType encapsulationType)
+            throws RecoverableException {
+        Collection<IslImmutableView> isls;
+        try {
+            if (networkSnapshotCache != null) {
+                isls = networkSnapshotCache.getSnapshot(encapsulationType).getIsls();
+            } else {
+                isls = islRepository.findActiveByEncapsulationType(encapsulationType);
+            }
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from the database", e);
+        }
+        validateIslsCost(isls);
+        return isls;
+    }
 
+    /**
+     * Gets a {@link AvailableNetwork} built over already read active ISLs.
+     *
+     * @param flow                      the flow, for which {@link AvailableNetwork} is constructing.
+     * @param reusePathsResources       reuse resources already allocated by {@param reusePathsResources} paths.
+     * @param activeIsls                active ISLs which support the flow encapsulation type.
+     * @param consumedBandwidth         bandwidth to be subtracted from available bandwidth of the ISLs.
+     * @return {@link AvailableNetwork} instance.
+     */
+    public AvailableNetwork getAvailableNetwork(Flow flow, Collection<PathId> reusePathsResources,
+                                                Collection<IslImmutableView> activeIsls,
+                                                Map<IslEndpoints, Long> consumedBandwidth)
+            throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+        Map<IslEndpoints, Long> residualBandwidth = new HashMap<>(activeIsls.size() * 2);
+        for (IslImmutableView isl : activeIsls) {
+            IslEndpoints endpoints = makeEndpoints(isl);
+            residualBandwidth.put(endpoints,
+                    isl.getAvailableBandwidth() - consumedBandwidth.getOrDefault(endpoints, 0L));
+        }
+
+        AvailableNetwork network = new AvailableNetwork();
+        for (IslImmutableView isl : activeIsls) {
+            IslEndpoints endpoints = makeEndpoints(isl);
+            long bandwidth = residualBandwidth.get(endpoints);
+            if (!flow.isIgnoreBandwidth()) {
+                if (bandwidth < flow.getBandwidth()) {
+                    continue;
+                }
+                if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+                    Long reverseBandwidth = residualBandwidth.get(new IslEndpoints(endpoints.getDestSwitch(),
+                            endpoints.getDestPort(), endpoints.getSrcSwitch(), endpoints.getSrcPort()));
+                    if (reverseBandwidth == null || reverseBandwidth < flow.getBandwidth()) {
+                        continue;
+                    }
+                }
+            }
+            addIslAsEdge(isl, bandwidth, network);
+        }
+
+        fillNetwork(network, flow, reusePathsResources);
+        return network;
+    }
+
+    private void fillNetwork(AvailableNetwork network, Flow flow, Collection<PathId> reusePathsResources)
+            throws RecoverableException {
+        try {
             if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
                 reusePathsResources.stream()
                         .filter(pathId -> flowPathRepository.findById(pathId)
@@ -75,7 +172,7 @@ public class AvailableNetworkFactory {
                             // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
                             islRepository.findActiveByPathAndBandwidthAndEncapsulationType(
                                     pathId, flow.getBandwidth(), flow.getEncapsulationType())
-                                    .forEach(link -> addIslAsEdge(link, network));
+                                    .forEach(link -> addIslAsEdge(link, link.getAvailableBandwidth(), network));
                         });
             }
         } catch (PersistenceException e) {
@@ -113,11 +210,13 @@ public class AvailableNetworkFactory {
                     .map(FlowPath::getSegments)
                     .forEach(network::processAffinitySegments);
         }
-
-        return network;
     }
 
     private Collection<IslImmutableView> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        if (networkSnapshotCache != null) {
+            return getAvailableIslsFromSnapshot(buildStrategy, flow);
+        }
+
         if (buildStrategy == BuildStrategy.COST) {
             Collection<IslImmutableView> isls;
             if (flow.isIgnoreBandwidth()) {
@@ -143,6 +242,24 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<IslImmutableView> getAvailableIslsFromSnapshot(BuildStrategy buildStrategy, Flow flow) {
+        NetworkSnapshot snapshot = networkSnapshotCache.getSnapshot(flow.getEncapsulationType());
+        log.debug("Using network snapshot version {} for flow {}", snapshot.getVersion(), flow.getFlowId());
+
+        Collection<IslImmutableView> isls;
+        if (flow.isIgnoreBandwidth()) {
+            isls = snapshot.getIsls();
+        } else if (buildStrategy == BuildStrategy.COST) {
+            isls = snapshot.findByBandwidth(flow.getBandwidth());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            isls = snapshot.findSymmetricByBandwidth(flow.getBandwidth());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+        validateIslsCost(isls);
+        return isls;
+    }
+
     private void validateIslsCost(Collection<IslImmutableView> isls) {
         List<String> messages = new ArrayList<>();
 
@@ -158,7 +275,12 @@ public class AvailableNetworkFactory {
         }
     }
 
-    private void addIslAsEdge(IslImmutableView isl, AvailableNetwork network) {
+    private static IslEndpoints makeEndpoints(IslImmutableView isl) {
+        return new IslEndpoints(isl.getSrcSwitchId().toString(), isl.getSrcPort(),
+                isl.getDestSwitchId().toString(), isl.getDestPort());
+    }
+
+    private void addIslAsEdge(IslImmutableView isl, long availableBandwidth, AvailableNetwork network) {
         Node srcSwitch = network.getOrAddNode(isl.getSrcSwitchId(), isl.getSrcPop());
         Node dstSwitch = network.getOrAddNode(isl.getDestSwitchId(), isl.getDestPop());
 
@@ -171,7 +293,7 @@ public class AvailableNetworkFactory {
                 .latency(isl.getLatency())
                 .underMaintenance(isl.isUnderMaintenance())
                 .unstable(isl.isUnstable())
-                .availableBandwidth(isl.getAvailableBandwidth())
+                .availableBandwidth(availableBandwidth)
                 .build();
         network.addEdge(edge);
     }
@@ -17,16 +17,19 @@ package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents computation operations on flow path.
@@ -55,6 +58,20 @@ public interface PathComputer {
     GetPathsResult getPath(Flow flow, Collection<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for a batch of flows using one read of the network. Flows are processed in the passed order and
+     * bandwidth taken by paths of previous flows in the batch is not available for the next ones.
+     *
+     * @param flows the flows, all of them must have the same encapsulation type.
+     * @param reusePathsResources    paths (by flow id) which allocated resources (bandwidth) can be reused
+     *                               in new path computation of the flow.
+     * @param parallel               whether the searches can be done in parallel. Paths found in parallel are
+     *                               verified against bandwidth taken by previous flows and recomputed if needed.
+     * @return found paths and failures by flow id.
+     */
+    BatchGetPathsResult getPaths(List<Flow> flows, Map<String, Collection<PathId>> reusePathsResources,
+                                 boolean parallel) throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -69,4 +86,32 @@ public interface PathComputer {
                          FlowEncapsulationType flowEncapsulationType, PathComputationStrategy pathComputationStrategy,
                          Duration maxLatency, Duration maxLatencyTier2)
             throws RecoverableException, UnroutableFlowException;
+
+    /**
+     * Applies available bandwidth of ISLs updated by a path allocation or removal to the network data kept between
+     * computations (if any).
+     *
+     * @param availableBandwidth the new available bandwidth by ISL.
+     */
+    void updateAvailableBandwidth(Map<IslEndpoints, Long> availableBandwidth);
+
+    /**
+     * Excludes ISLs connected to the endpoints from the network data kept between computations (if any).
+     *
+     * @param endpoints the endpoints of failed ISLs.
+     */
+    void excludeIslEndpoints(Collection<IslEndpoint> endpoints);
+
+    /**
+     * Marks the network data kept between computations (if any) as possibly missing changes which can't be applied
+     * incrementally, e.g. ISLs or switches which became available. The data is read from the repositories again once
+     * a computation fails on it.
+     */
+    void markNetworkCacheStale();
+
+    /**
+     * Drops the network data kept between computations (if any), so the next computation reads the network
+     * from the repositories.
+     */
+    void invalidateNetworkCache();
 }
@@ -48,6 +48,18 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getNetworkStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_WEIGHT_AND_SHORTEST")
+    String getPathFinder();
+
+    /**
+     * Max number of partial paths expanded by the best-first search of a path closest to max weight (MAX_LATENCY
+     * strategy). 0 disables the best-first search, so the search of the configured path finder is used.
+     */
+    @Key("max.weight.search.label.limit")
+    @Default("0")
+    int getMaxWeightSearchLabelLimit();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
@@ -83,4 +95,12 @@ public interface PathComputerConfig extends Serializable {
     @Key("affinity.isl.latency")
     @Default("1000000000")
     long getAffinityIslLatency();
+
+    /**
+     * How long a cached network snapshot can be used for path computation before it is read from the DB again.
+     * 0 disables the snapshot cache, so the network is read for every path computation.
+     */
+    @Key("network.snapshot.ttl.seconds")
+    @Default("0")
+    int getNetworkSnapshotTtlSeconds();
 }
@@ -15,7 +15,10 @@
 
 package org.openkilda.pce;
 
+import org.openkilda.pce.finder.BestFirstMaxWeightPathFinder;
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.CompactGraphPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 /**
@@ -38,8 +41,50 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config);
+    }
+
+    private PathFinder getPathFinder() {
+        PathFinder pathFinder = getBasePathFinder();
+        if (config.getMaxWeightSearchLabelLimit() > 0) {
+            return new BestFirstMaxWeightPathFinder(config.getMaxAllowedDepth(),
+                    config.getMaxWeightSearchLabelLimit(), pathFinder);
+        }
+        return pathFinder;
+    }
+
+    private PathFinder getBasePathFinder() {
+        PathFinderType type = PathFinderType.from(config.getPathFinder());
+        switch (type) {
+            case BEST_WEIGHT_AND_SHORTEST:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth());
+            case COMPACT_GRAPH:
+                return new CompactGraphPathFinder(config.getMaxAllowedDepth());
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported path finder type %s", type));
+        }
+    }
+
+    public enum PathFinderType {
+        /**
+         * Search over {@link org.openkilda.pce.impl.AvailableNetwork} nodes and edges.
+         */
+        BEST_WEIGHT_AND_SHORTEST,
+
+        /**
+         * Search over array based representation of the network.
+         */
+        COMPACT_GRAPH;
+
+        private static PathFinderType from(String type) {
+            if (type == null) {
+                return BEST_WEIGHT_AND_SHORTEST;
+            }
+            try {
+                return valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinderType %s is not supported", type));
+            }
+        }
     }
 }
@@ -0,0 +1,330 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Path finder with a bounded best-first search for {@link #findPathWithWeightCloseToMaxWeight}. Partial paths
+ * (labels) are expanded in descending order of their weight and are pruned when:
+ * <ul>
+ *     <li>the weight can't stay below maxWeight even by the lightest way to the end switch;</li>
+ *     <li>the end switch can't be reached within allowedDepth hops.</li>
+ * </ul>
+ * The number of expanded labels is limited, if a search reaches the limit it is handed over to the wrapped
+ * {@link PathFinder}, so a path found by the bounded search is never worse than the one of the wrapped finder.
+ * <p/>
+ * All other searches are delegated to the wrapped {@link PathFinder}.
+ */
+@Slf4j
+public class BestFirstMaxWeightPathFinder implements PathFinder {
+    private static final Comparator<Label> LABEL_ORDER = Comparator.comparingLong((Label label) -> -label.weight)
+            .thenComparingInt(label -> label.depth)
+            .thenComparingInt(label -> label.node);
+
+    private final int allowedDepth;
+    private final int labelLimit;
+    private final PathFinder delegate;
+
+    /**
+     * Constructs the finder.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param labelLimit max number of labels expanded by one search.
+     * @param delegate the finder for other kinds of searches.
+     */
+    public BestFirstMaxWeightPathFinder(int allowedDepth, int labelLimit, PathFinder delegate) {
+        this.allowedDepth = allowedDepth;
+        this.labelLimit = labelLimit;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public FindPathResult findPathWithMinWeight(AvailableNetwork network,
+                                                SwitchId startSwitchId, SwitchId endSwitchId,
+                                                WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        return delegate.findPathWithMinWeight(network, startSwitchId, endSwitchId, weightFunction);
+    }
+
+    @Override
+    public FindPathResult findPathWithMinWeightAndLatencyLimits(AvailableNetwork network,
+                                                                SwitchId startSwitchId, SwitchId endSwitchId,
+                                                                WeightFunction weightFunction,
+                                                                long maxLatency, long latencyLimit)
+            throws UnroutableFlowException {
+        return delegate.findPathWithMinWeightAndLatencyLimits(network, startSwitchId, endSwitchId, weightFunction,
+                maxLatency, latencyLimit);
+    }
+
+    @Override
+    public FindPathResult findPathWithWeightCloseToMaxWeight(AvailableNetwork network,
+                                                             SwitchId startSwitchId, SwitchId endSwitchId,
+                                                             WeightFunction weightFunction,
+                                                             long maxWeight, long backUpMaxWeight)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        if (compactNetwork.hasNegativeWeights()) {
+            return delegate.findPathWithWeightCloseToMaxWeight(network, startSwitchId, endSwitchId, weightFunction,
+                    maxWeight, backUpMaxWeight);
+        }
+
+        int start = compactNetwork.indexOf(startSwitchId);
+        int end = compactNetwork.indexOf(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+
+        List<Edge> forwardPath;
+        boolean backUpPathComputationWayUsed = false;
+        try {
+            forwardPath = getPath(compactNetwork, start, end, maxWeight);
+            if (forwardPath.isEmpty()) {
+                forwardPath = getPath(compactNetwork, start, end, backUpMaxWeight);
+                backUpPathComputationWayUsed = true;
+            }
+        } catch (LabelLimitReachedException e) {
+            log.warn("Max weight search from {} to {} has reached the limit of {} labels, "
+                    + "falling back to the exhaustive search", startSwitchId, endSwitchId, labelLimit);
+            return delegate.findPathWithWeightCloseToMaxWeight(network, startSwitchId, endSwitchId, weightFunction,
+                    maxWeight, backUpMaxWeight);
+        }
+        if (forwardPath.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    compactNetwork.getNode(start), compactNetwork.getNode(end)));
+        }
+
+        List<Edge> reversePath = swapPath(forwardPath);
+        for (Edge edge : reversePath) {
+            if (!edge.getSrcSwitch().getOutgoingLinks().contains(edge)) {
+                log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                        endSwitchId, startSwitchId, StringUtils.join(forwardPath, ", ")));
+                break;
+            }
+        }
+
+        return FindPathResult.builder()
+                .foundPath(Pair.of(forwardPath, reversePath))
+                .backUpPathComputationWayUsed(backUpPathComputationWayUsed)
+                .build();
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        return delegate.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction);
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction, long maxWeight, long backUpMaxWeight) throws UnroutableFlowException {
+        return delegate.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction,
+                maxWeight, backUpMaxWeight);
+    }
+
+    /**
+     * Looks for the heaviest path below maxWeight in both directions (links may have different weights in forward and
+     * reverse directions) and returns the heavier one as a path from start to end.
+     */
+    private List<Edge> getPath(CompactNetwork network, int start, int end, long maxWeight)
+            throws LabelLimitReachedException {
+        Label forward = search(network, start, end, maxWeight);
+        Label reverse = search(network, end, start, maxWeight);
+        if (reverse != null && (forward == null || reverse.weight > forward.weight)) {
+            return swapPath(reverse.toPath(network));
+        }
+        return forward != null ? forward.toPath(network) : emptyList();
+    }
+
+    private Label search(CompactNetwork network, int start, int end, long maxWeight)
+            throws LabelLimitReachedException {
+        final long[] minWeightToEnd = new long[network.nodeCount()];
+        final int[] minHopsToEnd = new int[network.nodeCount()];
+        computeDistancesToEnd(network, end, minWeightToEnd, minHopsToEnd);
+        if (minWeightToEnd[start] >= maxWeight || minHopsToEnd[start] > allowedDepth) {
+            return null;
+        }
+
+        PriorityQueue<Label> queue = new PriorityQueue<>(LABEL_ORDER);
+        queue.add(new Label(start, 0, 0, -1, null));
+
+        Label best = null;
+        int expandedCount = 0;
+        while (!queue.isEmpty()) {
+            Label current = queue.poll();
+            if (current.node == end) {
+                if (best == null || current.weight > best.weight) {
+                    best = current;
+                }
+                if (best.weight == maxWeight - 1) {
+                    break;
+                }
+                continue;
+            }
+
+            if (++expandedCount > labelLimit) {
+                throw new LabelLimitReachedException();
+            }
+
+            for (int edge = network.firstEdge(current.node); edge < network.lastEdge(current.node); edge++) {
+                int target = network.getTarget(edge);
+                long weight = current.weight + network.getWeight(edge, 0);
+                if (weight >= maxWeight
+                        || minWeightToEnd[target] >= maxWeight - weight
+                        || current.depth + 1 + minHopsToEnd[target] > allowedDepth
+                        || current.contains(target)) {
+                    continue;
+                }
+                queue.add(new Label(target, weight, current.depth + 1, edge, current));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Calculates the lightest weight and the min number of hops from each node to the end node. Both are lower bounds
+     * for any path from the node to the end node. Unreachable nodes get {@link Long#MAX_VALUE} and
+     * {@link Integer#MAX_VALUE}.
+     */
+    private static void computeDistancesToEnd(CompactNetwork network, int end, long[] weights, int[] hops) {
+        final int nodeCount = network.nodeCount();
+        int[] incomingOffsets = new int[nodeCount + 1];
+        for (int edge = 0; edge < network.edgeCount(); edge++) {
+            incomingOffsets[network.getTarget(edge) + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            incomingOffsets[node + 1] += incomingOffsets[node];
+        }
+        int[] incomingEdges = new int[network.edgeCount()];
+        int[] fill = Arrays.copyOf(incomingOffsets, nodeCount);
+        for (int edge = 0; edge < network.edgeCount(); edge++) {
+            incomingEdges[fill[network.getTarget(edge)]++] = edge;
+        }
+
+        Arrays.fill(weights, Long.MAX_VALUE);
+        weights[end] = 0;
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        queue.add(new long[] {0, end});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > weights[node]) {
+                continue;
+            }
+            for (int i = incomingOffsets[node]; i < incomingOffsets[node + 1]; i++) {
+                int edge = incomingEdges[i];
+                int source = network.getSource(edge);
+                long weight = weights[node] + network.getWeight(edge, 0);
+                if (weight < weights[source]) {
+                    weights[source] = weight;
+                    queue.add(new long[] {weight, source});
+                }
+            }
+        }
+
+        Arrays.fill(hops, Integer.MAX_VALUE);
+        hops[end] = 0;
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        toVisit.add(end);
+        while (!toVisit.isEmpty()) {
+            int node = toVisit.poll();
+            for (int i = incomingOffsets[node]; i < incomingOffsets[node + 1]; i++) {
+                int source = network.getSource(incomingEdges[i]);
+                if (hops[source] == Integer.MAX_VALUE) {
+                    hops[source] = hops[node] + 1;
+                    toVisit.add(source);
+                }
+            }
+        }
+    }
+
+    private static List<Edge> swapPath(List<Edge> path) {
+        List<Edge> result = new ArrayList<>(path.size());
+        for (int i = path.size() - 1; i >= 0; i--) {
+            result.add(path.get(i).swap());
+        }
+        return result;
+    }
+
+    /**
+     * Signals that the bounded search can't guarantee the best result.
+     */
+    private static final class LabelLimitReachedException extends Exception {
+        LabelLimitReachedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Partial path from the start node to the node.
+     */
+    private static final class Label {
+        final int node;
+        final long weight;
+        final int depth;
+        final int edge;
+        final Label parent;
+
+        Label(int node, long weight, int depth, int edge, Label parent) {
+            this.node = node;
+            this.weight = weight;
+            this.depth = depth;
+            this.edge = edge;
+            this.parent = parent;
+        }
+
+        boolean contains(int target) {
+            for (Label label = this; label != null; label = label.parent) {
+                if (label.node == target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<Edge> toPath(CompactNetwork network) {
+            Edge[] path = new Edge[depth];
+            for (Label label = this; label.parent != null; label = label.parent) {
+                path[label.depth - 1] = network.getEdge(label.edge);
+            }
+            return new ArrayList<>(Arrays.asList(path));
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Path finder which runs the min weight searches over {@link CompactNetwork}: a Dijkstra search with an indexed
+ * binary heap and, if the found path is deeper than allowed, a hop-bounded relaxation (Bellman-Ford limited by
+ * allowedDepth rounds). Both searches work over primitive arrays and don't allocate per visited node.
+ * <p/>
+ * N paths are found by {@link KShortestPathsIterator}, which masks edges and nodes per spur search instead of
+ * modifying the network, so spur searches of one iteration run in parallel.
+ * <p/>
+ * Networks with negative weights as well as max weight searches are delegated to
+ * {@link BestWeightAndShortestPathFinder}.
+ */
+@Slf4j
+public class CompactGraphPathFinder implements PathFinder {
+    private static final int[] EMPTY_PATH = new int[0];
+
+    private final int allowedDepth;
+    private final PathFinder fallback;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public CompactGraphPathFinder(int allowedDepth) {
+        this.allowedDepth = allowedDepth;
+        this.fallback = new BestWeightAndShortestPathFinder(allowedDepth);
+    }
+
+    @Override
+    public FindPathResult findPathWithMinWeight(AvailableNetwork network,
+                                                SwitchId startSwitchId, SwitchId endSwitchId,
+                                                WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        if (compactNetwork.hasNegativeWeights()) {
+            return fallback.findPathWithMinWeight(network, startSwitchId, endSwitchId, weightFunction);
+        }
+
+        List<Edge> forwardPath = findForwardPath(compactNetwork, startSwitchId, endSwitchId);
+        return FindPathResult.builder()
+                .foundPath(Pair.of(forwardPath, getReversePath(compactNetwork, forwardPath)))
+                .backUpPathComputationWayUsed(false)
+                .build();
+    }
+
+    @Override
+    public FindPathResult findPathWithMinWeightAndLatencyLimits(AvailableNetwork network,
+                                                                SwitchId startSwitchId, SwitchId endSwitchId,
+                                                                WeightFunction weightFunction,
+                                                                long maxLatency, long latencyLimit)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        if (compactNetwork.hasNegativeWeights()) {
+            return fallback.findPathWithMinWeightAndLatencyLimits(network, startSwitchId, endSwitchId,
+                    weightFunction, maxLatency, latencyLimit);
+        }
+
+        List<Edge> forwardPath = findForwardPath(compactNetwork, startSwitchId, endSwitchId);
+        long pathLatency = forwardPath.stream().mapToLong(Edge::getLatency).sum();
+        if (pathLatency > latencyLimit) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    compactNetwork.getNode(compactNetwork.indexOf(startSwitchId)),
+                    compactNetwork.getNode(compactNetwork.indexOf(endSwitchId))));
+        }
+
+        return FindPathResult.builder()
+                .foundPath(Pair.of(forwardPath, getReversePath(compactNetwork, forwardPath)))
+                .backUpPathComputationWayUsed(pathLatency > maxLatency)
+                .build();
+    }
+
+    @Override
+    public FindPathResult findPathWithWeightCloseToMaxWeight(AvailableNetwork network,
+                                                             SwitchId startSwitchId, SwitchId endSwitchId,
+                                                             WeightFunction weightFunction,
+                                                             long maxWeight, long backUpMaxWeight)
+            throws UnroutableFlowException {
+        return fallback.findPathWithWeightCloseToMaxWeight(network, startSwitchId, endSwitchId, weightFunction,
+                maxWeight, backUpMaxWeight);
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        if (compactNetwork.hasNegativeWeights()) {
+            return fallback.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction);
+        }
+
+        List<List<Edge>> paths = new ArrayList<>();
+        Iterator<List<Edge>> iterator = iterateNPaths(compactNetwork, startSwitchId, endSwitchId);
+        while (paths.size() < count && iterator.hasNext()) {
+            paths.add(iterator.next());
+        }
+        return paths;
+    }
+
+    /**
+     * Lazy variant of {@link #findNPathsBetweenSwitches(AvailableNetwork, SwitchId, SwitchId, int, WeightFunction)}:
+     * the next best path is computed only when it's requested, so the caller can stop at any moment. The network
+     * must not be modified while the iterator is in use.
+     */
+    public Iterator<List<Edge>> iterateNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = CompactNetwork.build(network, weightFunction);
+        if (compactNetwork.hasNegativeWeights()) {
+            return fallback.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, Integer.MAX_VALUE,
+                    weightFunction).iterator();
+        }
+        return iterateNPaths(compactNetwork, startSwitchId, endSwitchId);
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction, long maxWeight, long backUpMaxWeight) throws UnroutableFlowException {
+        return fallback.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction,
+                maxWeight, backUpMaxWeight);
+    }
+
+    private Iterator<List<Edge>> iterateNPaths(CompactNetwork network, SwitchId startSwitchId,
+                                               SwitchId endSwitchId) throws UnroutableFlowException {
+        int start = network.indexOf(startSwitchId);
+        int end = network.indexOf(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+        return new KShortestPathsIterator(this, network, start, end);
+    }
+
+    private List<Edge> findForwardPath(CompactNetwork network, SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        int start = network.indexOf(startSwitchId);
+        int end = network.indexOf(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+
+        int[] path = findPath(network, start, end, null, null);
+        if (path.length == 0) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    network.getNode(start), network.getNode(end)));
+        }
+        return toEdges(network, path);
+    }
+
+    /**
+     * Finds min weight path not deeper than allowedDepth, skipping excluded nodes and edges.
+     *
+     * @param excludedNodes nodes which can't be visited, null if there are no such nodes.
+     * @param excludedEdges edges which can't be used, null if there are no such edges.
+     * @return ids of the path edges or an empty array if no path found.
+     */
+    int[] findPath(CompactNetwork network, int start, int end, boolean[] excludedNodes, boolean[] excludedEdges) {
+        int[] path = findShortestPath(network, start, end, excludedNodes, excludedEdges);
+        if (path.length > allowedDepth) {
+            log.debug("Shortest path from {} to {} is deeper than {}, looking for the best bounded path",
+                    network.getNode(start).getSwitchId(), network.getNode(end).getSwitchId(), allowedDepth);
+            path = findBoundedPath(network, start, end, excludedNodes, excludedEdges);
+        }
+        return path;
+    }
+
+    static List<Edge> toEdges(CompactNetwork network, int[] path) {
+        List<Edge> edges = new ArrayList<>(path.length);
+        for (int edge : path) {
+            edges.add(network.getEdge(edge));
+        }
+        return edges;
+    }
+
+    private static boolean isExcluded(int edge, int target, boolean[] excludedNodes, boolean[] excludedEdges) {
+        return (excludedEdges != null && excludedEdges[edge]) || (excludedNodes != null && excludedNodes[target]);
+    }
+
+    /**
+     * Dijkstra search over the compact network.
+     */
+    private int[] findShortestPath(CompactNetwork network, int start, int end, boolean[] excludedNodes,
+                                   boolean[] excludedEdges) {
+        final int nodeCount = network.nodeCount();
+        final int dimensions = network.getDimensions();
+        long[] distance = new long[nodeCount * dimensions];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        int[] parentEdge = new int[nodeCount];
+        Arrays.fill(parentEdge, -1);
+        long[] candidate = new long[dimensions];
+
+        IndexedHeap heap = new IndexedHeap(nodeCount, distance, dimensions);
+        Arrays.fill(distance, start * dimensions, (start + 1) * dimensions, 0L);
+        heap.insert(start);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == end) {
+                break;
+            }
+            for (int edge = network.firstEdge(current); edge < network.lastEdge(current); edge++) {
+                int target = network.getTarget(edge);
+                if (heap.isPolled(target) || isExcluded(edge, target, excludedNodes, excludedEdges)) {
+                    continue;
+                }
+                for (int d = 0; d < dimensions; d++) {
+                    candidate[d] = distance[current * dimensions + d] + network.getWeight(edge, d);
+                }
+                if (compare(candidate, 0, distance, target * dimensions, dimensions) < 0) {
+                    System.arraycopy(candidate, 0, distance, target * dimensions, dimensions);
+                    parentEdge[target] = edge;
+                    heap.insertOrDecrease(target);
+                }
+            }
+        }
+
+        if (start != end && parentEdge[end] < 0) {
+            return EMPTY_PATH;
+        }
+        int depth = 0;
+        for (int node = end; node != start; node = network.getSource(parentEdge[node])) {
+            depth++;
+        }
+        int[] path = new int[depth];
+        for (int node = end; node != start; node = network.getSource(parentEdge[node])) {
+            path[--depth] = parentEdge[node];
+        }
+        return path;
+    }
+
+    /**
+     * Finds min weight path which is not deeper than allowedDepth. On each round the best known weights are relaxed
+     * by one more hop, so after N rounds the weights are the best among paths with up to N hops. Only strictly better
+     * weights are accepted, so shorter paths win the ties.
+     */
+    private int[] findBoundedPath(CompactNetwork network, int start, int end, boolean[] excludedNodes,
+                                  boolean[] excludedEdges) {
+        final int nodeCount = network.nodeCount();
+        final int dimensions = network.getDimensions();
+        long[] previous = new long[nodeCount * dimensions];
+        Arrays.fill(previous, Long.MAX_VALUE);
+        Arrays.fill(previous, start * dimensions, (start + 1) * dimensions, 0L);
+        long[] current = previous.clone();
+        long[] candidate = new long[dimensions];
+        // parentEdges[hop][node] is the last edge of the best path with up to (hop + 1) hops, -1 if it has fewer hops
+        int[][] parentEdges = new int[allowedDepth][nodeCount];
+
+        int rounds = 0;
+        while (rounds < allowedDepth) {
+            int[] parents = parentEdges[rounds++];
+            Arrays.fill(parents, -1);
+            boolean changed = false;
+            for (int source = 0; source < nodeCount; source++) {
+                if (previous[source * dimensions] == Long.MAX_VALUE || source == end) {
+                    continue;
+                }
+                for (int edge = network.firstEdge(source); edge < network.lastEdge(source); edge++) {
+                    int target = network.getTarget(edge);
+                    if (isExcluded(edge, target, excludedNodes, excludedEdges)) {
+                        continue;
+                    }
+                    for (int d = 0; d < dimensions; d++) {
+                        candidate[d] = previous[source * dimensions + d] + network.getWeight(edge, d);
+                    }
+                    if (compare(candidate, 0, current, target * dimensions, dimensions) < 0) {
+                        System.arraycopy(candidate, 0, current, target * dimensions, dimensions);
+                        parents[target] = edge;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+            System.arraycopy(current, 0, previous, 0, current.length);
+        }
+
+        if (start == end || current[end * dimensions] == Long.MAX_VALUE) {
+            return EMPTY_PATH;
+        }
+        List<Integer> path = new ArrayList<>();
+        int node = end;
+        for (int hop = rounds - 1; hop >= 0 && node != start; hop--) {
+            int edge = parentEdges[hop][node];
+            if (edge >= 0) {
+                path.add(edge);
+                node = network.getSource(edge);
+            }
+        }
+        Collections.reverse(path);
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Builds the reverse path by swapping the forward one. Same approach as
+     * {@link BestWeightAndShortestPathFinder} uses.
+     */
+    private List<Edge> getReversePath(CompactNetwork network, List<Edge> forwardPath) {
+        List<Edge> reversePath = new ArrayList<>(forwardPath.size());
+        for (int i = forwardPath.size() - 1; i >= 0; i--) {
+            reversePath.add(forwardPath.get(i).swap());
+        }
+
+        for (Edge edge : reversePath) {
+            Node src = edge.getSrcSwitch();
+            if (!src.getOutgoingLinks().contains(edge)) {
+                log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                        reversePath.get(0).getSrcSwitch().getSwitchId(),
+                        reversePath.get(reversePath.size() - 1).getDestSwitch().getSwitchId(),
+                        StringUtils.join(forwardPath, ", ")));
+                break;
+            }
+        }
+        return reversePath;
+    }
+
+    private static int compare(long[] first, int firstOffset, long[] second, int secondOffset, int dimensions) {
+        for (int d = 0; d < dimensions; d++) {
+            int result = Long.compare(first[firstOffset + d], second[secondOffset + d]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Binary min-heap of node ids ordered by the weights stored in the shared distance array.
+     */
+    private static final class IndexedHeap {
+        private static final int NOT_INSERTED = -1;
+        private static final int POLLED = -2;
+
+        private final int[] heap;
+        private final int[] positions;
+        private final long[] distance;
+        private final int dimensions;
+        private int size;
+
+        IndexedHeap(int capacity, long[] distance, int dimensions) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            Arrays.fill(positions, NOT_INSERTED);
+            this.distance = distance;
+            this.dimensions = dimensions;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean isPolled(int node) {
+            return positions[node] == POLLED;
+        }
+
+        void insert(int node) {
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+        }
+
+        void insertOrDecrease(int node) {
+            if (positions[node] == NOT_INSERTED) {
+                insert(node);
+            } else {
+                siftUp(positions[node]);
+            }
+        }
+
+        int poll() {
+            int result = heap[0];
+            positions[result] = POLLED;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            int node = heap[index];
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+                int parent = heap[parentIndex];
+                if (less(parent, node)) {
+                    break;
+                }
+                heap[index] = parent;
+                positions[parent] = index;
+                index = parentIndex;
+            }
+            heap[index] = node;
+            positions[node] = index;
+        }
+
+        private void siftDown(int index) {
+            int node = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int childIndex = 2 * index + 1;
+                int child = heap[childIndex];
+                int rightIndex = childIndex + 1;
+                if (rightIndex < size && less(heap[rightIndex], child)) {
+                    childIndex = rightIndex;
+                    child = heap[childIndex];
+                }
+                if (!less(child, node)) {
+                    break;
+                }
+                heap[index] = child;
+                positions[child] = index;
+                index = childIndex;
+            }
+            heap[index] = node;
+            positions[node] = index;
+        }
+
+        /**
+         * Ties are resolved by node id, i.e. by switch id, to keep the search deterministic.
+         */
+        private boolean less(int first, int second) {
+            int result = compare(distance, first * dimensions, distance, second * dimensions, dimensions);
+            return result < 0 || (result == 0 && first < second);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Yen's algorithm over {@link CompactNetwork} which produces paths one by one. Instead of removing edges and nodes
+ * from the network, each spur search gets its own masks, so the network is never modified and spur searches of one
+ * iteration are run in parallel on the common {@link ForkJoinPool}.
+ * <p/>
+ * Candidates are chosen the same way as {@link BestWeightAndShortestPathFinder} does: by max available bandwidth,
+ * then by min weight, then by the order they were found.
+ */
+class KShortestPathsIterator implements Iterator<List<Edge>> {
+    private static final int MIN_SPURS_FOR_PARALLEL_SEARCH = 4;
+
+    private final CompactGraphPathFinder finder;
+    private final CompactNetwork network;
+    private final int start;
+    private final int end;
+
+    private final List<int[]> foundPaths = new ArrayList<>();
+    private final Set<List<Edge>> knownPaths = new HashSet<>();
+    private final PriorityQueue<Candidate> candidates = new PriorityQueue<>(
+            Comparator.comparingLong((Candidate candidate) -> candidate.minAvailableBandwidth).reversed()
+                    .thenComparingLong(candidate -> candidate.weight)
+                    .thenComparingLong(candidate -> candidate.sequence));
+    private long sequence;
+    private boolean started;
+    private List<Edge> next;
+
+    KShortestPathsIterator(CompactGraphPathFinder finder, CompactNetwork network, int start, int end) {
+        this.finder = finder;
+        this.network = network;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = computeNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Edge> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Edge> result = next;
+        next = null;
+        return result;
+    }
+
+    private List<Edge> computeNext() {
+        if (!started) {
+            started = true;
+            int[] firstPath = finder.findPath(network, start, end, null, null);
+            return firstPath.length == 0 ? null : accept(firstPath);
+        }
+        if (foundPaths.isEmpty()) {
+            return null;
+        }
+
+        int[] lastPath = foundPaths.get(foundPaths.size() - 1);
+        List<int[]> spurPaths;
+        if (lastPath.length < MIN_SPURS_FOR_PARALLEL_SEARCH) {
+            spurPaths = findSpurPaths(lastPath, IntStream.range(0, lastPath.length));
+        } else {
+            spurPaths = ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(
+                    () -> findSpurPaths(lastPath, IntStream.range(0, lastPath.length).parallel())));
+        }
+
+        // Spur paths are added in the order of spur nodes to have deterministic results.
+        for (int[] path : spurPaths) {
+            if (path.length > 0 && knownPaths.add(CompactGraphPathFinder.toEdges(network, path))) {
+                candidates.add(new Candidate(path, getMinAvailableBandwidth(path), getTotalWeight(path),
+                        sequence++));
+            }
+        }
+
+        Candidate best = candidates.poll();
+        return best != null ? accept(best.path) : null;
+    }
+
+    private List<int[]> findSpurPaths(int[] lastPath, IntStream spurIndexes) {
+        return spurIndexes.mapToObj(index -> findSpurPath(lastPath, index)).collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the best path which shares first {@code index} edges with the last found path, but deviates from all
+     * already found paths with the same root at the spur node.
+     */
+    private int[] findSpurPath(int[] lastPath, int index) {
+        boolean[] excludedEdges = new boolean[network.edgeCount()];
+        for (int[] path : foundPaths) {
+            if (path.length > index && isSameRoot(path, lastPath, index)) {
+                excludedEdges[path[index]] = true;
+                int reverse = findReverseEdge(path[index]);
+                if (reverse >= 0) {
+                    excludedEdges[reverse] = true;
+                }
+            }
+        }
+
+        boolean[] excludedNodes = new boolean[network.nodeCount()];
+        for (int i = 0; i < index; i++) {
+            excludedNodes[network.getSource(lastPath[i])] = true;
+        }
+
+        int spurNode = network.getSource(lastPath[index]);
+        int[] spurPath = finder.findPath(network, spurNode, end, excludedNodes, excludedEdges);
+        if (spurPath.length == 0) {
+            return spurPath;
+        }
+        int[] totalPath = Arrays.copyOf(lastPath, index + spurPath.length);
+        System.arraycopy(spurPath, 0, totalPath, index, spurPath.length);
+        return totalPath;
+    }
+
+    private List<Edge> accept(int[] path) {
+        foundPaths.add(path);
+        List<Edge> edges = CompactGraphPathFinder.toEdges(network, path);
+        knownPaths.add(edges);
+        return edges;
+    }
+
+    private static boolean isSameRoot(int[] first, int[] second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int findReverseEdge(int edge) {
+        Edge forward = network.getEdge(edge);
+        int target = network.getTarget(edge);
+        for (int candidate = network.firstEdge(target); candidate < network.lastEdge(target); candidate++) {
+            Edge reverse = network.getEdge(candidate);
+            if (network.getTarget(candidate) == network.getSource(edge)
+                    && reverse.getSrcPort() == forward.getDestPort() && reverse.getDestPort() == forward.getSrcPort()) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private long getMinAvailableBandwidth(int[] path) {
+        long result = Long.MAX_VALUE;
+        for (int edge : path) {
+            result = Math.min(result, network.getEdge(edge).getAvailableBandwidth());
+        }
+        return result;
+    }
+
+    private long getTotalWeight(int[] path) {
+        long result = 0;
+        for (int edge : path) {
+            result += network.getWeight(edge, 0);
+        }
+        return result;
+    }
+
+    private static final class Candidate {
+        private final int[] path;
+        private final long minAvailableBandwidth;
+        private final long weight;
+        private final long sequence;
+
+        Candidate(int[] path, long minAvailableBandwidth, long weight, long sequence) {
+            this.path = path;
+            this.minAvailableBandwidth = minAvailableBandwidth;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+    }
+}
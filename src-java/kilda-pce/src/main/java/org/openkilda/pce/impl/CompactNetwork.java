@@ -0,0 +1,165 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Array based representation of {@link AvailableNetwork} evaluated with a specific {@link WeightFunction}. Switches
+ * are mapped to int ids (ordered by switch id), outgoing links are stored in CSR form: links of the node {@code n}
+ * occupy indexes {@code [offsets[n], offsets[n + 1])} of {@link #sources}, {@link #targets}, {@link #edges} and
+ * (multiplied by {@link #dimensions}) of {@link #weights}. Links of a node are ordered by destination switch id.
+ */
+public final class CompactNetwork {
+    private final Node[] nodes;
+    private final Map<SwitchId, Integer> nodeIndex;
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final Edge[] edges;
+    private final long[] weights;
+    private final int dimensions;
+    private final boolean negativeWeights;
+
+    private CompactNetwork(Node[] nodes, Map<SwitchId, Integer> nodeIndex, int[] offsets, int[] sources,
+                           int[] targets, Edge[] edges, long[] weights, int dimensions, boolean negativeWeights) {
+        this.nodes = nodes;
+        this.nodeIndex = nodeIndex;
+        this.offsets = offsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.edges = edges;
+        this.weights = weights;
+        this.dimensions = dimensions;
+        this.negativeWeights = negativeWeights;
+    }
+
+    /**
+     * Builds compact representation of the network. Nodes and edges are referenced, not copied, so the network
+     * must not be modified while the compact representation is in use.
+     */
+    public static CompactNetwork build(AvailableNetwork network, WeightFunction weightFunction) {
+        Node[] nodes = network.switches.values().toArray(new Node[0]);
+        Arrays.sort(nodes, Comparator.comparing(Node::getSwitchId));
+        Map<SwitchId, Integer> nodeIndex = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            nodeIndex.put(nodes[i].getSwitchId(), i);
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        List<Edge> orderedEdges = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i] = orderedEdges.size();
+            List<Edge> outgoing = new ArrayList<>(nodes[i].getOutgoingLinks());
+            outgoing.sort(Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId()));
+            for (Edge edge : outgoing) {
+                if (nodeIndex.containsKey(edge.getDestSwitch().getSwitchId())) {
+                    orderedEdges.add(edge);
+                }
+            }
+        }
+        offsets[nodes.length] = orderedEdges.size();
+
+        Edge[] edges = orderedEdges.toArray(new Edge[0]);
+        int[] sources = new int[edges.length];
+        int[] targets = new int[edges.length];
+        PathWeight[] edgeWeights = new PathWeight[edges.length];
+        int dimensions = 1;
+        for (int i = 0; i < edges.length; i++) {
+            sources[i] = nodeIndex.get(edges[i].getSrcSwitch().getSwitchId());
+            targets[i] = nodeIndex.get(edges[i].getDestSwitch().getSwitchId());
+            edgeWeights[i] = weightFunction.apply(edges[i]);
+            dimensions = Math.max(dimensions, edgeWeights[i].size());
+        }
+
+        boolean negativeWeights = false;
+        long[] weights = new long[edges.length * dimensions];
+        for (int i = 0; i < edges.length; i++) {
+            PathWeight weight = edgeWeights[i];
+            for (int d = 0; d < weight.size(); d++) {
+                long value = weight.get(d);
+                negativeWeights |= value < 0;
+                weights[i * dimensions + d] = value;
+            }
+        }
+
+        return new CompactNetwork(nodes, nodeIndex, offsets, sources, targets, edges, weights, dimensions,
+                negativeWeights);
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Gets int id of the switch or -1 if the switch is not a part of the network.
+     */
+    public int indexOf(SwitchId switchId) {
+        Integer index = nodeIndex.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public Node getNode(int node) {
+        return nodes[node];
+    }
+
+    public int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    public int lastEdge(int node) {
+        return offsets[node + 1];
+    }
+
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public long getWeight(int edge, int dimension) {
+        return weights[edge * dimensions + dimension];
+    }
+
+    public boolean hasNegativeWeights() {
+        return negativeWeights;
+    }
+}
@@ -22,11 +22,13 @@ import static org.openkilda.model.PathComputationStrategy.MAX_LATENCY;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchGetPathsResult;
 import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
@@ -38,15 +40,21 @@ import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.FindPathResult;
 import org.openkilda.pce.model.PathWeight;
 import org.openkilda.pce.model.WeightFunction;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -73,8 +81,143 @@ public class InMemoryPathComputer implements PathComputer {
     public GetPathsResult getPath(Flow flow, Collection<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException {
         AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources);
+        try {
+            return getPath(network, flow, flow.getPathComputationStrategy());
+        } catch (UnroutableFlowException e) {
+            // a stale cached network may miss ISLs which became available since it was loaded
+            if (!availableNetworkFactory.getNetworkSnapshotCache()
+                    .map(cache -> cache.invalidateIfStale(flow.getEncapsulationType()))
+                    .orElse(false)) {
+                throw e;
+            }
+            log.info("Unable to find a path for flow {} in the stale cached network, retrying with the actual one",
+                    flow.getFlowId());
+            network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources);
+            return getPath(network, flow, flow.getPathComputationStrategy());
+        }
+    }
+
+    @Override
+    public void updateAvailableBandwidth(Map<IslEndpoints, Long> availableBandwidth) {
+        availableNetworkFactory.getNetworkSnapshotCache()
+                .ifPresent(cache -> cache.updateAvailableBandwidth(availableBandwidth));
+    }
+
+    @Override
+    public void excludeIslEndpoints(Collection<IslEndpoint> endpoints) {
+        availableNetworkFactory.getNetworkSnapshotCache()
+                .ifPresent(cache -> endpoints.forEach(
+                        endpoint -> cache.removeIslEndpoint(endpoint.getSwitchId(), endpoint.getPortNumber())));
+    }
+
+    @Override
+    public void markNetworkCacheStale() {
+        availableNetworkFactory.getNetworkSnapshotCache().ifPresent(NetworkSnapshotCache::markStale);
+    }
+
+    @Override
+    public void invalidateNetworkCache() {
+        availableNetworkFactory.getNetworkSnapshotCache().ifPresent(NetworkSnapshotCache::invalidate);
+    }
+
+    @Override
+    public BatchGetPathsResult getPaths(List<Flow> flows, Map<String, Collection<PathId>> reusePathsResources,
+                                        boolean parallel) throws RecoverableException {
+        BatchGetPathsResult.BatchGetPathsResultBuilder result = BatchGetPathsResult.builder();
+        if (flows.isEmpty()) {
+            return result.build();
+        }
+
+        FlowEncapsulationType encapsulationType = flows.get(0).getEncapsulationType();
+        for (Flow flow : flows) {
+            if (!Objects.equals(encapsulationType, flow.getEncapsulationType())) {
+                throw new IllegalArgumentException(format(
+                        "All flows of the batch must have encapsulation type %s, but flow %s has %s",
+                        encapsulationType, flow.getFlowId(), flow.getEncapsulationType()));
+            }
+        }
+
+        Collection<IslImmutableView> activeIsls = availableNetworkFactory.getActiveIsls(encapsulationType);
+        Map<String, GetPathsResult> precomputed = parallel
+                ? getPathsInParallel(flows, reusePathsResources, activeIsls) : Collections.emptyMap();
+
+        Map<IslEndpoints, Long> consumedBandwidth = new HashMap<>();
+        for (Flow flow : flows) {
+            GetPathsResult paths = precomputed.get(flow.getFlowId());
+            if (paths == null || (!flow.isIgnoreBandwidth() && isAnyIslConsumed(paths, consumedBandwidth))) {
+                AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow,
+                        reusePathsResources.getOrDefault(flow.getFlowId(), emptyList()), activeIsls,
+                        consumedBandwidth);
+                try {
+                    paths = getPath(network, flow, flow.getPathComputationStrategy());
+                } catch (UnroutableFlowException e) {
+                    log.info("Unable to find a path for flow {} in the batch: {}", flow.getFlowId(), e.getMessage());
+                    result.failure(flow.getFlowId(), e);
+                    continue;
+                }
+            }
+
+            result.path(flow.getFlowId(), paths);
+            if (!flow.isIgnoreBandwidth()) {
+                consumeBandwidth(paths.getForward(), flow.getBandwidth(), consumedBandwidth);
+                consumeBandwidth(paths.getReverse(), flow.getBandwidth(), consumedBandwidth);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Computes paths for each flow in parallel regardless of bandwidth taken by other flows of the batch. Networks
+     * are built in the calling thread, as they may require reads from the repositories.
+     */
+    private Map<String, GetPathsResult> getPathsInParallel(
+            List<Flow> flows, Map<String, Collection<PathId>> reusePathsResources,
+            Collection<IslImmutableView> activeIsls) throws RecoverableException {
+        List<Pair<Flow, AvailableNetwork>> networks = new ArrayList<>(flows.size());
+        for (Flow flow : flows) {
+            networks.add(Pair.of(flow, availableNetworkFactory.getAvailableNetwork(flow,
+                    reusePathsResources.getOrDefault(flow.getFlowId(), emptyList()), activeIsls,
+                    Collections.emptyMap())));
+        }
+
+        return networks.parallelStream()
+                .map(entry -> {
+                    Flow flow = entry.getKey();
+                    try {
+                        return Pair.of(flow.getFlowId(),
+                                getPath(entry.getValue(), flow, flow.getPathComputationStrategy()));
+                    } catch (UnroutableFlowException e) {
+                        // will be recomputed sequentially to report the failure
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Pair::getKey, Pair::getValue, (first, second) -> first));
+    }
+
+    private boolean isAnyIslConsumed(GetPathsResult paths, Map<IslEndpoints, Long> consumedBandwidth) {
+        if (consumedBandwidth.isEmpty()) {
+            return false;
+        }
+        for (Path path : new Path[] {paths.getForward(), paths.getReverse()}) {
+            for (Path.Segment segment : path.getSegments()) {
+                if (consumedBandwidth.containsKey(makeEndpoints(segment))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void consumeBandwidth(Path path, long bandwidth, Map<IslEndpoints, Long> consumedBandwidth) {
+        for (Path.Segment segment : path.getSegments()) {
+            consumedBandwidth.merge(makeEndpoints(segment), bandwidth, Long::sum);
+        }
+    }
 
-        return getPath(network, flow, flow.getPathComputationStrategy());
+    private IslEndpoints makeEndpoints(Path.Segment segment) {
+        return new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
+                segment.getDestSwitchId().toString(), segment.getDestPort());
     }
 
     private GetPathsResult getPath(AvailableNetwork network, Flow flow, PathComputationStrategy strategy)
@@ -0,0 +1,163 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable versioned copy of the active ISLs. Every modification produces a new snapshot with incremented version,
+ * so instances can be safely shared between path computations.
+ */
+public final class NetworkSnapshot {
+    @Getter
+    private final long version;
+
+    private final Map<IslEndpoints, IslImmutableView> isls;
+
+    private NetworkSnapshot(long version, Map<IslEndpoints, IslImmutableView> isls) {
+        this.version = version;
+        this.isls = isls;
+    }
+
+    /**
+     * Creates a snapshot from the ISLs read from the repository.
+     */
+    public static NetworkSnapshot of(long version, Collection<IslImmutableView> isls) {
+        Map<IslEndpoints, IslImmutableView> target = new HashMap<>(isls.size() * 2);
+        for (IslImmutableView isl : isls) {
+            target.put(makeEndpoints(isl), SnapshotIsl.of(isl));
+        }
+        return new NetworkSnapshot(version, target);
+    }
+
+    public Collection<IslImmutableView> getIsls() {
+        return Collections.unmodifiableCollection(isls.values());
+    }
+
+    public int size() {
+        return isls.size();
+    }
+
+    /**
+     * Returns ISLs which have enough available bandwidth.
+     */
+    public List<IslImmutableView> findByBandwidth(long requiredBandwidth) {
+        List<IslImmutableView> result = new ArrayList<>();
+        for (IslImmutableView isl : isls.values()) {
+            if (isl.getAvailableBandwidth() >= requiredBandwidth) {
+                result.add(isl);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns ISLs which have enough available bandwidth in both directions.
+     */
+    public List<IslImmutableView> findSymmetricByBandwidth(long requiredBandwidth) {
+        List<IslImmutableView> result = new ArrayList<>();
+        for (Map.Entry<IslEndpoints, IslImmutableView> entry : isls.entrySet()) {
+            if (entry.getValue().getAvailableBandwidth() < requiredBandwidth) {
+                continue;
+            }
+            IslEndpoints key = entry.getKey();
+            IslImmutableView reverse = isls.get(new IslEndpoints(
+                    key.getDestSwitch(), key.getDestPort(), key.getSrcSwitch(), key.getSrcPort()));
+            if (reverse != null && reverse.getAvailableBandwidth() >= requiredBandwidth) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new snapshot with updated available bandwidth of the ISLs. ISLs which are not a part of the snapshot
+     * are ignored, the snapshot is returned as is if nothing is changed.
+     */
+    public NetworkSnapshot withAvailableBandwidth(Map<IslEndpoints, Long> availableBandwidth) {
+        Map<IslEndpoints, IslImmutableView> target = null;
+        for (Map.Entry<IslEndpoints, Long> entry : availableBandwidth.entrySet()) {
+            IslImmutableView current = isls.get(entry.getKey());
+            if (current == null || current.getAvailableBandwidth() == entry.getValue()) {
+                continue;
+            }
+            if (target == null) {
+                target = new HashMap<>(isls);
+            }
+            target.put(entry.getKey(),
+                    SnapshotIsl.of(current).toBuilder().availableBandwidth(entry.getValue()).build());
+        }
+        return target == null ? this : new NetworkSnapshot(version + 1, target);
+    }
+
+    /**
+     * Returns a new snapshot without ISLs connected to the endpoint (in both directions). The snapshot is returned
+     * as is if there are no such ISLs.
+     */
+    public NetworkSnapshot withoutIslEndpoint(SwitchId switchId, int port) {
+        String switchIdAsString = switchId.toString();
+        Map<IslEndpoints, IslImmutableView> target = new HashMap<>(isls);
+        boolean changed = target.keySet().removeIf(
+                key -> (port == key.getSrcPort() && switchIdAsString.equals(key.getSrcSwitch()))
+                        || (port == key.getDestPort() && switchIdAsString.equals(key.getDestSwitch())));
+        return changed ? new NetworkSnapshot(version + 1, target) : this;
+    }
+
+    private static IslEndpoints makeEndpoints(IslImmutableView isl) {
+        return new IslEndpoints(isl.getSrcSwitchId().toString(), isl.getSrcPort(),
+                isl.getDestSwitchId().toString(), isl.getDestPort());
+    }
+
+    @Value
+    @Builder(toBuilder = true)
+    private static class SnapshotIsl implements IslImmutableView {
+        SwitchId srcSwitchId;
+        int srcPort;
+        String srcPop;
+        SwitchId destSwitchId;
+        int destPort;
+        String destPop;
+        long latency;
+        int cost;
+        long availableBandwidth;
+        boolean underMaintenance;
+        boolean unstable;
+
+        static SnapshotIsl of(IslImmutableView isl) {
+            if (isl instanceof SnapshotIsl) {
+                return (SnapshotIsl) isl;
+            }
+            return new SnapshotIsl(Objects.requireNonNull(isl.getSrcSwitchId()), isl.getSrcPort(), isl.getSrcPop(),
+                    Objects.requireNonNull(isl.getDestSwitchId()), isl.getDestPort(), isl.getDestPop(),
+                    isl.getLatency(), isl.getCost(), isl.getAvailableBandwidth(), isl.isUnderMaintenance(),
+                    isl.isUnstable());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived holder of {@link NetworkSnapshot}s (one per encapsulation type). Snapshots are loaded lazily from
+ * {@link IslRepository}, reloaded when they become older than the configured TTL and updated incrementally with
+ * bandwidth allocations, releases and ISL failures known to the owner of the cache in between. Changes which can't be
+ * applied incrementally mark the snapshots stale, a stale snapshot is reloaded once a computation fails on it.
+ */
+@Slf4j
+public class NetworkSnapshotCache {
+    private final IslRepository islRepository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<FlowEncapsulationType, Entry> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public NetworkSnapshotCache(IslRepository islRepository, Duration ttl) {
+        this(islRepository, ttl, Clock.systemUTC());
+    }
+
+    NetworkSnapshotCache(IslRepository islRepository, Duration ttl, Clock clock) {
+        this.islRepository = islRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a snapshot of active ISLs which support the encapsulation type. Reads the ISLs from the repository
+     * if there is no snapshot yet or the existing one is expired.
+     */
+    public NetworkSnapshot getSnapshot(FlowEncapsulationType encapsulationType) {
+        Instant now = clock.instant();
+        return snapshots.compute(encapsulationType, (key, entry) -> {
+            if (entry != null && !entry.isExpired(now, ttl)) {
+                return entry;
+            }
+            NetworkSnapshot snapshot = NetworkSnapshot.of(versionSequence.incrementAndGet(),
+                    islRepository.findActiveByEncapsulationType(encapsulationType));
+            log.debug("Loaded network snapshot version {} for {} with {} ISLs",
+                    snapshot.getVersion(), encapsulationType, snapshot.size());
+            return new Entry(snapshot, now);
+        }).snapshot;
+    }
+
+    /**
+     * Applies the new available bandwidth of the ISLs to all loaded snapshots.
+     */
+    public void updateAvailableBandwidth(Map<IslEndpoints, Long> availableBandwidth) {
+        if (availableBandwidth.isEmpty()) {
+            return;
+        }
+        snapshots.replaceAll((encapsulationType, entry) -> entry.update(
+                entry.snapshot.withAvailableBandwidth(availableBandwidth)));
+    }
+
+    /**
+     * Removes ISLs connected to the endpoint (i.e. they are no longer active) from all loaded snapshots.
+     */
+    public void removeIslEndpoint(SwitchId switchId, int port) {
+        snapshots.replaceAll((encapsulationType, entry) -> entry.update(
+                entry.snapshot.withoutIslEndpoint(switchId, port)));
+    }
+
+    /**
+     * Marks all loaded snapshots as possibly missing changes which can't be applied incrementally (e.g. new ISLs).
+     * Stale snapshots are still used for path computations (see {@link #invalidateIfStale(FlowEncapsulationType)}).
+     */
+    public void markStale() {
+        snapshots.replaceAll((encapsulationType, entry) -> entry.markStale());
+    }
+
+    /**
+     * Drops the snapshot of the encapsulation type if it is stale, so it will be read from the repository on next
+     * request.
+     *
+     * @return true if the stale snapshot was dropped.
+     */
+    public boolean invalidateIfStale(FlowEncapsulationType encapsulationType) {
+        Entry entry = snapshots.get(encapsulationType);
+        return entry != null && entry.stale && snapshots.remove(encapsulationType, entry);
+    }
+
+    /**
+     * Drops all loaded snapshots, so they will be read from the repository on next request. Must be used when
+     * a snapshot is known to be outdated.
+     *
+     * @return true if there was at least one loaded snapshot.
+     */
+    public boolean invalidate() {
+        boolean loaded = !snapshots.isEmpty();
+        snapshots.clear();
+        return loaded;
+    }
+
+    private static final class Entry {
+        private final NetworkSnapshot snapshot;
+        private final Instant loadedAt;
+        private final boolean stale;
+
+        private Entry(NetworkSnapshot snapshot, Instant loadedAt) {
+            this(snapshot, loadedAt, false);
+        }
+
+        private Entry(NetworkSnapshot snapshot, Instant loadedAt, boolean stale) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+            this.stale = stale;
+        }
+
+        private boolean isExpired(Instant now, Duration ttl) {
+            return loadedAt.plus(ttl).isBefore(now);
+        }
+
+        private Entry update(NetworkSnapshot updated) {
+            return updated == snapshot ? this : new Entry(updated, loadedAt, stale);
+        }
+
+        private Entry markStale() {
+            return stale ? this : new Entry(snapshot, loadedAt, true);
+        }
+    }
+}
@@ -62,6 +62,20 @@ public class PathWeight implements Comparable<PathWeight> {
         return params.size() > 0 ? params.get(0) : 0;
     }
 
+    /**
+     * Number of params in the weight vector.
+     */
+    public int size() {
+        return params.size();
+    }
+
+    /**
+     * Gets a param of the weight vector.
+     */
+    public long get(int index) {
+        return params.get(index);
+    }
+
     @Override
     public int compareTo(PathWeight o) {
         int firstSize = params.size();
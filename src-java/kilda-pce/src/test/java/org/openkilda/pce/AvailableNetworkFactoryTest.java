@@ -16,8 +16,13 @@
 package org.openkilda.pce;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.model.Flow;
@@ -30,10 +35,12 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory.BuildStrategy;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.NetworkSnapshotCache;
 import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
@@ -220,6 +227,76 @@ public class AvailableNetworkFactoryTest {
         assertAvailableNetworkIsCorrect(isl, availableNetwork);
     }
 
+    @Test
+    public void shouldReuseNetworkSnapshotBetweenComputations() throws RecoverableException {
+        Flow flow = getFlow(false);
+        IslImmutableView isl = getIslView(flow);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Collections.singletonList(isl));
+        AvailableNetworkFactory factory = new AvailableNetworkFactory(config, repositoryFactory);
+
+        assertAvailableNetworkIsCorrect(isl, factory.getAvailableNetwork(flow, Collections.emptyList()));
+        assertAvailableNetworkIsCorrect(isl, factory.getAvailableNetwork(flow, Collections.emptyList()));
+
+        verify(islRepository, times(1)).findActiveByEncapsulationType(flow.getEncapsulationType());
+    }
+
+    @Test
+    public void shouldApplyIslChangesToNetworkSnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        IslImmutableView isl = getIslView(flow);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Collections.singletonList(isl));
+        AvailableNetworkFactory factory = new AvailableNetworkFactory(config, repositoryFactory);
+        factory.getAvailableNetwork(flow, Collections.emptyList());
+
+        factory.getNetworkSnapshotCache().get().updateAvailableBandwidth(Collections.singletonMap(
+                new IslEndpoints(isl.getSrcSwitchId().toString(), isl.getSrcPort(),
+                        isl.getDestSwitchId().toString(), isl.getDestPort()), flow.getBandwidth() - 1));
+        AvailableNetwork availableNetwork = factory.getAvailableNetwork(flow, Collections.emptyList());
+        assertNull(availableNetwork.getSwitch(isl.getSrcSwitchId()));
+
+        assertTrue(factory.getNetworkSnapshotCache().get().invalidate());
+        availableNetwork = factory.getAvailableNetwork(flow, Collections.emptyList());
+        assertAvailableNetworkIsCorrect(isl, availableNetwork);
+
+        factory.getNetworkSnapshotCache().get().removeIslEndpoint(isl.getDestSwitchId(), isl.getDestPort());
+        availableNetwork = factory.getAvailableNetwork(flow, Collections.emptyList());
+        assertNull(availableNetwork.getSwitch(isl.getSrcSwitchId()));
+    }
+
+    @Test
+    public void shouldInvalidateOnlyStaleNetworkSnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        IslImmutableView isl = getIslView(flow);
+
+        when(config.getNetworkStrategy()).thenReturn("COST");
+        when(config.getNetworkSnapshotTtlSeconds()).thenReturn(60);
+        when(islRepository.findActiveByEncapsulationType(flow.getEncapsulationType()))
+                .thenReturn(Collections.singletonList(isl));
+        AvailableNetworkFactory factory = new AvailableNetworkFactory(config, repositoryFactory);
+        factory.getAvailableNetwork(flow, Collections.emptyList());
+
+        NetworkSnapshotCache cache = factory.getNetworkSnapshotCache().get();
+        assertFalse(cache.invalidateIfStale(flow.getEncapsulationType()));
+        factory.getAvailableNetwork(flow, Collections.emptyList());
+        verify(islRepository, times(1)).findActiveByEncapsulationType(flow.getEncapsulationType());
+
+        cache.markStale();
+        assertTrue(cache.invalidateIfStale(flow.getEncapsulationType()));
+        factory.getAvailableNetwork(flow, Collections.emptyList());
+        verify(islRepository, times(2)).findActiveByEncapsulationType(flow.getEncapsulationType());
+
+        // the reloaded snapshot is not stale
+        assertFalse(cache.invalidateIfStale(flow.getEncapsulationType()));
+    }
+
     private static Flow getFlow(boolean ignoreBandwidth) {
         return Flow.builder()
                 .flowId("test-id")
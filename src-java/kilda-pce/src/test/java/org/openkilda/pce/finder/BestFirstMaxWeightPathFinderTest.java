@@ -0,0 +1,233 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class BestFirstMaxWeightPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final int LABEL_LIMIT = 1_000_000;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    private final BestFirstMaxWeightPathFinder pathFinder = new BestFirstMaxWeightPathFinder(
+            ALLOWED_DEPTH, LABEL_LIMIT, new BestWeightAndShortestPathFinder(ALLOWED_DEPTH));
+
+    @Test
+    public void shouldReturnThePathClosestToMaxWeight() throws UnroutableFlowException {
+        FindPathResult pathResult = pathFinder.findPathWithWeightCloseToMaxWeight(
+                buildThreePathsNetwork(), SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 201L, Long.MAX_VALUE);
+
+        assertFalse(pathResult.isBackUpPathComputationWayUsed());
+        assertPath(pathResult.getFoundPath(), SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_5);
+    }
+
+    @Test
+    public void shouldReturnThePathClosestToBackUpMaxWeight() throws UnroutableFlowException {
+        FindPathResult pathResult = pathFinder.findPathWithWeightCloseToMaxWeight(
+                buildThreePathsNetwork(), SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 100L, 200L);
+
+        assertTrue(pathResult.isBackUpPathComputationWayUsed());
+        assertPath(pathResult.getFoundPath(), SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_5);
+    }
+
+    @Test
+    public void maxWeightAccountsForBothLinkDirections() throws UnroutableFlowException {
+        //given 2 paths with costs: path1 forward 100, path1 reverse 102, path2 forward 101, path2 reverse 100
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_1, 1, 1, 102);
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 2, 101);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_1, 2, 2, 100);
+
+        Pair<List<Edge>, List<Edge>> pairPath = pathFinder.findPathWithWeightCloseToMaxWeight(
+                network, SWITCH_ID_1, SWITCH_ID_2, WEIGHT_FUNCTION, 103L, Long.MAX_VALUE).getFoundPath();
+
+        assertThat(pairPath.getLeft().get(0).getSrcPort(), equalTo(1));
+        assertThat(pairPath.getRight().get(0).getSrcPort(), equalTo(1));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfNoPathLessThanMaxWeightOrBackUpMaxWeight() throws UnroutableFlowException {
+        pathFinder.findPathWithWeightCloseToMaxWeight(
+                buildThreePathsNetwork(), SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 198L, 198L);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
+        new BestFirstMaxWeightPathFinder(1, LABEL_LIMIT, new BestWeightAndShortestPathFinder(1))
+                .findPathWithWeightCloseToMaxWeight(buildThreePathsNetwork(), SWITCH_ID_1, SWITCH_ID_5,
+                        WEIGHT_FUNCTION, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldFindPathNotWorseThanBestWeightFinderOnDenseNetwork() throws UnroutableFlowException {
+        BestWeightAndShortestPathFinder bestWeightFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        for (long seed = 0; seed < 5; seed++) {
+            AvailableNetwork network = buildMeshNetwork(4, seed);
+            SwitchId start = new SwitchId(1);
+            SwitchId end = new SwitchId(16);
+            long maxWeight = 2500;
+
+            List<Edge> expected = bestWeightFinder.findPathWithWeightCloseToMaxWeight(
+                    network, start, end, WEIGHT_FUNCTION, maxWeight, 0).getFoundPath().getLeft();
+            List<Edge> actual = pathFinder.findPathWithWeightCloseToMaxWeight(
+                    network, start, end, WEIGHT_FUNCTION, maxWeight, 0).getFoundPath().getLeft();
+
+            long actualWeight = getTotalWeight(actual);
+            assertTrue(actualWeight < maxWeight);
+            assertTrue(actualWeight >= getTotalWeight(expected));
+            assertTrue(isSimplePath(actual));
+        }
+    }
+
+    @Test
+    public void shouldFallBackToDelegateWhenLabelLimitIsReached() throws UnroutableFlowException {
+        AvailableNetwork network = buildThreePathsNetwork();
+        PathFinder delegate = mock(PathFinder.class);
+        FindPathResult expected = FindPathResult.builder().build();
+        when(delegate.findPathWithWeightCloseToMaxWeight(
+                network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 201L, Long.MAX_VALUE)).thenReturn(expected);
+
+        FindPathResult pathResult = new BestFirstMaxWeightPathFinder(ALLOWED_DEPTH, 1, delegate)
+                .findPathWithWeightCloseToMaxWeight(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
+                        201L, Long.MAX_VALUE);
+
+        assertSame(expected, pathResult);
+    }
+
+    private AvailableNetwork buildThreePathsNetwork() {
+        /*
+            2
+          /   \
+         1--3--5
+          \   /
+            4
+         */
+        //Path 1>2>5 = 198cost
+        //Path 1>3>5 = 200cost
+        //Path 1>4>5 = 201cost
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_5, 2, 1, 98);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 2, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_4, 3, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 2, 3, 101);
+        return network;
+    }
+
+    /**
+     * Builds size x size grid with diagonals and random costs.
+     */
+    private AvailableNetwork buildMeshNetwork(int size, long seed) {
+        Random random = new Random(seed);
+        AvailableNetwork network = new AvailableNetwork();
+        int port = 1;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                SwitchId current = new SwitchId(row * size + column + 1);
+                if (column + 1 < size) {
+                    addBidirectionalLink(network, current, new SwitchId(row * size + column + 2),
+                            port++, port++, 1 + random.nextInt(300));
+                }
+                if (row + 1 < size) {
+                    addBidirectionalLink(network, current, new SwitchId((row + 1) * size + column + 1),
+                            port++, port++, 1 + random.nextInt(300));
+                }
+                if (row + 1 < size && column + 1 < size) {
+                    addBidirectionalLink(network, current, new SwitchId((row + 1) * size + column + 2),
+                            port++, port++, 1 + random.nextInt(300));
+                }
+            }
+        }
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Edge edge = Edge.builder()
+                .srcSwitch(network.getOrAddNode(srcDpid, null))
+                .srcPort(srcPort)
+                .destSwitch(network.getOrAddNode(dstDpid, null))
+                .destPort(dstPort)
+                .latency(1)
+                .cost(cost)
+                .availableBandwidth(500000)
+                .build();
+        network.addEdge(edge);
+    }
+
+    private void assertPath(Pair<List<Edge>, List<Edge>> pairPath, SwitchId... switches) {
+        List<SwitchId> forwardSwitches = getInvolvedSwitches(pairPath.getLeft());
+        assertThat(forwardSwitches, equalTo(Arrays.asList(switches)));
+        assertThat(getInvolvedSwitches(pairPath.getRight()), equalTo(Lists.reverse(forwardSwitches)));
+    }
+
+    private List<SwitchId> getInvolvedSwitches(List<Edge> path) {
+        List<SwitchId> switches = new ArrayList<>();
+        for (Edge edge : path) {
+            switches.add(edge.getSrcSwitch().getSwitchId());
+        }
+        switches.add(path.get(path.size() - 1).getDestSwitch().getSwitchId());
+        return switches;
+    }
+
+    private boolean isSimplePath(List<Edge> path) {
+        Set<SwitchId> switches = new HashSet<>(getInvolvedSwitches(path));
+        return switches.size() == path.size() + 1;
+    }
+
+    private long getTotalWeight(List<Edge> path) {
+        return path.stream().map(WEIGHT_FUNCTION).mapToLong(PathWeight::toLong).sum();
+    }
+}
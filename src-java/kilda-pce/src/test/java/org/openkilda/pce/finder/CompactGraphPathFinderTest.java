@@ -0,0 +1,255 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class CompactGraphPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+    private static final WeightFunction WEIGHT_AND_BANDWIDTH_FUNCTION =
+            edge -> new PathWeight(edge.getCost(), edge.getAvailableBandwidth());
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(2);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathWithMinWeight(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION).getFoundPath();
+        List<Edge> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, fpath.get(1).getSrcSwitch().getSwitchId());
+
+        List<Edge> rpath = pairPath.getRight();
+        assertThat(rpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, rpath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(4);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathWithMinWeight(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION).getFoundPath();
+        List<Edge> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, fpath.get(3).getSrcSwitch().getSwitchId());
+
+        List<Edge> rpath = pairPath.getRight();
+        assertThat(rpath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, rpath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(1);
+        pathFinder.findPathWithMinWeight(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+    }
+
+    @Test
+    public void shouldMarkBackUpWayWhenLatencyIsOverMaxLatency() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(ALLOWED_DEPTH);
+        FindPathResult result = pathFinder.findPathWithMinWeightAndLatencyLimits(
+                network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION, 10, 1000);
+        assertTrue(result.isBackUpPathComputationWayUsed());
+
+        result = pathFinder.findPathWithMinWeightAndLatencyLimits(
+                network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION, 1000, 1000);
+        assertFalse(result.isBackUpPathComputationWayUsed());
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenLatencyIsOverLatencyLimit() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(ALLOWED_DEPTH);
+        pathFinder.findPathWithMinWeightAndLatencyLimits(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION, 10, 10);
+    }
+
+    @Test
+    public void shouldFindPathsWithSameWeightAsBestWeightFinder() throws UnroutableFlowException {
+        WeightFunction[] weightFunctions = new WeightFunction[] {WEIGHT_FUNCTION, WEIGHT_AND_BANDWIDTH_FUNCTION};
+        for (int depth : new int[] {18, 20, ALLOWED_DEPTH}) {
+            for (WeightFunction weightFunction : weightFunctions) {
+                AvailableNetwork network = buildMeshNetwork(10, 42);
+                SwitchId start = new SwitchId(1);
+                SwitchId end = new SwitchId(100);
+
+                List<Edge> expected = new BestWeightAndShortestPathFinder(depth)
+                        .findPathWithMinWeight(network, start, end, weightFunction).getFoundPath().getLeft();
+                List<Edge> actual = new CompactGraphPathFinder(depth)
+                        .findPathWithMinWeight(network, start, end, weightFunction).getFoundPath().getLeft();
+
+                assertEquals(getTotalWeight(expected, weightFunction), getTotalWeight(actual, weightFunction));
+                assertTrue(actual.size() <= depth);
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindNPathsWithSameWeightsAsBestWeightFinder() throws UnroutableFlowException {
+        AvailableNetwork network = buildMeshNetwork(5, 7);
+        SwitchId start = new SwitchId(1);
+        SwitchId end = new SwitchId(25);
+        int count = 30;
+
+        List<List<Edge>> expected = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, start, end, count, WEIGHT_FUNCTION);
+        List<List<Edge>> actual = new CompactGraphPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, start, end, count, WEIGHT_FUNCTION);
+
+        assertThat(actual, Matchers.hasSize(count));
+        assertEquals(getSortedWeights(expected), getSortedWeights(actual));
+        assertEquals(count, new HashSet<>(actual).size());
+        for (List<Edge> path : actual) {
+            assertEquals(start, path.get(0).getSrcSwitch().getSwitchId());
+            assertEquals(end, path.get(path.size() - 1).getDestSwitch().getSwitchId());
+            assertTrue(isSimplePath(path));
+        }
+    }
+
+    @Test
+    public void shouldIterateNPathsLazily() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        CompactGraphPathFinder pathFinder = new CompactGraphPathFinder(ALLOWED_DEPTH);
+
+        Iterator<List<Edge>> iterator =
+                pathFinder.iterateNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+        assertTrue(iterator.hasNext());
+        assertThat(iterator.next(), Matchers.hasSize(4));
+        assertTrue(iterator.hasNext());
+        assertThat(iterator.next(), Matchers.hasSize(2));
+        assertFalse(iterator.hasNext());
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+
+        return network;
+    }
+
+    /**
+     * Builds size x size grid with random costs.
+     */
+    private AvailableNetwork buildMeshNetwork(int size, long seed) {
+        Random random = new Random(seed);
+        AvailableNetwork network = new AvailableNetwork();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int current = row * size + column + 1;
+                if (column + 1 < size) {
+                    addBidirectionalLink(network, new SwitchId(current), new SwitchId(current + 1),
+                            2 * column + 1, 2 * column + 2, 1 + random.nextInt(1000));
+                }
+                if (row + 1 < size) {
+                    addBidirectionalLink(network, new SwitchId(current), new SwitchId(current + size),
+                            100 + 2 * row + 1, 100 + 2 * row + 2, 1 + random.nextInt(1000));
+                }
+            }
+        }
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Edge edge = Edge.builder()
+                .srcSwitch(network.getOrAddNode(srcDpid, null))
+                .srcPort(srcPort)
+                .destSwitch(network.getOrAddNode(dstDpid, null))
+                .destPort(dstPort)
+                .latency(cost)
+                .cost(cost)
+                .availableBandwidth(500000)
+                .build();
+        network.addEdge(edge);
+    }
+
+    private List<Long> getSortedWeights(List<List<Edge>> paths) {
+        return paths.stream()
+                .map(path -> getTotalWeight(path, WEIGHT_FUNCTION))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private boolean isSimplePath(List<Edge> path) {
+        Set<SwitchId> switches = new HashSet<>();
+        switches.add(path.get(0).getSrcSwitch().getSwitchId());
+        for (Edge edge : path) {
+            if (!switches.add(edge.getDestSwitch().getSwitchId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long getTotalWeight(List<Edge> path, WeightFunction weightFunction) {
+        return path.stream().map(weightFunction).mapToLong(PathWeight::toLong).sum();
+    }
+}
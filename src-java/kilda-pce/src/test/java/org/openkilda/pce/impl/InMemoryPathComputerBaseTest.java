@@ -47,6 +47,7 @@ import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.model.cookie.FlowSegmentCookie;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchGetPathsResult;
 import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.Path.Segment;
@@ -77,6 +78,7 @@ import org.junit.rules.ExpectedException;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -268,6 +270,43 @@ public class InMemoryPathComputerBaseTest extends InMemoryGraphBasedTest {
         pathComputer.getPath(flow, flow.getPathIds());
     }
 
+    @Test
+    public void shouldAccountBandwidthOfPreviousFlowsInBatch() throws RecoverableException {
+        shouldAccountBandwidthOfPreviousFlowsInBatch("B1:", false);
+    }
+
+    @Test
+    public void shouldAccountBandwidthOfPreviousFlowsInParallelBatch() throws RecoverableException {
+        shouldAccountBandwidthOfPreviousFlowsInBatch("B2:", true);
+    }
+
+    private void shouldAccountBandwidthOfPreviousFlowsInBatch(String switchStart, boolean parallel)
+            throws RecoverableException {
+        // every ISL of the diamond has 1000 available bandwidth, so only one flow fits into each of paths B and C
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, switchStart, 1);
+
+        Switch srcSwitch = getSwitchById(switchStart + "01");
+        Switch destSwitch = getSwitchById(switchStart + "04");
+
+        List<Flow> flows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            flows.add(new TestFlowBuilder(switchStart + "flow-" + i)
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(destSwitch)
+                    .bandwidth(600)
+                    .build());
+        }
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchGetPathsResult result = pathComputer.getPaths(flows, Collections.emptyMap(), parallel);
+
+        assertEquals(new SwitchId(switchStart + "02"),
+                result.getPaths().get(flows.get(0).getFlowId()).getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId(switchStart + "03"),
+                result.getPaths().get(flows.get(1).getFlowId()).getForward().getSegments().get(0).getDestSwitchId());
+        assertThat(result.getFailures().keySet(), Matchers.contains(flows.get(2).getFlowId()));
+    }
+
     @Test
     public void getNPathsCostSortByBandwidth() throws RecoverableException, UnroutableFlowException {
         List<Path> foundPaths = mockPathComputerWithoutMaxWeight().getNPaths(SWITCH_1, SWITCH_2, 10, null, COST,
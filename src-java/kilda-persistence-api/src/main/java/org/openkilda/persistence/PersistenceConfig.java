@@ -47,4 +47,10 @@ public interface PersistenceConfig extends Serializable {
     @Key("transaction.retries.maxdelay")
     @Default("50")
     int getTransactionRetriesMaxDelay();
+
+    @Key("transaction.entity.cache.enabled")
+    // Keep switches, switch properties, feature toggles and kilda configuration loaded in a transaction to reuse
+    // them during the rest of this transaction.
+    @Default("false")
+    boolean isTransactionEntityCacheEnabled();
 }
@@ -146,7 +146,8 @@ public class PersistenceManager implements Serializable {
     private TransactionManager newTransactionManager(PersistenceImplementation implementation) {
         return new TransactionManager(
                 implementation,
-                persistenceConfig.getTransactionRetriesLimit(), persistenceConfig.getTransactionRetriesMaxDelay());
+                persistenceConfig.getTransactionRetriesLimit(), persistenceConfig.getTransactionRetriesMaxDelay(),
+                persistenceConfig.isTransactionEntityCacheEnabled());
     }
 
     private static PersistenceLayout newPersistenceLayout(PersistenceConfig config) {
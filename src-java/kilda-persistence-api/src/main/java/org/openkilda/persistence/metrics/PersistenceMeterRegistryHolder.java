@@ -0,0 +1,43 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+
+/**
+ * Keeps the meter registry of the current execution thread available to persistence implementations, which can't
+ * reach the registry holders of their callers.
+ */
+public final class PersistenceMeterRegistryHolder {
+    private static final ThreadLocal<MeterRegistry> registries = new ThreadLocal<>();
+
+    public static void setRegistry(MeterRegistry registry) {
+        registries.set(registry);
+    }
+
+    public static Optional<MeterRegistry> getRegistry() {
+        return Optional.ofNullable(registries.get());
+    }
+
+    public static void removeRegistry() {
+        registries.remove();
+    }
+
+    private PersistenceMeterRegistryHolder() {
+    }
+}
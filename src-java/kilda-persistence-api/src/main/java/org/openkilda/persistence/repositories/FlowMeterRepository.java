@@ -34,6 +34,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      */
     Optional<FlowMeter> findByPathId(PathId pathId);
 
+    /**
+     * Find meters allocated on the switch.
+     *
+     * @param switchId the switch ID
+     * @return a collection of {@link FlowMeter}
+     */
+    Collection<FlowMeter> findBySwitchId(SwitchId switchId);
+
     boolean exists(SwitchId switchId, MeterId meterId);
 
     /**
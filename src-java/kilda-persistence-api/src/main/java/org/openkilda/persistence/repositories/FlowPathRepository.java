@@ -84,6 +84,12 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<FlowPath> findBySegmentSwitch(SwitchId switchId);
 
+    /**
+     * Find IDs of paths which segments go through the switch. Unlike {@link #findBySegmentSwitch(SwitchId)} only IDs
+     * are fetched, without loading of path objects.
+     */
+    Collection<PathId> findPathIdsBySegmentSwitch(SwitchId switchId);
+
     Collection<FlowPath> findInactiveBySegmentSwitch(SwitchId switchId);
 
     /**
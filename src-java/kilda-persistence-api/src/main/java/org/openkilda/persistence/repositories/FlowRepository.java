@@ -48,6 +48,12 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<Flow> findByEndpoint(SwitchId switchId, int port);
 
+    /**
+     * Find IDs of flows which have an endpoint on the port. Unlike {@link #findByEndpoint(SwitchId, int)} only IDs
+     * are fetched, without loading of flow objects.
+     */
+    Collection<String> findFlowsIdsByEndpoint(SwitchId switchId, int port);
+
     /**
      * Find flow by endpoint (SwitchId, port and vlan).
      */
@@ -20,6 +20,9 @@ import org.openkilda.persistence.PersistenceImplementationType;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 public class Transaction {
     @Getter
@@ -28,11 +31,22 @@ public class Transaction {
     private boolean success = false;
     private boolean fail = false;
 
+    @Getter
+    private final TransactionEntityCache entityCache;
+
     @Getter
     private boolean active = false;
 
+    private final List<Runnable> rollbackActions = new ArrayList<>();
+
     public Transaction(ImplementationTransactionAdapter<?> implementationTransactionAdapter) {
+        this(implementationTransactionAdapter, false);
+    }
+
+    public Transaction(ImplementationTransactionAdapter<?> implementationTransactionAdapter,
+                       boolean entityCacheEnabled) {
         this.implementationTransactionAdapter = implementationTransactionAdapter;
+        this.entityCache = new TransactionEntityCache(entityCacheEnabled);
     }
 
     /**
@@ -64,19 +78,38 @@ public class Transaction {
 
         boolean canCommit = !fail && success;
         String closeAction = canCommit ? "commit" : "rollback";
+        entityCache.clear();
         log.debug(
                 "Going to {} transaction for {} area in {}",
                 closeAction, implementationTransactionAdapter.getImplementationType(),
                 Thread.currentThread().getName());
         if (canCommit) {
-            implementationTransactionAdapter.commit();
+            try {
+                implementationTransactionAdapter.commit();
+            } catch (Exception e) {
+                runRollbackActions();
+                throw e;
+            }
+            rollbackActions.clear();
         } else {
-            implementationTransactionAdapter.rollback();
+            try {
+                implementationTransactionAdapter.rollback();
+            } finally {
+                runRollbackActions();
+            }
         }
 
         return true;
     }
 
+    /**
+     * Register the action to be executed if the transaction is rolled back or fails to commit. It is used to undo
+     * changes made outside of the persistence layer, e.g. in local caches.
+     */
+    public void addRollbackAction(Runnable action) {
+        rollbackActions.add(action);
+    }
+
     public void markSuccess() {
         success = true;
     }
@@ -89,6 +122,17 @@ public class Transaction {
         return implementationTransactionAdapter.getImplementationType();
     }
 
+    private void runRollbackActions() {
+        for (Runnable action : rollbackActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Failed to execute the transaction rollback action", e);
+            }
+        }
+        rollbackActions.clear();
+    }
+
     private boolean isRootTransaction(ImplementationTransactionAdapter<?> effective) {
         return implementationTransactionAdapter == effective;
     }
@@ -0,0 +1,96 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.tx;
+
+import org.openkilda.persistence.metrics.PersistenceMeterRegistryHolder;
+
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of entities loaded during one (root) transaction.
+ *
+ * <p>The cache lives together with the {@link Transaction} object, so it is dropped on commit and on rollback and
+ * can't expose data of a rolled back transaction to the following ones. Only found entities are stored, absent
+ * results are always queried again. Repositories must evict entries of the removed entities.
+ *
+ * <p>Hits, misses and evictions are counted on the meter registry of the current thread (if any).
+ */
+public class TransactionEntityCache {
+    public static final String HIT_METER_NAME = "persistence.tx.cache.hit";
+    public static final String MISS_METER_NAME = "persistence.tx.cache.miss";
+    public static final String EVICTION_METER_NAME = "persistence.tx.cache.eviction";
+
+    private final boolean enabled;
+
+    private final Map<EntryKey, Object> entries = new HashMap<>();
+
+    public TransactionEntityCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Return cached value of the entity, load (and store) it via {@code loader} on cache miss.
+     */
+    public <K, V> Optional<V> lookup(Class<V> type, K key, Function<K, Optional<V>> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+
+        EntryKey entryKey = new EntryKey(type, key);
+        Object cached = entries.get(entryKey);
+        if (cached != null) {
+            countEvent(HIT_METER_NAME);
+            return Optional.of(type.cast(cached));
+        }
+
+        countEvent(MISS_METER_NAME);
+        Optional<V> result = loader.apply(key);
+        result.ifPresent(value -> entries.put(entryKey, value));
+        return result;
+    }
+
+    /**
+     * Remove cached value of the entity (if any).
+     */
+    public void evict(Class<?> type, Object key) {
+        if (entries.remove(new EntryKey(type, key)) != null) {
+            countEvent(EVICTION_METER_NAME);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static void countEvent(String name) {
+        PersistenceMeterRegistryHolder.getRegistry().ifPresent(registry -> registry.counter(name).increment());
+    }
+
+    @Value
+    private static class EntryKey {
+        Class<?> type;
+        Object key;
+    }
+}
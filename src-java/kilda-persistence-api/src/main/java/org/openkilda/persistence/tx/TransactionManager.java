@@ -42,12 +42,21 @@ public class TransactionManager implements Serializable {
     private final int transactionRetriesLimit;
     private final int transactionRetriesMaxDelay;
 
+    private final boolean entityCacheEnabled;
+
     public TransactionManager(
             PersistenceImplementation implementation, int transactionRetriesLimit, int transactionRetriesMaxDelay) {
+        this(implementation, transactionRetriesLimit, transactionRetriesMaxDelay, false);
+    }
+
+    public TransactionManager(
+            PersistenceImplementation implementation, int transactionRetriesLimit, int transactionRetriesMaxDelay,
+            boolean entityCacheEnabled) {
         this.implementation = implementation;
 
         this.transactionRetriesLimit = transactionRetriesLimit;
         this.transactionRetriesMaxDelay = transactionRetriesMaxDelay;
+        this.entityCacheEnabled = entityCacheEnabled;
     }
 
     /**
@@ -130,6 +139,17 @@ public class TransactionManager implements Serializable {
         return context.isTxOpen();
     }
 
+    /**
+     * Register the action to be executed if the current transaction is rolled back. The action is ignored if there's
+     * no open transaction, as there's nothing to roll back.
+     */
+    public void onRollback(Runnable action) {
+        PersistenceContext context = PersistenceContextManager.INSTANCE.getContextCreateIfMissing();
+        if (context.isTxOpen()) {
+            context.getTransaction().addRollbackAction(action);
+        }
+    }
+
     @SneakyThrows
     private <T> T execute(RetryPolicy<T> retryPolicy, Callable<T> action) {
         try {
@@ -189,7 +209,7 @@ public class TransactionManager implements Serializable {
         PersistenceContext context = PersistenceContextManager.INSTANCE.getContextCreateIfMissing();
         return context.setTransactionIfClear(() -> {
             log.debug("Install global transaction tracking in {}", Thread.currentThread().getName());
-            return new Transaction(effective);
+            return new Transaction(effective, entityCacheEnabled);
         });
     }
 
@@ -0,0 +1,111 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.tx;
+
+import org.openkilda.persistence.metrics.PersistenceMeterRegistryHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TransactionEntityCacheTest {
+    @Test
+    public void loadOnlyOnFirstLookup() {
+        TransactionEntityCache cache = new TransactionEntityCache(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals(Optional.of("value-1"), cache.lookup(String.class, 1, key -> load(loads, key)));
+        Assert.assertEquals(Optional.of("value-1"), cache.lookup(String.class, 1, key -> load(loads, key)));
+        Assert.assertEquals(Optional.of("value-2"), cache.lookup(String.class, 2, key -> load(loads, key)));
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void absentValueIsNotCached() {
+        TransactionEntityCache cache = new TransactionEntityCache(true);
+
+        Assert.assertEquals(Optional.empty(), cache.lookup(String.class, 1, key -> Optional.empty()));
+        Assert.assertEquals(Optional.of("value-1"), cache.lookup(String.class, 1, key -> Optional.of("value-1")));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void entriesAreSeparatedByType() {
+        TransactionEntityCache cache = new TransactionEntityCache(true);
+
+        Assert.assertEquals(Optional.of("value"), cache.lookup(String.class, 1, key -> Optional.of("value")));
+        Assert.assertEquals(Optional.of(100L), cache.lookup(Long.class, 1, key -> Optional.of(100L)));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void evictAndClear() {
+        TransactionEntityCache cache = new TransactionEntityCache(true);
+        AtomicInteger loads = new AtomicInteger();
+        cache.lookup(String.class, 1, key -> load(loads, key));
+        cache.lookup(String.class, 2, key -> load(loads, key));
+
+        cache.evict(String.class, 1);
+        cache.evict(Long.class, 2);
+        Assert.assertEquals(1, cache.size());
+        cache.lookup(String.class, 1, key -> load(loads, key));
+        Assert.assertEquals(3, loads.get());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void countHitsMissesAndEvictions() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PersistenceMeterRegistryHolder.setRegistry(registry);
+        try {
+            TransactionEntityCache cache = new TransactionEntityCache(true);
+            cache.lookup(String.class, 1, key -> Optional.of("value-1"));
+            cache.lookup(String.class, 1, key -> Optional.of("value-1"));
+            cache.lookup(String.class, 1, key -> Optional.of("value-1"));
+            cache.evict(String.class, 1);
+            cache.evict(String.class, 1);
+        } finally {
+            PersistenceMeterRegistryHolder.removeRegistry();
+        }
+
+        Assert.assertEquals(2, registry.get(TransactionEntityCache.HIT_METER_NAME).counter().count(), 0);
+        Assert.assertEquals(1, registry.get(TransactionEntityCache.MISS_METER_NAME).counter().count(), 0);
+        Assert.assertEquals(1, registry.get(TransactionEntityCache.EVICTION_METER_NAME).counter().count(), 0);
+    }
+
+    @Test
+    public void disabledCacheAlwaysLoads() {
+        TransactionEntityCache cache = new TransactionEntityCache(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.lookup(String.class, 1, key -> load(loads, key));
+        cache.lookup(String.class, 1, key -> load(loads, key));
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    private static Optional<String> load(AtomicInteger counter, Integer key) {
+        counter.incrementAndGet();
+        return Optional.of("value-" + key);
+    }
+}
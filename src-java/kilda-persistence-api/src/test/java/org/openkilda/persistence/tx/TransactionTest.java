@@ -0,0 +1,125 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.tx;
+
+import org.openkilda.persistence.PersistenceImplementation;
+import org.openkilda.persistence.PersistenceImplementationType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TransactionTest {
+    @Test
+    public void rollbackActionsAreExecutedOnRollback() throws Exception {
+        StubTransactionAdapter adapter = new StubTransactionAdapter(false);
+        Transaction transaction = new Transaction(adapter);
+        AtomicInteger rollbackActions = new AtomicInteger();
+
+        transaction.activate(adapter);
+        transaction.addRollbackAction(rollbackActions::incrementAndGet);
+        transaction.markFail();
+        transaction.closeIfRoot(adapter);
+
+        Assert.assertEquals(1, adapter.rollbacks);
+        Assert.assertEquals(1, rollbackActions.get());
+    }
+
+    @Test
+    public void rollbackActionsAreExecutedOnCommitFailure() throws Exception {
+        StubTransactionAdapter adapter = new StubTransactionAdapter(true);
+        Transaction transaction = new Transaction(adapter);
+        AtomicInteger rollbackActions = new AtomicInteger();
+
+        transaction.activate(adapter);
+        transaction.addRollbackAction(rollbackActions::incrementAndGet);
+        transaction.markSuccess();
+        try {
+            transaction.closeIfRoot(adapter);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        Assert.assertEquals(1, rollbackActions.get());
+    }
+
+    @Test
+    public void rollbackActionsAreNotExecutedOnCommit() throws Exception {
+        StubTransactionAdapter adapter = new StubTransactionAdapter(false);
+        Transaction transaction = new Transaction(adapter);
+        AtomicInteger rollbackActions = new AtomicInteger();
+
+        transaction.activate(adapter);
+        transaction.addRollbackAction(rollbackActions::incrementAndGet);
+        transaction.markSuccess();
+        transaction.closeIfRoot(adapter);
+
+        Assert.assertEquals(1, adapter.commits);
+        Assert.assertEquals(0, rollbackActions.get());
+    }
+
+    @Test
+    public void failedRollbackActionDoesNotStopOtherActions() throws Exception {
+        StubTransactionAdapter adapter = new StubTransactionAdapter(false);
+        Transaction transaction = new Transaction(adapter);
+        AtomicInteger rollbackActions = new AtomicInteger();
+
+        transaction.activate(adapter);
+        transaction.addRollbackAction(() -> {
+            throw new IllegalStateException("(testing) forced error");
+        });
+        transaction.addRollbackAction(rollbackActions::incrementAndGet);
+        transaction.markFail();
+        transaction.closeIfRoot(adapter);
+
+        Assert.assertEquals(1, rollbackActions.get());
+    }
+
+    private static class StubTransactionAdapter extends ImplementationTransactionAdapter<PersistenceImplementation> {
+        private final boolean failCommit;
+        private int commits;
+        private int rollbacks;
+
+        StubTransactionAdapter(boolean failCommit) {
+            super(null);
+            this.failCommit = failCommit;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void commit() {
+            if (failCommit) {
+                throw new IllegalStateException("(testing) forced commit failure");
+            }
+            commits++;
+        }
+
+        @Override
+        public void rollback() {
+            rollbacks++;
+        }
+
+        @Override
+        public PersistenceImplementationType getImplementationType() {
+            return PersistenceImplementationType.IN_MEMORY_GRAPH;
+        }
+    }
+}
@@ -40,4 +40,10 @@ public interface OrientDbConfig extends Serializable {
     @Key("pool.acquire.attempts")
     @Default("50")
     int getPoolAcquireAttempts();
+
+    @Key("pool.validation.idle.threshold.ms")
+    // A graph obtained from the pool is validated by a test query only if its DB session was not in use during this
+    // period. Zero value means that each obtained graph is validated.
+    @Default("0")
+    long getPoolValidationIdleThreshold();
 }
@@ -18,9 +18,9 @@ package org.openkilda.persistence.orientdb;
 import org.openkilda.persistence.exceptions.RecoverablePersistenceException;
 import org.openkilda.persistence.ferma.AnnotationFrameFactoryWithConverterSupport;
 import org.openkilda.persistence.ferma.FramedGraphFactory;
+import org.openkilda.persistence.metrics.PersistenceMeterRegistryHolder;
 
 import com.orientechnologies.common.exception.OException;
-import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.syncleus.ferma.DelegatingFramedGraph;
 import com.syncleus.ferma.framefactories.FrameFactory;
 import com.syncleus.ferma.typeresolvers.TypeResolver;
@@ -33,6 +33,7 @@ import net.jodah.failsafe.RetryPolicy;
 import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
 import org.apache.tinkerpop.gremlin.orientdb.OrientGraphFactory;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -58,18 +59,43 @@ public class OrientDbGraphFactory implements FramedGraphFactory<DelegatingFramed
 
         OrientGraphFactory factory = effectiveConnect.getFactory();
         log.debug("Opening a framed graph for {}", factory);
+        PersistenceMeterRegistryHolder.getRegistry().ifPresent(effectiveConnect.getMetrics()::bindTo);
 
+        long startTime = System.nanoTime();
         OrientGraph orientGraph = Failsafe.with(newPoolAcquireRetryPolicy()).get(() -> {
             OrientGraph obtainedGraph = factory.getTx();
-            validateGraph(obtainedGraph);
+            effectiveConnect.getValidator().validate(obtainedGraph);
             return obtainedGraph;
         });
+        effectiveConnect.getMetrics().onAcquire(System.nanoTime() - startTime);
 
         log.debug("OrientGraph instance has been created: {}", orientGraph);
         return new DelegatingFramedGraph<>(
                 orientGraph, effectiveConnect.getBuilder(), effectiveConnect.getTypeResolver());
     }
 
+    /**
+     * Close the graph obtained by {@link #getGraph()}, i.e. return its DB session into the pool.
+     */
+    public void releaseGraph(@NonNull DelegatingFramedGraph<OrientGraph> graph) throws IOException {
+        Connect effectiveConnect = connect;
+        try {
+            if (effectiveConnect != null) {
+                effectiveConnect.getValidator().onRelease(graph.getBaseGraph());
+            }
+            graph.close();
+        } catch (RuntimeException | IOException e) {
+            if (effectiveConnect != null) {
+                effectiveConnect.getValidator().invalidate(graph.getBaseGraph());
+            }
+            throw e;
+        } finally {
+            if (effectiveConnect != null) {
+                effectiveConnect.getMetrics().onRelease();
+            }
+        }
+    }
+
     private RetryPolicy<OrientGraph> newPoolAcquireRetryPolicy() {
         return new RetryPolicy<OrientGraph>()
                 .handle(OException.class)
@@ -81,14 +107,14 @@ public class OrientDbGraphFactory implements FramedGraphFactory<DelegatingFramed
                         e.getFailure()));
     }
 
-    private void validateGraph(@NonNull OrientGraph obtainedGraph) {
-        if (obtainedGraph.isClosed()) {
-            throw new RecoverablePersistenceException("The obtained graph is closed");
-        }
-        try (OResultSet resultSet = obtainedGraph.executeSql("SELECT 1").getRawResultSet()) {
-            if (!resultSet.hasNext()) {
-                throw new RecoverablePersistenceException("Failed to execute the test query");
-            }
+    /**
+     * Force validation of the DB session used by the graph on its next acquire from the pool. Should be called when
+     * an operation on the graph has failed.
+     */
+    public void invalidateGraph(@NonNull OrientGraph graph) {
+        Connect effectiveConnect = connect;
+        if (effectiveConnect != null) {
+            effectiveConnect.getValidator().invalidate(graph);
         }
     }
 
@@ -108,6 +134,8 @@ public class OrientDbGraphFactory implements FramedGraphFactory<DelegatingFramed
         OrientGraphFactory factory;
         FrameFactory builder = new AnnotationFrameFactoryWithConverterSupport();
         TypeResolver typeResolver = new UntypedTypeResolver();
+        OrientDbPoolMetrics metrics;
+        OrientDbSessionValidator validator;
 
         public Connect(OrientDbConfig config) {
             log.debug(
@@ -117,7 +145,9 @@ public class OrientDbGraphFactory implements FramedGraphFactory<DelegatingFramed
             factory = new OrientGraphFactory(config.getUrl(), config.getUser(), config.getPassword());
             factory.setupPool(config.getPoolSize());
             log.debug("OrientGraphFactory instance has been created: {}", factory);
+
+            metrics = new OrientDbPoolMetrics(config.getPoolSize());
+            validator = new OrientDbSessionValidator(config.getPoolValidationIdleThreshold(), metrics);
         }
     }
 }
-
@@ -79,11 +79,12 @@ public class OrientDbPersistenceImplementation implements FermaPersistentImpleme
                 currentGraph.getBaseGraph().commit();
             } catch (Exception e) {
                 log.error("Failed to commit a transaction in {}", threadName, e);
+                graphFactory.invalidateGraph(currentGraph.getBaseGraph());
             }
 
             try {
                 log.trace("Closing the framed graph: {} in {}", currentGraph, threadName);
-                currentGraph.close();
+                graphFactory.releaseGraph(currentGraph);
             } catch (IOException e) {
                 throw new PersistenceException(String.format("Failed to close graph in %s", threadName), e);
             }
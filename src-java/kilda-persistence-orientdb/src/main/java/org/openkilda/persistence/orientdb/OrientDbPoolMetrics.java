@@ -0,0 +1,107 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of one OrientDB graph pool. Meters of different pools living in the same process are distinguished by the
+ * "pool" tag. The meters are registered on the registry of the current execution thread once it is known (see
+ * {@link #bindTo(MeterRegistry)}), the pool usage is tracked regardless.
+ */
+class OrientDbPoolMetrics {
+    private static final AtomicInteger poolSequence = new AtomicInteger();
+
+    private final Tags tags = Tags.of("pool", String.valueOf(poolSequence.incrementAndGet()));
+
+    // gauges keep weak references to the measured objects
+    private final AtomicInteger poolSize;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    private volatile Meters meters;
+
+    OrientDbPoolMetrics(int poolSize) {
+        this.poolSize = new AtomicInteger(poolSize);
+    }
+
+    /**
+     * Register the meters on the registry, unless they are registered there already.
+     */
+    void bindTo(@NonNull MeterRegistry registry) {
+        Meters current = meters;
+        if (current == null || current.registry != registry) {
+            meters = new Meters(registry);
+        }
+    }
+
+    void onAcquire(long durationNanos) {
+        inUse.incrementAndGet();
+        Meters current = meters;
+        if (current != null) {
+            current.acquireTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void onRelease() {
+        inUse.decrementAndGet();
+    }
+
+    void onValidation() {
+        Meters current = meters;
+        if (current != null) {
+            current.validationCounter.increment();
+        }
+    }
+
+    void onValidationFailure() {
+        Meters current = meters;
+        if (current != null) {
+            current.validationFailureCounter.increment();
+        }
+    }
+
+    void onInvalidation() {
+        Meters current = meters;
+        if (current != null) {
+            current.invalidationCounter.increment();
+        }
+    }
+
+    private class Meters {
+        private final MeterRegistry registry;
+        private final Timer acquireTimer;
+        private final Counter validationCounter;
+        private final Counter validationFailureCounter;
+        private final Counter invalidationCounter;
+
+        Meters(MeterRegistry registry) {
+            this.registry = registry;
+            acquireTimer = registry.timer("orientdb.pool.acquire", tags);
+            validationCounter = registry.counter("orientdb.pool.validation", tags);
+            validationFailureCounter = registry.counter("orientdb.pool.validation.failure", tags);
+            invalidationCounter = registry.counter("orientdb.pool.invalidation", tags);
+            registry.gauge("orientdb.pool.size", tags, poolSize);
+            registry.gauge("orientdb.pool.in_use", tags, inUse);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import org.openkilda.persistence.exceptions.RecoverablePersistenceException;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import lombok.NonNull;
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Validates graphs obtained from the pool by a test query. The pool reuses DB sessions, so a session which was
+ * returned into the pool recently is not validated again, unless it has failed (see {@link #invalidate(OrientGraph)}).
+ */
+class OrientDbSessionValidator {
+    private final long idleThreshold;
+    private final OrientDbPoolMetrics metrics;
+    private final LongSupplier nanoClock;
+
+    private final Map<ODatabaseDocument, Long> lastReleaseTime = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Set<ODatabaseDocument> invalidated = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    OrientDbSessionValidator(long idleThresholdMillis, OrientDbPoolMetrics metrics) {
+        this(idleThresholdMillis, metrics, System::nanoTime);
+    }
+
+    OrientDbSessionValidator(long idleThresholdMillis, OrientDbPoolMetrics metrics, LongSupplier nanoClock) {
+        this.idleThreshold = TimeUnit.MILLISECONDS.toNanos(idleThresholdMillis);
+        this.metrics = metrics;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Ensure the graph is usable, run the test query if its DB session stayed idle in the pool longer than the
+     * threshold.
+     */
+    void validate(@NonNull OrientGraph graph) {
+        if (graph.isClosed()) {
+            throw new RecoverablePersistenceException("The obtained graph is closed");
+        }
+
+        ODatabaseDocument session = graph.getRawDatabase();
+        invalidated.remove(session);
+        Long lastRelease = lastReleaseTime.remove(session);
+        if (lastRelease != null && nanoClock.getAsLong() - lastRelease < idleThreshold) {
+            return;
+        }
+
+        metrics.onValidation();
+        try (OResultSet resultSet = graph.executeSql("SELECT 1").getRawResultSet()) {
+            if (!resultSet.hasNext()) {
+                throw new RecoverablePersistenceException("Failed to execute the test query");
+            }
+        } catch (RuntimeException e) {
+            metrics.onValidationFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Start measuring the idle time of the graph's DB session, which is being returned into the pool.
+     */
+    void onRelease(@NonNull OrientGraph graph) {
+        ODatabaseDocument session = graph.getRawDatabase();
+        if (!invalidated.remove(session)) {
+            lastReleaseTime.put(session, nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Force validation of the graph's DB session on its next acquire from the pool.
+     */
+    void invalidate(@NonNull OrientGraph graph) {
+        ODatabaseDocument session = graph.getRawDatabase();
+        lastReleaseTime.remove(session);
+        if (invalidated.add(session)) {
+            metrics.onInvalidation();
+        }
+    }
+}
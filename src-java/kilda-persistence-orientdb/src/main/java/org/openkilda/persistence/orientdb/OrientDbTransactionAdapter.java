@@ -23,6 +23,8 @@ import org.openkilda.persistence.ferma.FermaTransactionAdapter;
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
+import com.syncleus.ferma.DelegatingFramedGraph;
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
 
 public class OrientDbTransactionAdapter extends FermaTransactionAdapter<OrientDbPersistenceImplementation> {
     public OrientDbTransactionAdapter(OrientDbPersistenceImplementation implementation) {
@@ -41,4 +43,12 @@ public class OrientDbTransactionAdapter extends FermaTransactionAdapter<OrientDb
             return super.wrapException(ex);
         }
     }
+
+    @Override
+    protected void onTransactionFailure(DelegatingFramedGraph<?> graph, Exception error) {
+        // the DB session may be broken, so it must be validated before the pool hands it out again
+        if (error instanceof OException && graph.getBaseGraph() instanceof OrientGraph) {
+            getImplementation().getGraphFactory().invalidateGraph((OrientGraph) graph.getBaseGraph());
+        }
+    }
 }
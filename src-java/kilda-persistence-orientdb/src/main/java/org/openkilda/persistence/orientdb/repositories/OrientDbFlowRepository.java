@@ -17,7 +17,9 @@ package org.openkilda.persistence.orientdb.repositories;
 
 import static java.lang.String.format;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.ferma.frames.FlowFrame;
+import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
 import org.openkilda.persistence.ferma.repositories.FermaFlowRepository;
 import org.openkilda.persistence.orientdb.OrientDbPersistenceImplementation;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -26,6 +28,9 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 /**
  * OrientDB implementation of {@link FlowRepository}.
  */
@@ -48,4 +53,19 @@ public class OrientDbFlowRepository extends FermaFlowRepository {
             return results.iterator().hasNext();
         }
     }
+
+    @Override
+    public Collection<String> findFlowsIdsByEndpoint(SwitchId switchId, int port) {
+        String switchIdAsStr = SwitchIdConverter.INSTANCE.toGraphProperty(switchId);
+        try (OGremlinResultSet results = graphSupplier.get().querySql(
+                format("SELECT %s FROM %s WHERE (%s = ? AND %s = ?) OR (%s = ? AND %s = ?)",
+                        FlowFrame.FLOW_ID_PROPERTY, FlowFrame.FRAME_LABEL,
+                        FlowFrame.SRC_SWITCH_ID_PROPERTY, FlowFrame.SRC_PORT_PROPERTY,
+                        FlowFrame.DST_SWITCH_ID_PROPERTY, FlowFrame.DST_PORT_PROPERTY),
+                switchIdAsStr, port, switchIdAsStr, port)) {
+            return results.stream()
+                    .map(r -> (String) r.getProperty(FlowFrame.FLOW_ID_PROPERTY))
+                    .collect(Collectors.toSet());
+        }
+    }
 }
@@ -0,0 +1,164 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.orientdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.persistence.exceptions.RecoverablePersistenceException;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.tinkerpop.gremlin.orientdb.OrientGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrientDbSessionValidatorTest {
+    private static final long IDLE_THRESHOLD_MS = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry registry;
+    private OrientDbSessionValidator validator;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        OrientDbPoolMetrics metrics = new OrientDbPoolMetrics(1);
+        metrics.bindTo(registry);
+        validator = new OrientDbSessionValidator(IDLE_THRESHOLD_MS, metrics, clock::get);
+    }
+
+    @Test
+    public void shouldSkipValidationOfRecentlyReleasedSession() {
+        OrientGraph graph = mockGraph(true);
+
+        validator.validate(graph);
+        validator.onRelease(graph);
+        advanceClock(IDLE_THRESHOLD_MS - 1);
+        validator.validate(graph);
+
+        assertEquals(1, getCount("orientdb.pool.validation"));
+    }
+
+    @Test
+    public void shouldValidateSessionIdleLongerThanThreshold() {
+        OrientGraph graph = mockGraph(true);
+
+        validator.validate(graph);
+        validator.onRelease(graph);
+        advanceClock(IDLE_THRESHOLD_MS);
+        validator.validate(graph);
+
+        assertEquals(2, getCount("orientdb.pool.validation"));
+    }
+
+    @Test
+    public void shouldMeasureIdleTimeSinceRelease() {
+        OrientGraph graph = mockGraph(true);
+
+        validator.validate(graph);
+        advanceClock(IDLE_THRESHOLD_MS * 2);
+        validator.onRelease(graph);
+        validator.validate(graph);
+
+        assertEquals(1, getCount("orientdb.pool.validation"));
+    }
+
+    @Test
+    public void shouldValidateNotReleasedSession() {
+        OrientGraph graph = mockGraph(true);
+
+        validator.validate(graph);
+        validator.validate(graph);
+
+        assertEquals(2, getCount("orientdb.pool.validation"));
+    }
+
+    @Test
+    public void shouldValidateDistinctSessionsSeparately() {
+        validator.validate(mockGraph(true));
+        validator.validate(mockGraph(true));
+
+        assertEquals(2, getCount("orientdb.pool.validation"));
+    }
+
+    @Test
+    public void shouldValidateInvalidatedSession() {
+        OrientGraph graph = mockGraph(true);
+
+        validator.validate(graph);
+        validator.invalidate(graph);
+        validator.onRelease(graph);
+        validator.validate(graph);
+
+        assertEquals(2, getCount("orientdb.pool.validation"));
+        assertEquals(1, getCount("orientdb.pool.invalidation"));
+    }
+
+    @Test
+    public void shouldValidateAgainAfterValidationFailure() {
+        OrientGraph graph = mockGraph(false);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.validate(graph);
+                fail();
+            } catch (RecoverablePersistenceException e) {
+                // expected
+            }
+            validator.invalidate(graph);
+            validator.onRelease(graph);
+        }
+
+        assertEquals(2, getCount("orientdb.pool.validation"));
+        assertEquals(2, getCount("orientdb.pool.validation.failure"));
+    }
+
+    @Test(expected = RecoverablePersistenceException.class)
+    public void shouldRejectClosedGraph() {
+        OrientGraph graph = mockGraph(true);
+        when(graph.isClosed()).thenReturn(true);
+
+        validator.validate(graph);
+    }
+
+    private OrientGraph mockGraph(boolean testQueryResult) {
+        OResultSet resultSet = mock(OResultSet.class);
+        when(resultSet.hasNext()).thenReturn(testQueryResult);
+
+        OrientGraph graph = mock(OrientGraph.class, RETURNS_DEEP_STUBS);
+        when(graph.isClosed()).thenReturn(false);
+        when(graph.getRawDatabase()).thenReturn(mock(ODatabaseDocument.class));
+        when(graph.executeSql("SELECT 1").getRawResultSet()).thenReturn(resultSet);
+        return graph;
+    }
+
+    private void advanceClock(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private long getCount(String meterName) {
+        return (long) registry.get(meterName).counter().count();
+    }
+}
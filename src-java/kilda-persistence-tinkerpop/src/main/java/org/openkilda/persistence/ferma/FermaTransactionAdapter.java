@@ -61,21 +61,30 @@ public class FermaTransactionAdapter<T extends FermaPersistentImplementation>
         commitOrRollback(false);
     }
 
+    /**
+     * Called when commit or rollback of the transaction on the graph has failed, before the error is wrapped by
+     * {@link #wrapException(Exception)} and rethrown.
+     */
+    protected void onTransactionFailure(DelegatingFramedGraph<?> graph, Exception error) {
+        // nothing to do by default
+    }
+
     private void closeForeignTransactionIfExist() throws Exception {
         DelegatingFramedGraph<?> graph = getContextExtension().getGraphCreateIfMissing();
         WrappedTransaction currentTx = graph.tx();
         if (currentTx.isOpen()) {
             log.debug("Closing an existing underlying transaction {} on graph {}", currentTx, graph);
-            commitOrRollback(currentTx, false);
+            commitOrRollback(graph, false);
         }
     }
 
     private void commitOrRollback(boolean isSuccess) throws Exception {
-        commitOrRollback(getContextExtension().getGraphCreateIfMissing().tx(), isSuccess);
+        commitOrRollback(getContextExtension().getGraphCreateIfMissing(), isSuccess);
     }
 
-    private void commitOrRollback(WrappedTransaction transaction, boolean isSuccess) throws Exception {
+    private void commitOrRollback(DelegatingFramedGraph<?> graph, boolean isSuccess) throws Exception {
         String action = isSuccess ? "commit" : "rollback";
+        WrappedTransaction transaction = graph.tx();
 
         if (! transaction.isOpen()) {
             throw new IllegalStateException(String.format(
@@ -90,6 +99,7 @@ public class FermaTransactionAdapter<T extends FermaPersistentImplementation>
                 transaction.rollback();
             }
         } catch (Exception ex) {
+            onTransactionFailure(graph, ex);
             throw wrapException(ex);
         }
     }
@@ -44,6 +44,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -207,6 +208,28 @@ public class FermaFlowPathRepository extends FermaGenericRepository<FlowPath, Fl
         return result.values();
     }
 
+    @Override
+    public Collection<PathId> findPathIdsBySegmentSwitch(SwitchId switchId) {
+        Set<PathId> result = new HashSet<>();
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(PathSegmentFrame.FRAME_LABEL)
+                .has(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .in(FlowPathFrame.OWNS_SEGMENTS_EDGE)
+                .hasLabel(FlowPathFrame.FRAME_LABEL)
+                .values(FlowPathFrame.PATH_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .forEach(pathId -> result.add(PathIdConverter.INSTANCE.toEntityAttribute((String) pathId)));
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(PathSegmentFrame.FRAME_LABEL)
+                .has(PathSegmentFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .in(FlowPathFrame.OWNS_SEGMENTS_EDGE)
+                .hasLabel(FlowPathFrame.FRAME_LABEL)
+                .values(FlowPathFrame.PATH_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .forEach(pathId -> result.add(PathIdConverter.INSTANCE.toEntityAttribute((String) pathId)));
+        return result;
+    }
+
     @Override
     public Collection<FlowPath> findInactiveBySegmentSwitch(SwitchId switchId) {
         String downFlowStatus = FlowStatusConverter.INSTANCE.toGraphProperty(FlowStatus.DOWN);
@@ -171,6 +171,26 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
         return result.values();
     }
 
+    @Override
+    public Collection<String> findFlowsIdsByEndpoint(SwitchId switchId, int port) {
+        Set<String> result = new HashSet<>();
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL)
+                .has(FlowFrame.SRC_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .has(FlowFrame.SRC_PORT_PROPERTY, port)
+                .values(FlowFrame.FLOW_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .forEach(i -> result.add((String) i));
+        framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL)
+                .has(FlowFrame.DST_SWITCH_ID_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .has(FlowFrame.DST_PORT_PROPERTY, port)
+                .values(FlowFrame.FLOW_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .forEach(i -> result.add((String) i));
+        return result;
+    }
+
     @Override
     public Optional<Flow> findByEndpointAndVlan(SwitchId switchId, int port, int vlan) {
         List<? extends FlowFrame> flowFrames = framedGraph().traverse(g -> g.V()
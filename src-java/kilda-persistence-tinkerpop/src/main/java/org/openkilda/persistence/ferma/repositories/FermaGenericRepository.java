@@ -23,6 +23,7 @@ import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.ferma.FermaContextExtension;
 import org.openkilda.persistence.ferma.FermaPersistentImplementation;
 import org.openkilda.persistence.repositories.Repository;
+import org.openkilda.persistence.tx.Transaction;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import com.syncleus.ferma.DelegatingFramedGraph;
@@ -32,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Base repository implementation.
@@ -104,6 +106,35 @@ public abstract class FermaGenericRepository<E extends CompositeDataEntity<D>, D
         return manager.getTransactionManager(implementation.getType());
     }
 
+    /**
+     * Lookup the frame in the cache of the current transaction, use {@code loader} if there is no such entry or
+     * no active transaction.
+     */
+    protected <K> Optional<F> findCached(Class<F> frameType, K key, Function<K, Optional<F>> loader) {
+        Transaction transaction = getCurrentTransaction();
+        if (transaction == null) {
+            return loader.apply(key);
+        }
+        return transaction.getEntityCache().lookup(frameType, key, loader);
+    }
+
+    protected void evictCached(Class<F> frameType, Object key) {
+        Transaction transaction = getCurrentTransaction();
+        if (transaction != null) {
+            transaction.getEntityCache().evict(frameType, key);
+        }
+    }
+
+    private Transaction getCurrentTransaction() {
+        PersistenceContext context = PersistenceContextManager.INSTANCE.getContextCreateIfMissing();
+        Transaction transaction = context.getTransaction();
+        if (transaction == null || !transaction.isActive()
+                || transaction.getImplementationType() != implementation.getType()) {
+            return null;
+        }
+        return transaction;
+    }
+
     protected Optional<F> makeOneOrZeroResults(List<? extends F> results) {
         if (results.size() > 1) {
             throw new PersistenceException(String.format(
@@ -37,11 +37,8 @@ public class FermaKildaConfigurationRepository
 
     @Override
     public Optional<KildaConfiguration> find() {
-        List<? extends KildaConfigurationFrame> kildaConfigurationFrames = framedGraph().traverse(g -> g.V()
-                .hasLabel(KildaConfigurationFrame.FRAME_LABEL))
-                .toListExplicit(KildaConfigurationFrame.class);
-        return kildaConfigurationFrames.isEmpty() ? Optional.empty() :
-                Optional.ofNullable(kildaConfigurationFrames.get(0)).map(KildaConfiguration::new);
+        return findCached(KildaConfigurationFrame.class, KildaConfigurationFrame.FRAME_LABEL, dummy -> load())
+                .map(KildaConfiguration::new);
     }
 
     @Override
@@ -62,6 +59,7 @@ public class FermaKildaConfigurationRepository
 
     @Override
     protected void doRemove(KildaConfigurationFrame frame) {
+        evictCached(KildaConfigurationFrame.class, KildaConfigurationFrame.FRAME_LABEL);
         frame.remove();
     }
 
@@ -69,4 +67,12 @@ public class FermaKildaConfigurationRepository
     protected KildaConfigurationData doDetach(KildaConfiguration entity, KildaConfigurationFrame frame) {
         return KildaConfiguration.KildaConfigurationCloner.INSTANCE.deepCopy(frame);
     }
+
+    private Optional<KildaConfigurationFrame> load() {
+        List<? extends KildaConfigurationFrame> kildaConfigurationFrames = framedGraph().traverse(g -> g.V()
+                .hasLabel(KildaConfigurationFrame.FRAME_LABEL))
+                .toListExplicit(KildaConfigurationFrame.class);
+        return kildaConfigurationFrames.isEmpty() ? Optional.empty() :
+                Optional.ofNullable(kildaConfigurationFrames.get(0));
+    }
 }
@@ -37,10 +37,7 @@ public class FermaKildaFeatureTogglesRepository
 
     @Override
     public Optional<KildaFeatureToggles> find() {
-        List<? extends KildaFeatureTogglesFrame> featureTogglesFrames = framedGraph().traverse(g -> g.V()
-                .hasLabel(KildaFeatureTogglesFrame.FRAME_LABEL))
-                .toListExplicit(KildaFeatureTogglesFrame.class);
-        return featureTogglesFrames.isEmpty() ? Optional.empty() : Optional.of(featureTogglesFrames.get(0))
+        return findCached(KildaFeatureTogglesFrame.class, KildaFeatureTogglesFrame.FRAME_LABEL, dummy -> load())
                 .map(KildaFeatureToggles::new);
     }
 
@@ -62,6 +59,7 @@ public class FermaKildaFeatureTogglesRepository
 
     @Override
     protected void doRemove(KildaFeatureTogglesFrame frame) {
+        evictCached(KildaFeatureTogglesFrame.class, KildaFeatureTogglesFrame.FRAME_LABEL);
         frame.remove();
     }
 
@@ -69,4 +67,11 @@ public class FermaKildaFeatureTogglesRepository
     protected KildaFeatureTogglesData doDetach(KildaFeatureToggles entity, KildaFeatureTogglesFrame frame) {
         return KildaFeatureToggles.FeatureTogglesCloner.INSTANCE.deepCopy(frame);
     }
+
+    private Optional<KildaFeatureTogglesFrame> load() {
+        List<? extends KildaFeatureTogglesFrame> featureTogglesFrames = framedGraph().traverse(g -> g.V()
+                .hasLabel(KildaFeatureTogglesFrame.FRAME_LABEL))
+                .toListExplicit(KildaFeatureTogglesFrame.class);
+        return featureTogglesFrames.isEmpty() ? Optional.empty() : Optional.of(featureTogglesFrames.get(0));
+    }
 }
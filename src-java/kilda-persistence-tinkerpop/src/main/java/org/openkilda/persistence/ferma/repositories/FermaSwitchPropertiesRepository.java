@@ -50,12 +50,7 @@ public class FermaSwitchPropertiesRepository
 
     @Override
     public Optional<SwitchProperties> findBySwitchId(SwitchId switchId) {
-        List<? extends SwitchPropertiesFrame> switchPropertiesFrames = framedGraph().traverse(g -> g.V()
-                .hasLabel(SwitchPropertiesFrame.FRAME_LABEL)
-                .has(SwitchPropertiesFrame.SWITCH_ID_PROPERTY,
-                        SwitchIdConverter.INSTANCE.toGraphProperty(switchId)))
-                .toListExplicit(SwitchPropertiesFrame.class);
-        return switchPropertiesFrames.isEmpty() ? Optional.empty() : Optional.of(switchPropertiesFrames.get(0))
+        return findCached(SwitchPropertiesFrame.class, switchId, this::loadBySwitchId)
                 .map(SwitchProperties::new);
     }
 
@@ -69,6 +64,7 @@ public class FermaSwitchPropertiesRepository
 
     @Override
     protected void doRemove(SwitchPropertiesFrame frame) {
+        evictCached(SwitchPropertiesFrame.class, frame.getSwitchId());
         frame.remove();
     }
 
@@ -76,4 +72,13 @@ public class FermaSwitchPropertiesRepository
     protected SwitchPropertiesData doDetach(SwitchProperties entity, SwitchPropertiesFrame frame) {
         return SwitchProperties.SwitchPropertiesCloner.INSTANCE.deepCopy(frame);
     }
+
+    private Optional<SwitchPropertiesFrame> loadBySwitchId(SwitchId switchId) {
+        List<? extends SwitchPropertiesFrame> switchPropertiesFrames = framedGraph().traverse(g -> g.V()
+                .hasLabel(SwitchPropertiesFrame.FRAME_LABEL)
+                .has(SwitchPropertiesFrame.SWITCH_ID_PROPERTY,
+                        SwitchIdConverter.INSTANCE.toGraphProperty(switchId)))
+                .toListExplicit(SwitchPropertiesFrame.class);
+        return switchPropertiesFrames.isEmpty() ? Optional.empty() : Optional.of(switchPropertiesFrames.get(0));
+    }
 }
@@ -88,7 +88,9 @@ public class FermaSwitchRepository extends FermaGenericRepository<Switch, Switch
 
     @Override
     public Optional<Switch> findById(SwitchId switchId) {
-        return SwitchFrame.load(framedGraph(), SwitchIdConverter.INSTANCE.toGraphProperty(switchId)).map(Switch::new);
+        return findCached(SwitchFrame.class, switchId,
+                id -> SwitchFrame.load(framedGraph(), SwitchIdConverter.INSTANCE.toGraphProperty(id)))
+                .map(Switch::new);
     }
 
     @Override
@@ -117,7 +119,7 @@ public class FermaSwitchRepository extends FermaGenericRepository<Switch, Switch
         SwitchData data = entity.getData();
         if (data instanceof SwitchFrame) {
             if (! isMeaningfulRelationsExists((SwitchFrame) data)) {
-                ((SwitchFrame) data).remove();
+                doRemove((SwitchFrame) data);
                 return true;
             }
             return false;
@@ -136,6 +138,7 @@ public class FermaSwitchRepository extends FermaGenericRepository<Switch, Switch
 
     @Override
     protected void doRemove(SwitchFrame frame) {
+        evictCached(SwitchFrame.class, frame.getSwitchId());
         frame.remove();
     }
 
@@ -75,6 +75,23 @@ public class FermaFlowMeterRepositoryTest extends InMemoryGraphBasedTest {
         assertFalse(meters.isPresent());
     }
 
+    @Test
+    public void shouldFindFlowMetersBySwitchId() {
+        Switch anotherSwitch = createTestSwitch(2);
+        createFlowMeter(1, new PathId(TEST_PATH_ID));
+        flowMeterRepository.add(FlowMeter.builder()
+                .switchId(anotherSwitch.getSwitchId())
+                .meterId(new MeterId(2))
+                .pathId(new PathId(TEST_PATH_ID + "_2"))
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<FlowMeter> foundMeters = flowMeterRepository.findBySwitchId(theSwitch.getSwitchId());
+
+        assertEquals(1, foundMeters.size());
+        assertEquals(new MeterId(1), foundMeters.iterator().next().getMeterId());
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         FlowMeter meter = createFlowMeter();
@@ -310,6 +310,17 @@ public class FermaFlowPathRepositoryTest extends InMemoryGraphBasedTest {
         assertThat(foundPaths, hasSize(1));
     }
 
+    @Test
+    public void shouldFindPathIdsBySegmentSwitch() {
+        FlowPath flowPath = createTestFlowPathWithIntermediate(switchC, 100);
+        flow.setForwardPath(flowPath);
+
+        assertEquals(Collections.singleton(flowPath.getPathId()),
+                Sets.newHashSet(flowPathRepository.findPathIdsBySegmentSwitch(switchC.getSwitchId())));
+        assertEquals(Collections.singleton(flowPath.getPathId()),
+                Sets.newHashSet(flowPathRepository.findPathIdsBySegmentSwitch(switchA.getSwitchId())));
+    }
+
     @Test
     public void shouldFindInactivePathBySegmentSwitch() {
         Flow activeFlow = Flow.builder()
@@ -281,6 +281,21 @@ public class FermaFlowRepositoryTest extends InMemoryGraphBasedTest {
         assertThat(foundFlowIds, Matchers.hasSize(1));
     }
 
+    @Test
+    public void shouldFindFlowsIdsByEndpoint() {
+        createTestFlow(TEST_FLOW_ID, switchA, PORT_1, VLAN_1, switchB, PORT_2, VLAN_2);
+        createTestFlow(TEST_FLOW_ID_2, switchA, PORT_1, VLAN_2, switchB, PORT_2, 0);
+        createTestFlow(TEST_FLOW_ID_3, switchB, PORT_3, VLAN_1, switchA, PORT_1, VLAN_3);
+
+        assertEquals(newHashSet(TEST_FLOW_ID, TEST_FLOW_ID_2, TEST_FLOW_ID_3),
+                new HashSet<>(flowRepository.findFlowsIdsByEndpoint(switchA.getSwitchId(), PORT_1)));
+        assertEquals(newHashSet(TEST_FLOW_ID, TEST_FLOW_ID_2),
+                new HashSet<>(flowRepository.findFlowsIdsByEndpoint(switchB.getSwitchId(), PORT_2)));
+        assertEquals(newHashSet(TEST_FLOW_ID_3),
+                new HashSet<>(flowRepository.findFlowsIdsByEndpoint(switchB.getSwitchId(), PORT_3)));
+        assertTrue(flowRepository.findFlowsIdsByEndpoint(switchB.getSwitchId(), PORT_1).isEmpty());
+    }
+
     @Test
     public void shouldNotFindFlowByEndpointAndVlan() {
         assertFalse(flowRepository.findByEndpointAndVlan(new SwitchId(1234), 999, 999).isPresent());
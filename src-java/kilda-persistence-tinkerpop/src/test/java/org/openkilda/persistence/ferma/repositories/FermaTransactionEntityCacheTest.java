@@ -0,0 +1,130 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.ferma.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.model.KildaFeatureToggles;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.KildaFeatureTogglesRepository;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.tx.TransactionManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FermaTransactionEntityCacheTest extends InMemoryGraphBasedTest {
+    static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
+
+    TransactionManager cachingTransactionManager;
+    SwitchRepository switchRepository;
+    SwitchPropertiesRepository switchPropertiesRepository;
+    KildaFeatureTogglesRepository featureTogglesRepository;
+
+    @Before
+    public void setUp() {
+        cachingTransactionManager = new TransactionManager(inMemoryGraphPersistenceImplementation, 0, 0, true);
+        switchRepository = repositoryFactory.createSwitchRepository();
+        switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        featureTogglesRepository = repositoryFactory.createFeatureTogglesRepository();
+    }
+
+    @Test
+    public void shouldReuseLoadedSwitchInTransaction() {
+        createTestSwitch(TEST_SWITCH_ID);
+
+        cachingTransactionManager.doInTransaction(() -> {
+            Switch first = switchRepository.findById(TEST_SWITCH_ID).get();
+            Switch second = switchRepository.findById(TEST_SWITCH_ID).get();
+            assertNotSame(first, second);
+            assertSame(first.getData(), second.getData());
+
+            first.setDescription("updated");
+            assertEquals("updated", switchRepository.findById(TEST_SWITCH_ID).get().getDescription());
+        });
+
+        assertEquals("updated", switchRepository.findById(TEST_SWITCH_ID).get().getDescription());
+    }
+
+    @Test
+    public void shouldNotCacheOutsideOfTransaction() {
+        createTestSwitch(TEST_SWITCH_ID);
+
+        assertNotSame(switchRepository.findById(TEST_SWITCH_ID).get().getData(),
+                switchRepository.findById(TEST_SWITCH_ID).get().getData());
+    }
+
+    @Test
+    public void shouldNotReuseCacheAfterRollback() {
+        createTestSwitch(TEST_SWITCH_ID);
+        AtomicReference<Object> loaded = new AtomicReference<>();
+
+        try {
+            cachingTransactionManager.doInTransaction(() -> {
+                loaded.set(switchRepository.findById(TEST_SWITCH_ID).get().getData());
+                if (loaded.get() != null) {
+                    throw new IllegalStateException("force rollback");
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        cachingTransactionManager.doInTransaction(() -> {
+            Object reloaded = switchRepository.findById(TEST_SWITCH_ID).get().getData();
+            assertNotSame(loaded.get(), reloaded);
+        });
+    }
+
+    @Test
+    public void shouldEvictRemovedEntities() {
+        Switch sw = createTestSwitch(TEST_SWITCH_ID);
+        switchPropertiesRepository.add(SwitchProperties.builder().switchObj(sw).build());
+
+        cachingTransactionManager.doInTransaction(() -> {
+            SwitchProperties properties = switchPropertiesRepository.findBySwitchId(TEST_SWITCH_ID).get();
+            switchPropertiesRepository.remove(properties);
+            assertFalse(switchPropertiesRepository.findBySwitchId(TEST_SWITCH_ID).isPresent());
+
+            switchRepository.remove(switchRepository.findById(TEST_SWITCH_ID).get());
+            assertFalse(switchRepository.findById(TEST_SWITCH_ID).isPresent());
+        });
+    }
+
+    @Test
+    public void shouldFindEntityAddedAfterMissInTransaction() {
+        cachingTransactionManager.doInTransaction(() -> {
+            assertFalse(featureTogglesRepository.find().isPresent());
+            featureTogglesRepository.add(KildaFeatureToggles.builder().createFlowEnabled(false).build());
+
+            assertFalse(featureTogglesRepository.getOrDefault().getCreateFlowEnabled());
+            featureTogglesRepository.find().get().setCreateFlowEnabled(true);
+            assertTrue(featureTogglesRepository.getOrDefault().getCreateFlowEnabled());
+        });
+    }
+}
@@ -27,11 +27,11 @@ import org.openkilda.messaging.nbtopology.response.SwitchPropertiesResponse;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowMirrorPath;
 import org.openkilda.model.FlowMirrorPoints;
-import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.LagLogicalPort;
+import org.openkilda.model.PathId;
 import org.openkilda.model.PhysicalPort;
 import org.openkilda.model.PortProperties;
 import org.openkilda.model.Switch;
@@ -255,7 +255,7 @@ public class SwitchOperationsService {
      * @throws IllegalSwitchStateException if switch has Flow Segment relations
      */
     public void checkSwitchHasNoFlowSegments(SwitchId switchId) throws IllegalSwitchStateException {
-        Collection<FlowPath> flowPaths = flowPathRepository.findBySegmentSwitch(switchId);
+        Collection<PathId> flowPaths = flowPathRepository.findPathIdsBySegmentSwitch(switchId);
 
         if (!flowPaths.isEmpty()) {
             String message = format("Switch '%s' has %d assigned rules. It must be freed first.",
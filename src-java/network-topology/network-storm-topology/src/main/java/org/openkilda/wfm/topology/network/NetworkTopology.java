@@ -118,6 +118,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         outputNorthbound(topology);
         outputGrpc(topology);
         outputFlowMonitoring(topology);
+        outputMetrics(topology);
 
         historyBolt(topology);
 
@@ -246,9 +247,9 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
     private void watcher(TopologyBuilder topology) {
         WatcherHandler bolt = new WatcherHandler(options);
-        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH,
-                WatchListHandler.FIELD_ID_PORT_NUMBER);
-        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH, SpeakerRouter.FIELD_ID_PORT_NUMBER);
+        // grouped by switch only, so discovery requests for all ports of a switch can be sent as one batch
+        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH);
+        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         declareBolt(topology, bolt, WatcherHandler.BOLT_ID)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(WatchListHandler.BOLT_ID, watchListGrouping)
@@ -329,6 +330,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         IslHandler bolt = new IslHandler(persistenceManager, options);
         Fields islGrouping = new Fields(UniIslHandler.FIELD_ID_ISL_SOURCE, UniIslHandler.FIELD_ID_ISL_DEST);
         declareBolt(topology, bolt, IslHandler.BOLT_ID)
+                .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(UniIslHandler.BOLT_ID, islGrouping)
                 .fieldsGrouping(SpeakerRouter.BOLT_ID, SpeakerRouter.STREAM_ISL_ID, islGrouping)
                 .directGrouping(SpeakerRulesWorker.BOLT_ID, SpeakerRulesWorker.STREAM_HUB_ID);
@@ -418,6 +420,12 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
                 .shuffleGrouping(FlowMonitoringEncoder.BOLT_ID);
     }
 
+    private void outputMetrics(TopologyBuilder topology) {
+        KafkaBolt<String, String> output = createKafkaBolt(kafkaTopics.getOtsdbTopic());
+        declareBolt(topology, output, ComponentId.METRICS_OUTPUT.toString())
+                .shuffleGrouping(IslHandler.BOLT_ID, IslHandler.STREAM_METRICS_ID);
+    }
+
     private void historyBolt(TopologyBuilder topology) {
         HistoryHandler bolt = new HistoryHandler(persistenceManager);
         declareBolt(topology, bolt, ComponentId.HISTORY_HANDLER.toString())
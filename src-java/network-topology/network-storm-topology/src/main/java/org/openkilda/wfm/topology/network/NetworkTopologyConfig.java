@@ -46,6 +46,10 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
         return getDiscoveryConfig().getDiscoveryTimeout();
     }
 
+    default boolean isDiscoveryBatchEnabled() {
+        return getDiscoveryConfig().isDiscoveryBatchEnabled();
+    }
+
     default boolean isBfdEnabled() {
         return getDiscoveryConfig().isBfdEnabled();
     }
@@ -104,6 +108,12 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
     @Default("3")
     long getSwitchOfflineGenerationLag();
 
+    @Key("isl.flush.coalescing.delay.ms")
+    // Monitors data changes that do not affect ISL status are collected during this period and written together
+    // with other ISLs changes. Zero value disables coalescing, so each change is written immediately.
+    @Default("0")
+    long getIslFlushCoalescingDelay();
+
     @Configuration
     @Key("discovery")
     interface DiscoveryConfig {
@@ -128,5 +138,9 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
         @Key("db.write.repeats.time.frame")
         @Default("30")
         long getDbRepeatsTimeFrameSeconds();
+
+        @Key("batch.requests")
+        @Default("false")
+        boolean isDiscoveryBatchEnabled();
     }
 }
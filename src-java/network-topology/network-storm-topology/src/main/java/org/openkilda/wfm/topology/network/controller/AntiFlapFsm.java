@@ -34,6 +34,7 @@ import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.Optional;
 
 @Slf4j
 public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event, Context>  {
@@ -215,6 +216,29 @@ public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event
         downEventsCount = 0;
     }
 
+    /**
+     * Time of the earliest TICK event that can change the FSM state. Empty if TICK events are ignored in the current
+     * state.
+     */
+    public Optional<Long> getNextTickTime() {
+        switch (getCurrentState()) {
+            case WARMING_UP:
+                long warmUpEnd = startTime + delayWarmUp + 1;
+                if (downWasLast()) {
+                    return Optional.of(Math.min(downTime + delayMin + 1, warmUpEnd));
+                }
+                return Optional.of(warmUpEnd);
+            case COOLING_DOWN:
+                long coolingDownEnd = last() + delayCoolingDown + 1;
+                if (statsDumpingInterval > 0) {
+                    return Optional.of(Math.min(lastStatsSent + statsDumpingInterval + 1, coolingDownEnd));
+                }
+                return Optional.of(coolingDownEnd);
+            default:
+                return Optional.empty();
+        }
+    }
+
     // -- private/service methods --
 
     private boolean upWasLast() {
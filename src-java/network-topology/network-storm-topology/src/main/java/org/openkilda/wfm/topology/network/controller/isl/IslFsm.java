@@ -81,6 +81,9 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
     private long islRulesAttempts;
 
+    private final boolean flushCoalescingEnabled;
+    private int pendingFlushRequests = 0;
+
     private DiscoveryBfdMonitor discoveryBfdMonitor;
     private List<DiscoveryMonitor<?>> monitorsByPriority = Collections.emptyList();
     private StatusAggregator statusAggregator = new StatusAggregator();
@@ -111,6 +114,8 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
         this.reference = reference;
 
+        flushCoalescingEnabled = 0 < options.getIslFlushCoalescingDelay();
+
         this.dashboardLogger = dashboardLogger;
 
         endpointResourcesManagementCompleteStatus = new BiIslDataHolder<>(reference);
@@ -151,6 +156,8 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     }
 
     public void operationalExit(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
+        // ISL is going to be removed, there is no reason to write monitors data changes collected so far
+        pendingFlushRequests = 0;
         sendBfdDisable(context.getOutput());
         disableAuxiliaryPollMode(context.getOutput());
     }
@@ -176,7 +183,11 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     }
 
     public void flushAction(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
-        flushTransaction();
+        if (flushCoalescingEnabled) {
+            pendingFlushRequests += 1;
+        } else {
+            flushTransaction();
+        }
     }
 
     public void removeAttempt(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
@@ -460,30 +471,53 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         }
     }
 
+    /**
+     * Write changes postponed by coalesced {@link IslFsmEvent#_FLUSH} requests. Must be called inside a transaction,
+     * so the caller is able to write several ISLs at once.
+     */
+    public void flushPendingChanges() {
+        pendingFlushRequests = 0;
+        flush(clock.instant());
+    }
+
+    /**
+     * Number of {@link IslFsmEvent#_FLUSH} requests received since the last write of the ISL.
+     */
+    public int getPendingFlushRequests() {
+        return pendingFlushRequests;
+    }
+
+    public boolean isFlushPending() {
+        return 0 < pendingFlushRequests;
+    }
+
     private void flushTransaction() {
+        // the write below includes all postponed changes
+        pendingFlushRequests = 0;
         transactionManager.doInTransaction(transactionRetryPolicy, () -> flush(clock.instant()));
     }
 
     private void flush(Instant timeNow) {
-        Socket socket = prepareSocket();
-        flush(socket.getSource(), socket.getDest(), timeNow);
-        flush(socket.getDest(), socket.getSource(), timeNow);
+        flush(reference.getSource(), reference.getDest(), timeNow);
+        flush(reference.getDest(), reference.getSource(), timeNow);
     }
 
-    private void flush(Anchor source, Anchor dest, Instant timeNow) {
-        Optional<Isl> storedIsl = loadIsl(source.getEndpoint(), dest.getEndpoint());
-        Isl link = storedIsl.orElseGet(() -> createIsl(source, dest, timeNow));
+    private void flush(Endpoint source, Endpoint dest, Instant timeNow) {
+        Optional<Isl> storedIsl = loadIsl(source, dest);
+        // switches are required only to create the ISL, so they are not loaded on regular flush
+        Isl link = storedIsl.orElseGet(() -> createIsl(
+                loadSwitchCreateIfMissing(source), loadSwitchCreateIfMissing(dest), timeNow));
 
         link.setTimeModify(timeNow);
 
         long maxBandwidth = link.getMaxBandwidth();
         for (DiscoveryMonitor<?> entry : monitorsByPriority) {
-            entry.flush(source.getEndpoint(), link);
+            entry.flush(source, link);
         }
 
-        applyIslMaxBandwidth(link, source.getEndpoint(), dest.getEndpoint());
+        applyIslMaxBandwidth(link, source, dest);
         if (!storedIsl.isPresent() || maxBandwidth != link.getMaxBandwidth()) {
-            applyIslAvailableBandwidth(link, source.getEndpoint(), dest.getEndpoint());
+            applyIslAvailableBandwidth(link, source, dest);
         }
 
         link.setStatus(statusAggregator.getEffectiveStatus());
@@ -534,13 +568,6 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         return true;
     }
 
-    private Socket prepareSocket() {
-        Anchor source = loadSwitchCreateIfMissing(reference.getSource());
-        Anchor dest = loadSwitchCreateIfMissing(reference.getDest());
-
-        return new Socket(source, dest);
-    }
-
     private Isl createIsl(Anchor source, Anchor dest, Instant timeNow) {
         final Endpoint sourceEndpoint = source.getEndpoint();
         final Endpoint destEndpoint = dest.getEndpoint();
@@ -721,12 +748,6 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         Switch sw;
     }
 
-    @Value
-    private static class Socket {
-        Anchor source;
-        Anchor dest;
-    }
-
     public static class IslFsmFactory {
         private final Clock clock;
 
@@ -39,6 +39,8 @@ public class NetworkOptions implements Serializable {
 
     private Duration discoveryTimeout;
 
+    private boolean discoveryBatchEnabled;
+
     private Integer bfdLogicalPortOffset;
 
     private Integer bfdLogicalPortMaxNumber;
@@ -65,12 +67,15 @@ public class NetworkOptions implements Serializable {
 
     private long switchOfflineGenerationLag;
 
+    private long islFlushCoalescingDelay;
+
     public NetworkOptions(NetworkTopologyConfig topologyConfig) {
         discoveryGenericInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryGenericInterval());
         discoveryExhaustedInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryExhaustedInterval());
         discoveryAuxiliaryInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryAuxiliaryInterval());
         discoveryPacketTtl = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryPacketTtl());
         discoveryTimeout = Duration.ofSeconds(topologyConfig.getDiscoveryTimeout());
+        discoveryBatchEnabled = topologyConfig.isDiscoveryBatchEnabled();
 
         lagLogicalPortOffset = topologyConfig.getLagPortOffset();
         bfdLogicalPortOffset = topologyConfig.getBfdPortOffset();
@@ -91,5 +96,6 @@ public class NetworkOptions implements Serializable {
         rulesSynchronizationAttempts = topologyConfig.getRulesSynchronizationAttempts();
 
         switchOfflineGenerationLag = topologyConfig.getSwitchOfflineGenerationLag();
+        islFlushCoalescingDelay = TimeUnit.MILLISECONDS.toNanos(topologyConfig.getIslFlushCoalescingDelay());
     }
 }
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.wfm.share.model.Endpoint;
@@ -28,5 +29,7 @@ public interface IWatcherCarrier {
 
     void sendDiscovery(DiscoverIslCommandData discoveryRequest);
 
+    void sendDiscoveryBatch(DiscoverIslBatchCommandData discoveryRequest);
+
     void clearDiscovery(Endpoint endpoint);
 }
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.wfm.share.hubandspoke.TimingWheel;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.NetworkTopologyDashboardLogger;
@@ -29,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 public class NetworkAntiFlapService {
@@ -37,6 +39,7 @@ public class NetworkAntiFlapService {
     private final AntiFlapFsm.AntiFlapFsmFactory controllerFactory;
     private final Map<Endpoint, AntiFlapFsm> controller = new HashMap<>();
     private final FsmExecutor<AntiFlapFsm, State, Event, Context> controllerExecutor;
+    private final TimingWheel<Endpoint, Endpoint> ticks = TimingWheel.forNanoTime();
 
     private final IAntiFlapCarrier carrier;
     private final AntiFlapFsm.Config config;
@@ -74,6 +77,7 @@ public class NetworkAntiFlapService {
         }
         log.debug("Physical port {} become {}", endpoint, event);
         controllerExecutor.fire(fsm, event, new AntiFlapFsm.Context(carrier, timeMs));
+        scheduleTick(endpoint, fsm);
     }
 
     /**
@@ -85,17 +89,32 @@ public class NetworkAntiFlapService {
 
     @VisibleForTesting
     void tick(long timeMs) {
-        controller.values().forEach(fsm ->
-                controllerExecutor.fire(fsm, AntiFlapFsm.Event.TICK, new AntiFlapFsm.Context(carrier, timeMs)));
+        for (Endpoint endpoint : ticks.advance(timeMs + 1)) {
+            AntiFlapFsm fsm = controller.get(endpoint);
+            if (fsm != null) {
+                controllerExecutor.fire(fsm, AntiFlapFsm.Event.TICK, new AntiFlapFsm.Context(carrier, timeMs));
+                scheduleTick(endpoint, fsm);
+            }
+        }
     }
 
     public void reset() {
         log.info("Clean all ports anti-flap state");
         controller.clear();
+        ticks.clear();
     }
 
     // -- private --
 
+    private void scheduleTick(Endpoint endpoint, AntiFlapFsm fsm) {
+        Optional<Long> tickTime = fsm.getNextTickTime();
+        if (tickTime.isPresent()) {
+            ticks.schedule(endpoint, endpoint, tickTime.get());
+        } else {
+            ticks.cancel(endpoint);
+        }
+    }
+
     private AntiFlapFsm locateController(Endpoint endpoint) {
         AntiFlapFsm fsm = controller.get(endpoint);
         if (fsm == null) {
@@ -22,6 +22,9 @@ import org.openkilda.messaging.info.discovery.RemoveIslDefaultRulesResult;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.tx.TransactionManager;
+import org.openkilda.wfm.share.hubandspoke.TimingWheel;
+import org.openkilda.wfm.share.metrics.MeterRegistryHolder;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
 import org.openkilda.wfm.share.utils.FsmExecutor;
@@ -38,10 +41,15 @@ import org.openkilda.wfm.topology.network.model.RoundTripStatus;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
+import net.jodah.failsafe.RetryPolicy;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class NetworkIslService {
@@ -51,6 +59,12 @@ public class NetworkIslService {
 
     private final IIslCarrier carrier;
     private final NetworkOptions options;
+    private final Clock clock;
+
+    private final TransactionManager transactionManager;
+    private final RetryPolicy<?> transactionRetryPolicy;
+
+    private final TimingWheel<IslReference, IslReference> pendingFlush = TimingWheel.forNanoTime();
 
     public NetworkIslService(IIslCarrier carrier, PersistenceManager persistenceManager, NetworkOptions options) {
         this(carrier, persistenceManager, options, NetworkTopologyDashboardLogger.builder(), Clock.systemUTC());
@@ -61,6 +75,11 @@ public class NetworkIslService {
                       NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder, Clock clock) {
         this.carrier = carrier;
         this.options = options;
+        this.clock = clock;
+
+        transactionManager = persistenceManager.getTransactionManager();
+        transactionRetryPolicy = transactionManager.getDefaultRetryPolicy()
+                .withMaxDuration(Duration.ofSeconds(options.getDbRepeatMaxDurationSeconds()));
 
         controllerFactory = IslFsm.factory(clock, persistenceManager, dashboardLoggerBuilder);
         controllerExecutor = controllerFactory.produceExecutor();
@@ -89,7 +108,7 @@ public class NetworkIslService {
         IslFsmContext context = IslFsmContext.builder(carrier, endpoint)
                 .islData(islData)
                 .build();
-        controllerExecutor.fire(islFsm, IslFsmEvent.ISL_UP, context);
+        fire(reference, islFsm, IslFsmEvent.ISL_UP, context);
     }
 
     /**
@@ -101,7 +120,7 @@ public class NetworkIslService {
         IslFsmContext context = IslFsmContext.builder(carrier, endpoint)
                 .downReason(reason)
                 .build();
-        controllerExecutor.fire(islFsm, IslFsmEvent.ISL_DOWN, context);
+        fire(reference, islFsm, IslFsmEvent.ISL_DOWN, context);
     }
 
     /**
@@ -111,7 +130,7 @@ public class NetworkIslService {
         log.debug("ISL service receive MOVED(FAIL) notification for {} (on {})", reference, endpoint);
         IslFsm islFsm = locateController(reference);
         IslFsmContext context = IslFsmContext.builder(carrier, endpoint).build();
-        controllerExecutor.fire(islFsm, IslFsmEvent.ISL_MOVE, context);
+        fire(reference, islFsm, IslFsmEvent.ISL_MOVE, context);
     }
 
     /**
@@ -128,7 +147,7 @@ public class NetworkIslService {
         IslFsmContext context = IslFsmContext.builder(carrier, status.getEndpoint())
                 .roundTripStatus(status)
                 .build();
-        controllerExecutor.fire(islFsm, IslFsmEvent.ROUND_TRIP_STATUS, context);
+        fire(reference, islFsm, IslFsmEvent.ROUND_TRIP_STATUS, context);
     }
 
     /**
@@ -157,7 +176,7 @@ public class NetworkIslService {
                         format("Unsupported %s value %s", status.getClass().getName(), status));
         }
         IslFsmContext context = IslFsmContext.builder(carrier, endpoint).build();
-        controllerExecutor.fire(islFsm, event, context);
+        fire(reference, islFsm, event, context);
     }
 
     /**
@@ -166,7 +185,7 @@ public class NetworkIslService {
     public void bfdPropertiesUpdate(IslReference reference) {
         log.debug("ISL service receive BFD properties update notification for {}", reference);
         IslFsmContext context = IslFsmContext.builder(carrier, reference.getSource()).build();
-        controllerExecutor.fire(locateController(reference), IslFsmEvent.BFD_PROPERTIES_UPDATE, context);
+        fire(reference, locateController(reference), IslFsmEvent.BFD_PROPERTIES_UPDATE, context);
     }
 
     /**
@@ -230,6 +249,16 @@ public class NetworkIslService {
         removeIfCompleted(reference, controller);
     }
 
+    /**
+     * Handle timer tick - write ISLs with changes postponed by flush coalescing.
+     */
+    public void tick() {
+        List<IslReference> expired = pendingFlush.advance(now() + 1);
+        if (!expired.isEmpty()) {
+            flushPendingChanges(expired);
+        }
+    }
+
     /**
      * Remove isl by request.
      */
@@ -275,9 +304,73 @@ public class NetworkIslService {
         return controllerFactory.produce(options, reference, context);
     }
 
+    private void fire(IslReference reference, IslFsm islFsm, IslFsmEvent event, IslFsmContext context) {
+        int pendingBefore = islFsm.getPendingFlushRequests();
+        controllerExecutor.fire(islFsm, event, context);
+
+        int pendingAfter = islFsm.getPendingFlushRequests();
+        if (pendingAfter < pendingBefore) {
+            // postponed changes have been written by FSM itself, all requests counted now were received after it
+            pendingBefore = 0;
+        }
+        countFlushEvent("isl.flush.requests", pendingAfter - pendingBefore);
+
+        // do not move existing deadline, so continuous updates can't postpone write forever
+        if (0 < pendingAfter && !pendingFlush.getDeadline(reference).isPresent()) {
+            pendingFlush.schedule(reference, reference, now() + options.getIslFlushCoalescingDelay());
+        }
+    }
+
+    private void flushPendingChanges(List<IslReference> references) {
+        List<IslFsm> batch = new ArrayList<>(references.size());
+        for (IslReference entry : references) {
+            IslFsm islFsm = controller.get(entry);
+            if (islFsm != null && islFsm.isFlushPending()) {
+                batch.add(islFsm);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionManager.doInTransaction(
+                    transactionRetryPolicy, () -> batch.forEach(IslFsm::flushPendingChanges));
+            countFlushEvent("isl.flush.transactions", 1);
+            countFlushEvent("isl.flush.writes", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Unable to write {} ISLs in one transaction, retry with one transaction per ISL - {}",
+                    batch.size(), e.getMessage());
+            for (IslFsm islFsm : batch) {
+                flushPendingChangesSeparately(islFsm);
+            }
+        }
+    }
+
+    private void flushPendingChangesSeparately(IslFsm islFsm) {
+        try {
+            transactionManager.doInTransaction(transactionRetryPolicy, islFsm::flushPendingChanges);
+            countFlushEvent("isl.flush.transactions", 1);
+            countFlushEvent("isl.flush.writes", 1);
+        } catch (RuntimeException e) {
+            log.error("Unable to write ISL postponed changes - {}", e.getMessage(), e);
+        }
+    }
+
+    private void countFlushEvent(String meterName, long amount) {
+        if (0 < amount) {
+            MeterRegistryHolder.getRegistry().ifPresent(registry -> registry.counter(meterName).increment(amount));
+        }
+    }
+
+    private long now() {
+        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    }
+
     private void removeIfCompleted(IslReference reference, IslFsm controller) {
         if (controller.isTerminated()) {
             this.controller.remove(reference);
+            pendingFlush.cancel(reference);
             log.info("ISL {} have been removed", reference);
         }
     }
@@ -15,8 +15,11 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.hubandspoke.TimingWheel;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
 
@@ -24,28 +27,39 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatcherService {
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
+    private final boolean batchEnabled;
 
     private long packetNo = 0;
     private Set<Packet> discoveryPackets = new HashSet<>();
     private Set<Packet> roundTripPackets = new HashSet<>();
 
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private final TimingWheel<Packet, Packet> timeouts = TimingWheel.forNanoTime();
+
+    private final Map<Endpoint, Set<Packet>> packetsByEndpoint = new HashMap<>();
+    private final Map<SwitchId, List<DiscoverIslCommandData>> pendingRequests = new HashMap<>();
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
+        this(carrier, awaitTime, taskId, false);
+    }
+
+    public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId, boolean batchEnabled) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+        this.batchEnabled = batchEnabled;
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -59,13 +73,19 @@ public class NetworkWatcherService {
 
         discoveryPackets.add(packet);
         roundTripPackets.add(packet);
-
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
+        packetsByEndpoint.computeIfAbsent(endpoint, key -> new HashSet<>())
                 .add(packet);
 
+        timeouts.schedule(packet, packet, currentTime + awaitTime);
+
         DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
                 endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+        if (batchEnabled) {
+            pendingRequests.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                    .add(discoveryRequest);
+        } else {
+            carrier.sendDiscovery(discoveryRequest);
+        }
 
         packetNo += 1;
     }
@@ -76,9 +96,36 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        discoveryPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        roundTripPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+
+        Set<Packet> packets = packetsByEndpoint.remove(endpoint);
+        if (packets != null) {
+            for (Packet packet : packets) {
+                discoveryPackets.remove(packet);
+                roundTripPackets.remove(packet);
+                confirmedPackets.remove(packet);
+                timeouts.cancel(packet);
+            }
+        }
+
+        List<DiscoverIslCommandData> pending = pendingRequests.get(endpoint.getDatapath());
+        if (pending != null) {
+            pending.removeIf(request -> request.getPortNumber() == endpoint.getPortNumber());
+        }
+    }
+
+    /**
+     * Send collected discovery requests, one speaker command per switch.
+     */
+    public void flushDiscoveryRequests() {
+        for (Map.Entry<SwitchId, List<DiscoverIslCommandData>> entry : pendingRequests.entrySet()) {
+            List<DiscoverIslCommandData> requests = entry.getValue();
+            if (requests.size() == 1) {
+                carrier.sendDiscovery(requests.get(0));
+            } else if (!requests.isEmpty()) {
+                carrier.sendDiscoveryBatch(new DiscoverIslBatchCommandData(entry.getKey(), requests));
+            }
+        }
+        pendingRequests.clear();
     }
 
     /**
@@ -89,14 +136,10 @@ public class NetworkWatcherService {
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
+        flushDiscoveryRequests();
+
+        for (Packet packet : timeouts.advance(tickTime + 1)) {
+            timeoutAction(packet);
         }
     }
 
@@ -161,6 +204,7 @@ public class NetworkWatcherService {
     private void timeoutAction(Packet packet) {
         discoveryPackets.remove(packet);
         roundTripPackets.remove(packet);
+        removeFromEndpointIndex(packet);
 
         if (confirmedPackets.remove(packet)) {
             log.debug("Detect discovery packet lost sent via {} id:{} task:{}",
@@ -169,6 +213,13 @@ public class NetworkWatcherService {
         }
     }
 
+    private void removeFromEndpointIndex(Packet packet) {
+        Set<Packet> packets = packetsByEndpoint.get(packet.endpoint);
+        if (packets != null && packets.remove(packet) && packets.isEmpty()) {
+            packetsByEndpoint.remove(packet.endpoint);
+        }
+    }
+
     private long now() {
         return System.nanoTime();
     }
@@ -184,10 +235,15 @@ public class NetworkWatcherService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    TimingWheel<Packet, Packet> getTimeouts() {
         return timeouts;
     }
 
+    @VisibleForTesting
+    Map<Endpoint, Set<Packet>> getPacketsByEndpoint() {
+        return packetsByEndpoint;
+    }
+
     @Value(staticConstructor = "of")
     public static class Packet {
         private final Endpoint endpoint;
@@ -61,7 +61,9 @@ public enum ComponentId {
     GRPC_OUTPUT("grpc.output"),
 
     FLOW_MONITORING_ENCODER("flow.monitoring.encoder"),
-    FLOW_MONITORING_OUTPUT("flow.monitoring.output");
+    FLOW_MONITORING_OUTPUT("flow.monitoring.output"),
+
+    METRICS_OUTPUT("metrics.output");
 
     private final String value;
 
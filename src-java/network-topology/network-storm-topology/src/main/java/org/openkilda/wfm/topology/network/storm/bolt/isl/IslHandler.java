@@ -29,6 +29,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.bolt.KafkaEncoder;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.hubandspoke.TaskIdBasedKeyFactory;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
@@ -96,6 +97,8 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     public static final Fields STREAM_FLOW_MONITORING_FIELDS = new Fields(
             KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    public static final String STREAM_METRICS_ID = "metrics";
+
     private final NetworkOptions options;
 
     private transient NetworkIslService service;
@@ -105,12 +108,15 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     public IslHandler(PersistenceManager persistenceManager, NetworkOptions options) {
         super(persistenceManager);
         this.options = options;
+        enableMeterRegistry("kilda.network", STREAM_METRICS_ID);
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
         String source = input.getSourceComponent();
-        if (UniIslHandler.BOLT_ID.equals(source)) {
+        if (CoordinatorSpout.ID.equals(source)) {
+            handleTimerTick();
+        } else if (UniIslHandler.BOLT_ID.equals(source)) {
             handleUniIslCommand(input);
         } else if (SpeakerRouter.BOLT_ID.equals(source)) {
             handleSpeakerInput(input);
@@ -130,6 +136,10 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
         }
     }
 
+    private void handleTimerTick() {
+        service.tick();
+    }
+
     private void handleUniIslCommand(Tuple input) throws PipelineException {
         IslCommand command = pullValue(input, UniIslHandler.FIELD_ID_COMMAND, IslCommand.class);
         command.apply(this);
@@ -153,6 +163,7 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
+        super.declareOutputFields(streamManager);
         streamManager.declareStream(STREAM_BFD_HUB_ID, STREAM_BFD_HUB_FIELDS);
         streamManager.declareStream(STREAM_REROUTE_ID, STREAM_REROUTE_FIELDS);
         streamManager.declareStream(STREAM_STATUS_ID, STREAM_STATUS_FIELDS);
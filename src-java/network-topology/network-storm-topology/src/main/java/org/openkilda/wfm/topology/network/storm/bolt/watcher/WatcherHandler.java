@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.network.storm.bolt.watcher;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.SwitchId;
@@ -100,7 +101,8 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
 
     @Override
     protected void init() {
-        service = new NetworkWatcherService(this, options.getDiscoveryPacketTtl(), getTaskId());
+        service = new NetworkWatcherService(
+                this, options.getDiscoveryPacketTtl(), getTaskId(), options.isDiscoveryBatchEnabled());
     }
 
     @Override
@@ -134,6 +136,12 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
     }
 
+    @Override
+    public void sendDiscoveryBatch(DiscoverIslBatchCommandData discoveryRequest) {
+        SwitchId switchId = discoveryRequest.getSwitchId();
+        emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
+    }
+
     @Override
     public void clearDiscovery(Endpoint endpoint) {
         emit(getCurrentTuple(), makeDefaultTuple(new DecisionMakerClearCommand(endpoint)));
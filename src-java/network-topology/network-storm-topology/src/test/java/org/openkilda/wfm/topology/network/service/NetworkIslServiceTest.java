@@ -20,7 +20,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
@@ -542,6 +544,56 @@ public class NetworkIslServiceTest {
         verify(dashboardLogger, times(0)).onIslDown(eq(reference), any());
     }
 
+    @Test
+    public void coalesceMonitorsDataFlush() {
+        setupIslStorageStub();
+        service = makeFlushCoalescingService(Duration.ofMillis(500));
+
+        final IslReference reference = prepareActiveIsl();
+        clearInvocations(transactionManager);
+
+        service.roundTripStatusNotification(
+                reference, new RoundTripStatus(reference.getSource(), IslStatus.ACTIVE));
+        service.roundTripStatusNotification(
+                reference, new RoundTripStatus(reference.getDest(), IslStatus.ACTIVE));
+        service.tick();
+
+        verify(transactionManager, never()).doInTransaction(
+                any(RetryPolicy.class), any(TransactionCallbackWithoutResult.class));
+        Assert.assertNotEquals(IslStatus.ACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getRoundTripStatus());
+        Assert.assertNotEquals(IslStatus.ACTIVE, lookupIsl(endpointBeta2, endpointAlpha1).getRoundTripStatus());
+
+        clock.adjust(Duration.ofMillis(500));
+        service.tick();
+
+        verify(transactionManager, times(1)).doInTransaction(
+                any(RetryPolicy.class), any(TransactionCallbackWithoutResult.class));
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getRoundTripStatus());
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointBeta2, endpointAlpha1).getRoundTripStatus());
+    }
+
+    @Test
+    public void statusChangeWritesPostponedMonitorsData() {
+        setupIslStorageStub();
+        service = makeFlushCoalescingService(Duration.ofMillis(500));
+
+        final IslReference reference = prepareActiveIsl();
+        service.roundTripStatusNotification(
+                reference, new RoundTripStatus(reference.getDest(), IslStatus.ACTIVE));
+        service.islMove(reference.getSource(), reference);
+
+        verify(dashboardLogger).onIslMoved(eq(reference), any());
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointBeta2, endpointAlpha1).getRoundTripStatus());
+
+        clearInvocations(transactionManager);
+        clock.adjust(Duration.ofMillis(500));
+        service.tick();
+
+        // postponed changes were written together with status change
+        verify(transactionManager, never()).doInTransaction(
+                any(RetryPolicy.class), any(TransactionCallbackWithoutResult.class));
+    }
+
     @Test
     public void movedOverrideRoundTripState() {
         setupIslStorageStub();
@@ -987,6 +1039,18 @@ public class NetworkIslServiceTest {
         return reference;
     }
 
+    private NetworkIslService makeFlushCoalescingService(Duration delay) {
+        NetworkOptions coalescingOptions = NetworkOptions.builder()
+                .dbRepeatMaxDurationSeconds(options.getDbRepeatMaxDurationSeconds())
+                .discoveryTimeout(options.getDiscoveryTimeout())
+                .islFlushCoalescingDelay(delay.toNanos())
+                .build();
+        NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder = mock(
+                NetworkTopologyDashboardLogger.Builder.class);
+        when(dashboardLoggerBuilder.build(any())).thenReturn(dashboardLogger);
+        return new NetworkIslService(carrier, persistenceManager, coalescingOptions, dashboardLoggerBuilder, clock);
+    }
+
     private IslReference prepareBfdEnabledIsl() {
         IslReference reference = prepareActiveIsl();
 
@@ -1134,7 +1198,8 @@ public class NetworkIslServiceTest {
                     .build();
             allocatedSwitches.put(datapath, entry);
 
-            when(switchRepository.findById(datapath)).thenReturn(Optional.of(entry));
+            // switches are loaded only when ISL object is missing
+            lenient().when(switchRepository.findById(datapath)).thenReturn(Optional.of(entry));
             when(switchPropertiesRepository.findBySwitchId(datapath)).thenReturn(Optional.of(switchProperties));
         }
 
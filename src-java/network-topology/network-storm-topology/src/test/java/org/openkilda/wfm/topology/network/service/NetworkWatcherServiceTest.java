@@ -25,6 +25,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -37,6 +38,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatcherServiceTest {
     private final Integer taskId = 0;
@@ -59,7 +62,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
 
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
     }
@@ -90,9 +93,36 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(1));
         assertThat(w.getDiscoveryPackets().size(), is(2));
+        assertThat(w.getPacketsByEndpoint().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(3));
 
         w.tick(100);
         assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getPacketsByEndpoint().size(), is(0));
+    }
+
+    @Test
+    public void batchDiscoveryRequestsPerSwitch() {
+        NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId, true);
+        w.addWatch(Endpoint.of(new SwitchId(1), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 2), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 3), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 1), 1);
+
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, never()).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
+
+        w.removeWatch(Endpoint.of(new SwitchId(1), 3));
+        w.tick(2);
+
+        verify(carrier).sendDiscovery(eq(new DiscoverIslCommandData(new SwitchId(2), 1, 3L)));
+        verify(carrier).sendDiscoveryBatch(eq(new DiscoverIslBatchCommandData(new SwitchId(1), Arrays.asList(
+                new DiscoverIslCommandData(new SwitchId(1), 1, 0L),
+                new DiscoverIslCommandData(new SwitchId(1), 2, 1L)))));
+
+        w.tick(3);
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(1)).sendDiscoveryBatch(any(DiscoverIslBatchCommandData.class));
     }
 
     @Test
@@ -105,7 +135,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -134,7 +164,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -181,6 +182,11 @@ public class PollIntegrationTest {
 
         public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
 
+        @Override
+        public void sendDiscoveryBatch(DiscoverIslBatchCommandData discoveryRequest) {
+            discoveryRequest.getRequests().forEach(this::sendDiscovery);
+        }
+
         @Override
         public void clearDiscovery(Endpoint endpoint) {
             // TBD
@@ -79,7 +79,9 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
                 .shuffleGrouping(OTSDB_SPOUT_ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
 
-        declareBolt(tb, new OpenTSDBFilterBolt(), OTSDB_FILTER_BOLT_ID)
+        OpenTSDBFilterBolt filterBolt = new OpenTSDBFilterBolt(
+                openTsdbConfig.getFilterMaxSeries(), topologyConfig.getMetricPrefix());
+        declareBolt(tb, filterBolt, OTSDB_FILTER_BOLT_ID)
                 .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
@@ -20,6 +20,7 @@ import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Converter;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
@@ -33,6 +34,10 @@ public interface OpenTsdbTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getOtsdbTopic();
     }
 
+    @Key("opentsdb.metric.prefix")
+    @Default("kilda.")
+    String getMetricPrefix();
+
     @Configuration
     @Key("opentsdb")
     interface OpenTsdbConfig {
@@ -51,5 +56,9 @@ public interface OpenTsdbTopologyConfig extends AbstractTopologyConfig {
 
         @Key("flush.interval")
         int getFlushInterval();
+
+        @Key("filter.max-series")
+        @Default("10000000")
+        int getFilterMaxSeries();
     }
 }
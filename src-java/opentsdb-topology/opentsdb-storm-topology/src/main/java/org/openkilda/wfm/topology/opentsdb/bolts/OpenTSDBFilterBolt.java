@@ -16,8 +16,9 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.service.SeriesDedupStore;
+import org.openkilda.wfm.topology.opentsdb.service.SeriesDedupStore.Stats;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
@@ -30,7 +31,7 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -50,12 +51,39 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private static final int DEFAULT_MAX_SERIES = 10_000_000;
+
+    private final int maxSeries;
+    private final String metricPrefix;
+
+    private transient SeriesDedupStore storage;
+    private transient Map<String, String> metricTags;
     private OutputCollector collector;
 
+    public OpenTSDBFilterBolt() {
+        this(DEFAULT_MAX_SERIES, null);
+    }
+
+    /**
+     * Creates the bolt.
+     *
+     * @param maxSeries max number of series tracked by the bolt, least recently seen series are evicted first.
+     * @param metricPrefix prefix of the bolt's own metrics, the metrics are not emitted if it is null.
+     */
+    public OpenTSDBFilterBolt(int maxSeries, String metricPrefix) {
+        this.maxSeries = maxSeries;
+        this.metricPrefix = metricPrefix;
+    }
+
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.storage = new SeriesDedupStore(maxSeries, MUTE_IF_NO_UPDATES_MILLIS);
+        if (context != null) {
+            metricTags = Collections.singletonMap("task", String.valueOf(context.getThisTaskId()));
+        } else {
+            metricTags = Collections.emptyMap();
+        }
     }
     
     @Override
@@ -72,11 +100,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         if (isTickTuple(tuple)) {
             // opentsdb using current epoch time (date +%s) in seconds
             long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            int expired = storage.expire(now);
+            reportStorageStats(now, expired);
 
             collector.ack(tuple);
             return;
@@ -89,9 +114,7 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
+        if (storage.offer(datapoint)) {
             List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
                     datapoint.getTags()).collect(Collectors.toList());
 
@@ -108,34 +131,30 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
+    private void reportStorageStats(long now, int expired) {
+        Stats stats = storage.takeStats();
+        long memoryUsage = storage.estimateMemoryUsage();
+        LOGGER.info("Datapoint filter storage: {} series, ~{} bytes, hit ratio {} of {} lookups, "
+                        + "{} evicted, {} expired",
+                storage.size(), memoryUsage, stats.getHitRatio(), stats.getLookups(), stats.getEvictions(), expired);
+
+        if (metricPrefix == null) {
+            return;
         }
+        emitMetric("opentsdb.filter.series", now, storage.size());
+        emitMetric("opentsdb.filter.memory", now, memoryUsage);
+        emitMetric("opentsdb.filter.lookups", now, stats.getLookups());
+        emitMetric("opentsdb.filter.hit-ratio", now, stats.getHitRatio());
+        emitMetric("opentsdb.filter.evicted", now, stats.getEvictions());
+        emitMetric("opentsdb.filter.expired", now, expired);
     }
 
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
+    private void emitMetric(String metric, long timestamp, Number value) {
+        List<Object> stream = Stream.of(metricPrefix + metric, timestamp, value, metricTags)
+                .collect(Collectors.toList());
+        collector.emit(stream);
     }
-    
+
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +162,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
@@ -0,0 +1,440 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.service;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the last emitted value of each time series (metric + tags) and decides whether the next datapoint of the
+ * series must be emitted or can be skipped as a duplicate.
+ * <p/>
+ * Each series gets a compact int id. Metric names and tags are interned, so equal strings of different series are
+ * stored once, and the last values are kept in primitive arrays indexed by the series id. The number of series is
+ * bounded: when the limit is reached the least recently seen series is evicted, so its next datapoint is emitted.
+ * <p/>
+ * Not thread safe.
+ */
+public final class SeriesDedupStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_INT = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_FLOAT = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_OTHER = 5;
+
+    // Approximate size of a series slot: metric and tags references, hash, time, value, value type, LRU links.
+    private static final int SLOT_BYTES = 4 + 4 + 4 + 8 + 8 + 1 + 4 + 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final int maxSeries;
+    private final long muteIntervalMillis;
+    private final Interner<String> interner = Interners.newWeakInterner();
+
+    private String[] metrics;
+    private String[][] tags;
+    private int[] hashes;
+    private long[] times;
+    private long[] values;
+    private byte[] valueTypes;
+    private final Map<Integer, Number> otherValues = new HashMap<>();
+
+    // LRU list of series ids, the head is the least recently seen one. Free ids are linked through "next".
+    private int[] prev;
+    private int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+    private int freeHead = NONE;
+    private int allocated;
+    private int size;
+
+    // Open addressing index: series id + 1 or 0 for an empty slot.
+    private int[] index;
+    private int indexMask;
+
+    private long tagsBytes;
+    private long lookups;
+    private long hits;
+    private long evictions;
+
+    public SeriesDedupStore(int maxSeries, long muteIntervalMillis) {
+        if (maxSeries < 1) {
+            throw new IllegalArgumentException("Max series count must be positive");
+        }
+        this.maxSeries = maxSeries;
+        this.muteIntervalMillis = muteIntervalMillis;
+
+        allocate(Math.min(INITIAL_CAPACITY, maxSeries));
+        rebuildIndex();
+    }
+
+    /**
+     * Checks whether the datapoint must be emitted, i.e. whether it is the first datapoint of the series, its value
+     * differs from the last emitted one or the last emitted one is older than the mute interval. If so, the
+     * datapoint becomes the last emitted datapoint of the series.
+     */
+    public boolean offer(Datapoint datapoint) {
+        String metric = datapoint.getMetric();
+        Map<String, String> datapointTags = datapoint.getTags() != null
+                ? datapoint.getTags() : Collections.emptyMap();
+        int hash = hash(metric, datapointTags);
+        lookups++;
+
+        int id = index[findSlot(hash, metric, datapointTags)] - 1;
+        if (id != NONE) {
+            moveToTail(id);
+            if (!isUpdateRequired(id, datapoint)) {
+                hits++;
+                return false;
+            }
+            setValue(id, datapoint);
+            return true;
+        }
+
+        id = allocateId();
+        metrics[id] = intern(metric);
+        tags[id] = internTags(datapointTags);
+        tagsBytes += getArrayBytes(tags[id].length);
+        hashes[id] = hash;
+        setValue(id, datapoint);
+        addToIndex(id);
+        addToTail(id);
+        return true;
+    }
+
+    /**
+     * Removes series with the last emitted datapoint older than the mute interval.
+     *
+     * @return the number of removed series.
+     */
+    public int expire(long now) {
+        int expired = 0;
+        for (int id = head; id != NONE; ) {
+            int nextId = next[id];
+            if (now - times[id] > muteIntervalMillis) {
+                remove(id);
+                expired++;
+            }
+            id = nextId;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the memory used by the store. Interned strings are shared with other objects and are not counted.
+     */
+    public long estimateMemoryUsage() {
+        return (long) metrics.length * SLOT_BYTES + 9L * ARRAY_HEADER_BYTES
+                + (long) index.length * Integer.BYTES + tagsBytes;
+    }
+
+    /**
+     * Returns lookup statistics collected since the previous call and resets them.
+     */
+    public Stats takeStats() {
+        Stats stats = new Stats(lookups, hits, evictions);
+        lookups = 0;
+        hits = 0;
+        evictions = 0;
+        return stats;
+    }
+
+    private boolean isUpdateRequired(int id, Datapoint datapoint) {
+        return !isSameValue(id, datapoint.getValue()) || getTime(datapoint) - times[id] >= muteIntervalMillis;
+    }
+
+    private boolean isSameValue(int id, Number value) {
+        byte type = getType(value);
+        if (type != valueTypes[id]) {
+            return false;
+        }
+        if (type == VALUE_OTHER) {
+            return value.equals(otherValues.get(id));
+        }
+        return type == VALUE_NULL || values[id] == toBits(type, value);
+    }
+
+    private void setValue(int id, Datapoint datapoint) {
+        if (valueTypes[id] == VALUE_OTHER) {
+            otherValues.remove(id);
+        }
+
+        Number value = datapoint.getValue();
+        byte type = getType(value);
+        times[id] = getTime(datapoint);
+        valueTypes[id] = type;
+        if (type == VALUE_OTHER) {
+            otherValues.put(id, value);
+        } else if (type != VALUE_NULL) {
+            values[id] = toBits(type, value);
+        }
+    }
+
+    private int findSlot(int hash, String metric, Map<String, String> datapointTags) {
+        int slot = hash & indexMask;
+        while (index[slot] != 0 && !matches(index[slot] - 1, hash, metric, datapointTags)) {
+            slot = (slot + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    private boolean matches(int id, int hash, String metric, Map<String, String> datapointTags) {
+        if (hashes[id] != hash || !Objects.equals(metrics[id], metric)) {
+            return false;
+        }
+        String[] seriesTags = tags[id];
+        if (seriesTags.length != datapointTags.size() * 2) {
+            return false;
+        }
+        for (int i = 0; i < seriesTags.length; i += 2) {
+            String value = datapointTags.get(seriesTags[i]);
+            if (!Objects.equals(value, seriesTags[i + 1])
+                    || (value == null && !datapointTags.containsKey(seriesTags[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int allocateId() {
+        if (size >= maxSeries) {
+            remove(head);
+            evictions++;
+        }
+
+        int id;
+        if (freeHead != NONE) {
+            id = freeHead;
+            freeHead = next[id];
+        } else {
+            if (allocated == metrics.length) {
+                grow();
+            }
+            id = allocated++;
+        }
+        size++;
+        return id;
+    }
+
+    private void remove(int id) {
+        removeFromIndex(id);
+
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            head = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        } else {
+            tail = prev[id];
+        }
+
+        if (valueTypes[id] == VALUE_OTHER) {
+            otherValues.remove(id);
+        }
+        tagsBytes -= getArrayBytes(tags[id].length);
+        metrics[id] = null;
+        tags[id] = null;
+        valueTypes[id] = VALUE_NULL;
+
+        next[id] = freeHead;
+        freeHead = id;
+        size--;
+    }
+
+    private void moveToTail(int id) {
+        if (id == tail) {
+            return;
+        }
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            head = next[id];
+        }
+        prev[next[id]] = prev[id];
+        addToTail(id);
+    }
+
+    private void addToTail(int id) {
+        prev[id] = tail;
+        next[id] = NONE;
+        if (tail != NONE) {
+            next[tail] = id;
+        } else {
+            head = id;
+        }
+        tail = id;
+    }
+
+    private void addToIndex(int id) {
+        int slot = hashes[id] & indexMask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+        index[slot] = id + 1;
+    }
+
+    /**
+     * Removes the id from the index and fills the gap with following entries of the same probe chain.
+     */
+    private void removeFromIndex(int id) {
+        int gap = hashes[id] & indexMask;
+        while (index[gap] != id + 1) {
+            gap = (gap + 1) & indexMask;
+        }
+
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & indexMask;
+            if (index[slot] == 0) {
+                break;
+            }
+            int home = hashes[index[slot] - 1] & indexMask;
+            // the entry can be moved only if its home slot is not between the gap and the entry (cyclically)
+            if (((slot - home) & indexMask) >= ((slot - gap) & indexMask)) {
+                index[gap] = index[slot];
+                gap = slot;
+            }
+        }
+        index[gap] = 0;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) metrics.length * 2, maxSeries);
+        metrics = Arrays.copyOf(metrics, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        times = Arrays.copyOf(times, capacity);
+        values = Arrays.copyOf(values, capacity);
+        valueTypes = Arrays.copyOf(valueTypes, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        next = Arrays.copyOf(next, capacity);
+        rebuildIndex();
+    }
+
+    private void allocate(int capacity) {
+        metrics = new String[capacity];
+        tags = new String[capacity][];
+        hashes = new int[capacity];
+        times = new long[capacity];
+        values = new long[capacity];
+        valueTypes = new byte[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+    }
+
+    private void rebuildIndex() {
+        // keep the load factor of the index not greater than 0.5
+        int indexSize = Integer.highestOneBit(Math.max(metrics.length, 1) * 2 - 1) << 1;
+        index = new int[indexSize];
+        indexMask = indexSize - 1;
+        for (int id = head; id != NONE; id = next[id]) {
+            addToIndex(id);
+        }
+    }
+
+    private String intern(String value) {
+        return value != null ? interner.intern(value) : null;
+    }
+
+    private String[] internTags(Map<String, String> datapointTags) {
+        String[] result = new String[datapointTags.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> entry : datapointTags.entrySet()) {
+            result[i++] = intern(entry.getKey());
+            result[i++] = intern(entry.getValue());
+        }
+        return result;
+    }
+
+    private static int hash(String metric, Map<String, String> datapointTags) {
+        int tagsHash = 0;
+        for (Map.Entry<String, String> entry : datapointTags.entrySet()) {
+            tagsHash += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        int hash = Objects.hashCode(metric) * 31 + tagsHash;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static long getTime(Datapoint datapoint) {
+        return datapoint.getTime() != null ? datapoint.getTime() : 0;
+    }
+
+    private static byte getType(Number value) {
+        if (value == null) {
+            return VALUE_NULL;
+        } else if (value instanceof Integer) {
+            return VALUE_INT;
+        } else if (value instanceof Long) {
+            return VALUE_LONG;
+        } else if (value instanceof Float) {
+            return VALUE_FLOAT;
+        } else if (value instanceof Double) {
+            return VALUE_DOUBLE;
+        }
+        return VALUE_OTHER;
+    }
+
+    /**
+     * Converts the value to bits which are equal iff values are equal in terms of {@link Number#equals(Object)}.
+     */
+    private static long toBits(byte type, Number value) {
+        switch (type) {
+            case VALUE_FLOAT:
+                return Float.floatToIntBits(value.floatValue());
+            case VALUE_DOUBLE:
+                return Double.doubleToLongBits(value.doubleValue());
+            default:
+                return value.longValue();
+        }
+    }
+
+    private static long getArrayBytes(int length) {
+        return ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES;
+    }
+
+    @Value
+    public static class Stats {
+        long lookups;
+        long hits;
+        long evictions;
+
+        public double getHitRatio() {
+            return lookups != 0 ? (double) hits / lookups : 0;
+        }
+    }
+}
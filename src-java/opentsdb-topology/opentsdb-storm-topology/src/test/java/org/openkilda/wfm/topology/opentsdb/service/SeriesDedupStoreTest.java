@@ -0,0 +1,129 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.service.SeriesDedupStore.Stats;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+public class SeriesDedupStoreTest {
+    private static final long MUTE_INTERVAL = 1000;
+
+    @Test
+    public void shouldSkipDuplicatesOfTheSameSeries() {
+        SeriesDedupStore store = new SeriesDedupStore(10, MUTE_INTERVAL);
+
+        assertTrue(store.offer(datapoint("metric", 0, 1, "a", "b")));
+        assertFalse(store.offer(datapoint("metric", 10, 1, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 20, 2, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 30, 2L, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 40, 2L, "a", "c")));
+        assertTrue(store.offer(datapoint("other", 50, 2L, "a", "b")));
+        assertFalse(store.offer(datapoint("metric", 30 + MUTE_INTERVAL - 1, 2L, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 30 + MUTE_INTERVAL, 2L, "a", "b")));
+
+        assertEquals(3, store.size());
+        Stats stats = store.takeStats();
+        assertEquals(8, stats.getLookups());
+        assertEquals(2, stats.getHits());
+        assertEquals(0, store.takeStats().getLookups());
+    }
+
+    @Test
+    public void shouldCompareFloatingPointValuesAsNumberEquals() {
+        SeriesDedupStore store = new SeriesDedupStore(10, MUTE_INTERVAL);
+
+        assertTrue(store.offer(datapoint("metric", 0, Double.NaN, "a", "b")));
+        assertFalse(store.offer(datapoint("metric", 0, Double.NaN, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 0, 1.5f, "a", "b")));
+        assertFalse(store.offer(datapoint("metric", 0, 1.5f, "a", "b")));
+        assertTrue(store.offer(datapoint("metric", 0, 1.5d, "a", "b")));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlySeenSeries() {
+        SeriesDedupStore store = new SeriesDedupStore(2, MUTE_INTERVAL);
+
+        assertTrue(store.offer(datapoint("first", 0, 1, "a", "b")));
+        assertTrue(store.offer(datapoint("second", 0, 1, "a", "b")));
+        assertFalse(store.offer(datapoint("first", 0, 1, "a", "b")));
+        assertTrue(store.offer(datapoint("third", 0, 1, "a", "b")));
+
+        assertEquals(2, store.size());
+        assertFalse(store.offer(datapoint("first", 0, 1, "a", "b")));
+        assertTrue(store.offer(datapoint("second", 0, 1, "a", "b")));
+        assertEquals(2, store.takeStats().getEvictions());
+    }
+
+    @Test
+    public void shouldExpireOutdatedSeries() {
+        SeriesDedupStore store = new SeriesDedupStore(10, MUTE_INTERVAL);
+        store.offer(datapoint("first", 0, 1, "a", "b"));
+        store.offer(datapoint("second", 500, 1, "a", "b"));
+
+        assertEquals(1, store.expire(MUTE_INTERVAL + 1));
+        assertEquals(1, store.size());
+        assertTrue(store.offer(datapoint("first", MUTE_INTERVAL + 1, 1, "a", "b")));
+        assertFalse(store.offer(datapoint("second", MUTE_INTERVAL + 1, 1, "a", "b")));
+    }
+
+    @Test
+    public void shouldBehaveAsHashMapStorage() {
+        int maxSeries = 3000;
+        SeriesDedupStore store = new SeriesDedupStore(maxSeries, MUTE_INTERVAL);
+        Map<String, Datapoint> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int series = random.nextInt(maxSeries);
+            Datapoint datapoint = datapoint("metric" + series % 7, i / 100, random.nextInt(3),
+                    "switch", String.valueOf(series));
+            String key = datapoint.getMetric() + datapoint.getTags();
+
+            Datapoint previous = expected.get(key);
+            boolean update = previous == null || !Objects.equals(previous.getValue(), datapoint.getValue())
+                    || datapoint.getTime() - previous.getTime() >= MUTE_INTERVAL;
+            if (update) {
+                expected.put(key, datapoint);
+            }
+            assertEquals(update, store.offer(datapoint));
+
+            if (i % 50_000 == 0) {
+                long now = i / 100;
+                expected.values().removeIf(entry -> now - entry.getTime() > MUTE_INTERVAL);
+                store.expire(now);
+                assertEquals(expected.size(), store.size());
+            }
+        }
+        assertTrue(store.estimateMemoryUsage() > 0);
+    }
+
+    private static Datapoint datapoint(String metric, long time, Number value, String tag, String tagValue) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(tag, tagValue);
+        return new Datapoint(metric, time, tags, value);
+    }
+}
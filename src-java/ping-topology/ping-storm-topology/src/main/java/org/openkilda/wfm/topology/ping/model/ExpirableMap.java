@@ -15,21 +15,43 @@
 
 package org.openkilda.wfm.topology.ping.model;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
+/**
+ * Map with records ordered by expiration time.
+ *
+ * <p>Records are kept in an indexed min-heap, so removed records leave the expiration queue immediately and
+ * {@link #expire(long)} touches only the records that are really expired, regardless of their insertion order.
+ */
 public class ExpirableMap<K, V extends Expirable<K>> {
-    private final LinkedList<V> queue = new LinkedList<>();
-    private final HashMap<K, V> map = new HashMap<>();
+    private final ArrayList<Node<K, V>> heap = new ArrayList<>();
+    private final HashMap<K, Node<K, V>> map = new HashMap<>();
+    private long sequence = 0;
 
+    /**
+     * Add or replace record. Replaced record is dropped from expiration queue.
+     */
     public V put(K key, V value) {
-        queue.addLast(value);
-        return map.put(key, value);
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            insert(key, value);
+            return null;
+        }
+
+        V current = node.value;
+        node.value = value;
+        node.sequence = sequence++;
+        siftUp(node.index);
+        siftDown(node.index);
+        return current;
     }
 
     public V get(K key) {
-        return map.get(key);
+        Node<K, V> node = map.get(key);
+        return node == null ? null : node.value;
     }
 
     public void add(V value) {
@@ -41,54 +63,57 @@ public class ExpirableMap<K, V extends Expirable<K>> {
      */
     public V addIfAbsent(V value) {
         K key = value.getExpirableKey();
-        V current = map.putIfAbsent(key, value);
-        if (current == null) {
-            current = value;
-            queue.addLast(value);
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            return node.value;
         }
 
-        return current;
+        insert(key, value);
+        return value;
     }
 
     /**
      * Remove record be key.
      */
     public V remove(K key) {
-        V value = map.remove(key);
-        if (value != null) {
-            value.setActive(false);
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
         }
-        return value;
+
+        removeAt(node.index);
+        node.value.setActive(false);
+        return node.value;
     }
 
     /**
      * Clear records.
      */
     public void clear() {
-        queue.clear();
+        heap.clear();
         map.clear();
     }
 
     /**
-     * Iterate over list until meet not expired record. Remove passed records.
+     * Remove and return all active records expired at {@code edge}, in the order of their expiration time.
      */
     public List<V> expire(long edge) {
         LinkedList<V> removed = new LinkedList<>();
 
-        while (! queue.isEmpty()) {
-            V value = queue.getFirst();
+        while (! heap.isEmpty()) {
+            Node<K, V> node = heap.get(0);
 
-            if (edge < value.getExpireAt()) {
+            if (edge < node.getExpireAt()) {
                 break;
             }
 
-            queue.removeFirst();
-            map.remove(value.getExpirableKey());
-            if (!value.isActive()) {
+            removeAt(0);
+            map.remove(node.key);
+            if (!node.value.isActive()) {
                 continue;
             }
 
-            removed.addLast(value);
+            removed.addLast(node.value);
         }
 
         return removed;
@@ -97,4 +122,86 @@ public class ExpirableMap<K, V extends Expirable<K>> {
     public int size() {
         return map.size();
     }
+
+    private void insert(K key, V value) {
+        Node<K, V> node = new Node<>(key, value, sequence++, heap.size());
+        map.put(key, node);
+        heap.add(node);
+        siftUp(node.index);
+    }
+
+    private void removeAt(int index) {
+        Node<K, V> last = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            place(last, index);
+            siftUp(index);
+            siftDown(last.index);
+        }
+    }
+
+    private void siftUp(int index) {
+        Node<K, V> node = heap.get(index);
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            Node<K, V> parent = heap.get(parentIndex);
+            if (! node.isBefore(parent)) {
+                break;
+            }
+            place(parent, index);
+            index = parentIndex;
+        }
+        place(node, index);
+    }
+
+    private void siftDown(int index) {
+        Node<K, V> node = heap.get(index);
+        int size = heap.size();
+        while (true) {
+            int childIndex = 2 * index + 1;
+            if (size <= childIndex) {
+                break;
+            }
+            Node<K, V> child = heap.get(childIndex);
+            if (childIndex + 1 < size && heap.get(childIndex + 1).isBefore(child)) {
+                childIndex += 1;
+                child = heap.get(childIndex);
+            }
+            if (! child.isBefore(node)) {
+                break;
+            }
+            place(child, index);
+            index = childIndex;
+        }
+        place(node, index);
+    }
+
+    private void place(Node<K, V> node, int index) {
+        heap.set(index, node);
+        node.index = index;
+    }
+
+    private static class Node<K, V extends Expirable<K>> {
+        private final K key;
+        private V value;
+        private long sequence;
+        private int index;
+
+        Node(K key, V value, long sequence, int index) {
+            this.key = key;
+            this.value = value;
+            this.sequence = sequence;
+            this.index = index;
+        }
+
+        long getExpireAt() {
+            return value.getExpireAt();
+        }
+
+        boolean isBefore(Node<K, V> other) {
+            if (getExpireAt() != other.getExpireAt()) {
+                return getExpireAt() < other.getExpireAt();
+            }
+            return sequence < other.sequence;
+        }
+    }
 }
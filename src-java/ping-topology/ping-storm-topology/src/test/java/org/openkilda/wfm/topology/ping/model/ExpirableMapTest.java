@@ -0,0 +1,146 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class ExpirableMapTest {
+    @Test
+    public void expireInExpirationTimeOrder() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        map.add(new Record("long", 300));
+        map.add(new Record("short", 100));
+        map.add(new Record("middle", 200));
+        map.add(new Record("short-too", 100));
+
+        Assert.assertEquals(Collections.emptyList(), keys(map.expire(99)));
+        Assert.assertEquals(Arrays.asList("short", "short-too"), keys(map.expire(150)));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(Arrays.asList("middle", "long"), keys(map.expire(300)));
+        Assert.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void removedRecordsAreNotExpired() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        map.add(new Record("a", 100));
+        map.add(new Record("b", 100));
+        Record inactive = new Record("c", 100);
+        map.add(inactive);
+
+        Record removed = map.remove("a");
+        Assert.assertFalse(removed.isActive());
+        Assert.assertNull(map.remove("a"));
+        inactive.setActive(false);
+
+        Assert.assertEquals(Collections.singletonList("b"), keys(map.expire(100)));
+        Assert.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void addIfAbsentKeepsCurrentRecord() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        Record first = new Record("a", 100);
+        Assert.assertSame(first, map.addIfAbsent(first));
+        Assert.assertSame(first, map.addIfAbsent(new Record("a", 50)));
+
+        Assert.assertEquals(Collections.emptyList(), keys(map.expire(50)));
+        Assert.assertSame(first, map.get("a"));
+    }
+
+    @Test
+    public void putReplacesRecordAndItsExpirationTime() {
+        ExpirableMap<String, Record> map = new ExpirableMap<>();
+        Record first = new Record("a", 100);
+        map.put("a", first);
+        Record second = new Record("a", 200);
+        Assert.assertSame(first, map.put("a", second));
+
+        Assert.assertEquals(Collections.emptyList(), keys(map.expire(150)));
+        Assert.assertSame(second, map.get("a"));
+        Assert.assertEquals(Collections.singletonList(second), map.expire(200));
+    }
+
+    @Test
+    public void randomOperationsKeepExpirationOrder() {
+        ExpirableMap<Integer, IntRecord> map = new ExpirableMap<>();
+        Random random = new Random(42);
+        List<IntRecord> alive = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            IntRecord record = new IntRecord(i, random.nextInt(1000));
+            map.add(record);
+            alive.add(record);
+            if (random.nextInt(3) == 0) {
+                IntRecord victim = alive.remove(random.nextInt(alive.size()));
+                map.remove(victim.getExpirableKey());
+            }
+        }
+
+        List<IntRecord> expired = new ArrayList<>();
+        for (long edge = 0; edge <= 1000; edge += 10) {
+            expired.addAll(map.expire(edge));
+        }
+
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(alive.size(), expired.size());
+        for (int i = 1; i < expired.size(); i++) {
+            Assert.assertTrue(expired.get(i - 1).getExpireAt() <= expired.get(i).getExpireAt());
+        }
+    }
+
+    private static List<String> keys(List<Record> records) {
+        return records.stream()
+                .map(Record::getExpirableKey)
+                .collect(Collectors.toList());
+    }
+
+    private static class Record extends Expirable<String> {
+        private final String key;
+
+        Record(String key, long expireAt) {
+            super(expireAt);
+            this.key = key;
+        }
+
+        @Override
+        public String getExpirableKey() {
+            return key;
+        }
+    }
+
+    private static class IntRecord extends Expirable<Integer> {
+        private final int key;
+
+        IntRecord(int key, long expireAt) {
+            super(expireAt);
+            this.key = key;
+        }
+
+        @Override
+        public Integer getExpirableKey() {
+            return key;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
@@ -124,7 +125,10 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         int rerouteTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteTimeoutSeconds());
         FlowRerouteQueueBolt flowRerouteQueueBolt = new FlowRerouteQueueBolt(persistenceManager,
                 topologyConfig.getDefaultFlowPriority(),
-                topologyConfig.getMaxRetry(), rerouteTimeout);
+                topologyConfig.getMaxRetry(), rerouteTimeout,
+                topologyConfig.getRerouteMaxInFlight(),
+                Duration.ofSeconds(topologyConfig.getRerouteAdmissionLatencyThresholdSeconds()),
+                Duration.ofSeconds(topologyConfig.getRerouteFlowMetadataCacheTtlSeconds()));
         declareBolt(topologyBuilder, flowRerouteQueueBolt, FlowRerouteQueueBolt.BOLT_ID)
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_REROUTE_REQUEST_ID, new Fields(RerouteBolt.FLOW_ID_FIELD))
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_MANUAL_REROUTE_REQUEST_ID,
@@ -174,7 +178,8 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         String openTsdbTopic = topologyConfig.getKafkaTopics().getOtsdbTopic();
         KafkaBolt kafkaBolt = createKafkaBolt(openTsdbTopic);
         declareBolt(topologyBuilder, kafkaBolt, METRICS_BOLT_ID)
-                .shuffleGrouping(RerouteBolt.BOLT_ID, RerouteBolt.STREAM_TO_METRICS_BOLT);
+                .shuffleGrouping(RerouteBolt.BOLT_ID, RerouteBolt.STREAM_TO_METRICS_BOLT)
+                .shuffleGrouping(FlowRerouteQueueBolt.BOLT_ID, FlowRerouteQueueBolt.STREAM_TO_METRICS_BOLT);
     }
 
     /**
@@ -21,6 +21,8 @@ import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import javax.validation.constraints.Min;
+
 @Configuration
 public interface RerouteTopologyConfig extends AbstractTopologyConfig {
 
@@ -42,6 +44,31 @@ public interface RerouteTopologyConfig extends AbstractTopologyConfig {
     @Default("80")
     int getRerouteTimeoutSeconds();
 
+    /**
+     * Max number of reroutes sent to flowhs and not finished yet by one reroute queue bolt instance.
+     */
+    @Key("reroute.max.in.flight")
+    @Default("1000")
+    @Min(1)
+    int getRerouteMaxInFlight();
+
+    /**
+     * Reroute responses slower than this halve the number of reroutes allowed to be in flight. 0 disables it.
+     */
+    @Key("reroute.admission.latency.threshold.seconds")
+    @Default("0")
+    @Min(0)
+    int getRerouteAdmissionLatencyThresholdSeconds();
+
+    /**
+     * Time to keep the pinned flag and terminal switches of a flow in memory between reroute requests. 0 disables
+     * the cache, so each request reads the flow from the DB.
+     */
+    @Key("reroute.flow.metadata.cache.ttl.seconds")
+    @Default("0")
+    @Min(0)
+    int getRerouteFlowMetadataCacheTtlSeconds();
+
     default String getKafkaTopoRerouteTopic() {
         return getKafkaTopics().getTopoRerouteTopic();
     }
@@ -38,24 +38,36 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.time.Clock;
+import java.time.Duration;
+
 public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQueueCarrier {
 
     public static final String BOLT_ID = "reroute-queue-bolt";
     public static final String STREAM_NORTHBOUND_ID = "northbound-stream";
     public static final String FLOW_ID_FIELD = RerouteBolt.FLOW_ID_FIELD;
+    public static final String STREAM_TO_METRICS_BOLT = RerouteBolt.STREAM_TO_METRICS_BOLT;
 
     public static final String STREAM_OPERATION_QUEUE_ID = "operation-queue";
     public static final Fields FIELDS_OPERATION_QUEUE = new Fields(FLOW_ID_FIELD, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
     private final int defaultFlowPriority;
     private final int maxRetry;
+    private final int maxInFlight;
+    private final Duration admissionLatencyThreshold;
+    private final Duration flowMetadataTtl;
     private transient RerouteQueueService rerouteQueueService;
 
     public FlowRerouteQueueBolt(PersistenceManager persistenceManager,
-                                int defaultFlowPriority, int maxRetry, int rerouteTimeout) {
+                                int defaultFlowPriority, int maxRetry, int rerouteTimeout, int maxInFlight,
+                                Duration admissionLatencyThreshold, Duration flowMetadataTtl) {
         super(persistenceManager, true, rerouteTimeout, null);
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.maxInFlight = maxInFlight;
+        this.admissionLatencyThreshold = admissionLatencyThreshold;
+        this.flowMetadataTtl = flowMetadataTtl;
+        enableMeterRegistry("kilda.reroute_queue", STREAM_TO_METRICS_BOLT);
     }
 
     @Override
@@ -101,7 +113,8 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
 
     @Override
     protected void init() {
-        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry);
+        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry,
+                maxInFlight, admissionLatencyThreshold, flowMetadataTtl, Clock.systemUTC());
     }
 
     @Override
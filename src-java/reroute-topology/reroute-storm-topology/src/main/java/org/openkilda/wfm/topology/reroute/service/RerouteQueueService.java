@@ -28,16 +28,22 @@ import org.openkilda.messaging.info.reroute.error.RerouteInProgressError;
 import org.openkilda.messaging.info.reroute.error.SpeakerRequestError;
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.metrics.MeterRegistryHolder;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.model.RerouteQueue;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +51,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -57,12 +65,51 @@ public class RerouteQueueService {
     private Map<String, RerouteQueue> reroutes = new HashMap<>();
     private IRerouteQueueCarrier carrier;
 
+    private final int maxInFlight;
+    private final Duration admissionLatencyThreshold; // zero disables adaptive admission
+    private final Duration flowMetadataTtl;
+    private final Clock clock;
+
+    private int admissionLimit;
+    private Instant lastAdmissionDecrease = Instant.MIN;
+    private long scheduledCounter = 0;
+    private final Queue<ScheduledReroute> scheduledReroutes;
+    private final Map<String, Instant> inFlight = new HashMap<>();
+    private final Map<String, FlowMetadata> flowMetadataCache = new HashMap<>();
+    private Instant nextFlowMetadataEviction = Instant.MIN;
+
     public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
                                int defaultFlowPriority, int maxRetry) {
+        this(carrier, persistenceManager, defaultFlowPriority, maxRetry, Integer.MAX_VALUE, Duration.ZERO,
+                Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the service with the reroute scheduler limits.
+     * <p/>
+     * Reroute requests are sent to flowhs in the order of flow priority, bandwidth and creation time, and no more
+     * than {@code maxInFlight} of them are executed at once. If flowhs responds slower than
+     * {@code admissionLatencyThreshold} the number of concurrently executed reroutes is halved, each fast response
+     * increases it by one back to {@code maxInFlight}.
+     */
+    public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
+                               int defaultFlowPriority, int maxRetry, int maxInFlight,
+                               Duration admissionLatencyThreshold, Duration flowMetadataTtl, Clock clock) {
         this.carrier = carrier;
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.maxInFlight = maxInFlight;
+        this.admissionLatencyThreshold = admissionLatencyThreshold;
+        this.flowMetadataTtl = flowMetadataTtl;
+        this.clock = clock;
+        admissionLimit = maxInFlight;
+
+        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
+                .thenComparing(this::compareAvailableBandwidth)
+                .thenComparing(this::compareTimeCreate);
+        scheduledReroutes = new PriorityQueue<>(Comparator.comparing(ScheduledReroute::getThrottlingData, comparator)
+                .thenComparingLong(ScheduledReroute::getSequence));
     }
 
     /**
@@ -72,7 +119,7 @@ public class RerouteQueueService {
      * @param throttlingData reroute request params
      */
     public void processAutomaticRequest(String flowId, FlowThrottlingData throttlingData) {
-        Optional<Flow> flow = flowRepository.findById(flowId);
+        Optional<FlowMetadata> flow = getFlowMetadata(flowId);
         if (!flow.isPresent()) {
             log.warn(format("Flow %s not found. Skip the reroute operation of this flow.", flowId));
             return;
@@ -134,39 +181,35 @@ public class RerouteQueueService {
             return;
         }
         carrier.cancelTimeout(correlationId);
+        completeInFlight(flowId, false);
 
         if (rerouteResultInfoData.isSuccess()) {
             FlowThrottlingData toSend = rerouteQueue.processPending();
-            sendRerouteRequest(flowId, toSend);
+            scheduleRerouteRequest(flowId, toSend);
         } else {
             RerouteError rerouteError = rerouteResultInfoData.getRerouteError();
             if (isRetryRequired(flowId, rerouteError)) {
                 injectRetry(flowId, rerouteQueue, rerouteError instanceof NoPathFoundError);
             } else {
                 FlowThrottlingData toSend = rerouteQueue.processPending();
-                sendRerouteRequest(flowId, toSend);
+                scheduleRerouteRequest(flowId, toSend);
             }
         }
+        dispatchScheduledReroutes();
     }
 
     /**
      * Move reroute requests form throttling to pending/in-progress.
      */
     public void flushThrottling() {
-        Map<String, FlowThrottlingData> requestsToSend = new HashMap<>();
+        List<String> scheduled = new ArrayList<>();
         reroutes.forEach((flowId, rerouteQueue) -> rerouteQueue.flushThrottling()
-                .ifPresent(flowThrottlingData -> requestsToSend.put(flowId, flowThrottlingData)));
-        log.info("Send reroute requests for flows {}", requestsToSend.keySet());
-        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
-                .thenComparing(this::compareAvailableBandwidth)
-                .thenComparing(this::compareTimeCreate);
-        requestsToSend.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(comparator))
-                .forEach(es -> {
-                    String flowId = es.getKey();
-                    FlowThrottlingData flowThrottlingData = es.getValue();
-                    sendRerouteRequest(flowId, flowThrottlingData);
-                });
+                .ifPresent(flowThrottlingData -> {
+                    scheduleRerouteRequest(flowId, flowThrottlingData);
+                    scheduled.add(flowId);
+                }));
+        log.info("Schedule reroute requests for flows {}", scheduled);
+        dispatchScheduledReroutes();
     }
 
     /**
@@ -185,7 +228,11 @@ public class RerouteQueueService {
         } else if (foundReroutes.size() > 1) {
             log.error("Found more than one reroute with correlationId {}. Timed out all of them.", correlationId);
         }
-        foundReroutes.forEach(entry -> injectRetry(entry.getKey(), entry.getValue(), false));
+        foundReroutes.forEach(entry -> {
+            completeInFlight(entry.getKey(), true);
+            injectRetry(entry.getKey(), entry.getValue(), false);
+        });
+        dispatchScheduledReroutes();
     }
 
     private boolean isRetryRequired(String flowId, RerouteError rerouteError) {
@@ -197,7 +244,7 @@ public class RerouteQueueService {
             return true;
         } else if (rerouteError instanceof SpeakerRequestError) {
             log.info("Received speaker request error for flow {}", flowId);
-            Flow flow = flowRepository.findById(flowId).orElse(null);
+            FlowMetadata flow = getFlowMetadata(flowId).orElse(null);
             if (flow == null) {
                 log.error("Flow {} not found", flowId);
                 return false;
@@ -224,14 +271,14 @@ public class RerouteQueueService {
                     .getCorrelationId();
             retryRequest.setCorrelationId(retryCorrelationId);
             FlowThrottlingData toSend = rerouteQueue.processRetryRequest(retryRequest, carrier);
-            sendRerouteRequest(flowId, toSend);
+            scheduleRerouteRequest(flowId, toSend);
         } else {
             log.error("No more retries available for reroute request {}.", retryRequest);
             FlowThrottlingData toSend = rerouteQueue.processPending();
             if (toSend != null) {
                 toSend.setIgnoreBandwidth(computeIgnoreBandwidth(toSend, ignoreBandwidth));
             }
-            sendRerouteRequest(flowId, toSend);
+            scheduleRerouteRequest(flowId, toSend);
         }
     }
 
@@ -240,13 +287,103 @@ public class RerouteQueueService {
         return !data.isStrictBandwidth() && (data.isIgnoreBandwidth() || ignoreBandwidth);
     }
 
+    private void scheduleRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
+        if (throttlingData != null) {
+            scheduledReroutes.add(new ScheduledReroute(flowId, throttlingData, clock.instant(), scheduledCounter++));
+        }
+    }
+
+    private void dispatchScheduledReroutes() {
+        Instant now = clock.instant();
+        while (inFlight.size() < admissionLimit && !scheduledReroutes.isEmpty()) {
+            ScheduledReroute scheduled = scheduledReroutes.poll();
+            RerouteQueue rerouteQueue = reroutes.get(scheduled.getFlowId());
+            if (rerouteQueue == null || rerouteQueue.getInProgress() != scheduled.getThrottlingData()) {
+                log.warn("Skip outdated scheduled reroute request {} for flow {}",
+                        scheduled.getThrottlingData().getCorrelationId(), scheduled.getFlowId());
+                continue;
+            }
+            Duration waitTime = Duration.between(scheduled.getScheduledAt(), now);
+            MeterRegistryHolder.getRegistry().ifPresent(registry ->
+                    registry.timer("reroute.queue.wait").record(waitTime));
+            sendRerouteRequest(scheduled.getFlowId(), scheduled.getThrottlingData());
+        }
+        MeterRegistryHolder.getRegistry().ifPresent(registry -> {
+            registry.summary("reroute.queue.depth").record(scheduledReroutes.size());
+            registry.summary("reroute.in_flight").record(inFlight.size());
+        });
+    }
+
     private void sendRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
         if (throttlingData != null) {
             FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
                     throttlingData.isEffectivelyDown(), throttlingData.isIgnoreBandwidth(),
                     throttlingData.getAffectedIsl(), throttlingData.getReason(), false);
             carrier.sendRerouteRequest(throttlingData.getCorrelationId(), request);
+            inFlight.put(flowId, clock.instant());
+        }
+    }
+
+    private void completeInFlight(String flowId, boolean timedOut) {
+        Instant sentAt = inFlight.remove(flowId);
+        if (sentAt == null) {
+            return;
         }
+        Instant now = clock.instant();
+        Duration responseTime = Duration.between(sentAt, now);
+        MeterRegistryHolder.getRegistry().ifPresent(registry ->
+                registry.timer("reroute.response").record(responseTime));
+        if (admissionLatencyThreshold.isZero()) {
+            return;
+        }
+
+        if (timedOut || responseTime.compareTo(admissionLatencyThreshold) > 0) {
+            // decrease once per threshold period, responses of reroutes sent before the decrease are all slow
+            if (!now.isBefore(lastAdmissionDecrease.plus(admissionLatencyThreshold))) {
+                admissionLimit = Math.max(1, admissionLimit / 2);
+                lastAdmissionDecrease = now;
+                log.info("Reroute response time {} of flow {} exceeds {}, decrease reroute admission limit to {}",
+                        responseTime, flowId, admissionLatencyThreshold, admissionLimit);
+            }
+        } else if (admissionLimit < maxInFlight) {
+            admissionLimit += 1;
+        }
+    }
+
+    private Optional<FlowMetadata> getFlowMetadata(String flowId) {
+        Instant now = clock.instant();
+        evictExpiredFlowMetadata(now);
+        FlowMetadata cached = flowMetadataCache.get(flowId);
+        if (cached != null && now.isBefore(cached.getExpireAt())) {
+            return Optional.of(cached);
+        }
+
+        Optional<FlowMetadata> loaded = flowRepository.findById(flowId)
+                .map(flow -> new FlowMetadata(flow.isPinned(), flow.getSrcSwitchId(), flow.getDestSwitchId(),
+                        now.plus(flowMetadataTtl)));
+        if (loaded.isPresent() && !flowMetadataTtl.isZero()) {
+            flowMetadataCache.put(flowId, loaded.get());
+        } else {
+            flowMetadataCache.remove(flowId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops expired entries, the cache is scanned at most once per TTL period, so it holds only the flows requested
+     * during the last two TTL periods.
+     */
+    private void evictExpiredFlowMetadata(Instant now) {
+        if (now.isBefore(nextFlowMetadataEviction)) {
+            return;
+        }
+        flowMetadataCache.values().removeIf(entry -> !now.isBefore(entry.getExpireAt()));
+        nextFlowMetadataEviction = now.plus(flowMetadataTtl);
+    }
+
+    @VisibleForTesting
+    int getFlowMetadataCacheSize() {
+        return flowMetadataCache.size();
     }
 
     private RerouteQueue getRerouteQueue(String flowId) {
@@ -258,6 +395,11 @@ public class RerouteQueueService {
         return reroutes;
     }
 
+    @VisibleForTesting
+    int getAdmissionLimit() {
+        return admissionLimit;
+    }
+
     private int comparePriority(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
         Integer priorityA = Optional.ofNullable(throttlingDataA.getPriority()).orElse(defaultFlowPriority);
         Integer priorityB = Optional.ofNullable(throttlingDataB.getPriority()).orElse(defaultFlowPriority);
@@ -301,4 +443,20 @@ public class RerouteQueueService {
         }
         return 0;
     }
+
+    @Value
+    private static class ScheduledReroute {
+        String flowId;
+        FlowThrottlingData throttlingData;
+        Instant scheduledAt;
+        long sequence;
+    }
+
+    @Value
+    private static class FlowMetadata {
+        boolean pinned;
+        SwitchId srcSwitchId;
+        SwitchId destSwitchId;
+        Instant expireAt;
+    }
 }
@@ -26,6 +26,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +57,8 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
@@ -78,6 +82,7 @@ public class RerouteQueueServiceTest {
     @Mock
     private FlowRepository flowRepository;
 
+    private PersistenceManager persistenceManager;
     private RerouteQueueService rerouteQueueService;
 
     @Before
@@ -90,7 +95,7 @@ public class RerouteQueueServiceTest {
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
 
-        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        persistenceManager = mock(PersistenceManager.class);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
         rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3);
@@ -477,6 +482,83 @@ public class RerouteQueueServiceTest {
         assertFalse(rerouteQueueService.computeIgnoreBandwidth(data, false));
     }
 
+    @Test
+    public void shouldLimitInFlightReroutesAndSendThemByPriority() {
+        RerouteQueueService service = new RerouteQueueService(carrier, persistenceManager, 0, 3, 1,
+                Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+        FlowThrottlingData high = getFlowThrottlingData(flow, "high").priority(1).build();
+        FlowThrottlingData middle = getFlowThrottlingData(flow, "middle").priority(2).build();
+        FlowThrottlingData low = getFlowThrottlingData(flow, "low").priority(3).build();
+        service.getReroutes().put("low flow", RerouteQueue.builder().throttling(low).build());
+        service.getReroutes().put("high flow", RerouteQueue.builder().throttling(high).build());
+        service.getReroutes().put("middle flow", RerouteQueue.builder().throttling(middle).build());
+
+        service.flushThrottling();
+
+        verify(carrier).sendRerouteRequest(eq("high"), eq(getFlowRerouteRequest("high flow", high)));
+        verify(carrier, never()).sendRerouteRequest(eq("middle"), any());
+        verify(carrier, never()).sendRerouteRequest(eq("low"), any());
+        assertEquals(middle, service.getReroutes().get("middle flow").getInProgress());
+
+        service.processRerouteResult(RerouteResultInfoData.builder().flowId("high flow").success(true).build(), "high");
+
+        verify(carrier).sendRerouteRequest(eq("middle"), eq(getFlowRerouteRequest("middle flow", middle)));
+        verify(carrier, never()).sendRerouteRequest(eq("low"), any());
+    }
+
+    @Test
+    public void shouldAdaptAdmissionLimitToRerouteResponseTime() {
+        Clock clock = mock(Clock.class);
+        Instant start = Instant.now();
+        when(clock.instant()).thenReturn(start);
+        RerouteQueueService service = new RerouteQueueService(carrier, persistenceManager, 0, 3, 4,
+                Duration.ofSeconds(10), Duration.ZERO, clock);
+
+        FlowThrottlingData slow = getFlowThrottlingData(flow, "slow").build();
+        service.getReroutes().put("slow flow", RerouteQueue.builder().throttling(slow).build());
+        service.flushThrottling();
+
+        when(clock.instant()).thenReturn(start.plusSeconds(20));
+        service.processRerouteResult(RerouteResultInfoData.builder().flowId("slow flow").success(true).build(), "slow");
+        assertEquals(2, service.getAdmissionLimit());
+
+        FlowThrottlingData fast = getFlowThrottlingData(flow, "fast").build();
+        service.getReroutes().put("fast flow", RerouteQueue.builder().throttling(fast).build());
+        service.flushThrottling();
+
+        when(clock.instant()).thenReturn(start.plusSeconds(21));
+        service.processRerouteResult(RerouteResultInfoData.builder().flowId("fast flow").success(true).build(), "fast");
+        assertEquals(3, service.getAdmissionLimit());
+    }
+
+    @Test
+    public void shouldCacheFlowMetadataForAutomaticRequests() {
+        RerouteQueueService service = new RerouteQueueService(carrier, persistenceManager, 0, 3, 10,
+                Duration.ZERO, Duration.ofMinutes(1), Clock.systemUTC());
+
+        service.processAutomaticRequest(FLOW_ID, getFlowThrottlingData(flow, "first").build());
+        service.processAutomaticRequest(FLOW_ID, getFlowThrottlingData(flow, "second").build());
+
+        verify(flowRepository, times(1)).findById(FLOW_ID);
+        verify(carrier, times(2)).sendExtendTimeWindowEvent();
+    }
+
+    @Test
+    public void shouldEvictExpiredFlowMetadata() {
+        Instant start = Instant.now();
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(start);
+        RerouteQueueService service = new RerouteQueueService(carrier, persistenceManager, 0, 3, 10,
+                Duration.ZERO, Duration.ofMinutes(1), clock);
+
+        service.processAutomaticRequest(FLOW_ID, getFlowThrottlingData(flow, "first").build());
+        assertEquals(1, service.getFlowMetadataCacheSize());
+
+        when(clock.instant()).thenReturn(start.plus(Duration.ofMinutes(2)));
+        service.processAutomaticRequest("unknown flow", getFlowThrottlingData(flow, "second").build());
+        assertEquals(0, service.getFlowMetadataCacheSize());
+    }
+
     private FlowThrottlingDataBuilder getFlowThrottlingData(Flow flow, String correlationId) {
         return FlowThrottlingData.builder()
                 .correlationId(correlationId)
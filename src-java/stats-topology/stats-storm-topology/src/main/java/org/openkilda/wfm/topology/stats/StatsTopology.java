@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.stats;
 
+import static org.openkilda.wfm.topology.stats.StatsTopology.ComponentId.COMMAND_PROCESSOR_STATS_METRIC_GEN_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsTopology.ComponentId.FLOW_STATS_METRIC_GEN_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsTopology.ComponentId.METER_CFG_STATS_METRIC_GEN_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsTopology.ComponentId.METER_STATS_METRIC_GEN_BOLT;
@@ -44,10 +45,13 @@ import org.openkilda.wfm.topology.stats.bolts.FlowCacheBolt;
 import org.openkilda.wfm.topology.stats.bolts.SpeakerStatsRouterBolt;
 import org.openkilda.wfm.topology.stats.bolts.StatsRequesterBolt;
 import org.openkilda.wfm.topology.stats.bolts.TickBolt;
+import org.openkilda.wfm.topology.stats.bolts.metrics.CommandProcessorMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.FlowMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.FlowRttMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.MeterConfigMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.MeterStatsMetricGenBolt;
+import org.openkilda.wfm.topology.stats.bolts.metrics.MetricGenBolt;
+import org.openkilda.wfm.topology.stats.bolts.metrics.MetricGenBolt.DatapointEncoding;
 import org.openkilda.wfm.topology.stats.bolts.metrics.PacketInOutMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.PortMetricGenBolt;
 import org.openkilda.wfm.topology.stats.bolts.metrics.SystemRuleMetricGenBolt;
@@ -55,6 +59,7 @@ import org.openkilda.wfm.topology.stats.bolts.metrics.TableStatsMetricGenBolt;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.generated.StormTopology;
+import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.TopologyBuilder;
@@ -136,7 +141,8 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         declareSpout(topologyBuilder, new KafkaSpout<>(config), SERVER42_STATS_FLOW_RTT_SPOUT.name());
 
         declareBolt(topologyBuilder,
-                new FlowRttMetricGenBolt(topologyConfig.getMetricPrefix(), ZooKeeperSpout.SPOUT_ID),
+                withDatapointEncoding(
+                        new FlowRttMetricGenBolt(topologyConfig.getMetricPrefix(), ZooKeeperSpout.SPOUT_ID)),
                 SERVER42_STATS_FLOW_RTT_METRIC_GEN.name())
                 .shuffleGrouping(SERVER42_STATS_FLOW_RTT_SPOUT.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
@@ -156,42 +162,63 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
     private void outgoingStatsBolts(TopologyBuilder topologyBuilder) {
         declareBolt(topologyBuilder,
-                new PortMetricGenBolt(topologyConfig.getMetricPrefix()), PORT_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new PortMetricGenBolt(topologyConfig.getMetricPrefix())),
+                PORT_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.PORT_STATS_STREAM,
                         SpeakerStatsRouterBolt.STATS_WITH_MESSAGE_FIELDS);
         declareBolt(topologyBuilder,
-                new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix()), METER_CFG_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix())),
+                METER_CFG_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.METER_CFG_STATS_STREAM,
                         SpeakerStatsRouterBolt.STATS_WITH_MESSAGE_FIELDS);
         declareBolt(topologyBuilder,
-                new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix()), SYSTEM_RULE_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix())),
+                SYSTEM_RULE_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.SYSTEM_RULES_STATS_STREAM,
                         SpeakerStatsRouterBolt.STATS_FIELDS);
         declareBolt(topologyBuilder,
-                new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix()), TABLE_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new TableStatsMetricGenBolt(topologyConfig.getMetricPrefix())),
+                TABLE_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.TABLE_STATS_STREAM,
                         SpeakerStatsRouterBolt.STATS_FIELDS);
         declareBolt(topologyBuilder,
-                new PacketInOutMetricGenBolt(topologyConfig.getMetricPrefix()),
+                withDatapointEncoding(new PacketInOutMetricGenBolt(topologyConfig.getMetricPrefix())),
                 PACKET_IN_OUT_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.PACKET_IN_OUT_STATS_STREAM,
                         SpeakerStatsRouterBolt.STATS_FIELDS);
+        declareBolt(topologyBuilder,
+                withDatapointEncoding(new CommandProcessorMetricGenBolt(topologyConfig.getMetricPrefix())),
+                COMMAND_PROCESSOR_STATS_METRIC_GEN_BOLT.name())
+                .shuffleGrouping(STATS_OFS_ROUTER_BOLT.name(), SpeakerStatsRouterBolt.COMMAND_PROCESSOR_STATS_STREAM);
     }
 
     private void outgoingStatsWithCacheBolts(TopologyBuilder topologyBuilder) {
         declareBolt(topologyBuilder,
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), FLOW_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new FlowMetricGenBolt(topologyConfig.getMetricPrefix())),
+                FLOW_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_FLOW_CACHE_BOLT.name(), FlowCacheBolt.FLOW_STATS_STREAM,
                         FlowCacheBolt.STATS_WITH_CACHED_FIELDS);
         declareBolt(topologyBuilder,
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), METER_STATS_METRIC_GEN_BOLT.name())
+                withDatapointEncoding(new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix())),
+                METER_STATS_METRIC_GEN_BOLT.name())
                 .fieldsGrouping(STATS_FLOW_CACHE_BOLT.name(), FlowCacheBolt.METER_STATS_STREAM,
                         FlowCacheBolt.STATS_WITH_CACHED_FIELDS);
     }
 
+    private <T extends MetricGenBolt> T withDatapointEncoding(T bolt) {
+        bolt.setDatapointEncoding(getDatapointEncoding(), topologyConfig.getDatapointBatchSize());
+        return bolt;
+    }
+
+    private DatapointEncoding getDatapointEncoding() {
+        return DatapointEncoding.valueOf(topologyConfig.getDatapointEncoding().toUpperCase());
+    }
+
     private void openTsdbBolt(TopologyBuilder topologyBuilder) {
-        declareBolt(topologyBuilder,
-                createKafkaBolt(topologyConfig.getKafkaOtsdbTopic()), STATS_OPENTSDB_BOLT.name())
+        String topic = topologyConfig.getKafkaOtsdbTopic();
+        KafkaBolt<String, ?> kafkaBolt = getDatapointEncoding() == DatapointEncoding.BINARY
+                ? createBinaryKafkaBolt(topic) : createKafkaBolt(topic);
+        declareBolt(topologyBuilder, kafkaBolt, STATS_OPENTSDB_BOLT.name())
                 .shuffleGrouping(PORT_STATS_METRIC_GEN_BOLT.name())
                 .shuffleGrouping(METER_STATS_METRIC_GEN_BOLT.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN_BOLT.name())
@@ -199,6 +226,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(TABLE_STATS_METRIC_GEN_BOLT.name())
                 .shuffleGrouping(SYSTEM_RULE_STATS_METRIC_GEN_BOLT.name())
                 .shuffleGrouping(PACKET_IN_OUT_STATS_METRIC_GEN_BOLT.name())
+                .shuffleGrouping(COMMAND_PROCESSOR_STATS_METRIC_GEN_BOLT.name())
                 .shuffleGrouping(SERVER42_STATS_FLOW_RTT_METRIC_GEN.name());
     }
 
@@ -243,6 +271,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         FLOW_STATS_METRIC_GEN_BOLT,
         TABLE_STATS_METRIC_GEN_BOLT,
         PACKET_IN_OUT_STATS_METRIC_GEN_BOLT,
+        COMMAND_PROCESSOR_STATS_METRIC_GEN_BOLT,
 
         STATS_FLOW_CACHE_BOLT,
         STATS_FLOW_NOTIFY_SPOUT,
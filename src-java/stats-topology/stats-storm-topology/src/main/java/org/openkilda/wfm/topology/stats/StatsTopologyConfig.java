@@ -56,6 +56,18 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Default("kilda.")
     String getMetricPrefix();
 
+    /**
+     * Encoding of datapoints sent to OpenTSDB topology: JSON (one datapoint per record) or BINARY (batches of
+     * datapoints per record). OpenTSDB topology accepts both.
+     */
+    @Key("opentsdb.datapoint.encoding")
+    @Default("JSON")
+    String getDatapointEncoding();
+
+    @Key("opentsdb.datapoint.batch.size")
+    @Default("100")
+    int getDatapointBatchSize();
+
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
@@ -23,6 +23,7 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.grpc.GetPacketInOutStatsResponse;
+import org.openkilda.messaging.info.stats.CommandProcessorStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
@@ -54,6 +55,7 @@ public class SpeakerStatsRouterBolt extends AbstractBolt {
     public static final String SYSTEM_RULES_STATS_STREAM = "SYSTEM_RULE_STATS";
     public static final String TABLE_STATS_STREAM = "TABLE_STATS";
     public static final String PACKET_IN_OUT_STATS_STREAM = "PACKET_IN_OUT_STATS";
+    public static final String COMMAND_PROCESSOR_STATS_STREAM = "COMMAND_PROCESSOR_STATS";
 
     public SpeakerStatsRouterBolt(String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
@@ -92,6 +94,9 @@ public class SpeakerStatsRouterBolt extends AbstractBolt {
             } else if (data instanceof GetPacketInOutStatsResponse) {
                 log.debug("Packet in out stats message: {}", infoMessage);
                 emitWithContext(PACKET_IN_OUT_STATS_STREAM, tuple, new Values(data));
+            } else if (data instanceof CommandProcessorStatsData) {
+                log.debug("Command processor stats message: {}", infoMessage);
+                emitWithContext(COMMAND_PROCESSOR_STATS_STREAM, tuple, new Values(data));
             } else {
                 //FIXME (ncherevko): we might receive few unexpected messages here,
                 // need to fix it and uncomment below line
@@ -128,6 +133,7 @@ public class SpeakerStatsRouterBolt extends AbstractBolt {
         declarer.declareStream(SYSTEM_RULES_STATS_STREAM, STATS_FIELDS);
         declarer.declareStream(TABLE_STATS_STREAM, STATS_FIELDS);
         declarer.declareStream(PACKET_IN_OUT_STATS_STREAM, STATS_FIELDS);
+        declarer.declareStream(COMMAND_PROCESSOR_STATS_STREAM, STATS_FIELDS);
         declarer.declareStream(ZOOKEEPER_STREAM,
                 new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
     }
@@ -0,0 +1,58 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.bolts.metrics;
+
+import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
+
+import org.openkilda.messaging.info.stats.CommandProcessorStatsData;
+import org.openkilda.messaging.info.stats.HistogramStatsEntry;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.storm.tuple.Tuple;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class CommandProcessorMetricGenBolt extends MetricGenBolt {
+
+    public CommandProcessorMetricGenBolt(String metricPrefix) {
+        super(metricPrefix);
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        CommandProcessorStatsData stats = pullValue(input, STATS_FIELD, CommandProcessorStatsData.class);
+        long timestamp = getCommandContext().getCreateTime();
+        Map<String, String> tags = stats.getRegion() != null
+                ? ImmutableMap.of("region", stats.getRegion()) : Collections.emptyMap();
+
+        emitHistogram("floodlight.command.queue.depth", timestamp, stats.getQueueDepth(), tags);
+        emitHistogram("floodlight.command.latency", timestamp, stats.getLatency(), tags);
+        emitMetric("floodlight.command.backlog.size", timestamp, stats.getBacklogSize(), tags);
+        emitMetric("floodlight.command.backlog.overflow", timestamp, stats.getBacklogOverflowCount(), tags);
+    }
+
+    private void emitHistogram(String metric, long timestamp, HistogramStatsEntry entry, Map<String, String> tags) {
+        if (entry == null) {
+            return;
+        }
+        emitMetric(metric + ".count", timestamp, entry.getCount(), tags);
+        emitMetric(metric + ".max", timestamp, entry.getMax(), tags);
+        emitMetric(metric + ".p50", timestamp, entry.getP50(), tags);
+        emitMetric(metric + ".p90", timestamp, entry.getP90(), tags);
+        emitMetric(metric + ".p99", timestamp, entry.getP99(), tags);
+    }
+}
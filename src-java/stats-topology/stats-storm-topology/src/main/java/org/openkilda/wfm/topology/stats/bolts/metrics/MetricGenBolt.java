@@ -19,19 +19,27 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.kafka.DatapointBinaryCodec;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract class MetricGenBolt extends AbstractBolt {
     private MetricFormatter metricFormatter;
+    private DatapointEncoding datapointEncoding = DatapointEncoding.JSON;
+    private int datapointBatchSize = 1;
+
+    private transient List<Datapoint> pendingDatapoints;
 
     public MetricGenBolt(String metricPrefix) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
@@ -54,7 +62,41 @@ public abstract class MetricGenBolt extends AbstractBolt {
         return Collections.singletonList(json);
     }
 
+    /**
+     * Sets encoding of emitted datapoints. With {@link DatapointEncoding#BINARY} encoding datapoints produced by
+     * one input tuple are emitted in batches of up to batchSize datapoints.
+     */
+    public void setDatapointEncoding(DatapointEncoding datapointEncoding, int datapointBatchSize) {
+        if (datapointBatchSize < 1) {
+            throw new IllegalArgumentException("Datapoint batch size must be positive");
+        }
+        this.datapointEncoding = datapointEncoding;
+        this.datapointBatchSize = datapointBatchSize;
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        try {
+            super.dispatch(input);
+        } finally {
+            flushDatapoints();
+        }
+    }
+
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (datapointEncoding == DatapointEncoding.BINARY) {
+            if (pendingDatapoints == null) {
+                pendingDatapoints = new ArrayList<>(datapointBatchSize);
+            }
+            // tags are copied as callers reuse the map for the next datapoints
+            Map<String, String> tags = tag != null ? new HashMap<>(tag) : null;
+            pendingDatapoints.add(new Datapoint(metricFormatter.format(metric), timestamp, tags, value));
+            if (pendingDatapoints.size() >= datapointBatchSize) {
+                flushDatapoints();
+            }
+            return;
+        }
+
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
         } catch (JsonEncodeException e) {
@@ -62,8 +104,20 @@ public abstract class MetricGenBolt extends AbstractBolt {
         }
     }
 
+    private void flushDatapoints() {
+        if (pendingDatapoints != null && !pendingDatapoints.isEmpty()) {
+            getOutput().emit(Collections.singletonList(DatapointBinaryCodec.encode(pendingDatapoints)));
+            pendingDatapoints.clear();
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields(KafkaRecordTranslator.FIELD_ID_PAYLOAD));
     }
+
+    public enum DatapointEncoding {
+        JSON,
+        BINARY
+    }
 }
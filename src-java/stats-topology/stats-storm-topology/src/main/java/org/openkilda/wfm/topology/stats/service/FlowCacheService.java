@@ -42,7 +42,6 @@ import org.openkilda.wfm.topology.stats.model.MeterCacheKey;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,10 +53,10 @@ public class FlowCacheService {
     private final FlowCacheBoltCarrier carrier;
 
     /**
-     * Cookie to flow and meter to flow maps.
+     * Cookie to flow and meter to flow maps, keyed by switch datapath id and cookie / meter id.
      */
-    private final Map<CookieCacheKey, FlowCacheEntry> cookieToFlow = new HashMap<>();
-    private final Map<MeterCacheKey, FlowCacheEntry> switchAndMeterToFlow = new HashMap<>();
+    private final SwitchKeyCache<FlowCacheEntry> cookieToFlow = new SwitchKeyCache<>();
+    private final SwitchKeyCache<FlowCacheEntry> switchAndMeterToFlow = new SwitchKeyCache<>();
 
     public FlowCacheService(PersistenceManager persistenceManager, FlowCacheBoltCarrier carrier) {
         this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
@@ -72,10 +71,10 @@ public class FlowCacheService {
     public void completeAndForwardFlowStats(FlowStatsData data) {
         Map<Long, FlowCacheEntry> cache = new HashMap<>();
 
+        long switchId = data.getSwitchId().toLong();
         for (FlowStatsEntry entry : data.getStats()) {
-            CookieCacheKey key = new CookieCacheKey(data.getSwitchId(), entry.getCookie());
-            if (cookieToFlow.containsKey(key)) {
-                FlowCacheEntry cacheFlowEntry = cookieToFlow.get(key);
+            FlowCacheEntry cacheFlowEntry = cookieToFlow.get(switchId, entry.getCookie());
+            if (cacheFlowEntry != null) {
                 cache.put(entry.getCookie(), cacheFlowEntry);
             }
         }
@@ -91,11 +90,11 @@ public class FlowCacheService {
     public void completeAndForwardMeterStats(MeterStatsData data) {
         Map<MeterCacheKey, FlowCacheEntry> cache = new HashMap<>();
 
+        long switchId = data.getSwitchId().toLong();
         for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                FlowCacheEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
+            FlowCacheEntry cacheEntry = switchAndMeterToFlow.get(switchId, entry.getMeterId());
+            if (cacheEntry != null) {
+                cache.put(new MeterCacheKey(data.getSwitchId(), entry.getMeterId()), cacheEntry);
             }
         }
 
@@ -115,13 +114,13 @@ public class FlowCacheService {
 
         String flowId = updatePathInfo.getFlowId();
         long cookie = updatePathInfo.getCookie().getValue();
-        processTransitCookies(flowId, cookie, pathNodes, cookieToFlow::put);
+        processTransitCookies(flowId, cookie, pathNodes, this::putCookie);
 
         SwitchId srcSwitchId = pathNodes.get(0).getSwitchId();
         SwitchId dstSwitchId = pathNodes.get(pathNodes.size() - 1).getSwitchId();
-        processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, cookieToFlow::put);
+        processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, this::putCookie);
 
-        processMeter(flowId, cookie, updatePathInfo.getMeterId(), srcSwitchId, dstSwitchId, switchAndMeterToFlow::put);
+        processMeter(flowId, cookie, updatePathInfo.getMeterId(), srcSwitchId, dstSwitchId, this::putMeter);
     }
 
     /**
@@ -137,14 +136,14 @@ public class FlowCacheService {
 
         String flowId = removePathInfo.getFlowId();
         long cookie = removePathInfo.getCookie().getValue();
-        processTransitCookies(flowId, cookie, pathNodes, (k, v) -> cookieToFlow.remove(k));
+        processTransitCookies(flowId, cookie, pathNodes, this::removeCookie);
 
         SwitchId srcSwitchId = pathNodes.get(0).getSwitchId();
         SwitchId dstSwitchId = pathNodes.get(pathNodes.size() - 1).getSwitchId();
-        processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, (k, v) -> cookieToFlow.remove(k));
+        processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, this::removeCookie);
 
         processMeter(flowId, cookie, removePathInfo.getMeterId(), srcSwitchId, dstSwitchId,
-                (k, v) -> switchAndMeterToFlow.remove(k));
+                this::removeMeter);
     }
 
     /**
@@ -157,74 +156,86 @@ public class FlowCacheService {
                 .forEach(path -> {
                     String flowId = path.getFlowId();
                     long cookie = path.getCookie().getValue();
-                    processTransitCookies(flowId, cookie, path, cookieToFlow::put);
+                    processTransitCookies(flowId, cookie, path, this::putCookie);
 
                     SwitchId srcSwitchId = path.getSrcSwitchId();
                     SwitchId dstSwitchId = path.getDestSwitchId();
-                    processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, cookieToFlow::put);
+                    processIngressAndEgressCookies(flowId, cookie, srcSwitchId, dstSwitchId, this::putCookie);
 
                     processMeter(flowId, cookie, path.getMeterId(), srcSwitchId, dstSwitchId,
-                            switchAndMeterToFlow::put);
+                            this::putMeter);
                 });
         log.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
     }
 
     private void processTransitCookies(String flowId, long cookie, FlowPath path,
-                                       CacheAction<CookieCacheKey, FlowCacheEntry> cacheAction) {
+                                       CacheAction cacheAction) {
         // Skip the first segment as it's handled as INGRESS.
         List<PathSegment> segments = path.getSegments();
         for (int i = 1; i < segments.size(); i++) {
             SwitchId switchId = segments.get(i).getSrcSwitchId();
-            cacheAction.accept(new CookieCacheKey(switchId, cookie), new FlowCacheEntry(flowId, cookie, TRANSIT));
+            cacheAction.accept(switchId, cookie, new FlowCacheEntry(flowId, cookie, TRANSIT));
         }
     }
 
     private void processTransitCookies(String flowId, long cookie, List<PathNodePayload> path,
-                                       CacheAction<CookieCacheKey, FlowCacheEntry> cacheAction) {
+                                       CacheAction cacheAction) {
         // Skip the first and the last nodes as they're handled as INGRESS and EGRESS.
         for (int i = 1; i < path.size() - 1; i++) {
             SwitchId transitSrc = path.get(i).getSwitchId();
-            cacheAction.accept(new CookieCacheKey(transitSrc, cookie), new FlowCacheEntry(flowId, cookie, TRANSIT));
+            cacheAction.accept(transitSrc, cookie, new FlowCacheEntry(flowId, cookie, TRANSIT));
         }
     }
 
     private void processIngressAndEgressCookies(String flowId, long cookie, SwitchId srcSwitchId, SwitchId dstSwitchId,
-                                                CacheAction<CookieCacheKey, FlowCacheEntry> cacheAction) {
-        CookieCacheKey srcKey = new CookieCacheKey(srcSwitchId, cookie);
+                                                CacheAction cacheAction) {
         boolean isOneSwitchFlow = srcSwitchId.equals(dstSwitchId);
         if (isOneSwitchFlow) {
-            cacheAction.accept(srcKey, new FlowCacheEntry(flowId, cookie, ONE_SWITCH));
+            cacheAction.accept(srcSwitchId, cookie, new FlowCacheEntry(flowId, cookie, ONE_SWITCH));
         } else {
-            cacheAction.accept(srcKey, new FlowCacheEntry(flowId, cookie, INGRESS));
-            makeFlowAttendantCookiesMapping(flowId, srcSwitchId, cookie).forEach(cacheAction::accept);
+            cacheAction.accept(srcSwitchId, cookie, new FlowCacheEntry(flowId, cookie, INGRESS));
+            processFlowAttendantCookies(flowId, srcSwitchId, cookie, cacheAction);
 
-            cacheAction.accept(new CookieCacheKey(dstSwitchId, cookie), new FlowCacheEntry(flowId, cookie, EGRESS));
+            cacheAction.accept(dstSwitchId, cookie, new FlowCacheEntry(flowId, cookie, EGRESS));
         }
     }
 
-    private Map<CookieCacheKey, FlowCacheEntry> makeFlowAttendantCookiesMapping(
-            String flowId, SwitchId ingressSwitchId, long cookie) {
+    private void processFlowAttendantCookies(String flowId, SwitchId ingressSwitchId, long cookie,
+                                             CacheAction cacheAction) {
         long server42IngressCookie = new FlowSegmentCookie(cookie).toBuilder()
                 .type(CookieType.SERVER_42_FLOW_RTT_INGRESS).build().getValue();
-        return Collections.singletonMap(
-                new CookieCacheKey(ingressSwitchId, server42IngressCookie),
+        cacheAction.accept(ingressSwitchId, server42IngressCookie,
                 new FlowCacheEntry(flowId, server42IngressCookie, INGRESS_ATTENDANT));
     }
 
     private void processMeter(String flowId, long cookie, MeterId meterId, SwitchId srcSwitchId, SwitchId dstSwitchId,
-                              CacheAction<MeterCacheKey, FlowCacheEntry> cacheAction) {
+                              CacheAction cacheAction) {
         if (meterId != null) {
             boolean isOneSwitchFlow = srcSwitchId.equals(dstSwitchId);
             MeasurePoint measurePoint = isOneSwitchFlow ? ONE_SWITCH : INGRESS;
-            cacheAction.accept(
-                    new MeterCacheKey(srcSwitchId, meterId.getValue()),
-                    new FlowCacheEntry(flowId, cookie, measurePoint));
+            cacheAction.accept(srcSwitchId, meterId.getValue(), new FlowCacheEntry(flowId, cookie, measurePoint));
         } else {
             log.warn("Flow {} has no meter ID", flowId);
         }
     }
 
-    private interface CacheAction<K, V> {
-        void accept(K k, V v);
+    private void putCookie(SwitchId switchId, long cookie, FlowCacheEntry entry) {
+        cookieToFlow.put(switchId.toLong(), cookie, entry);
+    }
+
+    private void removeCookie(SwitchId switchId, long cookie, FlowCacheEntry entry) {
+        cookieToFlow.remove(switchId.toLong(), cookie);
+    }
+
+    private void putMeter(SwitchId switchId, long meterId, FlowCacheEntry entry) {
+        switchAndMeterToFlow.put(switchId.toLong(), meterId, entry);
+    }
+
+    private void removeMeter(SwitchId switchId, long meterId, FlowCacheEntry entry) {
+        switchAndMeterToFlow.remove(switchId.toLong(), meterId);
+    }
+
+    private interface CacheAction {
+        void accept(SwitchId switchId, long key, FlowCacheEntry entry);
     }
 }
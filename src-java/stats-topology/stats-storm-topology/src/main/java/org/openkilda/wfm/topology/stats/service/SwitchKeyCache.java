@@ -0,0 +1,185 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.service;
+
+/**
+ * Open addressing hash map keyed by a pair of (switch datapath id, long key), e.g. a cookie or a meter id. Keys are
+ * stored in primitive arrays, so lookups neither box nor allocate key objects. Collisions are resolved by linear
+ * probing, removal uses backward shift, so there are no tombstones.
+ * <p/>
+ * Not thread safe, null values are not allowed.
+ */
+final class SwitchKeyCache<V> {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] switchIds;
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    SwitchKeyCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    SwitchKeyCache(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Gets the value mapped to the key or null if there is no such mapping.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long switchId, long key) {
+        for (int index = indexOf(switchId, key); values[index] != null; index = (index + 1) & mask) {
+            if (switchIds[index] == switchId && keys[index] == key) {
+                return (V) values[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the value to the key.
+     *
+     * @return the previous value or null if there was no mapping.
+     */
+    @SuppressWarnings("unchecked")
+    V put(long switchId, long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+
+        int index = indexOf(switchId, key);
+        for (; values[index] != null; index = (index + 1) & mask) {
+            if (switchIds[index] == switchId && keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+        }
+
+        switchIds[index] = switchId;
+        keys[index] = key;
+        values[index] = value;
+        if (++size > (values.length >> 1)) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @return the removed value or null if there was no mapping.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long switchId, long key) {
+        for (int index = indexOf(switchId, key); values[index] != null; index = (index + 1) & mask) {
+            if (switchIds[index] == switchId && keys[index] == key) {
+                V previous = (V) values[index];
+                shiftBack(index);
+                size--;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                if (result.length() > 1) {
+                    result.append(", ");
+                }
+                result.append(Long.toHexString(switchIds[index])).append('/').append(keys[index])
+                        .append('=').append(values[index]);
+            }
+        }
+        return result.append('}').toString();
+    }
+
+    /**
+     * Fills the gap left by the removed slot with following entries of the same probe chain.
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == null) {
+                break;
+            }
+            int home = indexOf(switchIds[index], keys[index]);
+            // the entry can be moved only if its home slot is not between the gap and the entry (cyclically)
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                switchIds[gap] = switchIds[index];
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize() {
+        if (values.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Cache capacity is exhausted");
+        }
+
+        long[] oldSwitchIds = switchIds;
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = indexOf(oldSwitchIds[i], oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                switchIds[index] = oldSwitchIds[i];
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        switchIds = new long[capacity];
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexOf(long switchId, long key) {
+        long hash = switchId * 0x9E3779B97F4A7C15L + key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int size = Math.min(Math.max(expectedSize, 2), MAX_CAPACITY >> 1);
+        return Integer.highestOneBit(size * 2 - 1) << 1;
+    }
+}
@@ -0,0 +1,76 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SwitchKeyCacheTest {
+
+    @Test
+    public void shouldPutGetAndRemove() {
+        SwitchKeyCache<String> cache = new SwitchKeyCache<>(2);
+
+        assertNull(cache.put(1, 10, "a"));
+        assertNull(cache.put(2, 10, "b"));
+        assertNull(cache.put(1, 11, "c"));
+        assertEquals("a", cache.put(1, 10, "d"));
+
+        assertEquals(3, cache.size());
+        assertEquals("d", cache.get(1, 10));
+        assertEquals("b", cache.get(2, 10));
+        assertEquals("c", cache.get(1, 11));
+        assertNull(cache.get(2, 11));
+
+        assertEquals("d", cache.remove(1, 10));
+        assertNull(cache.remove(1, 10));
+        assertNull(cache.get(1, 10));
+        assertEquals("b", cache.get(2, 10));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldBehaveAsHashMapOnRandomOperations() {
+        SwitchKeyCache<Long> cache = new SwitchKeyCache<>(4);
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long switchId = random.nextInt(16);
+            long key = random.nextInt(512);
+            String expectedKey = switchId + "/" + key;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(expectedKey), cache.remove(switchId, key));
+            } else {
+                long value = random.nextLong();
+                assertEquals(expected.put(expectedKey, value), cache.put(switchId, key, value));
+            }
+        }
+
+        assertEquals(expected.size(), cache.size());
+        for (long switchId = 0; switchId < 16; switchId++) {
+            for (long key = 0; key < 512; key++) {
+                assertEquals(expected.get(switchId + "/" + key), cache.get(switchId, key));
+            }
+        }
+    }
+}
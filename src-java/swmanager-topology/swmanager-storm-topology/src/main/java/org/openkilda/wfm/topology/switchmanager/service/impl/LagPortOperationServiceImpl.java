@@ -19,7 +19,6 @@ import static java.lang.String.format;
 import static org.openkilda.model.SwitchFeature.BFD;
 import static org.openkilda.model.SwitchFeature.LAG;
 
-import org.openkilda.model.Flow;
 import org.openkilda.model.FlowMirrorPath;
 import org.openkilda.model.IpSocketAddress;
 import org.openkilda.model.Isl;
@@ -157,8 +156,7 @@ public class LagPortOperationServiceImpl implements LagPortOperationService {
                     format("Physical port number %d on switch %s is server42 port.", portNumber, switchId));
         }
 
-        Set<String> flowIds = flowRepository.findByEndpoint(switchId, portNumber).stream()
-                .map(Flow::getFlowId).collect(Collectors.toSet());
+        Collection<String> flowIds = flowRepository.findFlowsIdsByEndpoint(switchId, portNumber);
         if (!flowIds.isEmpty()) {
             throw new InvalidDataException(format("Physical port %d already used by following flows: %s. You must "
                     + "remove these flows to be able to use the port in LAG.", portNumber, flowIds));
@@ -205,8 +203,7 @@ public class LagPortOperationServiceImpl implements LagPortOperationService {
             throw new LagPortNotFoundException(switchId, logicalPortNumber);
         }
 
-        List<String> flowIds = flowRepository.findByEndpoint(switchId, logicalPortNumber)
-                .stream().map(Flow::getFlowId).collect(Collectors.toList());
+        Collection<String> flowIds = flowRepository.findFlowsIdsByEndpoint(switchId, logicalPortNumber);
         if (!flowIds.isEmpty()) {
             throw new InvalidDataException(format("Couldn't delete LAG port '%d' from switch %s because flows '%s' "
                     + "use it as endpoint", logicalPortNumber, switchId, flowIds));